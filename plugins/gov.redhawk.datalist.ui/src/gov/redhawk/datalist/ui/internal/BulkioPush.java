@@ -14,20 +14,21 @@ import BULKIO.PrecisionUTCTime;
 import BULKIO.StreamSRI;
 
 /**
- * Encapsulates all data and metadata from a BULKIO pushPacket call.
+ * Encapsulates the metadata from a BULKIO pushPacket call. The data itself is held in the {@link DataBuffer}'s
+ * {@link SampleStore}, starting at {@link #getOffset()}.
  */
 public class BulkioPush {
 
 	private StreamSRI sri;
-	private Object data;
+	private long offset;
 	private int length;
 	private PrecisionUTCTime time;
 	private boolean eos;
 	private String streamID;
 
-	/* package */ BulkioPush(StreamSRI sri, Object data, int length, final PrecisionUTCTime time, final boolean eos, final String streamID) {
+	/* package */ BulkioPush(StreamSRI sri, long offset, int length, final PrecisionUTCTime time, final boolean eos, final String streamID) {
 		this.sri = sri;
-		this.data = data;
+		this.offset = offset;
 		this.length = length;
 		this.time = time;
 		this.eos = eos;
@@ -38,8 +39,11 @@ public class BulkioPush {
 		return sri;
 	}
 
-	public Object getData() {
-		return data;
+	/**
+	 * @return The index of the first atom of this push within the buffer
+	 */
+	public long getOffset() {
+		return offset;
 	}
 
 	public int getLength() {
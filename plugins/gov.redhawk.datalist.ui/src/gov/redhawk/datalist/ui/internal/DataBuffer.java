@@ -10,8 +10,7 @@
  */
 package gov.redhawk.datalist.ui.internal;
 
-import java.lang.reflect.Array;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -26,22 +25,41 @@ import BULKIO.BitSequence;
 import BULKIO.PrecisionUTCTime;
 import BULKIO.StreamSRI;
 import gov.redhawk.bulkio.util.AbstractUberBulkIOPort;
-import gov.redhawk.bulkio.util.BufferCopy;
 import gov.redhawk.bulkio.util.BulkIOType;
 import gov.redhawk.bulkio.util.BulkIOUtilActivator;
 import gov.redhawk.datalist.ui.DataCollectionSettings;
 import gov.redhawk.datalist.ui.DataListPlugin;
 import gov.redhawk.datalist.ui.views.OptionsComposite.CaptureMethod;
 import gov.redhawk.model.sca.ScaUsesPort;
+import gov.redhawk.statistics.ui.views.IStatisticsSource;
+import gov.redhawk.statistics.ui.views.LiveStatistics;
 
 /**
  * Handles directly receiving port data and storing it, deciding when acquisition is complete, and accessing the data
  * afterwards.
  */
-public class DataBuffer extends AbstractUberBulkIOPort {
+public class DataBuffer extends AbstractUberBulkIOPort implements IStatisticsSource {
 
-	private final List<BulkioPush> dataPushes = new ArrayList<>();
-	private final List<Integer> dataLengths = new ArrayList<>();
+	private static final int INITIAL_PUSHES = 64;
+
+	private final SampleStore store;
+
+	/**
+	 * Metadata for each push, in the order received.
+	 */
+	private BulkioPush[] dataPushes = new BulkioPush[INITIAL_PUSHES];
+
+	/**
+	 * Prefix sums of the push lengths (i.e. the index of the first atom of each push), used to binary search for the
+	 * push containing an atom.
+	 */
+	private long[] pushOffsets = new long[INITIAL_PUSHES];
+
+	/**
+	 * The number of valid entries in {@link #dataPushes} and {@link #pushOffsets}. Written after both arrays so that
+	 * readers on other threads never see a partially added push.
+	 */
+	private volatile int pushCount;
 
 	private final ScaUsesPort port;
 	private String connectionId;
@@ -74,7 +92,18 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 
 	private int dimension = 1;
 
-	private boolean connected = false;
+	private volatile boolean connected = false;
+
+	/**
+	 * Statistics updated with each push, if anyone has asked for them.
+	 */
+	private volatile LiveStatistics liveStatistics;
+
+	/**
+	 * True while the live statistics are catching up with data received before they were created. Pushes don't
+	 * update them until then.
+	 */
+	private volatile boolean liveStatisticsCatchingUp;
 
 	private final Job disconnectJob = new Job("Disconnecting...") {
 
@@ -114,6 +143,7 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 	public DataBuffer(ScaUsesPort port, BulkIOType type) {
 		super(type);
 		this.port = port;
+		this.store = SampleStore.create(type);
 	}
 
 	public void addDataBufferListener(final IDataBufferListener listener) {
@@ -182,8 +212,15 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 	public void clear() {
 		this.receivedAtoms = 0;
 		this.timeToAcquire = 0;
-		this.dataPushes.clear();
-		this.dataLengths.clear();
+		this.pushCount = 0;
+		this.dataPushes = new BulkioPush[INITIAL_PUSHES];
+		this.pushOffsets = new long[INITIAL_PUSHES];
+		this.store.clear();
+		LiveStatistics live = this.liveStatistics;
+		if (live != null) {
+			live.setComplete();
+			this.liveStatistics = null;
+		}
 		fireDataBufferChanged();
 	}
 
@@ -204,10 +241,9 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 		case NUMBER:
 			if (this.receivedAtoms + length >= this.samplesToAcquire * dimension) {
 				int newLength = this.samplesToAcquire * dimension - this.receivedAtoms;
-				Object truncatedData = BufferCopy.copyOf(data, newLength);
-				dataPushes.add(new BulkioPush(sri, truncatedData, newLength, time, eos, streamID));
-				dataLengths.add(newLength);
+				addPush(sri, data, newLength, time, eos, streamID);
 				this.receivedAtoms += newLength;
+				updateLiveStatistics();
 				disconnect();
 				return;
 			}
@@ -223,9 +259,9 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 		}
 
 		// Add all data
-		dataPushes.add(new BulkioPush(sri, data, length, time, eos, streamID));
-		dataLengths.add(length);
+		addPush(sri, data, length, time, eos, streamID);
 		this.receivedAtoms += length;
+		updateLiveStatistics();
 
 		if (eos) {
 			disconnect();
@@ -235,6 +271,83 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 		fireDataBufferChanged();
 	}
 
+	private void addPush(StreamSRI sri, Object data, int length, PrecisionUTCTime time, boolean eos, String streamID) {
+		int count = pushCount;
+		if (count == dataPushes.length) {
+			dataPushes = Arrays.copyOf(dataPushes, count * 2);
+			pushOffsets = Arrays.copyOf(pushOffsets, count * 2);
+		}
+		long offset = store.size();
+		store.append(data, 0, length);
+		dataPushes[count] = new BulkioPush(sri, offset, length, time, eos, streamID);
+		pushOffsets[count] = offset;
+		pushCount = count + 1;
+	}
+
+	private void updateLiveStatistics() {
+		LiveStatistics live = this.liveStatistics;
+		if (live != null && !liveStatisticsCatchingUp) {
+			live.update(this);
+		}
+	}
+
+	/**
+	 * Returns statistics which are updated as each push arrives. They're created on first use, and caught up with
+	 * any data already received in the background.
+	 * @return
+	 */
+	public synchronized LiveStatistics getLiveStatistics() {
+		LiveStatistics live = this.liveStatistics;
+		if (live == null || live.getDimension() != dimension) {
+			final LiveStatistics newLive = new LiveStatistics(dimension);
+			live = newLive;
+			this.liveStatisticsCatchingUp = true;
+			this.liveStatistics = newLive;
+			if (!connected) {
+				newLive.setComplete();
+			}
+
+			Job catchUpJob = new Job("Calculating statistics...") {
+
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					newLive.update(DataBuffer.this);
+					if (liveStatistics == newLive) {
+						liveStatisticsCatchingUp = false;
+					}
+					// Data from pushes which arrived while catching up
+					newLive.update(DataBuffer.this);
+					return Status.OK_STATUS;
+				}
+			};
+			catchUpJob.setSystem(true);
+			catchUpJob.schedule();
+		}
+		return live;
+	}
+
+	/**
+	 * Finds the push containing an atom.
+	 * @param atomIndex
+	 * @return The index of the push, or -1 if the atom index is out of range
+	 */
+	private int findPush(long atomIndex) {
+		if (atomIndex < 0 || atomIndex >= store.size()) {
+			return -1;
+		}
+		int count = pushCount;
+		long[] offsets = pushOffsets;
+		int pushIndex = Arrays.binarySearch(offsets, 0, count, atomIndex);
+		if (pushIndex < 0) {
+			pushIndex = -pushIndex - 2;
+		}
+		// Skip past any zero-length pushes that share an offset with the push we want
+		while (pushIndex + 1 < count && offsets[pushIndex + 1] <= atomIndex) {
+			pushIndex++;
+		}
+		return pushIndex;
+	}
+
 	private DataCollectionSettings saveSettings() {
 		if (captureMethod != null) {
 			switch (captureMethod) {
@@ -254,45 +367,71 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 		}
 		connected = false;
 		saveSettings();
+		LiveStatistics live = this.liveStatistics;
+		if (live != null) {
+			live.setComplete();
+		}
 		this.disconnectJob.schedule();
 		fireDataBufferComplete();
 	}
 
+	/**
+	 * @return True while data is being acquired
+	 */
+	public boolean isConnected() {
+		return connected;
+	}
+
 	public List<BulkioPush> getBuffers() {
-		return Collections.unmodifiableList(dataPushes);
+		return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(dataPushes, pushCount)));
+	}
+
+	/**
+	 * Retrieves the data for a push in the same form it was received.
+	 * @param push One of the pushes from {@link #getBuffers()}
+	 * @return A primitive array, or a {@link BitSequence}
+	 */
+	public Object getData(BulkioPush push) {
+		return store.copyOf(push.getOffset(), push.getLength());
 	}
 
 	/**
-	 * Retrieves a sample by index. To retrieve data in bulk, use {@link #getBuffers()}.
+	 * Retrieves a sample by index. To retrieve data in bulk, use {@link #getDoubles(long, double[], int, int)} or
+	 * {@link #getBuffers()}.
 	 * @param index
 	 * @return
 	 */
 	public Object[] getSample(int index) {
-		// Compute offset
-		int offset = index * dimension;
+		long offset = (long) index * dimension;
+		if (index < 0 || offset + dimension > store.size()) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
 
-		// Iterate buffers until we find the offset
-		int subsample = 0;
 		Object[] sample = new Object[dimension];
-		for (int bufferIndex = 0; bufferIndex < dataPushes.size(); bufferIndex++) {
-			int bufferLength = dataLengths.get(bufferIndex);
-			while (subsample < dimension && offset < bufferLength) {
-				BulkioPush push = dataPushes.get(bufferIndex);
-				if (push.getData() instanceof BitSequence) {
-					sample[subsample] = ((BitSequence) push.getData()).data[offset / 8] >> (7 - offset % 8) & 0x1;
-				} else {
-					sample[subsample] = Array.get(push.getData(), offset);
-				}
-				subsample++;
-				offset++;
-			}
-			if (subsample == dimension) {
-				return sample;
-			}
-			offset -= bufferLength;
+		for (int subsample = 0; subsample < dimension; subsample++) {
+			sample[subsample] = store.get(offset + subsample);
 		}
+		return sample;
+	}
 
-		throw new ArrayIndexOutOfBoundsException(index);
+	/**
+	 * Copies a range of atoms into a <code>double[]</code>. Atoms of multi-dimensional samples are interleaved.
+	 * @param atomIndex The first atom to copy
+	 * @param dest The destination array
+	 * @param destPos The starting position in the destination array
+	 * @param length The number of atoms to copy
+	 */
+	@Override
+	public void getDoubles(long atomIndex, double[] dest, int destPos, int length) {
+		store.getDoubles(atomIndex, dest, destPos, length);
+	}
+
+	/**
+	 * @return The total number of atoms received (samples multiplied by the dimension)
+	 */
+	@Override
+	public long getAtomCount() {
+		return store.size();
 	}
 
 	/**
@@ -301,16 +440,11 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 	 * @return
 	 */
 	public StreamSRI getSampleSRI(int index) {
-		int offset = index * dimension;
-		for (int bufferIndex = 0; bufferIndex < dataPushes.size(); bufferIndex++) {
-			int bufferLength = dataLengths.get(bufferIndex);
-			if (offset < bufferLength) {
-				return dataPushes.get(bufferIndex).getSRI();
-			}
-			offset -= bufferLength;
+		int pushIndex = findPush((long) index * dimension);
+		if (pushIndex < 0) {
+			throw new ArrayIndexOutOfBoundsException(index);
 		}
-
-		throw new ArrayIndexOutOfBoundsException(index);
+		return dataPushes[pushIndex].getSRI();
 	}
 
 	/**
@@ -319,30 +453,28 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 	 * @return The sample time, or null if it can't be calculated
 	 */
 	public PrecisionUTCTime getSampleTime(int index) {
-		StreamSRI sri = getSampleSRI(index);
+		long atomIndex = (long) index * dimension;
+		int pushIndex = findPush(atomIndex);
+		if (pushIndex < 0) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		BulkioPush push = dataPushes[pushIndex];
+		StreamSRI sri = push.getSRI();
 		if (sri == null || sri.xunits != BULKIO.UNITS_TIME.value) {
 			return null;
 		}
 
-		int offset = index * dimension;
-		for (int bufferIndex = 0; bufferIndex < dataPushes.size(); bufferIndex++) {
-			int bufferLength = dataLengths.get(bufferIndex);
-			if (offset < bufferLength) {
-				PrecisionUTCTime pushTime = dataPushes.get(bufferIndex).getTime();
-				double timeOffset = sri.xdelta * offset;
-				PrecisionUTCTime sampleTime = new PrecisionUTCTime(pushTime.tcmode, pushTime.tcstatus, pushTime.toff, pushTime.twsec, pushTime.tfsec);
-				sampleTime.twsec += Math.floor(timeOffset);
-				sampleTime.tfsec += (timeOffset - Math.floor(timeOffset));
-				if (sampleTime.tfsec >= 1.0) {
-					sampleTime.twsec += 1.0;
-					sampleTime.tfsec -= 1.0;
-				}
-				return sampleTime;
-			}
-			offset -= bufferLength;
+		long offset = atomIndex - push.getOffset();
+		PrecisionUTCTime pushTime = push.getTime();
+		double timeOffset = sri.xdelta * offset;
+		PrecisionUTCTime sampleTime = new PrecisionUTCTime(pushTime.tcmode, pushTime.tcstatus, pushTime.toff, pushTime.twsec, pushTime.tfsec);
+		sampleTime.twsec += Math.floor(timeOffset);
+		sampleTime.tfsec += (timeOffset - Math.floor(timeOffset));
+		if (sampleTime.tfsec >= 1.0) {
+			sampleTime.twsec += 1.0;
+			sampleTime.tfsec -= 1.0;
 		}
-
-		throw new ArrayIndexOutOfBoundsException(index);
+		return sampleTime;
 	}
 
 	@Override
@@ -385,12 +517,12 @@ public class DataBuffer extends AbstractUberBulkIOPort {
 		handlePacket(data, data.length, time, eos, streamID);
 	}
 
+	@Override
 	public int getDimension() {
 		return dimension;
 	}
 
 	public int size() {
-		// Sum the data lengths
-		return dataLengths.stream().reduce(0, Integer::sum) / dimension;
+		return (int) (store.size() / dimension);
 	}
 }
@@ -49,40 +49,17 @@ public class DataCourier {
 		try {
 			IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
 			StatisticsView statsView = (StatisticsView) window.getActivePage().showView(StatisticsView.ID, secondaryID, IWorkbenchPage.VIEW_ACTIVATE);
-			statsView.setInput(convertToDataSet(dataBuffer));
+			if (dataBuffer.isConnected()) {
+				statsView.setInput(dataBuffer, dataBuffer.getLiveStatistics());
+			} else {
+				statsView.setInput(dataBuffer);
+			}
 		} catch (PartInitException e) {
 			StatusManager.getManager().handle(new Status(Status.WARNING, DataListPlugin.PLUGIN_ID, "Problem opening Stats View.", e),
 				StatusManager.SHOW | StatusManager.LOG);
 		}
 	}
 
-	/**
-	 * TODO: There's no need to reformat the data. The stats code could directly use the buffer, which would save time
-	 * and memory.
-	 * @param buffer
-	 * @return
-	 */
-	private Number[][] convertToDataSet(DataBuffer buffer) {
-		int dimensions = buffer.getDimension();
-		int totalSamples = buffer.size();
-
-		// Create 2D array
-		Number[][] retVal = new Number[dimensions][];
-		for (int dimension = 0; dimension < dimensions; dimension++) {
-			retVal[dimension] = new Number[totalSamples];
-		}
-
-		// Populate with sample data
-		for (int sampleIndex = 0; sampleIndex < totalSamples; sampleIndex++) {
-			Object[] sample = buffer.getSample(sampleIndex);
-			for (int dimension = 0; dimension < dimensions; dimension++) {
-				retVal[dimension][sampleIndex] = (Number) sample[dimension];
-			}
-		}
-
-		return retVal;
-	}
-
 	public void clear() {
 		dataBuffer.clear();
 	}
@@ -51,7 +51,8 @@ public class DataCourierReceiver implements IDataReceiver {
 
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
-		List<BulkioPush> buffers = courier.getBuffer().getBuffers();
+		DataBuffer dataBuffer = courier.getBuffer();
+		List<BulkioPush> buffers = dataBuffer.getBuffers();
 		if (buffers.size() == 0) {
 			return new Status(IStatus.ERROR, DataListPlugin.PLUGIN_ID, "No data to write");
 		}
@@ -71,33 +72,34 @@ public class DataCourierReceiver implements IDataReceiver {
 				}
 
 				// Push packet
+				Object data = dataBuffer.getData(buffer);
 				switch (type) {
 				case BIT:
-					writer.pushPacket((BitSequence) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((BitSequence) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case CHAR:
-					writer.pushPacket((char[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((char[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case DOUBLE:
-					writer.pushPacket((double[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((double[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case FLOAT:
-					writer.pushPacket((float[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((float[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case LONG:
 				case ULONG:
-					writer.pushPacket((int[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((int[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case LONG_LONG:
 				case ULONG_LONG:
-					writer.pushPacket((long[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((long[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case OCTET:
-					writer.pushPacket((byte[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((byte[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				case SHORT:
 				case USHORT:
-					writer.pushPacket((short[]) buffer.getData(), buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
+					writer.pushPacket((short[]) data, buffer.getTime(), buffer.getEOS(), buffer.getStreamID());
 					break;
 				default:
 				}
@@ -0,0 +1,474 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.datalist.ui.internal;
+
+import java.util.Arrays;
+
+import BULKIO.BitSequence;
+import gov.redhawk.bulkio.util.BulkIOType;
+
+/**
+ * Append-only storage for the atoms received by a {@link DataBuffer}. Atoms are kept in fixed-size chunks of the
+ * primitive type of the port (bits are packed 64 to a <code>long</code>), so random access is O(1) and nothing is
+ * boxed until a caller asks for an individual value.
+ * <p/>
+ * A store supports a single writer (the CORBA thread pushing data) and concurrent readers. Readers only see atoms
+ * up to the last completed {@link #append(Object, int, int)}.
+ */
+public abstract class SampleStore {
+
+	/* package */ static final int CHUNK_SHIFT = 16;
+	/* package */ static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	/* package */ static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private static final int INITIAL_CHUNKS = 16;
+
+	private Object[] chunks = new Object[INITIAL_CHUNKS];
+
+	/**
+	 * The number of atoms which have been completely written. Written last by {@link #append(Object, int, int)} so
+	 * that readers never see a partially copied push.
+	 */
+	private volatile long size;
+
+	/**
+	 * Creates a store appropriate for the data type of the given BULKIO port type.
+	 * @param type
+	 * @return
+	 */
+	public static SampleStore create(BulkIOType type) {
+		switch (type) {
+		case BIT:
+			return new BitStore();
+		case CHAR:
+			return new CharStore();
+		case OCTET:
+			return new ByteStore();
+		case SHORT:
+		case USHORT:
+			return new ShortStore();
+		case LONG:
+		case ULONG:
+			return new IntStore();
+		case LONG_LONG:
+		case ULONG_LONG:
+			return new LongStore();
+		case FLOAT:
+			return new FloatStore();
+		case DOUBLE:
+			return new DoubleStore();
+		default:
+			throw new IllegalArgumentException("Unsupported BULKIO type: " + type);
+		}
+	}
+
+	/**
+	 * @return The number of atoms in the store
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Appends atoms to the store.
+	 * @param data The data from a push (a primitive array, or a {@link BitSequence})
+	 * @param offset The first atom in <code>data</code> to copy
+	 * @param length The number of atoms to copy
+	 */
+	public void append(Object data, int offset, int length) {
+		long position = size;
+		int copied = 0;
+		while (copied < length) {
+			int chunkIndex = (int) (position >>> CHUNK_SHIFT);
+			int chunkOffset = (int) (position & CHUNK_MASK);
+			int count = Math.min(length - copied, CHUNK_SIZE - chunkOffset);
+			copyIn(data, offset + copied, getOrCreateChunk(chunkIndex), chunkOffset, count);
+			copied += count;
+			position += count;
+		}
+		size = position;
+	}
+
+	/**
+	 * Discards all atoms, releasing the memory used to hold them.
+	 */
+	public void clear() {
+		size = 0;
+		chunks = new Object[INITIAL_CHUNKS];
+	}
+
+	/**
+	 * Retrieves a single atom as a boxed value (for display).
+	 * @param index The atom index
+	 * @return
+	 */
+	public Object get(long index) {
+		checkIndex(index, 1);
+		return get(chunks[(int) (index >>> CHUNK_SHIFT)], (int) (index & CHUNK_MASK));
+	}
+
+	/**
+	 * Retrieves a single atom converted to a double.
+	 * @param index The atom index
+	 * @return
+	 */
+	public double getDouble(long index) {
+		checkIndex(index, 1);
+		return getDouble(chunks[(int) (index >>> CHUNK_SHIFT)], (int) (index & CHUNK_MASK));
+	}
+
+	/**
+	 * Copies a range of atoms into a <code>double[]</code>.
+	 * @param index The first atom to copy
+	 * @param dest The destination array
+	 * @param destPos The starting position in the destination array
+	 * @param length The number of atoms to copy
+	 */
+	public void getDoubles(long index, double[] dest, int destPos, int length) {
+		checkIndex(index, length);
+		Object[] localChunks = chunks;
+		long position = index;
+		int copied = 0;
+		while (copied < length) {
+			int chunkOffset = (int) (position & CHUNK_MASK);
+			int count = Math.min(length - copied, CHUNK_SIZE - chunkOffset);
+			copyOutDoubles(localChunks[(int) (position >>> CHUNK_SHIFT)], chunkOffset, dest, destPos + copied, count);
+			copied += count;
+			position += count;
+		}
+	}
+
+	/**
+	 * Copies a range of atoms out of the store in the same form they were pushed in.
+	 * @param index The first atom to copy
+	 * @param length The number of atoms to copy
+	 * @return A new primitive array, or a {@link BitSequence}
+	 */
+	public Object copyOf(long index, int length) {
+		checkIndex(index, length);
+		Object[] localChunks = chunks;
+		Object dest = newArray(length);
+		long position = index;
+		int copied = 0;
+		while (copied < length) {
+			int chunkOffset = (int) (position & CHUNK_MASK);
+			int count = Math.min(length - copied, CHUNK_SIZE - chunkOffset);
+			copyOut(localChunks[(int) (position >>> CHUNK_SHIFT)], chunkOffset, dest, copied, count);
+			copied += count;
+			position += count;
+		}
+		return dest;
+	}
+
+	private void checkIndex(long index, int length) {
+		if (index < 0 || length < 0 || index + length > size) {
+			throw new ArrayIndexOutOfBoundsException("Atom range " + index + "+" + length + " out of bounds for size " + size);
+		}
+	}
+
+	private Object getOrCreateChunk(int chunkIndex) {
+		if (chunkIndex >= chunks.length) {
+			chunks = Arrays.copyOf(chunks, Math.max(chunks.length * 2, chunkIndex + 1));
+		}
+		Object chunk = chunks[chunkIndex];
+		if (chunk == null) {
+			chunk = newChunk();
+			chunks[chunkIndex] = chunk;
+		}
+		return chunk;
+	}
+
+	/**
+	 * @return A new, empty chunk capable of holding {@link #CHUNK_SIZE} atoms
+	 */
+	protected abstract Object newChunk();
+
+	/**
+	 * @param length
+	 * @return A new array (or {@link BitSequence}) capable of holding <code>length</code> atoms
+	 */
+	protected abstract Object newArray(int length);
+
+	protected abstract void copyIn(Object src, int srcPos, Object chunk, int chunkPos, int length);
+
+	protected abstract void copyOut(Object chunk, int chunkPos, Object dest, int destPos, int length);
+
+	protected abstract void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length);
+
+	protected abstract Object get(Object chunk, int chunkPos);
+
+	protected abstract double getDouble(Object chunk, int chunkPos);
+
+	/**
+	 * Base class for types whose pushes are primitive arrays, which can be copied with
+	 * {@link System#arraycopy(Object, int, Object, int, int)}.
+	 */
+	private abstract static class ArrayStore extends SampleStore {
+
+		@Override
+		protected Object newChunk() {
+			return newArray(CHUNK_SIZE);
+		}
+
+		@Override
+		protected void copyIn(Object src, int srcPos, Object chunk, int chunkPos, int length) {
+			System.arraycopy(src, srcPos, chunk, chunkPos, length);
+		}
+
+		@Override
+		protected void copyOut(Object chunk, int chunkPos, Object dest, int destPos, int length) {
+			System.arraycopy(chunk, chunkPos, dest, destPos, length);
+		}
+	}
+
+	private static class ByteStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new byte[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((byte[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((byte[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			byte[] array = (byte[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = array[chunkPos + i];
+			}
+		}
+	}
+
+	private static class CharStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new char[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((char[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((char[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			char[] array = (char[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = array[chunkPos + i];
+			}
+		}
+	}
+
+	private static class ShortStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new short[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((short[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((short[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			short[] array = (short[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = array[chunkPos + i];
+			}
+		}
+	}
+
+	private static class IntStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new int[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((int[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((int[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			int[] array = (int[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = array[chunkPos + i];
+			}
+		}
+	}
+
+	private static class LongStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new long[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((long[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((long[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			long[] array = (long[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = array[chunkPos + i];
+			}
+		}
+	}
+
+	private static class FloatStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new float[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((float[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((float[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			float[] array = (float[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = array[chunkPos + i];
+			}
+		}
+	}
+
+	private static class DoubleStore extends ArrayStore {
+
+		@Override
+		protected Object newArray(int length) {
+			return new double[length];
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return ((double[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return ((double[]) chunk)[chunkPos];
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			System.arraycopy(chunk, chunkPos, dest, destPos, length);
+		}
+	}
+
+	/**
+	 * Bits are packed most-significant-bit first into <code>long</code> words, matching the bit order of
+	 * {@link BitSequence#data}.
+	 */
+	private static class BitStore extends SampleStore {
+
+		@Override
+		protected Object newChunk() {
+			return new long[CHUNK_SIZE / Long.SIZE];
+		}
+
+		@Override
+		protected Object newArray(int length) {
+			return new BitSequence(new byte[(length + 7) / 8], length);
+		}
+
+		@Override
+		protected void copyIn(Object src, int srcPos, Object chunk, int chunkPos, int length) {
+			byte[] bytes = ((BitSequence) src).data;
+			long[] words = (long[]) chunk;
+			for (int i = 0; i < length; i++) {
+				int srcBit = srcPos + i;
+				if ((bytes[srcBit >>> 3] & (0x80 >>> (srcBit & 7))) != 0) {
+					int destBit = chunkPos + i;
+					words[destBit >>> 6] |= Long.MIN_VALUE >>> (destBit & 63);
+				}
+			}
+		}
+
+		@Override
+		protected void copyOut(Object chunk, int chunkPos, Object dest, int destPos, int length) {
+			long[] words = (long[]) chunk;
+			byte[] bytes = ((BitSequence) dest).data;
+			for (int i = 0; i < length; i++) {
+				if (bit(words, chunkPos + i) != 0) {
+					int destBit = destPos + i;
+					bytes[destBit >>> 3] |= 0x80 >>> (destBit & 7);
+				}
+			}
+		}
+
+		@Override
+		protected void copyOutDoubles(Object chunk, int chunkPos, double[] dest, int destPos, int length) {
+			long[] words = (long[]) chunk;
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = bit(words, chunkPos + i);
+			}
+		}
+
+		@Override
+		protected Object get(Object chunk, int chunkPos) {
+			return bit((long[]) chunk, chunkPos);
+		}
+
+		@Override
+		protected double getDouble(Object chunk, int chunkPos) {
+			return bit((long[]) chunk, chunkPos);
+		}
+
+		private static int bit(long[] words, int bitIndex) {
+			return (int) (words[bitIndex >>> 6] >>> (63 - (bitIndex & 63))) & 0x1;
+		}
+	}
+}
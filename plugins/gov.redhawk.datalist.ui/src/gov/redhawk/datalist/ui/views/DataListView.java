@@ -301,7 +301,8 @@ public class DataListView extends ViewPart {
 	}
 
 	public void setButtons(boolean running) {
-		chartButton.setEnabled(!running && dataCourier.getSize() > 0);
+		// Statistics can be viewed live while acquiring
+		chartButton.setEnabled(running || dataCourier.getSize() > 0);
 		snapshotButton.setEnabled(!running && dataCourier.getSize() > 0);
 		loading.setVisible(running);
 		input.buttonsEnable(running);
@@ -11,6 +11,7 @@
  // BEGIN GENERATED CODE
 package gov.redhawk.ide.codegen;
 
+import gov.redhawk.ide.codegen.util.GeneratedFileStatusIndex;
 import gov.redhawk.model.sca.util.ModelUtil;
 
 import java.io.ByteArrayOutputStream;
@@ -45,6 +46,12 @@ import org.eclipse.core.runtime.Status;
  */
 public abstract class AbstractCodeGenerator implements IScaComponentCodegen {
 
+	/**
+	 * The generated file CRCs read by {@link #getGeneratedFiles(ImplementationSettings, SoftPkg)} or
+	 * {@link #getUnchangedFiles(ImplementationSettings, SoftPkg)}, so checking each file doesn't read them again
+	 */
+	private final ThreadLocal<Map<String, Long>> batchCRCs = new ThreadLocal<Map<String, Long>>();
+
 	@Override
 	public abstract IStatus cleanupSourceFolders(IProject project, IProgressMonitor monitor);
 
@@ -71,35 +78,39 @@ public abstract class AbstractCodeGenerator implements IScaComponentCodegen {
 	 * @throws  
 	 * @throws CoreException 
 	 * @since 10.0
+	 * @see #checkFile(ImplementationSettings, IProject, String, Map)
 	 */
 	protected boolean checkFile(final ImplementationSettings implSettings, final IProject project, final String fileName) throws CoreException {
 		if (project == null || !project.exists()) {
 			return false;
 		}
-		final String outputDir = implSettings.getOutputDir();
-		final IFile file = project.getFile(outputDir + "/" + fileName);
-
-		if (file.exists()) {
-			CRC32 check = new CRC32();
-			check.reset();
-			check.update(getFileBytes(file));
-			final long crc = check.getValue();
+		Map<String, Long> generatedFileCRCs = this.batchCRCs.get();
+		if (generatedFileCRCs == null) {
+			generatedFileCRCs = GeneratedFileStatusIndex.getGeneratedFileCRCs(implSettings);
+		}
+		return checkFile(implSettings, project, fileName, generatedFileCRCs);
+	}
 
-			if (implSettings.getGeneratedFileCRCs() != null) {
-				for (final FileToCRCMap map : implSettings.getGeneratedFileCRCs()) {
-					if (map.getFile().equals(fileName)) {
-						if (crc == map.getCrc()) {
-							return false;
-						} else {
-							return true;
-						}
-					}
-				}
-			}
-		} else {
+	/**
+	 * This method checks to see if a file has changed or not.
+	 * 
+	 * @param implSettings the Implementation settings for this generation
+	 * @param project The project containing the implementation
+	 * @param fileName the name of the file to check
+	 * @param generatedFileCRCs the CRCs recorded when the files were generated; see
+	 * {@link GeneratedFileStatusIndex#getGeneratedFileCRCs(ImplementationSettings)}
+	 * @return true if the file has changed
+	 * @throws CoreException
+	 * @since 12.0
+	 */
+	protected boolean checkFile(final ImplementationSettings implSettings, final IProject project, final String fileName,
+		final Map<String, Long> generatedFileCRCs) throws CoreException {
+		if (project == null || !project.exists()) {
 			return false;
 		}
-		return false;
+		final String outputDir = implSettings.getOutputDir();
+		final IFile file = project.getFile(outputDir + "/" + fileName);
+		return GeneratedFileStatusIndex.isModified(file, fileName, generatedFileCRCs);
 	}
 
 	/**
@@ -186,6 +197,8 @@ public abstract class AbstractCodeGenerator implements IScaComponentCodegen {
 	}
 	
 	/**
+	 * Calls {@link #checkFile(ImplementationSettings, IProject, String)} for each generated file. The generated file
+	 * CRCs are read once for the whole call.
 	 * @since 10.0
 	 */
 	public Map<String, Boolean> getGeneratedFiles(final ImplementationSettings implSettings, final SoftPkg softPkg) throws CoreException {
@@ -200,12 +213,18 @@ public abstract class AbstractCodeGenerator implements IScaComponentCodegen {
 
 		final List<String> templateFileList = template.getTemplate().getAllGeneratedFileNames(implSettings, softPkg);
 		if (templateFileList != null) {
-			for (final String fileName : templateFileList) {
-				if (project != null) {
-					fileMap.put(fileName, checkFile(implSettings, project, fileName));
-				} else {
-					fileMap.put(fileName, true);
+			final Map<String, Long> previousCRCs = this.batchCRCs.get();
+			this.batchCRCs.set(GeneratedFileStatusIndex.getGeneratedFileCRCs(implSettings));
+			try {
+				for (final String fileName : templateFileList) {
+					if (project != null) {
+						fileMap.put(fileName, checkFile(implSettings, project, fileName));
+					} else {
+						fileMap.put(fileName, true);
+					}
 				}
+			} finally {
+				this.batchCRCs.set(previousCRCs);
 			}
 		}
 
@@ -213,6 +232,8 @@ public abstract class AbstractCodeGenerator implements IScaComponentCodegen {
 	}
 	
 	/**
+	 * Calls {@link #checkFile(ImplementationSettings, IProject, String)} for each generated file. The generated file
+	 * CRCs are read once for the whole call.
 	 * @since 10.0
 	 */
 	public List<String> getUnchangedFiles(final ImplementationSettings implSettings, final SoftPkg softPkg) throws CoreException {
@@ -227,10 +248,16 @@ public abstract class AbstractCodeGenerator implements IScaComponentCodegen {
 
 		final List<String> templateFileList = template.getTemplate().getAllGeneratedFileNames(implSettings, softPkg);
 		if (templateFileList != null) {
-			for (final String fileName : templateFileList) {
-				if (!checkFile(implSettings, project, fileName)) {
-					fileList.add(fileName);
+			final Map<String, Long> previousCRCs = this.batchCRCs.get();
+			this.batchCRCs.set(GeneratedFileStatusIndex.getGeneratedFileCRCs(implSettings));
+			try {
+				for (final String fileName : templateFileList) {
+					if (!checkFile(implSettings, project, fileName)) {
+						fileList.add(fileName);
+					}
 				}
+			} finally {
+				this.batchCRCs.set(previousCRCs);
 			}
 		}
 
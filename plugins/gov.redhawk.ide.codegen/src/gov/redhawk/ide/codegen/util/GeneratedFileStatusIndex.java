@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.codegen.util;
+
+import gov.redhawk.ide.codegen.FileToCRCMap;
+import gov.redhawk.ide.codegen.ImplementationSettings;
+import gov.redhawk.ide.codegen.RedhawkCodegenActivator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Determines whether generated files have been modified since they were generated. The CRC of each file's contents
+ * is computed without reading the whole file into memory, and is cached until the file's modification stamp or size
+ * changes.
+ * @since 12.0
+ */
+public final class GeneratedFileStatusIndex {
+
+	/**
+	 * The most files whose CRC is cached
+	 */
+	private static final int MAX_ENTRIES = 4096;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final class Entry {
+		private final long modificationStamp;
+		private final long size;
+		private final long crc;
+
+		Entry(long modificationStamp, long size, long crc) {
+			this.modificationStamp = modificationStamp;
+			this.size = size;
+			this.crc = crc;
+		}
+	}
+
+	/**
+	 * Full path -> CRC of the file's contents, least recently used first
+	 */
+	private static final Map<IPath, Entry> CACHE = Collections.synchronizedMap(new LinkedHashMap<IPath, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPath, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	private GeneratedFileStatusIndex() {
+
+	}
+
+	/**
+	 * @return File name -> the CRC recorded when the file was generated. If a file was recorded more than once, the
+	 * first CRC is used.
+	 */
+	public static Map<String, Long> getGeneratedFileCRCs(final ImplementationSettings implSettings) {
+		final Map<String, Long> crcs = new HashMap<String, Long>();
+		if (implSettings.getGeneratedFileCRCs() != null) {
+			for (final FileToCRCMap map : implSettings.getGeneratedFileCRCs()) {
+				if (map.getFile() != null && !crcs.containsKey(map.getFile())) {
+					crcs.put(map.getFile(), map.getCrc());
+				}
+			}
+		}
+		return crcs;
+	}
+
+	/**
+	 * @param file An existing file
+	 * @return The CRC of the file's contents
+	 * @throws CoreException The file can't be read
+	 */
+	public static long getCRC(final IFile file) throws CoreException {
+		final IPath path = file.getFullPath();
+		final long modificationStamp = file.getModificationStamp();
+		final long size = getSize(file);
+		final Entry cached = CACHE.get(path);
+		if (cached != null && cached.modificationStamp == modificationStamp && cached.size == size) {
+			return cached.crc;
+		}
+
+		final CheckedInputStream input = new CheckedInputStream(file.getContents(), new CRC32());
+		try {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			while (input.read(buffer) != -1) {
+				// The CRC is updated as the file is read
+			}
+		} catch (IOException e) {
+			throw new CoreException(new Status(Status.ERROR, RedhawkCodegenActivator.PLUGIN_ID, "Failed to read file " + file, e));
+		} finally {
+			try {
+				input.close();
+			} catch (IOException e) {
+				// PASS
+			}
+		}
+
+		final long crc = input.getChecksum().getValue();
+		CACHE.put(path, new Entry(modificationStamp, size, crc));
+		return crc;
+	}
+
+	/**
+	 * @return The size of the file, or -1 if it isn't in the local file system
+	 */
+	private static long getSize(final IFile file) {
+		final IPath location = file.getLocation();
+		return (location == null) ? -1 : location.toFile().length();
+	}
+
+	/**
+	 * Checks whether a file has changed since it was generated.
+	 *
+	 * @param file The generated file
+	 * @param fileName The name the file's CRC was recorded under
+	 * @param generatedFileCRCs The recorded CRCs, from {@link #getGeneratedFileCRCs(ImplementationSettings)}
+	 * @return true if the file exists and its CRC differs from the recorded one; false if it's unchanged, doesn't exist,
+	 * or no CRC was recorded for it
+	 * @throws CoreException The file can't be read
+	 */
+	public static boolean isModified(final IFile file, final String fileName, final Map<String, Long> generatedFileCRCs) throws CoreException {
+		final Long generatedCrc = generatedFileCRCs.get(fileName);
+		if (generatedCrc == null || !file.exists()) {
+			return false;
+		}
+		return getCRC(file) != generatedCrc.longValue();
+	}
+}
@@ -10,23 +10,27 @@
  */
 package gov.redhawk.ide.debug.linux;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.nio.charset.Charset;
-import java.nio.file.DirectoryStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -36,55 +40,335 @@ import org.eclipse.debug.core.model.RuntimeProcess;
 
 import gov.redhawk.ide.debug.IProcessTree;
 
+/**
+ * Reads process information from <code>/proc</code>. All processes are read when the tree is created;
+ * {@link #refresh(int)} re-reads just one process and its descendants, and CPU usage is computed from the difference
+ * between consecutive samples of a process.
+ * <p/>
+ * Instances are not thread-safe.
+ */
 public class ProcessTree implements IProcessTree {
 
 	private static final String[] SIGNALS = { "SIGTERM", "SIGQUIT", "SIGINT", "SIGKILL" };
 	private static final String PLUGIN_ID = "gov.redhawk.ide.debug.linux";
+	private static final long PAGE_SIZE = 4096;
+
+	/**
+	 * A process sampled more recently than this isn't re-read by {@link #refresh(int)}. This also keeps CPU usage from
+	 * being computed over a very short interval.
+	 */
+	private static final long MIN_SAMPLE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+
+	/**
+	 * Indices into the values parsed from <code>/proc/&lt;pid&gt;/stat</code>
+	 */
+	private static final int STAT_PPID = 0, STAT_UTIME = 1, STAT_STIME = 2, STAT_THREADS = 3, STAT_STARTTIME = 4, STAT_RSS = 5;
+	private static final int STAT_COUNT = 6;
+
+	/**
+	 * Clock ticks per second, the unit of CPU times in <code>/proc/&lt;pid&gt;/stat</code>
+	 */
+	private static final int CLOCK_TICKS = clockTicks();
+
+	/**
+	 * Whether the kernel provides <code>/proc/&lt;pid&gt;/task/&lt;tid&gt;/children</code>. If not, the whole tree
+	 * is re-read to find children.
+	 */
+	private static final boolean CHILDREN_SUPPORTED = childrenSupported();
+
+	/**
+	 * One sample of a process
+	 */
+	private static class Sample {
+		private final long time;
+		private final long startTime;
+		private final long cpuTicks;
+		private final long rss;
+		private final int threads;
+
+		/**
+		 * CPU cores used since the previous sample
+		 */
+		private float cores;
+
+		Sample(long time, long[] stat) {
+			this.time = time;
+			this.startTime = stat[STAT_STARTTIME];
+			this.cpuTicks = stat[STAT_UTIME] + stat[STAT_STIME];
+			this.rss = stat[STAT_RSS] * PAGE_SIZE;
+			this.threads = (int) stat[STAT_THREADS];
+		}
+	}
 
 	private Map<Integer, List<Integer>> parentPidToChildPids = new HashMap<>();
-	private Map<Integer, Long> pidToRSS = new HashMap<>();
-	private Map<Integer, Integer> pidToThreadCount = new HashMap<>();
+	private Map<Integer, Sample> pidToSample = new HashMap<>();
+
+	// Reused buffers for reading and parsing /proc files
+	private byte[] buffer = new byte[4096];
+	private final long[] stat = new long[STAT_COUNT];
 
 	public ProcessTree() throws IOException {
 		createProcessList();
 	}
 
+	/**
+	 * Reads every process. Samples of processes which still exist are used as the previous sample for CPU usage.
+	 */
 	private void createProcessList() throws IOException {
-		// Iterate paths named /proc/<pid>
-		try (DirectoryStream<Path> dirstream = Files.newDirectoryStream(Paths.get("/proc"), "[0-9]*")) {
-			for (Path path : dirstream) {
-				// Grab pid from filename
-				int pid;
-				try {
-					pid = Integer.parseInt(path.getName(path.getNameCount() - 1).toString());
-				} catch (NumberFormatException e) {
-					continue;
+		String[] names = new File("/proc").list();
+		if (names == null) {
+			throw new IOException("Unable to list /proc");
+		}
+		Map<Integer, List<Integer>> newChildren = new HashMap<>();
+		Map<Integer, Sample> newSamples = new HashMap<>();
+		for (String name : names) {
+			// Iterate paths named /proc/<pid>
+			int pid = parsePid(name);
+			if (pid <= 0) {
+				continue;
+			}
+			Sample sample = sample(pid, pidToSample.get(pid));
+			if (sample == null) {
+				// Remaining stats will not be collected for this pid
+				continue;
+			}
+			newSamples.put(pid, sample);
+			int ppid = (int) stat[STAT_PPID];
+			List<Integer> children = newChildren.get(ppid);
+			if (children == null) {
+				children = new ArrayList<Integer>();
+				newChildren.put(ppid, children);
+			}
+			children.add(pid);
+		}
+		parentPidToChildPids = newChildren;
+		pidToSample = newSamples;
+	}
+
+	/**
+	 * Re-reads a process and its descendants. Descendants are found from the kernel's per-thread children lists
+	 * rather than by reading every process.
+	 * @since 2.2
+	 */
+	@Override
+	public void refresh(int pid) throws IOException {
+		Sample previous = pidToSample.get(pid);
+		if (previous != null && System.nanoTime() - previous.time < MIN_SAMPLE_INTERVAL) {
+			return;
+		}
+		if (!CHILDREN_SUPPORTED) {
+			createProcessList();
+			return;
+		}
+
+		Set<Integer> oldSubtree = getAllChildren(pid);
+		oldSubtree.add(pid);
+		Set<Integer> visited = new HashSet<>();
+		Queue<Integer> toVisit = new LinkedList<>();
+		toVisit.add(pid);
+		while (!toVisit.isEmpty()) {
+			int current = toVisit.poll();
+			if (!visited.add(current)) {
+				continue;
+			}
+			Sample sample = sample(current, pidToSample.get(current));
+			if (sample == null) {
+				pidToSample.remove(current);
+				parentPidToChildPids.remove(current);
+				continue;
+			}
+			pidToSample.put(current, sample);
+			List<Integer> children = readChildren(current);
+			if (children.isEmpty()) {
+				parentPidToChildPids.remove(current);
+			} else {
+				parentPidToChildPids.put(current, children);
+				toVisit.addAll(children);
+			}
+		}
+
+		// Forget processes which have exited
+		oldSubtree.removeAll(visited);
+		for (int gone : oldSubtree) {
+			pidToSample.remove(gone);
+			parentPidToChildPids.remove(gone);
+		}
+	}
+
+	/**
+	 * Reads <code>/proc/&lt;pid&gt;/stat</code>.
+	 * @param previous The previous sample of the process, if any, to compute CPU usage from
+	 * @return The sample, or null if the process doesn't exist (any more)
+	 */
+	private Sample sample(int pid, Sample previous) {
+		int len;
+		try {
+			len = read(new File("/proc/" + pid + "/stat"));
+		} catch (IOException e) {
+			return null;
+		}
+		if (!parseStat(buffer, len, stat)) {
+			return null;
+		}
+		Sample sample = new Sample(System.nanoTime(), stat);
+		if (previous != null && previous.startTime == sample.startTime && sample.time > previous.time) {
+			double seconds = (sample.time - previous.time) / (double) TimeUnit.SECONDS.toNanos(1);
+			sample.cores = (float) ((sample.cpuTicks - previous.cpuTicks) / (double) CLOCK_TICKS / seconds);
+		}
+		return sample;
+	}
+
+	/**
+	 * Parses the fields we use from the contents of <code>/proc/&lt;pid&gt;/stat</code>. See proc(5).
+	 * @return True if all fields were found
+	 */
+	private static boolean parseStat(byte[] buf, int len, long[] values) {
+		// The command (field 2) is in parentheses and may itself contain spaces and parentheses, so start after the
+		// last ')'
+		int i = len - 1;
+		while (i >= 0 && buf[i] != ')') {
+			i--;
+		}
+		if (i < 0) {
+			return false;
+		}
+		i += 2;
+
+		int found = 0;
+		for (int field = 3; i < len && found < STAT_COUNT; field++) {
+			int index;
+			switch (field) {
+			case 4:
+				index = STAT_PPID;
+				break;
+			case 14:
+				index = STAT_UTIME;
+				break;
+			case 15:
+				index = STAT_STIME;
+				break;
+			case 20:
+				index = STAT_THREADS;
+				break;
+			case 22:
+				index = STAT_STARTTIME;
+				break;
+			case 24:
+				index = STAT_RSS;
+				break;
+			default:
+				index = -1;
+				break;
+			}
+			if (index >= 0) {
+				long value = 0;
+				for (; i < len && buf[i] >= '0' && buf[i] <= '9'; i++) {
+					value = value * 10 + (buf[i] - '0');
 				}
+				values[index] = value;
+				found++;
+			}
+			// Skip to the next field
+			while (i < len && buf[i] != ' ') {
+				i++;
+			}
+			i++;
+		}
+		return found == STAT_COUNT;
+	}
 
-				// Read /proc/<pid>/stat
-				try {
-					List<String> lines = Files.readAllLines(path.resolve("stat"), Charset.forName("UTF-8"));
-					if (lines.isEmpty()) {
-						continue;
-					}
-					String[] fields = lines.get(0).split(" ");
-
-					int ppid = Integer.parseInt(fields[3]);
-					if (!parentPidToChildPids.containsKey(ppid)) {
-						parentPidToChildPids.put(ppid, new ArrayList<Integer>());
-					}
-					parentPidToChildPids.get(ppid).add(pid);
-
-					long rss = Long.parseLong(fields[23]) * 4096;
-					pidToRSS.put(pid, rss);
-
-					int threads = Integer.parseInt(fields[19]);
-					pidToThreadCount.put(pid, threads);
-				} catch (IOException | NumberFormatException e) {
-					// Remaining stats will not be collected for this pid
+	/**
+	 * @return The children of all threads of a process
+	 */
+	private List<Integer> readChildren(int pid) {
+		String[] tids = new File("/proc/" + pid + "/task").list();
+		if (tids == null) {
+			return new ArrayList<Integer>();
+		}
+		List<Integer> children = new ArrayList<Integer>();
+		for (String tid : tids) {
+			int len;
+			try {
+				len = read(new File("/proc/" + pid + "/task/" + tid + "/children"));
+			} catch (IOException e) {
+				// The thread exited
+				continue;
+			}
+			int child = 0;
+			boolean inNumber = false;
+			for (int i = 0; i < len; i++) {
+				byte b = buffer[i];
+				if (b >= '0' && b <= '9') {
+					child = child * 10 + (b - '0');
+					inNumber = true;
+				} else if (inNumber) {
+					children.add(child);
+					child = 0;
+					inNumber = false;
 				}
 			}
+			if (inNumber) {
+				children.add(child);
+			}
 		}
+		return children;
+	}
+
+	/**
+	 * Reads a (small) file into {@link #buffer}, growing it if necessary.
+	 * @return The number of bytes read
+	 */
+	private int read(File file) throws IOException {
+		try (FileInputStream in = new FileInputStream(file)) {
+			int len = 0;
+			while (true) {
+				if (len == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				int count = in.read(buffer, len, buffer.length - len);
+				if (count < 0) {
+					return len;
+				}
+				len += count;
+			}
+		}
+	}
+
+	/**
+	 * @return The PID for a /proc directory name, or -1 if it isn't a PID
+	 */
+	private static int parsePid(String name) {
+		int pid = 0;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			pid = pid * 10 + (c - '0');
+		}
+		return (name.isEmpty()) ? -1 : pid;
+	}
+
+	private static int clockTicks() {
+		try {
+			Process process = new ProcessBuilder("getconf", "CLK_TCK").redirectErrorStream(true).start();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.US_ASCII))) {
+				String line = reader.readLine();
+				if (process.waitFor() == 0 && line != null) {
+					return Integer.parseInt(line.trim());
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// PASS - use the usual value
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return 100;
+	}
+
+	private static boolean childrenSupported() {
+		String[] tids = new File("/proc/self/task").list();
+		return tids != null && tids.length > 0 && new File("/proc/self/task/" + tids[0] + "/children").exists();
 	}
 
 	private Set<Integer> getAllChildren(int pid) {
@@ -99,7 +383,9 @@ public class ProcessTree implements IProcessTree {
 		// Visit all descendants
 		while (!childrenToVisit.isEmpty()) {
 			int childPid = childrenToVisit.poll();
-			children.add(childPid);
+			if (!children.add(childPid)) {
+				continue;
+			}
 			if (parentPidToChildPids.containsKey(childPid)) {
 				childrenToVisit.addAll(parentPidToChildPids.get(childPid));
 			}
@@ -138,14 +424,32 @@ public class ProcessTree implements IProcessTree {
 	 * @since 2.1
 	 */
 	public long getRSS(int pid) {
-		if (!pidToRSS.containsKey(pid)) {
+		if (!pidToSample.containsKey(pid)) {
 			return 0;
 		}
-		long total = pidToRSS.get(pid);
+		long total = pidToSample.get(pid).rss;
 
 		for (int child : getAllChildren(pid)) {
-			if (pidToRSS.containsKey(child)) {
-				total += pidToRSS.get(child);
+			if (pidToSample.containsKey(child)) {
+				total += pidToSample.get(child).rss;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * @since 2.2
+	 */
+	@Override
+	public float getCores(int pid) {
+		if (!pidToSample.containsKey(pid)) {
+			return 0;
+		}
+		float total = pidToSample.get(pid).cores;
+
+		for (int child : getAllChildren(pid)) {
+			if (pidToSample.containsKey(child)) {
+				total += pidToSample.get(child).cores;
 			}
 		}
 		return total;
@@ -162,14 +466,14 @@ public class ProcessTree implements IProcessTree {
 	 * @since 2.1
 	 */
 	public int getThreadCount(int pid) {
-		if (!pidToThreadCount.containsKey(pid)) {
+		if (!pidToSample.containsKey(pid)) {
 			return 0;
 		}
-		int total = pidToThreadCount.get(pid);
+		int total = pidToSample.get(pid).threads;
 
 		for (int child : getAllChildren(pid)) {
-			if (pidToThreadCount.containsKey(child)) {
-				total += pidToThreadCount.get(child);
+			if (pidToSample.containsKey(child)) {
+				total += pidToSample.get(child).threads;
 			}
 		}
 		return total;
@@ -179,19 +483,18 @@ public class ProcessTree implements IProcessTree {
 	 * @since 2.1
 	 */
 	public int getFileCount(int pid) {
-		int files = 0;
-		try (Stream<Path> paths = Files.walk(Paths.get("/proc", String.valueOf(pid), "fd"), 1)) {
-			files = (int) paths.count();
-		} catch (IOException e) {
+		String[] fds = new File("/proc/" + pid + "/fd").list();
+		if (fds == null) {
 			// Report zero if we can't get the root process's file list
 			return 0;
 		}
+		int files = fds.length;
 
 		for (int childPid : getAllChildren(pid)) {
-			try (Stream<Path> paths = Files.walk(Paths.get("/proc", String.valueOf(childPid), "fd"), 1)) {
-				files += (int) paths.count();
-			} catch (IOException e) {
-				// Ignore problems retrieving child processes' file lists
+			// Ignore problems retrieving child processes' file lists
+			fds = new File("/proc/" + childPid + "/fd").list();
+			if (fds != null) {
+				files += fds.length;
 			}
 		}
 
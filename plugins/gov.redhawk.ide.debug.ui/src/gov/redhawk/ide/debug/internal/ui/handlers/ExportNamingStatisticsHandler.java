@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.debug.internal.ui.handlers;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.eclipse.ui.statushandlers.StatusManager;
+
+import gov.redhawk.ide.debug.NamingServiceStatistics;
+import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.debug.ui.ScaDebugUiPlugin;
+
+/**
+ * Handles the "Export Naming Statistics" action for the sandbox. Writes the sandbox naming service's statistics
+ * (see {@link NamingServiceStatistics}) to a CSV file.
+ */
+public class ExportNamingStatisticsHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(final ExecutionEvent event) throws ExecutionException {
+		final Shell shell = HandlerUtil.getActiveShell(event);
+		if (!NamingServiceStatistics.ENABLED) {
+			MessageDialog.openInformation(shell, "Naming Statistics", "Naming service statistics are not being recorded. Restart the IDE with the system property "
+				+ NamingServiceStatistics.PROPERTY + "=true (or the NamingStatistics trace option) to record them.");
+			return null;
+		}
+
+		final FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+		dialog.setText("Export Naming Statistics");
+		dialog.setFilterExtensions(new String[] { "*.csv" });
+		dialog.setFileName("naming-statistics.csv");
+		dialog.setOverwrite(true);
+		final String path = dialog.open();
+		if (path == null) {
+			return null;
+		}
+
+		try (Writer writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+			NamingServiceStatistics.getInstance().writeCsv(writer, ScaDebugPlugin.getInstance().getLocalSca().getRootContext());
+		} catch (final IOException e) {
+			StatusManager.getManager().handle(new Status(IStatus.ERROR, ScaDebugUiPlugin.PLUGIN_ID, "Failed to export naming statistics", e),
+				StatusManager.SHOW | StatusManager.LOG);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,32 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+// BEGIN GENERATED CODE
+package gov.redhawk.ide.debug.internal.ui.views;
+
+import org.eclipse.osgi.util.NLS;
+
+/* package */ class Messages extends NLS {
+	private static final String BUNDLE_NAME = "gov.redhawk.ide.debug.internal.ui.views.messages"; //$NON-NLS-1$
+	public static String ResourceHistoryView_ExportCsv;
+	public static String ResourceHistoryView_ExportCsvToolTip;
+	public static String ResourceHistoryView_ExportDialogTitle;
+	public static String ResourceHistoryView_ExportFailed;
+	public static String ResourceHistoryView_NoSamples;
+	public static String ResourceHistoryView_Show;
+	public static String ResourceHistoryView_Source;
+	static {
+		// initialize resource bundle
+		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
+	}
+
+	private Messages() {
+	}
+}
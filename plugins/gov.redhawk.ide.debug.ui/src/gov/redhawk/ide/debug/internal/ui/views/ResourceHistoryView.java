@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.debug.internal.ui.views;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.action.Action;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.ui.part.ViewPart;
+import org.eclipse.ui.statushandlers.StatusManager;
+
+import gov.redhawk.ide.debug.ResourceHistory;
+import gov.redhawk.ide.debug.ResourceHistory.Series;
+import gov.redhawk.ide.debug.ResourceMonitor;
+import gov.redhawk.ide.debug.ui.ScaDebugUiPlugin;
+
+/**
+ * Charts the resource usage history of the processes of a sandbox waveform or the sandbox device manager, as
+ * collected by {@link ResourceMonitor}.
+ */
+public class ResourceHistoryView extends ViewPart {
+
+	public static final String ID = "gov.redhawk.ide.debug.ui.views.resourceHistory";
+
+	private static final int[] LINE_COLORS = { SWT.COLOR_BLUE, SWT.COLOR_RED, SWT.COLOR_DARK_GREEN, SWT.COLOR_MAGENTA, SWT.COLOR_DARK_CYAN,
+		SWT.COLOR_DARK_YELLOW, SWT.COLOR_DARK_RED, SWT.COLOR_DARK_BLUE, SWT.COLOR_DARK_MAGENTA, SWT.COLOR_BLACK };
+	private static final int MARGIN = 6;
+
+	private final ResourceMonitor monitor = ResourceMonitor.getDefault();
+	private final AtomicBoolean refreshPending = new AtomicBoolean();
+	private final ResourceMonitor.Listener listener = this::sampled;
+
+	private Display display;
+	private Combo ownerCombo;
+	private Combo seriesCombo;
+	private Canvas canvas;
+	private List<EObject> owners = new ArrayList<>();
+
+	@Override
+	public void createPartControl(Composite parent) {
+		display = parent.getDisplay();
+		parent.setLayout(new GridLayout(4, false));
+
+		new Label(parent, SWT.NONE).setText(Messages.ResourceHistoryView_Source);
+		ownerCombo = new Combo(parent, SWT.READ_ONLY);
+		ownerCombo.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+		ownerCombo.addListener(SWT.Selection, event -> canvas.redraw());
+
+		new Label(parent, SWT.NONE).setText(Messages.ResourceHistoryView_Show);
+		seriesCombo = new Combo(parent, SWT.READ_ONLY);
+		for (Series series : Series.values()) {
+			seriesCombo.add(series.getLabel());
+		}
+		seriesCombo.select(0);
+		seriesCombo.addListener(SWT.Selection, event -> canvas.redraw());
+
+		canvas = new Canvas(parent, SWT.DOUBLE_BUFFERED);
+		canvas.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 4, 1));
+		canvas.setBackground(parent.getDisplay().getSystemColor(SWT.COLOR_WHITE));
+		canvas.addPaintListener(this::paint);
+
+		Action exportAction = new Action(Messages.ResourceHistoryView_ExportCsv) {
+			@Override
+			public void run() {
+				exportCsv();
+			}
+		};
+		exportAction.setToolTipText(Messages.ResourceHistoryView_ExportCsvToolTip);
+		getViewSite().getActionBars().getToolBarManager().add(exportAction);
+
+		updateOwners();
+		monitor.addListener(listener);
+	}
+
+	@Override
+	public void dispose() {
+		monitor.removeListener(listener);
+		super.dispose();
+	}
+
+	@Override
+	public void setFocus() {
+		ownerCombo.setFocus();
+	}
+
+	private void sampled(ResourceMonitor source) {
+		// Coalesce refreshes if the UI thread falls behind
+		if (!refreshPending.compareAndSet(false, true)) {
+			return;
+		}
+		if (display.isDisposed()) {
+			return;
+		}
+		display.asyncExec(() -> {
+			refreshPending.set(false);
+			if (!canvas.isDisposed()) {
+				updateOwners();
+				canvas.redraw();
+			}
+		});
+	}
+
+	private void updateOwners() {
+		List<EObject> newOwners = monitor.getOwners();
+		List<String> names = new ArrayList<>();
+		for (EObject owner : newOwners) {
+			String name = monitor.getOwnerName(owner);
+			names.add((name == null) ? "" : name);
+		}
+		if (newOwners.equals(owners) && names.equals(Arrays.asList(ownerCombo.getItems()))) {
+			return;
+		}
+
+		EObject selected = getSelectedOwner();
+		owners = newOwners;
+		ownerCombo.setItems(names.toArray(new String[names.size()]));
+		int index = owners.indexOf(selected);
+		ownerCombo.select((index >= 0) ? index : 0);
+	}
+
+	private EObject getSelectedOwner() {
+		int index = ownerCombo.getSelectionIndex();
+		return (index >= 0 && index < owners.size()) ? owners.get(index) : null;
+	}
+
+	private void paint(PaintEvent event) {
+		GC gc = event.gc;
+		Rectangle area = canvas.getClientArea();
+		EObject owner = getSelectedOwner();
+		List<ResourceHistory> histories = (owner == null) ? new ArrayList<ResourceHistory>() : monitor.getHistories(owner);
+		Series series = Series.values()[Math.max(0, seriesCombo.getSelectionIndex())];
+
+		// Find the range of times and values
+		long minTime = Long.MAX_VALUE, maxTime = Long.MIN_VALUE;
+		double maxValue = 0;
+		for (ResourceHistory history : histories) {
+			synchronized (history) {
+				int size = history.size();
+				if (size == 0) {
+					continue;
+				}
+				minTime = Math.min(minTime, history.getTime(0));
+				maxTime = Math.max(maxTime, history.getTime(size - 1));
+				for (int i = 0; i < size; i++) {
+					maxValue = Math.max(maxValue, history.get(series, i));
+				}
+			}
+		}
+		if (minTime > maxTime) {
+			gc.drawText(Messages.ResourceHistoryView_NoSamples, MARGIN, MARGIN, true);
+			return;
+		}
+		maxValue = (maxValue <= 0) ? 1 : maxValue * 1.1;
+
+		// Axes
+		String maxLabel = format(series, maxValue);
+		Point labelSize = gc.textExtent(maxLabel);
+		int lineHeight = labelSize.y;
+		int left = MARGIN + labelSize.x + MARGIN;
+		int top = MARGIN + lineHeight * ((histories.size() + 2) / 3) + MARGIN;
+		int right = area.width - MARGIN;
+		int bottom = area.height - MARGIN - lineHeight - MARGIN;
+		if (right - left < 10 || bottom - top < 10) {
+			return;
+		}
+		gc.setForeground(canvas.getDisplay().getSystemColor(SWT.COLOR_DARK_GRAY));
+		gc.drawLine(left, top, left, bottom);
+		gc.drawLine(left, bottom, right, bottom);
+		gc.drawText(maxLabel, MARGIN, top - lineHeight / 2, true);
+		gc.drawText(format(series, 0), MARGIN, bottom - lineHeight / 2, true);
+		SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+		gc.drawText(timeFormat.format(new Date(minTime)), left, bottom + MARGIN, true);
+		String endLabel = timeFormat.format(new Date(maxTime));
+		gc.drawText(endLabel, right - gc.textExtent(endLabel).x, bottom + MARGIN, true);
+
+		// A line and legend entry for each process
+		double timeSpan = Math.max(1, maxTime - minTime);
+		int width = right - left;
+		int height = bottom - top;
+		int legendX = MARGIN;
+		int legendY = MARGIN;
+		int legendWidth = (area.width - 2 * MARGIN) / 3;
+		for (int h = 0; h < histories.size(); h++) {
+			ResourceHistory history = histories.get(h);
+			Color color = canvas.getDisplay().getSystemColor(LINE_COLORS[h % LINE_COLORS.length]);
+			gc.setForeground(color);
+
+			int column = h % 3;
+			int row = h / 3;
+			int x = legendX + column * legendWidth;
+			int y = legendY + row * lineHeight;
+			gc.drawLine(x, y + lineHeight / 2, x + 12, y + lineHeight / 2);
+			gc.drawText(history.getName(), x + 16, y, true);
+
+			synchronized (history) {
+				int size = history.size();
+				// Don't draw more points than there are pixels
+				int step = Math.max(1, size / Math.max(1, width));
+				int[] points = new int[2 * ((size + step - 1) / step)];
+				int p = 0;
+				for (int i = 0; i < size; i += step) {
+					points[p++] = left + (int) ((history.getTime(i) - minTime) / timeSpan * width);
+					points[p++] = bottom - (int) (history.get(series, i) / maxValue * height);
+				}
+				if (points.length >= 4) {
+					gc.drawPolyline(points);
+				} else if (points.length == 2) {
+					gc.drawOval(points[0] - 1, points[1] - 1, 2, 2);
+				}
+			}
+		}
+	}
+
+	private static String format(Series series, double value) {
+		if (series == Series.CORES || series == Series.MEMORY) {
+			return String.format("%.2f", value);
+		}
+		return String.valueOf((long) Math.ceil(value));
+	}
+
+	private void exportCsv() {
+		EObject owner = getSelectedOwner();
+		if (owner == null) {
+			return;
+		}
+		FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+		dialog.setText(Messages.ResourceHistoryView_ExportDialogTitle);
+		dialog.setFilterExtensions(new String[] { "*.csv" });
+		dialog.setFileName(monitor.getOwnerName(owner) + ".csv");
+		dialog.setOverwrite(true);
+		String path = dialog.open();
+		if (path == null) {
+			return;
+		}
+		try (Writer writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+			monitor.writeCsv(owner, writer);
+		} catch (IOException e) {
+			StatusManager.getManager().handle(new Status(IStatus.ERROR, ScaDebugUiPlugin.PLUGIN_ID, Messages.ResourceHistoryView_ExportFailed, e),
+				StatusManager.SHOW | StatusManager.LOG);
+		}
+	}
+}
@@ -13,6 +13,8 @@ package gov.redhawk.ide.debug;
 
 import gov.redhawk.model.sca.IDisposable;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.common.util.URI;
@@ -21,6 +23,8 @@ import org.omg.CosNaming.NameComponent;
 import org.omg.CosNaming.NamingContext;
 import org.omg.CosNaming.NamingContextExt;
 import org.omg.CosNaming.NamingContextExtOperations;
+import org.omg.CosNaming.NamingContextPackage.InvalidName;
+import org.omg.CosNaming.NamingContextPackage.NotFound;
 import org.omg.PortableServer.POA;
 
 /**
@@ -223,4 +227,18 @@ public interface NotifyingNamingContext extends NamingContextExtOperations, IDis
 	 */
 	NotifyingNamingContext findContext(NamingContext context);
 
+	/**
+	 * <!-- begin-user-doc -->
+	 * Returns a future which completes with the object bound to a name as soon as it is bound (via bind or rebind).
+	 * If a live object is already bound to the name, the returned future is already complete. This lets callers wait
+	 * for an object to register without polling {@link #resolve(NameComponent[])}.
+	 * <p/>
+	 * Cancel the future to stop waiting. If this context is disposed first, the future completes exceptionally.
+	 * @param name The name, relative to this context. Any intermediate contexts must already be bound.
+	 * @since 10.2
+	 * <!-- end-user-doc -->
+	 * @generated NOT
+	 */
+	CompletableFuture<org.omg.CORBA.Object> waitForBinding(NameComponent[] name) throws NotFound, InvalidName;
+
 } // NotifyingNamingContext
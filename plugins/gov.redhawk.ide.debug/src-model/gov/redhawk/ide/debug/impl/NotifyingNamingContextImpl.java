@@ -11,10 +11,14 @@
 // BEGIN GENERATED CODE
 package gov.redhawk.ide.debug.impl;
 
+import gov.redhawk.ide.debug.NamingServiceStatistics;
+import gov.redhawk.ide.debug.NamingServiceStatistics.Operation;
 import gov.redhawk.ide.debug.NotifyingNamingContext;
 import gov.redhawk.ide.debug.ScaDebugPackage;
 import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.debug.internal.LivenessCache;
 import gov.redhawk.ide.debug.internal.NamingContextExtPOATie;
+import gov.redhawk.ide.debug.internal.RegistrationWaiters;
 import gov.redhawk.model.sca.IDisposable;
 import gov.redhawk.model.sca.ScaPackage;
 import gov.redhawk.model.sca.commands.ScaModelCommand;
@@ -25,10 +29,13 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notification;
@@ -377,11 +384,23 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 	}
 
 	private Name name;
+
+	/**
+	 * Futures waiting for a name to be bound in this context.
+	 * @see #waitForBinding(NameComponent[])
+	 */
+	private final RegistrationWaiters<Name, org.omg.CORBA.Object> bindingWaiters = new RegistrationWaiters<>();
+
 	/** no tests of bound objects for existence */
 	private boolean ping = true;
 	/** purge? */
 	private boolean doPurge = true;
 
+	/**
+	 * Results of pinging bound objects. Shared by all contexts, since the same objects are often bound in several.
+	 */
+	private static final LivenessCache LIVENESS = LivenessCache.getDefault();
+
 	/**
 	 * <!-- begin-user-doc -->
 	 * <!-- end-user-doc -->
@@ -567,6 +586,7 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 			return;
 		}
 		this.disposed = true;
+		bindingWaiters.failAll(new IllegalStateException("Naming context was disposed"));
 		getObjectMap().clear();
 		getContextMap().clear();
 		getSubContexts().clear();
@@ -816,6 +836,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	@Override
 	public void bind(final NameComponent[] nc, final org.omg.CORBA.Object obj) throws NotFound, CannotProceed, InvalidName, AlreadyBound {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			doBind(nc, obj);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.BIND, start);
+			}
+		}
+	}
+
+	private void doBind(final NameComponent[] nc, final org.omg.CORBA.Object obj) throws NotFound, CannotProceed, InvalidName, AlreadyBound {
 		if (this.destroyed) {
 			throw new CannotProceed();
 		}
@@ -836,7 +867,8 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 				// if the name is still in use, try to ping the object
 				final org.omg.CORBA.Object s = getObjectMap().get(n);
 				if (isDead(s)) {
-					rebind(n.components(), obj);
+					recordPurge(1, 0);
+					doRebind(n.components(), obj);
 					return;
 				}
 				throw new AlreadyBound();
@@ -844,7 +876,8 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 				// if the name is still in use, try to ping the object
 				final org.omg.CORBA.Object s = getContextMap().get(n);
 				if (isDead(s)) {
-					unbind(n.components());
+					recordPurge(0, 1);
+					doUnbind(n.components());
 				}
 				throw new AlreadyBound();
 			}
@@ -864,10 +897,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 			if (NotifyingNamingContextImpl.DEBUG.enabled) {
 				NotifyingNamingContextImpl.DEBUG.message("Bound name: " + n.toString());
 			}
+			bindingWaiters.complete(n, obj);
 		} else {
 			final NameComponent[] ncx = new NameComponent[1];
 			ncx[0] = nb;
-			NamingContextExtHelper.narrow(resolve(ctx.components())).bind(ncx, obj);
+			final NamingContextExt nce = NamingContextExtHelper.narrow(doResolve(ctx.components()));
+			final NotifyingNamingContextImpl impl = findContextImpl(nce);
+			if (impl != null) {
+				impl.doBind(ncx, obj);
+			} else {
+				nce.bind(ncx, obj);
+			}
 		}
 	}
 
@@ -877,6 +917,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	@Override
 	public void rebind(final NameComponent[] nc, final org.omg.CORBA.Object obj) throws NotFound, CannotProceed, InvalidName {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			doRebind(nc, obj);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.REBIND, start);
+			}
+		}
+	}
+
+	private void doRebind(final NameComponent[] nc, final org.omg.CORBA.Object obj) throws NotFound, CannotProceed, InvalidName {
 		if (this.destroyed) {
 			throw new CannotProceed();
 		}
@@ -923,16 +974,22 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 			if (NotifyingNamingContextImpl.DEBUG.enabled) {
 				NotifyingNamingContextImpl.DEBUG.message("re-Bound name: " + n.toString());
 			}
+			bindingWaiters.complete(n, obj);
 		} else {
 			// rebind in the correct context
 
 			final NameComponent[] ncx = new NameComponent[1];
 			ncx[0] = nb;
-			final NamingContextExt nce = NamingContextExtHelper.narrow(resolve(ctx.components()));
+			final NamingContextExt nce = NamingContextExtHelper.narrow(doResolve(ctx.components()));
 			if (nce == null) {
 				throw new CannotProceed();
 			}
-			nce.rebind(ncx, obj);
+			final NotifyingNamingContextImpl impl = findContextImpl(nce);
+			if (impl != null) {
+				impl.doRebind(ncx, obj);
+			} else {
+				nce.rebind(ncx, obj);
+			}
 		}
 	}
 
@@ -942,6 +999,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	@Override
 	public void rebind_context(final NameComponent[] nc, final NamingContext obj) throws NotFound, CannotProceed, InvalidName {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			doRebindContext(nc, obj);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.REBIND, start);
+			}
+		}
+	}
+
+	private void doRebindContext(final NameComponent[] nc, final NamingContext obj) throws NotFound, CannotProceed, InvalidName {
 		if (this.destroyed) {
 			throw new CannotProceed();
 		}
@@ -994,6 +1062,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 	 */
 	@Override
 	public void bind_context(final NameComponent[] nc, final NamingContext obj) throws NotFound, CannotProceed, InvalidName, AlreadyBound {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			doBindContext(nc, obj);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.BIND, start);
+			}
+		}
+	}
+
+	private void doBindContext(final NameComponent[] nc, final NamingContext obj) throws NotFound, CannotProceed, InvalidName, AlreadyBound {
 		bind_context(new Name(nc), obj);
 	}
 
@@ -1010,7 +1089,8 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 				// if the name is still in use, try to ping the object
 				final org.omg.CORBA.Object s = getObjectMap().get(n);
 				if (isDead(s)) {
-					unbind(n.components());
+					recordPurge(1, 0);
+					doUnbind(n.components());
 				} else {
 					throw new AlreadyBound();
 				}
@@ -1018,7 +1098,8 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 				// if the name is still in use, try to ping the object
 				final org.omg.CORBA.Object s = getContextMap().get(n);
 				if (isDead(s)) {
-					rebind_context(n.components(), obj);
+					recordPurge(0, 1);
+					doRebindContext(n.components(), obj);
 					return;
 				}
 				throw new AlreadyBound();
@@ -1047,7 +1128,13 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 		} else {
 			final NameComponent[] ncx = new NameComponent[1];
 			ncx[0] = nb;
-			NamingContextExtHelper.narrow(resolve(ctx.components())).bind_context(ncx, obj);
+			final NamingContextExt nce = NamingContextExtHelper.narrow(doResolve(ctx.components()));
+			final NotifyingNamingContextImpl impl = findContextImpl(nce);
+			if (impl != null) {
+				impl.doBindContext(ncx, obj);
+			} else {
+				nce.bind_context(ncx, obj);
+			}
 		}
 	}
 
@@ -1082,7 +1169,8 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	/**
 	 * cleanup bindings, i.e. ping every object and remove bindings to
-	 * non-existent objects
+	 * non-existent objects. Objects are pinged concurrently, and recent ping results are reused (see
+	 * {@link LivenessCache}).
 	 * @since 6.0
 	 */
 
@@ -1090,14 +1178,24 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 		// Check if object purging enabled
 
-		if (!doPurge) {
+		if (!doPurge || this.destroyed) {
 			return;
 		}
 
+		final List<Entry<Name, org.omg.CORBA.Object>> objects = new ArrayList<Entry<Name, org.omg.CORBA.Object>>(getObjectMap().entrySet());
+		final List<Entry<Name, NamingContext>> contexts = new ArrayList<Entry<Name, NamingContext>>(getContextMap().entrySet());
+		final List<org.omg.CORBA.Object> all = new ArrayList<org.omg.CORBA.Object>(objects.size() + contexts.size());
+		for (final Entry<Name, org.omg.CORBA.Object> entry : objects) {
+			all.add(entry.getValue());
+		}
+		for (final Entry<Name, NamingContext> entry : contexts) {
+			all.add(entry.getValue());
+		}
+		final Map<org.omg.CORBA.Object, Boolean> alive = LIVENESS.checkAll(all);
+
 		final List<Name> itemsToRemoveNames = new ArrayList<Name>();
-		for (final Iterator<Entry<Name, org.omg.CORBA.Object>> iterator = getObjectMap().entrySet().iterator(); iterator.hasNext();) {
-			final Entry<Name, org.omg.CORBA.Object> entry = iterator.next();
-			if (isDead(entry.getValue())) {
+		for (final Entry<Name, org.omg.CORBA.Object> entry : objects) {
+			if (!alive.get(entry.getValue())) {
 				if (NotifyingNamingContextImpl.DEBUG.enabled) {
 					NotifyingNamingContextImpl.DEBUG.message("Removing name " + entry.getKey().baseNameComponent().id);
 				}
@@ -1107,9 +1205,8 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 		final List<Name> itemsToRemoveContexts = new ArrayList<Name>();
 		/* ping contexts */
-		for (final Iterator<Entry<Name, NamingContext>> iterator = getContextMap().entrySet().iterator(); iterator.hasNext();) {
-			final Entry<Name, NamingContext> entry = iterator.next();
-			if (isDead(entry.getValue())) {
+		for (final Entry<Name, NamingContext> entry : contexts) {
+			if (!alive.get(entry.getValue())) {
 				if (NotifyingNamingContextImpl.DEBUG.enabled) {
 					NotifyingNamingContextImpl.DEBUG.message("Removing context " + entry.getKey().baseNameComponent().id);
 				}
@@ -1117,6 +1214,10 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 			}
 		}
 
+		if (itemsToRemoveNames.isEmpty() && itemsToRemoveContexts.isEmpty()) {
+			return;
+		}
+		recordPurge(itemsToRemoveNames.size(), itemsToRemoveContexts.size());
 		ScaModelCommand.execute(this, new ScaModelCommand() {
 
 			@Override
@@ -1157,18 +1258,43 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	@Override
 	public void list(final int how_many, final BindingListHolder bl, final BindingIteratorHolder bi) {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			doList(how_many, bl, bi);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.LIST, start);
+			}
+		}
+	}
+
+	private void doList(final int how_many, final BindingListHolder bl, final BindingIteratorHolder bi) {
 		if (this.destroyed) {
 			return;
 		}
 
 		Binding[] result;
 
-		cleanup();
+		// List from memory, leaving out anything recently found to be dead. Pinging and purging happens in the
+		// background so the caller isn't held up by unresponsive objects.
+		scheduleCleanup();
+		final List<Entry<Name, org.omg.CORBA.Object>> objects = new ArrayList<Entry<Name, org.omg.CORBA.Object>>();
+		for (final Entry<Name, org.omg.CORBA.Object> entry : getObjectMap().entrySet()) {
+			if (!(doPurge && LIVENESS.isKnownDead(entry.getValue()))) {
+				objects.add(entry);
+			}
+		}
+		final List<Entry<Name, NamingContext>> contexts = new ArrayList<Entry<Name, NamingContext>>();
+		for (final Entry<Name, NamingContext> entry : getContextMap().entrySet()) {
+			if (!(doPurge && LIVENESS.isKnownDead(entry.getValue()))) {
+				contexts.add(entry);
+			}
+		}
 
-		int size = how_many();
+		int size = objects.size() + contexts.size();
 
-		final Iterator<Entry<Name, org.omg.CORBA.Object>> n = getObjectMap().entrySet().iterator();
-		final Iterator<Entry<Name, NamingContext>> c = getContextMap().entrySet().iterator();
+		final Iterator<Entry<Name, org.omg.CORBA.Object>> n = objects.iterator();
+		final Iterator<Entry<Name, NamingContext>> c = contexts.iterator();
 
 		if (how_many < size) {
 			// counter for copies
@@ -1236,6 +1362,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	@Override
 	public org.omg.CORBA.Object resolve(final NameComponent[] nc) throws NotFound, CannotProceed, InvalidName {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			return doResolve(nc);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.RESOLVE, start);
+			}
+		}
+	}
+
+	private org.omg.CORBA.Object doResolve(final NameComponent[] nc) throws NotFound, CannotProceed, InvalidName {
 		if (this.destroyed) {
 			throw new CannotProceed();
 		}
@@ -1244,15 +1381,11 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 			throw new InvalidName();
 		}
 
-		long start = System.currentTimeMillis();
-
 		final Name n = new Name(nc[0]);
 		if (nc.length > 1) {
 			final NamingContextExt next_context = NamingContextExtHelper.narrow(getContextMap().get(n));
-			System.out.println(this + ": Narrow " + (System.currentTimeMillis() - start));
-			start = System.currentTimeMillis();
 
-			if ((next_context == null) || (ping && isDead(next_context))) {
+			if ((next_context == null) || (ping && !LIVENESS.isAlive(next_context))) {
 				throw new NotFound(NotFoundReason.missing_node, nc);
 			}
 
@@ -1262,6 +1395,10 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 				nc_prime[i - 1] = nc[i];
 			}
 
+			final NotifyingNamingContextImpl impl = findContextImpl(next_context);
+			if (impl != null) {
+				return impl.doResolve(nc_prime);
+			}
 			return next_context.resolve(nc_prime);
 		} else {
 			org.omg.CORBA.Object result = null;
@@ -1276,7 +1413,7 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 				throw NotifyingNamingContextImpl.DEBUG.throwing(new NotFound(NotFoundReason.missing_node, n.components()));
 			}
 
-			if (ping && isDead(result)) {
+			if (ping && !LIVENESS.isAlive(result)) {
 				throw NotifyingNamingContextImpl.DEBUG.throwing(new NotFound(NotFoundReason.missing_node, n.components()));
 			}
 
@@ -1290,6 +1427,17 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 	@Override
 	public void unbind(final NameComponent[] nc) throws NotFound, CannotProceed, InvalidName {
+		final long start = NamingServiceStatistics.ENABLED ? System.nanoTime() : 0;
+		try {
+			doUnbind(nc);
+		} finally {
+			if (NamingServiceStatistics.ENABLED) {
+				NamingServiceStatistics.getInstance().record(Operation.UNBIND, start);
+			}
+		}
+	}
+
+	private void doUnbind(final NameComponent[] nc) throws NotFound, CannotProceed, InvalidName {
 		if (this.destroyed) {
 			throw new CannotProceed();
 		}
@@ -1304,24 +1452,30 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 
 		if (ctx == null) {
 			if (getObjectMap().containsKey(n)) {
-				ScaModelCommandWithResult.execute(this, new ScaModelCommandWithResult<org.omg.CORBA.Object>() {
+				final org.omg.CORBA.Object removed = ScaModelCommandWithResult.execute(this, new ScaModelCommandWithResult<org.omg.CORBA.Object>() {
 
 					@Override
 					public void execute() {
 						setResult(getObjectMap().removeKey(n));
 					}
 				});
+				if (removed != null) {
+					LIVENESS.forget(removed);
+				}
 				if (NotifyingNamingContextImpl.DEBUG.enabled) {
 					NotifyingNamingContextImpl.DEBUG.message("Unbound: " + n.toString());
 				}
 			} else if (getContextMap().containsKey(n)) {
-				ScaModelCommandWithResult.execute(this, new ScaModelCommandWithResult<org.omg.CORBA.Object>() {
+				final org.omg.CORBA.Object removed = ScaModelCommandWithResult.execute(this, new ScaModelCommandWithResult<org.omg.CORBA.Object>() {
 
 					@Override
 					public void execute() {
 						setResult(getContextMap().removeKey(n));
 					}
 				});
+				if (removed != null) {
+					LIVENESS.forget(removed);
+				}
 
 				if (NotifyingNamingContextImpl.DEBUG.enabled) {
 					NotifyingNamingContextImpl.DEBUG.message("Unbound: " + n.toString());
@@ -1335,7 +1489,13 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 		} else {
 			final NameComponent[] ncx = new NameComponent[1];
 			ncx[0] = nb;
-			NamingContextExtHelper.narrow(resolve(ctx.components())).unbind(ncx);
+			final NamingContextExt nce = NamingContextExtHelper.narrow(doResolve(ctx.components()));
+			final NotifyingNamingContextImpl impl = findContextImpl(nce);
+			if (impl != null) {
+				impl.doUnbind(ncx);
+			} else {
+				nce.unbind(ncx);
+			}
 		}
 	}
 
@@ -1380,25 +1540,81 @@ public class NotifyingNamingContextImpl extends EObjectImpl implements Notifying
 	}
 
 	/**
-	 * determine if non_existent
+	 * <!-- begin-user-doc -->
+	 * @since 10.2
+	 * <!-- end-user-doc -->
+	 * @generated NOT
 	 */
+	@Override
+	public CompletableFuture<org.omg.CORBA.Object> waitForBinding(final NameComponent[] nc) throws NotFound, InvalidName {
+		if (nc == null || nc.length == 0) {
+			throw new InvalidName();
+		}
 
-	private boolean isDead(final org.omg.CORBA.Object o) {
-		boolean non_exist = true;
-		try {
-			non_exist = o._non_existent();
-			// Code added to release the reference.
-			if (!non_exist) {
-				o._release();
+		if (nc.length > 1) {
+			final NotifyingNamingContext next = findContext(getContextMap().get(new Name(nc[0])));
+			if (next == null) {
+				throw new NotFound(NotFoundReason.missing_node, nc);
 			}
-		} catch (org.omg.CORBA.NO_IMPLEMENT ni) {
-			// not a failure, the peer is alive, it just doesn't
-			// implement _non_existent()
-			non_exist = false;
-		} catch (org.omg.CORBA.SystemException e) {
-			non_exist = true;
-		}
-		return non_exist;
+			return next.waitForBinding(Arrays.copyOfRange(nc, 1, nc.length));
+		}
+
+		final Name n = new Name(nc);
+		final CompletableFuture<org.omg.CORBA.Object> future = bindingWaiters.add(n);
+
+		// The name may have been bound before we started waiting. The waiter is added first so a bind can't be missed
+		// in between.
+		final org.omg.CORBA.Object existing = getObjectMap().get(n);
+		if (existing != null && (!ping || LIVENESS.isAlive(existing))) {
+			future.complete(existing);
+		}
+		return future;
+	}
+
+	/**
+	 * Finds our servant for a context reached through this one. Calls on a compound name are forwarded to the servant
+	 * directly, so that each client call is only recorded once in the {@link NamingServiceStatistics}.
+	 * @return The servant, or null if the context isn't one of ours
+	 */
+	private NotifyingNamingContextImpl findContextImpl(final NamingContext context) {
+		final NotifyingNamingContext local = findContext(context);
+		if (local instanceof NotifyingNamingContextImpl) {
+			return (NotifyingNamingContextImpl) local;
+		}
+		return null;
+	}
+
+	/**
+	 * Queues a {@link #cleanup()} of this context in the background. Requests made before it runs are coalesced.
+	 */
+	private void scheduleCleanup() {
+		if (!doPurge) {
+			return;
+		}
+		LIVENESS.runInBackground(this, new Runnable() {
+			@Override
+			public void run() {
+				cleanup();
+			}
+		});
+	}
+
+	/**
+	 * determine if non_existent. Always pings the object, since the answer decides whether an existing binding may be
+	 * replaced.
+	 */
+
+	private boolean isDead(final org.omg.CORBA.Object o) {
+		return !LIVENESS.ping(o);
+	}
+
+	/**
+	 * Counts bindings removed because the bound object no longer exists.
+	 */
+	private static void recordPurge(int objects, int contexts) {
+		if (NamingServiceStatistics.ENABLED) {
+			NamingServiceStatistics.getInstance().recordPurge(objects, contexts);
+		}
 	}
 
 } // NotifyingNamingContextImpl
@@ -54,6 +54,27 @@ public interface IProcessTree {
 	 */
 	public int getFileCount(int pid);
 
+	/**
+	 * Gets the number of CPU cores used between the specified process and its children, averaged over the time
+	 * between the two most recent samples of each process.
+	 * @param pid
+	 * @return
+	 * @since 10.2
+	 */
+	public default float getCores(int pid) {
+		return 0;
+	}
+
+	/**
+	 * Re-reads the specified process and its children, so that a tree can be kept and reused rather than re-created
+	 * for each sample.
+	 * @param pid
+	 * @throws IOException
+	 * @since 10.2
+	 */
+	public default void refresh(int pid) throws IOException {
+	}
+
 	/**
 	 * Kills the specified process and all children.
 	 * @param pid
@@ -0,0 +1,284 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.debug;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import gov.redhawk.sca.util.Debug;
+
+/**
+ * Records statistics about the sandbox's naming service: the number and latency of naming operations, and how many
+ * dead bindings have been purged. Binding counts per context are computed when queried.
+ * <p/>
+ * Recording is off unless the <code>gov.redhawk.ide.debug/debug/NamingStatistics</code> trace option or the
+ * <code>{@value #PROPERTY}</code> system property is set when the IDE starts. When off, {@link #ENABLED} is a
+ * constant <code>false</code>, so callers which check it first do no work.
+ * @since 10.2
+ */
+public final class NamingServiceStatistics {
+
+	/**
+	 * The system property which enables recording.
+	 */
+	public static final String PROPERTY = "gov.redhawk.ide.debug.namingStatistics";
+
+	/**
+	 * Whether recording is enabled. Callers should check this before calling {@link #record(Operation, long)}.
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean(PROPERTY) || new Debug(ScaDebugPlugin.getInstance(), "NamingStatistics").enabled;
+
+	/**
+	 * Latency histogram buckets. Bucket 0 holds latencies under 1 microsecond; bucket <i>i</i> holds latencies of
+	 * [2<sup>i-1</sup>, 2<sup>i</sup>) microseconds. The last bucket holds everything longer.
+	 */
+	public static final int BUCKETS = 32;
+
+	/**
+	 * Instrumented naming operations. Context variants (e.g. <code>bind_context</code>) are counted with their object
+	 * counterpart.
+	 */
+	public enum Operation {
+		BIND,
+		REBIND,
+		RESOLVE,
+		UNBIND,
+		LIST
+	}
+
+	/**
+	 * A snapshot of the statistics for one operation.
+	 */
+	public static final class OperationStats {
+		private final Operation operation;
+		private final long count;
+		private final long totalNanos;
+		private final long maxNanos;
+		private final long[] histogram;
+
+		private OperationStats(Operation operation, long count, long totalNanos, long maxNanos, long[] histogram) {
+			this.operation = operation;
+			this.count = count;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+			this.histogram = histogram;
+		}
+
+		public Operation getOperation() {
+			return operation;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		public long getMeanNanos() {
+			return (count == 0) ? 0 : totalNanos / count;
+		}
+
+		/**
+		 * @return Counts per latency bucket (see {@link NamingServiceStatistics#BUCKETS})
+		 */
+		public long[] getHistogram() {
+			return histogram.clone();
+		}
+
+		/**
+		 * @param fraction e.g. 0.99 for the 99th percentile
+		 * @return An upper bound for the latency percentile, in nanoseconds, from the histogram
+		 */
+		public long getPercentileNanos(double fraction) {
+			long total = 0;
+			for (long c : histogram) {
+				total += c;
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long rank = (long) Math.ceil(fraction * total);
+			long seen = 0;
+			for (int i = 0; i < histogram.length; i++) {
+				seen += histogram[i];
+				if (seen >= rank) {
+					return Math.min(maxNanos, TimeUnit.MICROSECONDS.toNanos(1L << i));
+				}
+			}
+			return maxNanos;
+		}
+	}
+
+	private static class Recorder {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		void record(long nanos) {
+			count.increment();
+			totalNanos.add(nanos);
+			long max = maxNanos.get();
+			while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+				max = maxNanos.get();
+			}
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			int bucket = (micros <= 0) ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+			histogram.incrementAndGet(bucket);
+		}
+
+		OperationStats snapshot(Operation operation) {
+			long[] counts = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] = histogram.get(i);
+			}
+			return new OperationStats(operation, count.sum(), totalNanos.sum(), maxNanos.get(), counts);
+		}
+
+		void reset() {
+			count.reset();
+			totalNanos.reset();
+			maxNanos.set(0);
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram.set(i, 0);
+			}
+		}
+	}
+
+	private static final NamingServiceStatistics INSTANCE = new NamingServiceStatistics();
+
+	private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+	private final LongAdder purgedObjects = new LongAdder();
+	private final LongAdder purgedContexts = new LongAdder();
+
+	private NamingServiceStatistics() {
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new Recorder());
+		}
+	}
+
+	public static NamingServiceStatistics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Records a completed operation.
+	 * @param operation The operation
+	 * @param startNanos When the operation started, from {@link System#nanoTime()}
+	 */
+	public void record(Operation operation, long startNanos) {
+		recorders.get(operation).record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Records bindings removed because the bound object no longer exists.
+	 */
+	public void recordPurge(int objects, int contexts) {
+		purgedObjects.add(objects);
+		purgedContexts.add(contexts);
+	}
+
+	public OperationStats getStats(Operation operation) {
+		return recorders.get(operation).snapshot(operation);
+	}
+
+	public long getPurgedObjects() {
+		return purgedObjects.sum();
+	}
+
+	public long getPurgedContexts() {
+		return purgedContexts.sum();
+	}
+
+	/**
+	 * @param root The context to start from (e.g. the sandbox's root context)
+	 * @return Full context name -> number of bindings (objects and contexts) in that context, for the context and
+	 * all its descendants
+	 */
+	public Map<String, Integer> getBindingCounts(NotifyingNamingContext root) {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		Deque<NotifyingNamingContext> queue = new ArrayDeque<>();
+		queue.add(root);
+		while (!queue.isEmpty()) {
+			NotifyingNamingContext context = queue.remove();
+			counts.put(context.getFullName(), context.getObjectMap().size() + context.getContextMap().size());
+			queue.addAll(context.getSubContexts());
+		}
+		return counts;
+	}
+
+	/**
+	 * Clears all recorded statistics.
+	 */
+	public void reset() {
+		for (Recorder recorder : recorders.values()) {
+			recorder.reset();
+		}
+		purgedObjects.reset();
+		purgedContexts.reset();
+	}
+
+	/**
+	 * Writes the statistics as CSV. There is a section for operations (with latencies in microseconds), one for
+	 * purges, and one for binding counts.
+	 * @param out Where to write
+	 * @param root The context to count bindings from, or null to skip binding counts
+	 */
+	public void writeCsv(Appendable out, NotifyingNamingContext root) throws IOException {
+		out.append("Operation,Count,Mean (us),p50 (us),p99 (us),Max (us)");
+		for (int i = 0; i < BUCKETS; i++) {
+			out.append(",<").append(Long.toString(1L << i)).append(" us");
+		}
+		out.append('\n');
+		for (Operation operation : Operation.values()) {
+			OperationStats stats = getStats(operation);
+			out.append(operation.name()).append(',').append(Long.toString(stats.getCount()));
+			appendMicros(out, stats.getMeanNanos());
+			appendMicros(out, stats.getPercentileNanos(0.5));
+			appendMicros(out, stats.getPercentileNanos(0.99));
+			appendMicros(out, stats.getMaxNanos());
+			for (long count : stats.getHistogram()) {
+				out.append(',').append(Long.toString(count));
+			}
+			out.append('\n');
+		}
+
+		out.append('\n');
+		out.append("Purged objects,Purged contexts\n");
+		out.append(Long.toString(getPurgedObjects())).append(',').append(Long.toString(getPurgedContexts())).append('\n');
+
+		if (root != null) {
+			out.append('\n');
+			out.append("Context,Bindings\n");
+			for (Map.Entry<String, Integer> entry : getBindingCounts(root).entrySet()) {
+				out.append('"').append(entry.getKey().replace("\"", "\"\"")).append("\",").append(Integer.toString(entry.getValue())).append('\n');
+			}
+		}
+	}
+
+	private static void appendMicros(Appendable out, long nanos) throws IOException {
+		out.append(',').append(Long.toString(TimeUnit.NANOSECONDS.toMicros(nanos)));
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug;
+
+/**
+ * The most recent resource usage samples of one sandbox process (a component, device, service or component host).
+ * Samples are kept in fixed-size ring buffers of primitives; once full, each new sample replaces the oldest.
+ * <p/>
+ * Indices run from 0 (the oldest sample) to {@link #size()} - 1. Callers reading several samples should synchronize
+ * on the history so that a sample isn't added part way through.
+ * @since 10.2
+ */
+public class ResourceHistory {
+
+	/**
+	 * The values recorded in each sample
+	 */
+	public enum Series {
+		CORES("Cores"),
+		MEMORY("Memory (MiB)"),
+		PROCESSES("Processes"),
+		THREADS("Threads"),
+		FILES("Files");
+
+		private final String label;
+
+		Series(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private final String name;
+	private final long[] times;
+	private final float[] cores;
+	private final float[] memory;
+	private final int[] processes;
+	private final int[] threads;
+	private final int[] files;
+	private int start;
+	private int size;
+
+	/**
+	 * @param name The name of the process
+	 * @param capacity The maximum number of samples to keep
+	 */
+	public ResourceHistory(String name, int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.name = name;
+		this.times = new long[capacity];
+		this.cores = new float[capacity];
+		this.memory = new float[capacity];
+		this.processes = new int[capacity];
+		this.threads = new int[capacity];
+		this.files = new int[capacity];
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getCapacity() {
+		return times.length;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Adds a sample, replacing the oldest if the history is full.
+	 * @param time The time of the sample, in milliseconds since the epoch
+	 */
+	public synchronized void add(long time, float cores, float memory, int processes, int threads, int files) {
+		int index;
+		if (size < times.length) {
+			index = (start + size) % times.length;
+			size++;
+		} else {
+			index = start;
+			start = (start + 1) % times.length;
+		}
+		this.times[index] = time;
+		this.cores[index] = cores;
+		this.memory[index] = memory;
+		this.processes[index] = processes;
+		this.threads[index] = threads;
+		this.files[index] = files;
+	}
+
+	/**
+	 * @return The time of a sample, in milliseconds since the epoch
+	 */
+	public synchronized long getTime(int index) {
+		return times[toBufferIndex(index)];
+	}
+
+	/**
+	 * @return The value of a series for a sample
+	 */
+	public synchronized double get(Series series, int index) {
+		int i = toBufferIndex(index);
+		switch (series) {
+		case CORES:
+			return cores[i];
+		case MEMORY:
+			return memory[i];
+		case PROCESSES:
+			return processes[i];
+		case THREADS:
+			return threads[i];
+		case FILES:
+			return files[i];
+		default:
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Removes all samples.
+	 */
+	public synchronized void clear() {
+		start = 0;
+		size = 0;
+	}
+
+	private int toBufferIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return (start + index) % times.length;
+	}
+}
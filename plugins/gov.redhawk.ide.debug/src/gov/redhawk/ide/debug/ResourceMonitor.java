@@ -0,0 +1,319 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.emf.ecore.EObject;
+
+import gov.redhawk.ide.debug.ResourceHistory.Series;
+import gov.redhawk.ide.debug.internal.IComponentLaunch;
+import gov.redhawk.ide.debug.internal.ProcessSampler;
+import gov.redhawk.ide.debug.internal.ProcessSampler.Usage;
+import gov.redhawk.ide.debug.variables.LaunchVariables;
+import gov.redhawk.model.sca.ScaComponent;
+import gov.redhawk.model.sca.ScaDevice;
+import gov.redhawk.model.sca.ScaService;
+import gov.redhawk.model.sca.commands.ScaModelCommandWithResult;
+import mil.jpeojtrs.sca.util.NamedThreadFactory;
+
+/**
+ * Periodically samples the resources (CPU, memory, processes, threads and open files) used by the processes of each
+ * sandbox waveform and the sandbox device manager, and keeps a {@link ResourceHistory} for each process.
+ * <p/>
+ * Histories are kept while their waveform or device manager exists, including for processes which have since
+ * terminated.
+ * @since 10.2
+ */
+public class ResourceMonitor {
+
+	/**
+	 * Default time between samples, in milliseconds
+	 */
+	public static final long DEFAULT_INTERVAL = 1000;
+
+	/**
+	 * Default number of samples kept for each process (one hour at the default interval)
+	 */
+	public static final int DEFAULT_CAPACITY = 3600;
+
+	/**
+	 * Notified (on the sampling thread) after each round of samples.
+	 */
+	public interface Listener {
+		void sampled(ResourceMonitor monitor);
+	}
+
+	/**
+	 * The histories for one waveform or device manager
+	 */
+	private static class OwnerHistory {
+		private String name;
+		private final Map<ILaunch, ResourceHistory> histories = new LinkedHashMap<>();
+	}
+
+	private static final ResourceMonitor INSTANCE = new ResourceMonitor();
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(ResourceMonitor.class.getName()));
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	private final Map<EObject, OwnerHistory> owners = new LinkedHashMap<>();
+	private long interval = DEFAULT_INTERVAL;
+	private ScheduledFuture< ? > task;
+
+	public static ResourceMonitor getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Starts sampling, if not already started.
+	 */
+	public synchronized void start() {
+		if (task == null) {
+			task = executor.scheduleWithFixedDelay(this::sampleAll, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops sampling. Histories are kept.
+	 */
+	public synchronized void stop() {
+		if (task != null) {
+			task.cancel(false);
+			task = null;
+		}
+	}
+
+	public synchronized long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * @param interval The time between samples, in milliseconds
+	 */
+	public synchronized void setInterval(long interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Interval must be positive");
+		}
+		this.interval = interval;
+		if (task != null) {
+			stop();
+			start();
+		}
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @return The waveforms and device managers with histories
+	 */
+	public synchronized List<EObject> getOwners() {
+		return new ArrayList<>(owners.keySet());
+	}
+
+	/**
+	 * @return The name of a waveform or device manager, as of the latest sample
+	 */
+	public synchronized String getOwnerName(EObject owner) {
+		OwnerHistory ownerHistory = owners.get(owner);
+		return (ownerHistory == null) ? null : ownerHistory.name;
+	}
+
+	/**
+	 * @return The histories of the processes of a waveform or device manager
+	 */
+	public synchronized List<ResourceHistory> getHistories(EObject owner) {
+		OwnerHistory ownerHistory = owners.get(owner);
+		if (ownerHistory == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(ownerHistory.histories.values());
+	}
+
+	/**
+	 * Writes the histories of a waveform or device manager as CSV, one row per process per sample.
+	 */
+	public void writeCsv(EObject owner, Appendable out) throws IOException {
+		SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+		out.append("Time,Process");
+		for (Series series : Series.values()) {
+			out.append(',').append(series.getLabel());
+		}
+		out.append('\n');
+		Series[] allSeries = Series.values();
+		for (ResourceHistory history : getHistories(owner)) {
+			String name = '"' + history.getName().replace("\"", "\"\"") + '"';
+
+			// Copy the samples so the history isn't locked (blocking the sampling thread) while writing
+			long[] times;
+			double[][] values;
+			synchronized (history) {
+				times = new long[history.size()];
+				values = new double[allSeries.length][times.length];
+				for (int i = 0; i < times.length; i++) {
+					times[i] = history.getTime(i);
+					for (int j = 0; j < allSeries.length; j++) {
+						values[j][i] = history.get(allSeries[j], i);
+					}
+				}
+			}
+
+			for (int i = 0; i < times.length; i++) {
+				out.append(format.format(new Date(times[i]))).append(',').append(name);
+				for (int j = 0; j < allSeries.length; j++) {
+					out.append(',');
+					if (allSeries[j] == Series.CORES || allSeries[j] == Series.MEMORY) {
+						out.append(String.format("%.3f", values[j][i]));
+					} else {
+						out.append(Long.toString((long) values[j][i]));
+					}
+				}
+				out.append('\n');
+			}
+		}
+	}
+
+	private void sampleAll() {
+		try {
+			ScaDebugPlugin plugin = ScaDebugPlugin.getInstance();
+			if (plugin == null) {
+				return;
+			}
+			final LocalSca localSca = plugin.getLocalSca();
+			final long time = System.currentTimeMillis();
+
+			// Find the launches of each waveform and the device manager
+			final Map<EObject, String> names = new LinkedHashMap<>();
+			final Map<EObject, Map<ILaunch, String>> launches = ScaModelCommandWithResult.execute(localSca,
+				new ScaModelCommandWithResult<Map<EObject, Map<ILaunch, String>>>() {
+					@Override
+					public void execute() {
+						Map<EObject, Map<ILaunch, String>> result = new LinkedHashMap<>();
+						for (LocalScaWaveform waveform : localSca.getWaveforms()) {
+							names.put(waveform, waveform.getName());
+							result.put(waveform, getLaunches(waveform));
+						}
+						LocalScaDeviceManager devMgr = localSca.getSandboxDeviceManager();
+						if (devMgr != null) {
+							names.put(devMgr, devMgr.getLabel());
+							result.put(devMgr, getLaunches(devMgr));
+						}
+						setResult(result);
+					}
+				});
+			if (launches == null) {
+				return;
+			}
+
+			// Sample outside the model's lock
+			Map<EObject, Map<ILaunch, Usage>> usages = new LinkedHashMap<>();
+			for (Map.Entry<EObject, Map<ILaunch, String>> entry : launches.entrySet()) {
+				Map<ILaunch, Usage> ownerUsages = new LinkedHashMap<>();
+				for (ILaunch launch : entry.getValue().keySet()) {
+					if (!launch.isTerminated()) {
+						Usage usage = ProcessSampler.getDefault().sample(launch);
+						if (usage != null) {
+							ownerUsages.put(launch, usage);
+						}
+					}
+				}
+				usages.put(entry.getKey(), ownerUsages);
+			}
+
+			synchronized (this) {
+				owners.keySet().retainAll(launches.keySet());
+				for (Map.Entry<EObject, Map<ILaunch, Usage>> entry : usages.entrySet()) {
+					OwnerHistory ownerHistory = owners.get(entry.getKey());
+					if (ownerHistory == null) {
+						ownerHistory = new OwnerHistory();
+						owners.put(entry.getKey(), ownerHistory);
+					}
+					ownerHistory.name = names.get(entry.getKey());
+					for (Map.Entry<ILaunch, Usage> usageEntry : entry.getValue().entrySet()) {
+						ResourceHistory history = ownerHistory.histories.get(usageEntry.getKey());
+						if (history == null) {
+							history = new ResourceHistory(launches.get(entry.getKey()).get(usageEntry.getKey()), DEFAULT_CAPACITY);
+							ownerHistory.histories.put(usageEntry.getKey(), history);
+						}
+						Usage usage = usageEntry.getValue();
+						history.add(time, usage.getCores(), usage.getMemory(), (int) usage.getProcesses(), (int) usage.getThreads(),
+							(int) usage.getFiles());
+					}
+				}
+			}
+
+			for (Listener listener : listeners) {
+				listener.sampled(this);
+			}
+		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE IllegalCatch
+			// Don't let an unexpected error stop future samples
+			ScaDebugPlugin.logError("Unable to sample sandbox resources", e);
+		}
+	}
+
+	/**
+	 * @return Launch -> process name, for each launched component. Components in a component host share its launch.
+	 */
+	private static Map<ILaunch, String> getLaunches(LocalScaWaveform waveform) {
+		Map<ILaunch, String> result = new LinkedHashMap<>();
+		for (ScaComponent component : waveform.getComponents()) {
+			if (!(component instanceof LocalLaunch) || ((LocalLaunch) component).getLaunch() == null) {
+				continue;
+			}
+			ILaunch launch = ((LocalLaunch) component).getLaunch();
+			String name = component.getName();
+			if (launch instanceof IComponentLaunch && ((IComponentLaunch) launch).getComponentHost() != null) {
+				launch = ((IComponentLaunch) launch).getComponentHost();
+				name = launch.getAttribute(LaunchVariables.NAME_BINDING);
+			}
+			if (!result.containsKey(launch)) {
+				result.put(launch, name);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return Launch -> process name, for each launched device and service
+	 */
+	private static Map<ILaunch, String> getLaunches(LocalScaDeviceManager devMgr) {
+		Map<ILaunch, String> result = new LinkedHashMap<>();
+		for (ScaDevice< ? > device : devMgr.getDevices()) {
+			if (device instanceof LocalLaunch && ((LocalLaunch) device).getLaunch() != null) {
+				result.put(((LocalLaunch) device).getLaunch(), device.getLabel());
+			}
+		}
+		for (ScaService service : devMgr.getServices()) {
+			if (service instanceof LocalLaunch && ((LocalLaunch) service).getLaunch() != null) {
+				result.put(((LocalLaunch) service).getLaunch(), service.getName());
+			}
+		}
+		return result;
+	}
+}
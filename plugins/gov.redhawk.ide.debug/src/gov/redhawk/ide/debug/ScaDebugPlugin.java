@@ -62,10 +62,14 @@ public class ScaDebugPlugin extends Plugin {
 		launchLoggerTracker.open();
 
 		JacorbActivator.getDefault().init();
+
+		ResourceMonitor.getDefault().start();
 	}
 
 	@Override
 	public void stop(final BundleContext context) throws Exception {
+		ResourceMonitor.getDefault().stop();
+
 		// Dispose the local model
 		ScaModelCommand.execute(getLocalSca(), new ScaModelCommand() {
 			@Override
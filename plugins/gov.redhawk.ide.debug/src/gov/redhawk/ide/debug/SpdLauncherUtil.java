@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -31,9 +32,11 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
+import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.ILaunchesListener2;
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.URI;
@@ -43,11 +46,15 @@ import org.eclipse.emf.ecore.util.Diagnostician;
 import org.omg.CORBA.Any;
 import org.omg.CORBA.BAD_OPERATION;
 import org.omg.CORBA.SystemException;
+import org.omg.CosNaming.NamingContext;
 import org.omg.CosNaming.NamingContextExt;
 import org.omg.CosNaming.NamingContextExtHelper;
+import org.omg.CosNaming.NamingContextHelper;
+import org.omg.CosNaming.NamingContextPackage.InvalidName;
 import org.omg.CosNaming.NamingContextPackage.NotFound;
 
 import CF.DataType;
+import CF.DeviceManagerOperations;
 import CF.PropertyEmitterOperations;
 import CF.ResourceOperations;
 import CF.LifeCyclePackage.InitializeError;
@@ -56,6 +63,7 @@ import CF.PropertySetPackage.InvalidConfiguration;
 import CF.PropertySetPackage.PartialConfiguration;
 import CF.ResourcePackage.StartError;
 import gov.redhawk.ide.debug.internal.LaunchLogger;
+import gov.redhawk.ide.debug.internal.cf.impl.DeviceManagerImpl;
 import gov.redhawk.ide.debug.internal.jobs.TerminateJob;
 import gov.redhawk.ide.debug.variables.LaunchVariables;
 import gov.redhawk.model.sca.IRefreshable;
@@ -103,6 +111,7 @@ public final class SpdLauncherUtil {
 
 	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new NamedThreadFactory(SpdLauncherUtil.class.getName()));
 	private static final Debug DEBUG_ARGS = new Debug(ScaDebugPlugin.getInstance(), "LauncherArgs");
+	private static final Debug DEBUG_TIMING = new Debug(ScaDebugPlugin.getInstance(), "LaunchTiming");
 
 	private SpdLauncherUtil() {
 
@@ -127,6 +136,7 @@ public final class SpdLauncherUtil {
 		final int WORK_FIND_CORBA_OBJ = 10;
 		final int WORK_GENERAL = 1;
 		SubMonitor progress = SubMonitor.convert(monitor, "Post-launch tasks", WORK_FIND_CORBA_OBJ + 7 * WORK_GENERAL);
+		final long startNanos = System.nanoTime();
 
 		final ComponentType type;
 		if (spd.getDescriptor() == null || spd.getDescriptor().getComponent() == null) {
@@ -170,6 +180,7 @@ public final class SpdLauncherUtil {
 			// the launch was terminated or otherwise interrupted
 			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Failed to resolve component.", null));
 		}
+		final long registeredNanos = System.nanoTime();
 
 		// Update the model with information about the details of the launch
 		final LocalAbstractComponent newComponent = comp;
@@ -261,6 +272,14 @@ public final class SpdLauncherUtil {
 		} else {
 			progress.notWorked(WORK_GENERAL);
 		}
+
+		if (DEBUG_TIMING.enabled) {
+			long readyNanos = System.nanoTime();
+			String msg = String.format("Launched %s: registered after %d ms, ready after %d ms", description,
+				TimeUnit.NANOSECONDS.toMillis(registeredNanos - startNanos), TimeUnit.NANOSECONDS.toMillis(readyNanos - startNanos));
+			DEBUG_TIMING.message(msg);
+			LaunchLogger.INSTANCE.writeToConsole(launch, msg, ConsoleColor.STDOUT);
+		}
 	}
 
 	/**
@@ -286,75 +305,69 @@ public final class SpdLauncherUtil {
 				"No naming context or name binding to locate component with, post launch failed. " + compID, null));
 		}
 
-		// Wait for the component to be registered in the appropriate naming context of the naming service
-		final Future<org.omg.CORBA.Object> future = SpdLauncherUtil.EXECUTOR.submit(new Callable<org.omg.CORBA.Object>() {
-			@Override
-			public org.omg.CORBA.Object call() throws Exception {
-				OrbSession session = OrbSession.createSession();
+		// Wait for the component to be registered in the appropriate naming context of the naming service. If it's one
+		// of the sandbox's naming contexts, we're notified when the name is bound; otherwise we have to poll for it.
+		final String terminatedMsg = "Component terminated while waiting to launch. " + compID;
+		Future<org.omg.CORBA.Object> future = null;
+		final NotifyingNamingContext localContext = SpdLauncherUtil.findLocalNamingContext(namingContextIOR);
+		if (localContext != null) {
+			try {
+				CompletableFuture<org.omg.CORBA.Object> binding = localContext.waitForBinding(localContext.to_name(nameBinding));
+				SpdLauncherUtil.failOnTermination(launch, binding, terminatedMsg);
+				future = binding;
+			} catch (InvalidName | NotFound e) {
+				// PASS - fall back to polling
+			}
+		}
+		if (future == null) {
+			future = SpdLauncherUtil.EXECUTOR.submit(new Callable<org.omg.CORBA.Object>() {
+				@Override
+				public org.omg.CORBA.Object call() throws Exception {
+					OrbSession session = OrbSession.createSession();
 
-				NamingContextExt namingContext = null;
+					NamingContextExt namingContext = null;
 
-				try {
-					// Resolve the naming context
-					while (namingContext == null) {
-						if (launch.isTerminated()) {
-							throw new EarlyTerminationException("Component terminated while waiting to launch. " + compID, launch);
-						}
+					try {
+						// Resolve the naming context
+						while (namingContext == null) {
+							if (launch.isTerminated()) {
+								throw new EarlyTerminationException(terminatedMsg, launch);
+							}
 
-						try {
-							namingContext = NamingContextExtHelper.narrow(session.getOrb().string_to_object(namingContextIOR));
-						} catch (SystemException e) {
-							// PASS
-						}
-						if (namingContext == null) {
-							Thread.sleep(100);
+							try {
+								namingContext = NamingContextExtHelper.narrow(session.getOrb().string_to_object(namingContextIOR));
+							} catch (SystemException e) {
+								// PASS
+							}
+							if (namingContext == null) {
+								Thread.sleep(100);
+							}
 						}
-					}
 
-					while (!launch.isTerminated()) {
-						try {
-							return namingContext.resolve_str(nameBinding);
-						} catch (NotFound e) {
-							Thread.sleep(100);
+						while (!launch.isTerminated()) {
+							try {
+								return namingContext.resolve_str(nameBinding);
+							} catch (NotFound e) {
+								Thread.sleep(100);
+							}
 						}
-					}
 
-					throw new EarlyTerminationException("Component terminated while waiting to launch. " + compID, launch);
-				} finally {
-					if (namingContext != null) {
-						ORBUtil.release(namingContext);
-						namingContext = null;
+						throw new EarlyTerminationException(terminatedMsg, launch);
+					} finally {
+						if (namingContext != null) {
+							ORBUtil.release(namingContext);
+							namingContext = null;
+						}
+						session.dispose();
 					}
-					session.dispose();
 				}
-			}
-
-		});
 
-		org.omg.CORBA.Object corbaObj;
-		try {
-			// Invoke the Future to get the parent waveform and the Resource object
-			final int timeout = launch.getLaunchConfiguration().getAttribute(ScaDebugLaunchConstants.ATT_LAUNCH_TIMEOUT,
-				ScaDebugLaunchConstants.DEFAULT_ATT_LAUNCH_TIMEOUT);
-			// In debug-mode wait they may have placed a break-point that is delaying registration so wait forever
-			if (timeout < 0 || ILaunchManager.DEBUG_MODE.equals(launch.getLaunchMode())) {
-				corbaObj = future.get();
-			} else {
-				corbaObj = future.get(timeout, TimeUnit.SECONDS);
-			}
-			progress.worked(REGISTRATION);
-		} catch (final InterruptedException ex) {
-			String msg = String.format("Interrupted waiting for component %s to launch.", nameBinding);
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg, ex));
-		} catch (final ExecutionException ex) {
-			String msg = String.format("Error while waiting for component %s to launch.", nameBinding);
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg, ex.getCause()));
-		} catch (final TimeoutException ex) {
-			future.cancel(true);
-			String msg = String.format("Timed out waiting for component %s to launch.", nameBinding);
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg, ex));
+			});
 		}
 
+		final org.omg.CORBA.Object corbaObj = SpdLauncherUtil.awaitRegistration(launch, future, "component " + nameBinding);
+		progress.worked(REGISTRATION);
+
 		LocalAbstractComponent resource;
 		if (SoftPkg.Util.isComponentHost(spd)) {
 			resource = SpdLauncherUtil.postLaunchComponentHost(spd, launch, corbaObj, nameBinding, progress.newChild(FETCH_PROFILE + FETCH_PROPS + INIT_PROPS + INIT + ADD_TO_MODEL));
@@ -572,7 +585,29 @@ public final class SpdLauncherUtil {
 		SubMonitor progress = SubMonitor.convert(monitor, "Wait for service to register", 1);
 		final String name = launch.getAttribute(LaunchVariables.SERVICE_NAME);
 		final LocalSca localSca = ScaDebugPlugin.getInstance().getLocalSca(null);
+		final String terminatedMsg = "Service terminated while waiting to launch. " + name;
+
+		// The sandbox device manager notifies us when the service registers
+		final DeviceManagerOperations devMgr = localSca.getSandboxDeviceManager().getLocalDeviceManager();
+		if (devMgr instanceof DeviceManagerImpl) {
+			CompletableFuture<org.omg.CORBA.Object> registration = ((DeviceManagerImpl) devMgr).waitForService(name);
+			SpdLauncherUtil.failOnTermination(launch, registration, terminatedMsg);
+			try {
+				SpdLauncherUtil.awaitRegistration(launch, registration, "service " + name);
 
+				// The service has registered, so refreshing the model should find it
+				LocalAbstractComponent service = SpdLauncherUtil.findService(localSca, name);
+				if (service == null) {
+					String msg = String.format("Service %s registered, but wasn't found in the sandbox device manager.", name);
+					throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg));
+				}
+				return service;
+			} finally {
+				progress.done();
+			}
+		}
+
+		// Poll for the service's model object
 		final Future<LocalAbstractComponent> future = SpdLauncherUtil.EXECUTOR.submit(new Callable<LocalAbstractComponent>() {
 			@Override
 			public LocalAbstractComponent call() throws Exception {
@@ -580,15 +615,10 @@ public final class SpdLauncherUtil {
 				while (retVal == null) {
 					// If this launch was terminated, immediately bail
 					if (launch.isTerminated()) {
-						throw new EarlyTerminationException("Service terminated while waiting to launch. " + name, launch);
+						throw new EarlyTerminationException(terminatedMsg, launch);
 					}
 
-					for (final ScaService service : localSca.getSandboxDeviceManager().fetchServices(null, RefreshDepth.SELF)) {
-						if (name.equals(service.getName())) {
-							retVal = (LocalAbstractComponent) service;
-							break;
-						}
-					}
+					retVal = SpdLauncherUtil.findService(localSca, name);
 					if (retVal == null) {
 						Thread.sleep(500);
 					}
@@ -599,21 +629,7 @@ public final class SpdLauncherUtil {
 		});
 
 		try {
-			final int timeout = launch.getLaunchConfiguration().getAttribute(ScaDebugLaunchConstants.ATT_LAUNCH_TIMEOUT,
-				ScaDebugLaunchConstants.DEFAULT_ATT_LAUNCH_TIMEOUT);
-			// In debug-mode wait they may have placed a break-point that is delaying registration so wait forever
-			if (timeout < 0 || ILaunchManager.DEBUG_MODE.equals(launch.getLaunchMode())) {
-				return future.get();
-			} else {
-				return future.get(timeout, TimeUnit.SECONDS);
-			}
-		} catch (final InterruptedException e1) {
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Interrupted waiting for service to start. " + name, e1));
-		} catch (final ExecutionException e1) {
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Error while waiting for service to start. " + name, e1));
-		} catch (final TimeoutException e1) {
-			future.cancel(true);
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Timed out waiting for service to start. " + name, e1));
+			return SpdLauncherUtil.awaitRegistration(launch, future, "service " + name);
 		} finally {
 			progress.done();
 		}
@@ -632,7 +648,29 @@ public final class SpdLauncherUtil {
 		SubMonitor progress = SubMonitor.convert(monitor, "Wait for device to register", 1);
 		final String deviceLabel = launch.getAttribute(LaunchVariables.DEVICE_LABEL);
 		final LocalSca localSca = ScaDebugPlugin.getInstance().getLocalSca(null);
+		final String terminatedMsg = "Device terminated while waiting to launch. " + deviceLabel;
+
+		// The sandbox device manager notifies us when the device registers
+		final DeviceManagerOperations devMgr = localSca.getSandboxDeviceManager().getLocalDeviceManager();
+		if (devMgr instanceof DeviceManagerImpl) {
+			CompletableFuture<CF.Device> registration = ((DeviceManagerImpl) devMgr).waitForDevice(deviceLabel);
+			SpdLauncherUtil.failOnTermination(launch, registration, terminatedMsg);
+			try {
+				SpdLauncherUtil.awaitRegistration(launch, registration, "device " + deviceLabel);
 
+				// The device has registered, so refreshing the model should find it
+				LocalAbstractComponent device = SpdLauncherUtil.findDevice(localSca, deviceLabel);
+				if (device == null) {
+					String msg = String.format("Device %s registered, but wasn't found in the sandbox device manager.", deviceLabel);
+					throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg));
+				}
+				return device;
+			} finally {
+				progress.done();
+			}
+		}
+
+		// Poll for the device's model object
 		final Future<LocalAbstractComponent> future = SpdLauncherUtil.EXECUTOR.submit(new Callable<LocalAbstractComponent>() {
 			@Override
 			public LocalAbstractComponent call() throws Exception {
@@ -640,16 +678,10 @@ public final class SpdLauncherUtil {
 				while (retVal == null) {
 					// If this launch was terminated, immediately bail
 					if (launch.isTerminated()) {
-						throw new EarlyTerminationException("Device terminated while waiting to launch. " + deviceLabel, launch);
+						throw new EarlyTerminationException(terminatedMsg, launch);
 					}
 
-					for (final ScaDevice< ? > device : localSca.getSandboxDeviceManager().fetchDevices(null, RefreshDepth.SELF)) {
-						final String label = device.fetchLabel(null);
-						if (deviceLabel.equals(label)) {
-							retVal = (LocalAbstractComponent) device;
-							break;
-						}
-					}
+					retVal = SpdLauncherUtil.findDevice(localSca, deviceLabel);
 					if (retVal == null) {
 						Thread.sleep(100);
 					}
@@ -659,6 +691,113 @@ public final class SpdLauncherUtil {
 
 		});
 
+		try {
+			return SpdLauncherUtil.awaitRegistration(launch, future, "device " + deviceLabel);
+		} finally {
+			progress.done();
+		}
+	}
+
+	/**
+	 * Refreshes the sandbox device manager's services and finds the one with the specified name.
+	 * @return The service, or null if it wasn't found
+	 */
+	private static LocalAbstractComponent findService(final LocalSca localSca, final String name) {
+		for (final ScaService service : localSca.getSandboxDeviceManager().fetchServices(null, RefreshDepth.SELF)) {
+			if (name.equals(service.getName())) {
+				return (LocalAbstractComponent) service;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Refreshes the sandbox device manager's devices and finds the one with the specified label.
+	 * @return The device, or null if it wasn't found
+	 */
+	private static LocalAbstractComponent findDevice(final LocalSca localSca, final String deviceLabel) {
+		for (final ScaDevice< ? > device : localSca.getSandboxDeviceManager().fetchDevices(null, RefreshDepth.SELF)) {
+			if (deviceLabel.equals(device.fetchLabel(null))) {
+				return (LocalAbstractComponent) device;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the sandbox naming context with the specified IOR.
+	 * @param namingContextIOR
+	 * @return The naming context, or null if the IOR isn't for one of the sandbox's naming contexts
+	 */
+	private static NotifyingNamingContext findLocalNamingContext(final String namingContextIOR) {
+		final NotifyingNamingContext rootContext = ScaDebugPlugin.getInstance().getLocalSca(null).getRootContext();
+		if (rootContext == null || rootContext.getNamingContext() == null) {
+			return null;
+		}
+		NamingContext namingContext = null;
+		try {
+			namingContext = NamingContextHelper.narrow(rootContext.getNamingContext()._orb().string_to_object(namingContextIOR));
+			if (namingContext._is_equivalent(rootContext.getNamingContext())) {
+				return rootContext;
+			}
+			return rootContext.findContext(namingContext);
+		} catch (SystemException e) {
+			return null;
+		} finally {
+			if (namingContext != null) {
+				ORBUtil.release(namingContext);
+			}
+		}
+	}
+
+	/**
+	 * Completes a registration future exceptionally if the launch terminates before the registration occurs.
+	 * @param launch The launch that is expected to register
+	 * @param registration The future waiting for the registration
+	 * @param msg The message for the {@link EarlyTerminationException}
+	 */
+	private static void failOnTermination(final ILaunch launch, final CompletableFuture< ? > registration, final String msg) {
+		final ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		final ILaunchesListener2 listener = new ILaunchesListener2() {
+			@Override
+			public void launchesRemoved(ILaunch[] launches) {
+			}
+
+			@Override
+			public void launchesAdded(ILaunch[] launches) {
+			}
+
+			@Override
+			public void launchesChanged(ILaunch[] launches) {
+			}
+
+			@Override
+			public void launchesTerminated(ILaunch[] launches) {
+				for (ILaunch terminated : launches) {
+					if (terminated == launch) {
+						registration.completeExceptionally(new EarlyTerminationException(msg, launch));
+					}
+				}
+			}
+		};
+		launchManager.addLaunchListener(listener);
+		registration.whenComplete((result, t) -> launchManager.removeLaunchListener(listener));
+
+		// The launch may have terminated before we began listening
+		if (launch.isTerminated()) {
+			registration.completeExceptionally(new EarlyTerminationException(msg, launch));
+		}
+	}
+
+	/**
+	 * Waits for something launched to register, up to the timeout specified in the launch.
+	 * @param launch The launch that is expected to register
+	 * @param future The future waiting for the registration
+	 * @param description A description of what was launched for error messages (e.g. "component foo_1")
+	 * @return The result of the future
+	 * @throws CoreException The wait timed out, was interrupted, or the future failed
+	 */
+	private static < T > T awaitRegistration(final ILaunch launch, final Future<T> future, final String description) throws CoreException {
 		try {
 			final int timeout = launch.getLaunchConfiguration().getAttribute(ScaDebugLaunchConstants.ATT_LAUNCH_TIMEOUT,
 				ScaDebugLaunchConstants.DEFAULT_ATT_LAUNCH_TIMEOUT);
@@ -668,15 +807,17 @@ public final class SpdLauncherUtil {
 			} else {
 				return future.get(timeout, TimeUnit.SECONDS);
 			}
-		} catch (final InterruptedException e1) {
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Interrupted waiting for device to start. " + deviceLabel, e1));
-		} catch (final ExecutionException e1) {
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Error while waiting for component to start. " + deviceLabel, e1));
-		} catch (final TimeoutException e1) {
+		} catch (final InterruptedException ex) {
 			future.cancel(true);
-			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, "Timed out waiting for component to start. " + deviceLabel, e1));
-		} finally {
-			progress.done();
+			String msg = String.format("Interrupted waiting for %s to launch.", description);
+			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg, ex));
+		} catch (final ExecutionException ex) {
+			String msg = String.format("Error while waiting for %s to launch.", description);
+			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg, ex.getCause()));
+		} catch (final TimeoutException ex) {
+			future.cancel(true);
+			String msg = String.format("Timed out waiting for %s to launch.", description);
+			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, msg, ex));
 		}
 	}
 
@@ -0,0 +1,288 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.debug.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import mil.jpeojtrs.sca.util.NamedThreadFactory;
+
+/**
+ * Caches whether CORBA objects are alive, so that objects bound in the sandbox's naming contexts don't need to be
+ * pinged (<code>_non_existent()</code>) on every lookup. A result is reused until its time-to-live expires. Pings are
+ * run concurrently on a bounded pool, and a ping that doesn't return within the ping timeout counts as alive (the object
+ * may just be busy) but isn't cached. A ping that is still running is reused by later checks of the same object rather
+ * than started again, so a hung object holds at most one thread.
+ * <p/>
+ * Background work (e.g. purging dead bindings) can also be queued here; requests for the same work are coalesced
+ * until it runs.
+ */
+public class LivenessCache {
+
+	public static final long DEFAULT_TIME_TO_LIVE = 5000;
+	public static final long DEFAULT_PING_TIMEOUT = 1000;
+
+	/**
+	 * The most pings run at once. Further pings queue until a thread is free.
+	 */
+	private static final int PING_THREADS = 8;
+
+	private static final LivenessCache INSTANCE = new LivenessCache();
+
+	private static class Result {
+		private final boolean alive;
+		private final long time;
+
+		Result(boolean alive, long time) {
+			this.alive = alive;
+			this.time = time;
+		}
+	}
+
+	/**
+	 * A ping which doesn't return before the timeout may hold its thread for a while (until the ORB gives up). Since
+	 * each object has at most one ping running, that only ties up threads while several objects are hung.
+	 */
+	private final ThreadPoolExecutor pingExecutor = new ThreadPoolExecutor(PING_THREADS, PING_THREADS, 60, TimeUnit.SECONDS,
+		new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory(LivenessCache.class.getName()));
+
+	/**
+	 * Runs background tasks, so they aren't queued behind hung pings
+	 */
+	private final ExecutorService taskExecutor = Executors.newSingleThreadExecutor(new NamedThreadFactory(LivenessCache.class.getName()));
+
+	private final Map<org.omg.CORBA.Object, Result> results = new ConcurrentHashMap<>();
+
+	/**
+	 * Object -> its ping which is still running
+	 */
+	private final Map<org.omg.CORBA.Object, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+	private final Set<Object> queuedTasks = ConcurrentHashMap.newKeySet();
+	private volatile long timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_TO_LIVE);
+	private volatile long pingTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_PING_TIMEOUT);
+
+	public LivenessCache() {
+		pingExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * @return The cache shared by the sandbox's naming contexts
+	 */
+	public static LivenessCache getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param millis How long a ping result is reused, in milliseconds. Zero disables caching.
+	 */
+	public void setTimeToLive(long millis) {
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	public long getTimeToLive() {
+		return TimeUnit.NANOSECONDS.toMillis(timeToLiveNanos);
+	}
+
+	/**
+	 * @param millis How long a check waits for its pings before assuming the objects which haven't answered are alive,
+	 * in milliseconds. This is one deadline for all the pings of a {@link #checkAll(Collection)}, not a timeout for each
+	 * ping.
+	 */
+	public void setPingTimeout(long millis) {
+		this.pingTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	public long getPingTimeout() {
+		return TimeUnit.NANOSECONDS.toMillis(pingTimeoutNanos);
+	}
+
+	/**
+	 * @return True if the object is alive, using a cached result if there's a current one
+	 */
+	public boolean isAlive(final org.omg.CORBA.Object obj) {
+		Boolean cached = getCached(obj);
+		if (cached != null) {
+			return cached;
+		}
+		return checkAll(java.util.Collections.singletonList(obj)).get(obj);
+	}
+
+	/**
+	 * @return True if the object is known to be dead from a current cached result. Never pings.
+	 */
+	public boolean isKnownDead(final org.omg.CORBA.Object obj) {
+		return Boolean.FALSE.equals(getCached(obj));
+	}
+
+	/**
+	 * @return True if there isn't a current cached result for the object
+	 */
+	public boolean isStale(final org.omg.CORBA.Object obj) {
+		return getCached(obj) == null;
+	}
+
+	/**
+	 * Pings the object now, ignoring any cached result, and caches the new result.
+	 * @return True if the object is alive
+	 */
+	public boolean ping(final org.omg.CORBA.Object obj) {
+		results.remove(obj);
+		return isAlive(obj);
+	}
+
+	/**
+	 * Determines whether each object is alive. Objects without a current cached result are pinged concurrently, all
+	 * within the one ping timeout.
+	 * @return Object -> alive
+	 */
+	public Map<org.omg.CORBA.Object, Boolean> checkAll(final Collection< ? extends org.omg.CORBA.Object> objects) {
+		final Map<org.omg.CORBA.Object, Boolean> alive = new IdentityHashMap<>();
+		final Map<org.omg.CORBA.Object, CompletableFuture<Boolean>> pings = new IdentityHashMap<>();
+		for (final org.omg.CORBA.Object obj : objects) {
+			Boolean cached = getCached(obj);
+			if (cached != null) {
+				alive.put(obj, cached);
+			} else if (!pings.containsKey(obj)) {
+				pings.put(obj, getPing(obj));
+			}
+		}
+
+		// All pings share one deadline
+		final long deadline = System.nanoTime() + pingTimeoutNanos;
+		for (final Map.Entry<org.omg.CORBA.Object, CompletableFuture<Boolean>> entry : pings.entrySet()) {
+			boolean result;
+			try {
+				result = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				// Possibly just busy; don't cache
+				result = true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				result = true;
+			} catch (ExecutionException e) {
+				result = false;
+			}
+			alive.put(entry.getKey(), result);
+		}
+		return alive;
+	}
+
+	/**
+	 * Forgets any result for the object (e.g. because it was unbound).
+	 */
+	public void forget(final org.omg.CORBA.Object obj) {
+		results.remove(obj);
+	}
+
+	/**
+	 * Queues a background task. If a task with the same key is already queued (and hasn't started running), this
+	 * request is dropped.
+	 * @param key Identifies the task
+	 * @param task The task to run
+	 */
+	public void runInBackground(final Object key, final Runnable task) {
+		if (!queuedTasks.add(key)) {
+			return;
+		}
+		taskExecutor.execute(() -> {
+			queuedTasks.remove(key);
+			expire();
+			task.run();
+		});
+	}
+
+	/**
+	 * Drops results well past their time-to-live so the cache doesn't hold on to references indefinitely.
+	 */
+	private void expire() {
+		final long now = System.nanoTime();
+		final long maxAge = 2 * timeToLiveNanos;
+		final List<org.omg.CORBA.Object> expired = new ArrayList<>();
+		for (Map.Entry<org.omg.CORBA.Object, Result> entry : results.entrySet()) {
+			if (now - entry.getValue().time > maxAge) {
+				expired.add(entry.getKey());
+			}
+		}
+		for (org.omg.CORBA.Object obj : expired) {
+			results.remove(obj);
+		}
+	}
+
+	/**
+	 * @return The ping of the object which is still running, or a new one. The result is cached when the ping
+	 * completes.
+	 */
+	private CompletableFuture<Boolean> getPing(final org.omg.CORBA.Object obj) {
+		CompletableFuture<Boolean> ping = pending.get(obj);
+		if (ping != null) {
+			return ping;
+		}
+		final CompletableFuture<Boolean> newPing = new CompletableFuture<>();
+		ping = pending.putIfAbsent(obj, newPing);
+		if (ping != null) {
+			return ping;
+		}
+		pingExecutor.execute(() -> {
+			boolean alive;
+			try {
+				alive = !isDead(obj);
+			} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Any failure means the object can't be used
+				alive = false;
+			}
+			results.put(obj, new Result(alive, System.nanoTime()));
+			pending.remove(obj, newPing);
+			newPing.complete(alive);
+		});
+		return newPing;
+	}
+
+	private Boolean getCached(final org.omg.CORBA.Object obj) {
+		final Result result = results.get(obj);
+		if (result == null || System.nanoTime() - result.time > timeToLiveNanos) {
+			return null;
+		}
+		return result.alive;
+	}
+
+	/**
+	 * Determine if non_existent
+	 */
+	private static boolean isDead(final org.omg.CORBA.Object o) {
+		boolean non_exist = true;
+		try {
+			non_exist = o._non_existent();
+			// Code added to release the reference.
+			if (!non_exist) {
+				o._release();
+			}
+		} catch (org.omg.CORBA.NO_IMPLEMENT ni) {
+			// not a failure, the peer is alive, it just doesn't
+			// implement _non_existent()
+			non_exist = false;
+		} catch (org.omg.CORBA.SystemException e) {
+			non_exist = true;
+		}
+		return non_exist;
+	}
+}
@@ -12,16 +12,26 @@ package gov.redhawk.ide.debug.internal;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.command.SetCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
@@ -55,6 +65,7 @@ import gov.redhawk.model.sca.ScaUsesPort;
 import gov.redhawk.model.sca.commands.ScaModelCommand;
 import gov.redhawk.sca.util.SubMonitor;
 import mil.jpeojtrs.sca.partitioning.ComponentInstantiation;
+import mil.jpeojtrs.sca.sad.HostCollocation;
 import mil.jpeojtrs.sca.sad.SadComponentInstantiation;
 import mil.jpeojtrs.sca.sad.SadConnectInterface;
 import mil.jpeojtrs.sca.sad.SoftwareAssembly;
@@ -62,11 +73,23 @@ import mil.jpeojtrs.sca.spd.SoftPkg;
 import mil.jpeojtrs.sca.util.AnyUtils;
 import mil.jpeojtrs.sca.util.CFErrorFormatter;
 import mil.jpeojtrs.sca.util.DceUuidUtil;
+import mil.jpeojtrs.sca.util.NamedThreadFactory;
 import mil.jpeojtrs.sca.util.QueryParser;
 import mil.jpeojtrs.sca.util.ScaFileSystemConstants;
 
 public class LocalApplicationFactory {
 
+	/**
+	 * The maximum number of launch groups (see {@link #getLaunchGroups(List)}) launched at once. Launching is mostly
+	 * spent waiting for processes to start and register, so this isn't tied too closely to the number of processors.
+	 */
+	private static final int MAX_PARALLEL_LAUNCHES = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The units of progress reported while launching each component
+	 */
+	private static final int WORK_PER_COMPONENT = 100;
+
 	private final Map<String, String> implMap;
 	private final LocalSca localSca;
 	private final String mode;
@@ -211,42 +234,299 @@ public class LocalApplicationFactory {
 	}
 
 	/**
-	 * Launches each component of the waveform
+	 * Launches each component of the waveform. Components are launched in parallel, except that the components within
+	 * a launch group (see {@link #getLaunchGroups(List)}) are launched one at a time, in the order they appear in the
+	 * SAD file. Returns once all components have launched.
+	 * <p/>
+	 * Neither returns nor throws until every group has finished, even if a launch fails or the launch is canceled or
+	 * interrupted. So when this fails, every component that was launched has already been added to the waveform's
+	 * launch, and the caller terminates it along with the launch.
 	 *
 	 * @param monitor
 	 * @param app
 	 * @param sad
-	 * @param config
 	 * @throws CoreException
 	 */
 	protected void launchComponents(IProgressMonitor monitor, final ApplicationImpl app, final SoftwareAssembly sad) throws CoreException {
 		final List<SadComponentInstantiation> instantiations = sad.getAllComponentInstantiations();
-		final SubMonitor progress = SubMonitor.convert(monitor, instantiations.size());
+		final SubMonitor progress = SubMonitor.convert(monitor, instantiations.size() * WORK_PER_COMPONENT);
 
-		app.getStreams().getOutStream().println("Launching components...");
+		// Find the SPD for each component up front so we fail before launching anything
 		for (final SadComponentInstantiation comp : instantiations) {
-			progress.subTask(String.format("Launch component instance '%s'", comp.getUsageName()));
+			if (getSpdURI(comp) == null) {
+				String errorMsg = String.format("Failed to find SPD for component: %s", comp.getUsageName());
+				throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, errorMsg));
+			}
+		}
+
+		final List<List<SadComponentInstantiation>> groups = getLaunchGroups(instantiations);
+		app.getStreams().getOutStream().println("Launching components...");
+
+		// Launches happen on worker threads, which queue their progress and each component as it finishes. Progress is
+		// reported from this thread. Cancellation is passed on to the workers via a shared monitor.
+		final IProgressMonitor cancelMonitor = new NullProgressMonitor();
+		final BlockingQueue<LaunchEvent> events = new LinkedBlockingQueue<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(groups.size(), MAX_PARALLEL_LAUNCHES)),
+			new NamedThreadFactory(LocalApplicationFactory.class.getName()));
+		final MultiStatus errors = new MultiStatus(ScaDebugPlugin.ID, 0, "Failed to launch components", null);
+		boolean interrupted = false;
+		try {
+			for (final List<SadComponentInstantiation> group : groups) {
+				executor.execute(() -> launchGroup(app, group, new GroupMonitor(cancelMonitor, events), events));
+			}
+
+			int pendingGroups = groups.size();
+			while (pendingGroups > 0) {
+				if (progress.isCanceled()) {
+					cancelMonitor.setCanceled(true);
+				}
+				final LaunchEvent event;
+				try {
+					event = events.poll(250, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					// Stop launching, but wait for the components already launching so none are left out of the launch
+					interrupted = true;
+					cancelMonitor.setCanceled(true);
+					continue;
+				}
+				if (event == null) {
+					continue;
+				}
+				if (event.groupFinished) {
+					// A group finished (possibly early, due to an error)
+					pendingGroups--;
+					if (event.status != null) {
+						errors.add(event.status);
+						cancelMonitor.setCanceled(true);
+					}
+					continue;
+				}
+				if (event.comp != null) {
+					setComponentInstantiation(event.localComp, event.comp);
+					progress.subTask(String.format("Launched component instance '%s'", event.comp.getUsageName()));
+					app.getStreams().getOutStream().println("\n");
+				} else if (event.subTask != null) {
+					progress.subTask(event.subTask);
+				}
+				progress.worked(event.work);
+			}
+		} finally {
+			executor.shutdown();
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		if (!errors.isOK()) {
+			throw new CoreException((errors.getChildren().length == 1) ? errors.getChildren()[0] : errors);
+		}
+		if (interrupted || progress.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Passed from the threads launching each group to the thread reporting progress. Either progress while launching a
+	 * component, a component which has launched, or a group which has finished.
+	 */
+	private static final class LaunchEvent {
+		private final SadComponentInstantiation comp;
+		private final LocalScaComponent localComp;
+		private final int work;
+		private final String subTask;
+		private final boolean groupFinished;
+		private final IStatus status;
+
+		private LaunchEvent(SadComponentInstantiation comp, LocalScaComponent localComp, int work, String subTask, boolean groupFinished,
+			IStatus status) {
+			this.comp = comp;
+			this.localComp = localComp;
+			this.work = work;
+			this.subTask = subTask;
+			this.groupFinished = groupFinished;
+			this.status = status;
+		}
+
+		static LaunchEvent progress(int work, String subTask) {
+			return new LaunchEvent(null, null, work, subTask, false, null);
+		}
+
+		static LaunchEvent launched(SadComponentInstantiation comp, LocalScaComponent localComp, int work) {
+			return new LaunchEvent(comp, localComp, work, null, false, null);
+		}
+
+		/**
+		 * @param status The error which stopped the group, or null
+		 */
+		static LaunchEvent groupFinished(IStatus status) {
+			return new LaunchEvent(null, null, 0, null, true, status);
+		}
+	}
+
+	/**
+	 * The progress monitor for launching a group's components on a worker thread. Progress monitors generally aren't
+	 * thread-safe, so work and sub-task names are queued for the thread reporting progress rather than passed on
+	 * directly. Each component counts for {@link #WORK_PER_COMPONENT} units. Cancellation is shared by all groups.
+	 */
+	private static final class GroupMonitor extends NullProgressMonitor {
+		private final IProgressMonitor cancelMonitor;
+		private final BlockingQueue<LaunchEvent> events;
+		private int totalWork;
+		private double worked;
+		private int reported;
+
+		GroupMonitor(IProgressMonitor cancelMonitor, BlockingQueue<LaunchEvent> events) {
+			this.cancelMonitor = cancelMonitor;
+			this.events = events;
+		}
+
+		/**
+		 * Starts tracking the progress of launching a component.
+		 */
+		void startComponent(String name) {
+			totalWork = 0;
+			worked = 0;
+			reported = 0;
+			subTask(name);
+		}
+
+		/**
+		 * @return The units of work not yet reported for the component which has finished launching
+		 */
+		int finishComponent() {
+			int remaining = WORK_PER_COMPONENT - reported;
+			reported = WORK_PER_COMPONENT;
+			return remaining;
+		}
+
+		@Override
+		public void beginTask(String name, int totalWork) {
+			this.totalWork = totalWork;
+			setTaskName(name);
+		}
+
+		@Override
+		public void setTaskName(String name) {
+			subTask(name);
+		}
+
+		@Override
+		public void subTask(String name) {
+			if (name != null && !name.isEmpty()) {
+				events.add(LaunchEvent.progress(0, name));
+			}
+		}
 
-			URI spdUri = getSpdURI(comp);
-			if (spdUri != null) {
-				List<DataType> componentProps = this.componentPropertyMap.get(comp.getId());
-				if (componentProps == null) {
-					componentProps = new ArrayList<DataType>();
+		@Override
+		public void worked(int work) {
+			internalWorked(work);
+		}
+
+		@Override
+		public void internalWorked(double work) {
+			if (totalWork <= 0) {
+				return;
+			}
+			worked += work;
+			int units = Math.min(WORK_PER_COMPONENT, (int) (worked * WORK_PER_COMPONENT / totalWork));
+			if (units > reported) {
+				events.add(LaunchEvent.progress(units - reported, null));
+				reported = units;
+			}
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return cancelMonitor.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			cancelMonitor.setCanceled(canceled);
+		}
+	}
+
+	/**
+	 * Launches the components of a group in order, stopping at the first failure. An event is queued as each
+	 * component finishes, followed by one for the group as a whole (which has the error, if any).
+	 */
+	private void launchGroup(final ApplicationImpl app, final List<SadComponentInstantiation> group, final GroupMonitor monitor,
+		final BlockingQueue<LaunchEvent> events) {
+		IStatus status = null;
+		try {
+			for (final SadComponentInstantiation comp : group) {
+				if (monitor.isCanceled()) {
+					break;
 				}
-				LocalScaComponent localComp = app.launch(comp.getUsageName(), comp.getId(), componentProps.toArray(new DataType[0]), spdUri, getImplId(comp),
-					this.mode, progress.newChild(1));
-				if (localComp != null) {
-					TransactionalEditingDomain localEditingDomain = TransactionUtil.getEditingDomain(localComp);
-					if (localEditingDomain != null) {
-						localEditingDomain.getCommandStack().execute(
-							SetCommand.create(localEditingDomain, localComp, ScaPackage.Literals.SCA_COMPONENT__COMPONENT_INSTANTIATION, comp));
+				try {
+					monitor.startComponent(String.format("Launch component instance '%s'", comp.getUsageName()));
+					List<DataType> componentProps = this.componentPropertyMap.get(comp.getId());
+					if (componentProps == null) {
+						componentProps = new ArrayList<DataType>();
 					}
+					final LocalScaComponent localComp = app.launch(comp.getUsageName(), comp.getId(), componentProps.toArray(new DataType[0]),
+						getSpdURI(comp), getImplId(comp), this.mode, monitor);
+					events.add(LaunchEvent.launched(comp, localComp, monitor.finishComponent()));
+				} catch (CoreException e) {
+					status = e.getStatus();
+					break;
+				} catch (OperationCanceledException e) {
+					break;
+				} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Report any launch failure
+					String errorMsg = String.format("Failed to launch component instance '%s'", comp.getUsageName());
+					status = new Status(IStatus.ERROR, ScaDebugPlugin.ID, errorMsg, e);
+					break;
 				}
+			}
+		} finally {
+			events.add(LaunchEvent.groupFinished(status));
+		}
+	}
+
+	/**
+	 * Divides component instantiations into groups whose members must be launched one at a time, in order:
+	 * <ul>
+	 * <li>Components in the same host collocation</li>
+	 * <li>Components that run in the waveform's component host (shared address space components)</li>
+	 * </ul>
+	 * Every other component is a group by itself. Groups are ordered by their first component's position in the SAD.
+	 */
+	private List<List<SadComponentInstantiation>> getLaunchGroups(final List<SadComponentInstantiation> instantiations) {
+		final Object componentHostKey = new Object();
+		final Map<Object, List<SadComponentInstantiation>> groups = new LinkedHashMap<>();
+		for (final SadComponentInstantiation comp : instantiations) {
+			final Object key;
+			final EObject placementContainer = (comp.eContainer() != null) ? comp.eContainer().eContainer() : null;
+			if (placementContainer instanceof HostCollocation) {
+				key = placementContainer;
+			} else if (isSharedAddress(comp)) {
+				key = componentHostKey;
 			} else {
-				String errorMsg = String.format("Failed to find SPD for component: %s", comp.getUsageName());
-				throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, errorMsg));
+				key = comp;
+			}
+
+			List<SadComponentInstantiation> group = groups.get(key);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(key, group);
+			}
+			group.add(comp);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	private boolean isSharedAddress(final SadComponentInstantiation comp) {
+		final SoftPkg spd = ComponentInstantiation.Util.getSpd(comp);
+		return spd != null && SoftPkg.Util.isSharedAddressComponent(spd.getImplementation(getImplId(comp)));
+	}
+
+	private void setComponentInstantiation(final LocalScaComponent localComp, final SadComponentInstantiation comp) {
+		if (localComp != null) {
+			TransactionalEditingDomain localEditingDomain = TransactionUtil.getEditingDomain(localComp);
+			if (localEditingDomain != null) {
+				localEditingDomain.getCommandStack().execute(
+					SetCommand.create(localEditingDomain, localComp, ScaPackage.Literals.SCA_COMPONENT__COMPONENT_INSTANTIATION, comp));
 			}
-			app.getStreams().getOutStream().println("\n");
 		}
 	}
 
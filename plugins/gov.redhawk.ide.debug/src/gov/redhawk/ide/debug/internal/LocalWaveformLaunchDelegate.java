@@ -20,6 +20,7 @@ import java.util.Map;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.model.ILaunchConfigurationDelegate2;
@@ -118,7 +119,8 @@ public class LocalWaveformLaunchDelegate extends LaunchConfigurationDelegate imp
 				final StartJob job = new StartJob(app.getName(), app);
 				job.schedule();
 			}
-		} catch (CoreException e) {
+		} catch (CoreException | OperationCanceledException e) {
+			// Terminate any components that were launched
 			launch.terminate();
 			throw e;
 		}
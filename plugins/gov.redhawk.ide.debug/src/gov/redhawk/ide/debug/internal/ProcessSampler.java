@@ -0,0 +1,117 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug.internal;
+
+import java.io.IOException;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.IProcess;
+
+import gov.redhawk.ide.debug.IProcessTree;
+import gov.redhawk.ide.debug.ProcessTreeFactory;
+
+/**
+ * Samples the resources used by the processes of sandbox launches. One {@link IProcessTree} is kept and refreshed
+ * for each sample, so that only the launched processes are re-read and CPU usage can be computed between samples.
+ */
+public final class ProcessSampler {
+
+	/**
+	 * The resources used by a launch's processes (and their children)
+	 */
+	public static final class Usage {
+		private final float cores;
+		private final float memory;
+		private final long processes;
+		private final long threads;
+		private final long files;
+
+		Usage(float cores, float memory, long processes, long threads, long files) {
+			this.cores = cores;
+			this.memory = memory;
+			this.processes = processes;
+			this.threads = threads;
+			this.files = files;
+		}
+
+		/**
+		 * @return CPU cores used
+		 */
+		public float getCores() {
+			return cores;
+		}
+
+		/**
+		 * @return Resident memory, in MiB
+		 */
+		public float getMemory() {
+			return memory;
+		}
+
+		public long getProcesses() {
+			return processes;
+		}
+
+		public long getThreads() {
+			return threads;
+		}
+
+		public long getFiles() {
+			return files;
+		}
+	}
+
+	private static final ProcessSampler INSTANCE = new ProcessSampler();
+
+	private IProcessTree processTree;
+
+	private ProcessSampler() {
+	}
+
+	public static ProcessSampler getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param launch The launch to sample
+	 * @return The resources used by the launch's processes, or null if they can't be determined
+	 */
+	public synchronized Usage sample(ILaunch launch) {
+		if (processTree == null) {
+			processTree = ProcessTreeFactory.createProcessTree();
+			if (processTree == null) {
+				return null;
+			}
+		}
+
+		float cores = 0, memory = 0;
+		long processes = 0, threads = 0, files = 0;
+		for (IProcess process : launch.getProcesses()) {
+			int pid = processTree.getPid(process);
+			if (pid != 0) {
+				try {
+					processTree.refresh(pid);
+				} catch (IOException e) {
+					// Report whatever was last sampled
+				}
+				cores += processTree.getCores(pid);
+				memory += (processTree.getRSS(pid) / 1024.0 / 1024.0);
+				processes += processTree.getProcessCount(pid);
+				threads += processTree.getThreadCount(pid);
+				files += processTree.getFileCount(pid);
+			}
+		}
+		if (threads == 0) {
+			return null;
+		}
+		return new Usage(cores, memory, processes, threads, files);
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.debug.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Futures waiting for something to be registered under a key (e.g. a name being bound, or a device registering).
+ * <p/>
+ * To avoid missing a registration, a waiter should be added <b>before</b> checking whether the key is already
+ * registered; if it is, complete the waiter's future directly.
+ * @param <K> The key type
+ * @param <V> The type of the registered value
+ */
+public class RegistrationWaiters<K, V> {
+
+	private final Map<K, List<CompletableFuture<V>>> waiters = new HashMap<>();
+
+	/**
+	 * @return A future which is completed by {@link #complete(Object, Object)} for the key. Cancelling it removes
+	 * the waiter.
+	 */
+	public CompletableFuture<V> add(final K key) {
+		final CompletableFuture<V> future = new CompletableFuture<>();
+		synchronized (waiters) {
+			List<CompletableFuture<V>> list = waiters.get(key);
+			if (list == null) {
+				list = new ArrayList<>();
+				waiters.put(key, list);
+			}
+			list.add(future);
+		}
+		future.whenComplete((value, t) -> {
+			synchronized (waiters) {
+				List<CompletableFuture<V>> list = waiters.get(key);
+				if (list != null && list.remove(future) && list.isEmpty()) {
+					waiters.remove(key);
+				}
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Completes all futures waiting for the key.
+	 */
+	public void complete(final K key, final V value) {
+		final List<CompletableFuture<V>> list;
+		synchronized (waiters) {
+			list = waiters.remove(key);
+		}
+		if (list != null) {
+			for (CompletableFuture<V> future : list) {
+				future.complete(value);
+			}
+		}
+	}
+
+	/**
+	 * Completes all futures exceptionally (e.g. because whatever they were registering with is going away).
+	 */
+	public void failAll(final Throwable t) {
+		final List<CompletableFuture<V>> all = new ArrayList<>();
+		synchronized (waiters) {
+			for (List<CompletableFuture<V>> list : waiters.values()) {
+				all.addAll(list);
+			}
+			waiters.clear();
+		}
+		for (CompletableFuture<V> future : all) {
+			future.completeExceptionally(t);
+		}
+	}
+
+}
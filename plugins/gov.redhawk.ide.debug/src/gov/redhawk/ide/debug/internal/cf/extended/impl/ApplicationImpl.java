@@ -12,6 +12,7 @@ package gov.redhawk.ide.debug.internal.cf.extended.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.filesystem.EFS;
@@ -275,7 +277,15 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 	private static final float DEFAULT_STOP_TIMEOUT = 3.0f;
 	private static final float RELEASE_TIMEOUT = 3.0f;
 
-	private LocalScaComponent assemblyController;
+	/**
+	 * The overall time allowed to disconnect and release all components (or terminate them) when tearing down in
+	 * parallel, in seconds. Components which are still running after this are terminated.
+	 */
+	private static final float TEARDOWN_TIMEOUT = 10.0f;
+
+	private volatile LocalScaComponent assemblyController;
+	private boolean parallelTeardown = true;
+	private volatile Map<String, Long> startLatencies = Collections.emptyMap();
 	private NotifyingNamingContext waveformContext;
 	private final ApplicationStreams streams = new ApplicationStreams();
 	private boolean terminated;
@@ -449,15 +459,24 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 				}) //
 				.sorted(new ScaComponentComparator()) // Sort by AC, then start order
 				.collect(Collectors.toList());
-		for (ScaComponent component : compsToStart) {
-			this.streams.getOutStream().println('\t' + component.getInstantiationIdentifier());
-			try {
-				component.start();
-			} catch (StartError e) {
-				String resourceDesc = Messages.bind(Messages.ApplicationImpl_Component, component.getName());
-				this.streams.getErrStream().println(CFErrorFormatter.format(e, resourceDesc));
-				throw e;
+
+		// The assembly controller starts first by itself; after that, components with the same start order start
+		// concurrently
+		final LocalScaComponent localController = this.assemblyController;
+		List<List<ScaComponent>> ranks = StartScheduler.groupByRank(compsToStart, component -> {
+			if (component == localController) {
+				return localController;
 			}
+			if (component.getComponentInstantiation() == null) {
+				return null;
+			}
+			return component.getComponentInstantiation().getStartOrder();
+		});
+		StartScheduler scheduler = new StartScheduler(this.streams);
+		try {
+			scheduler.start(ranks);
+		} finally {
+			this.startLatencies = scheduler.getLatencies();
 		}
 
 		this.streams.getOutStream().println(Messages.ApplicationImpl_Started);
@@ -627,10 +646,13 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 			throw new ReleaseError(new String[] { Messages.ApplicationImpl_InterruptedWaitingForStop });
 		}
 
-		disconnectAll();
-
 		try {
-			releaseAll();
+			if (parallelTeardown) {
+				releaseAllParallel();
+			} else {
+				disconnectAll();
+				releaseAll();
+			}
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 			this.streams.getErrStream().println(Messages.ApplicationImpl_InterruptedWaitingForRelease);
@@ -677,6 +699,57 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 		}
 	}
 
+	/**
+	 * @return Instantiation identifier -> latency of the component's start() call in nanoseconds, for each component
+	 * started during the most recent {@link #start()}
+	 */
+	public Map<String, Long> getStartLatencies() {
+		return this.startLatencies;
+	}
+
+	/**
+	 * @param parallelTeardown True (the default) to release or terminate all components in parallel with one overall
+	 * deadline, false to release or terminate them one at a time
+	 */
+	public void setParallelTeardown(boolean parallelTeardown) {
+		this.parallelTeardown = parallelTeardown;
+	}
+
+	private ParallelTeardown createParallelTeardown() {
+		ParallelTeardown teardown = new ParallelTeardown(this, TEARDOWN_TIMEOUT);
+		for (ScaComponent component : this.waveform.getComponentsCopy()) {
+			if (component instanceof LocalScaComponent && ((LocalScaComponent) component).getLaunch() != null) {
+				teardown.addComponent(component);
+			}
+		}
+		LocalScaExecutableDevice componentHost = this.waveform.getComponentHost();
+		if (componentHost != null) {
+			teardown.addComponentHost(componentHost, componentHost.getLabel());
+		}
+		componentHost = this.waveform.getComponentHostDebug();
+		if (componentHost != null) {
+			teardown.addComponentHost(componentHost, componentHost.getLabel());
+		}
+		return teardown;
+	}
+
+	/**
+	 * Disconnect, then release all <b>local</b> components, local component hosts in parallel. Any which haven't
+	 * released by the deadline are terminated.
+	 */
+	protected void releaseAllParallel() throws InterruptedException {
+		createParallelTeardown().release();
+		this.assemblyController = null;
+	}
+
+	/**
+	 * Terminate all <b>local</b> components, local component hosts in parallel.
+	 */
+	protected void terminateAllParallel() throws InterruptedException {
+		createParallelTeardown().terminate();
+		this.assemblyController = null;
+	}
+
 	/**
 	 * Terminate all <b>local</b> components, local component hosts
 	 */
@@ -783,6 +856,14 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 	}
 
 	protected void disconnect(final ScaComponent comp) {
+		disconnect(comp, this.streams.getErrStream()::println);
+	}
+
+	/**
+	 * Disconnects the uses ports of a component.
+	 * @param err Writes a line about a problem disconnecting
+	 */
+	void disconnect(final ScaComponent comp, final Consumer<String> err) {
 		for (final ScaPort< ? , ? > port : comp.getPorts().toArray(new ScaPort< ? , ? >[comp.getPorts().size()])) {
 			if (port instanceof ScaUsesPort) {
 				final ScaUsesPort up = (ScaUsesPort) port;
@@ -793,12 +874,12 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 					} catch (final InvalidPort e) {
 						String msg = Messages.bind(Messages.ApplicationImpl_ProblemDisconnecting, c.getId());
 						String resourceDesc = Messages.bind(Messages.ApplicationImpl_Connection, c.getId());
-						this.streams.getErrStream().println(msg);
-						this.streams.getErrStream().println(CFErrorFormatter.format(e, resourceDesc));
+						err.accept(msg);
+						err.accept(CFErrorFormatter.format(e, resourceDesc));
 					} catch (final SystemException e) {
 						String msg = Messages.bind(Messages.ApplicationImpl_ProblemDisconnecting, c.getId());
-						this.streams.getErrStream().println(msg);
-						this.streams.getErrStream().println(e.toString());
+						err.accept(msg);
+						err.accept(e.toString());
 					}
 				}
 			}
@@ -1282,7 +1363,16 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 		this.streams.getOutStream().println(Messages.ApplicationImpl_Terminating);
 
 		// Terminate the launch for each component
-		terminateAll();
+		if (parallelTeardown) {
+			try {
+				terminateAllParallel();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				terminateAll();
+			}
+		} else {
+			terminateAll();
+		}
 
 		// Unbind waveform context
 		unbind();
@@ -1683,10 +1773,12 @@ public class ApplicationImpl extends PlatformObject implements IProcess, Applica
 			throw new CoreException(new Status(IStatus.ERROR, ScaDebugPlugin.ID, Messages.ApplicationImpl_FailedToFindComponent));
 		}
 
-		// Add Child processes
-		for (final IProcess process : launch.getProcesses()) {
-			if (this.parentLaunch != null) {
-				this.parentLaunch.addProcess(process);
+		// Add Child processes (components may be launching in parallel)
+		if (this.parentLaunch != null) {
+			synchronized (this.parentLaunch) {
+				for (final IProcess process : launch.getProcesses()) {
+					this.parentLaunch.addProcess(process);
+				}
 			}
 		}
 
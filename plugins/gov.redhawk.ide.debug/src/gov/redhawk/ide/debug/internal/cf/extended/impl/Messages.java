@@ -67,6 +67,14 @@ import org.eclipse.osgi.util.NLS;
 	public static String ApplicationImpl_TimeoutWaitingForRelease;
 	public static String ApplicationImpl_TimeoutWaitingForStop;
 	public static String ApplicationImpl_UnableToLoadSpdFile;
+	public static String ParallelTeardown_DidNotFinish;
+	public static String ParallelTeardown_DisconnectTime;
+	public static String ParallelTeardown_Escalating;
+	public static String ParallelTeardown_Millis;
+	public static String ParallelTeardown_ReleaseTime;
+	public static String ParallelTeardown_TerminateTime;
+	public static String StartScheduler_ComponentStarted;
+	public static String StartScheduler_Interrupted;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
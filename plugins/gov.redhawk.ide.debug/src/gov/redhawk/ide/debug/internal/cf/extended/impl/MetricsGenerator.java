@@ -20,17 +20,16 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.debug.core.ILaunch;
-import org.eclipse.debug.core.model.IProcess;
 import org.omg.CORBA.SystemException;
 
 import CF.Application;
 import CF.DataType;
 import CF.ApplicationPackage.InvalidMetric;
-import gov.redhawk.ide.debug.IProcessTree;
 import gov.redhawk.ide.debug.LocalScaComponent;
 import gov.redhawk.ide.debug.LocalScaWaveform;
-import gov.redhawk.ide.debug.ProcessTreeFactory;
 import gov.redhawk.ide.debug.internal.IComponentLaunch;
+import gov.redhawk.ide.debug.internal.ProcessSampler;
+import gov.redhawk.ide.debug.internal.ProcessSampler.Usage;
 import gov.redhawk.ide.debug.variables.LaunchVariables;
 import gov.redhawk.model.sca.ScaComponent;
 import gov.redhawk.model.sca.ScaWaveform;
@@ -78,7 +77,6 @@ class MetricsGenerator {
 		// Generate metrics
 		Metric[] metrics = new Metric[components.length];
 		DataType[] dtMetrics = new DataType[components.length];
-		IProcessTree processTree = null;
 		for (int i = 0; i < components.length; i++) {
 			// Special case - metrics for entire waveform
 			if (Metric.APP_UTIL.equals(components[i])) {
@@ -88,10 +86,7 @@ class MetricsGenerator {
 			} else {
 				ScaComponent scaComponent = componentMap.get(components[i]);
 				if (scaComponent instanceof LocalScaComponent) {
-					if (processTree == null) {
-						processTree = ProcessTreeFactory.createProcessTree();
-					}
-					metrics[i] = metricsLocal(waveform, (LocalScaComponent) scaComponent, processTree);
+					metrics[i] = metricsLocal(waveform, (LocalScaComponent) scaComponent);
 					dtMetrics[i] = metrics[i].toDataType(attributes);
 				} else {
 					metrics[i] = metricsRemote(waveform, components[i]);
@@ -130,7 +125,7 @@ class MetricsGenerator {
 	 * @param component
 	 * @return
 	 */
-	private static Metric metricsLocal(LocalScaWaveform waveform, LocalScaComponent component, IProcessTree processTree) {
+	private static Metric metricsLocal(LocalScaWaveform waveform, LocalScaComponent component) {
 		Metric metric = new Metric();
 
 		metric.setId(component.getName());
@@ -150,22 +145,13 @@ class MetricsGenerator {
 		metric.setComponentHost(name);
 		metric.setShared(shared);
 
-		float getVmRSS = 0;
-		long processes = 0, threads = 0, files = 0;
-		for (IProcess process : launch.getProcesses()) {
-			int pid = processTree.getPid(process);
-			if (pid != 0) {
-				getVmRSS += (processTree.getRSS(pid) / 1024.0 / 1024.0);
-				processes += processTree.getProcessCount(pid);
-				threads += processTree.getThreadCount(pid);
-				files += processTree.getFileCount(pid);
-			}
-		}
-		if (threads > 0) {
-			metric.setMemory(getVmRSS);
-			metric.setProcesses(processes);
-			metric.setThreads(threads);
-			metric.setFiles(files);
+		Usage usage = ProcessSampler.getDefault().sample(launch);
+		if (usage != null) {
+			metric.setCores(usage.getCores());
+			metric.setMemory(usage.getMemory());
+			metric.setProcesses(usage.getProcesses());
+			metric.setThreads(usage.getThreads());
+			metric.setFiles(usage.getFiles());
 		}
 
 		return metric;
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.debug.internal.cf.extended.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.ILaunch;
+import org.omg.CORBA.SystemException;
+
+import CF.LifeCyclePackage.ReleaseError;
+import gov.redhawk.ide.debug.LocalLaunch;
+import gov.redhawk.model.sca.ScaAbstractComponent;
+import gov.redhawk.model.sca.ScaComponent;
+import mil.jpeojtrs.sca.util.CFErrorFormatter;
+import mil.jpeojtrs.sca.util.NamedThreadFactory;
+
+/**
+ * Tears down the components of a sandbox waveform in parallel. Each phase (disconnect, release, terminate) is fanned
+ * out across all the components, and all phases share one deadline, part of which is reserved for the component hosts.
+ * Components which haven't released by the deadline (or failed to) have their launch terminated. The time each
+ * component took is written to the application's console. Calls still running once the teardown is over write nothing
+ * further to the console.
+ */
+public class ParallelTeardown {
+
+	/**
+	 * Time allowed to terminate components which didn't release by the deadline.
+	 */
+	private static final long ESCALATION_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+	/**
+	 * The percentage of the timeout reserved for releasing component hosts, so that components which don't release
+	 * can't use up the time the hosts have to release.
+	 */
+	private static final int HOST_TIMEOUT_PERCENT = 25;
+
+	/**
+	 * Calls which don't return before the deadline are abandoned, and may hold a thread for a while (e.g. until the ORB
+	 * times out the call), so the pool isn't bounded.
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new NamedThreadFactory(ParallelTeardown.class.getName()));
+
+	/**
+	 * Tracks the teardown of one component.
+	 */
+	private static class Teardown {
+		private final ScaAbstractComponent< ? > resource;
+		private final String name;
+		private final boolean disconnect;
+		private volatile long disconnectNanos = -1;
+		private volatile long releaseNanos = -1;
+		private volatile long terminateNanos = -1;
+		private volatile boolean released;
+
+		Teardown(ScaAbstractComponent< ? > resource, String name, boolean disconnect) {
+			this.resource = resource;
+			this.name = name;
+			this.disconnect = disconnect;
+		}
+	}
+
+	private final ApplicationImpl app;
+	private final ApplicationStreams streams;
+	private final long timeoutNanos;
+	private final long deadline;
+	private final List<Teardown> components = new ArrayList<>();
+	private final List<Teardown> componentHosts = new ArrayList<>();
+	private boolean releasing;
+
+	// Guarded by this
+	private boolean finished;
+
+	/**
+	 * @param app The application being torn down
+	 * @param timeout The overall time allowed for all phases of the teardown, in seconds
+	 */
+	public ParallelTeardown(ApplicationImpl app, float timeout) {
+		this.app = app;
+		this.streams = app.getStreams();
+		this.timeoutNanos = (long) (timeout * TimeUnit.SECONDS.toNanos(1));
+		this.deadline = System.nanoTime() + timeoutNanos;
+	}
+
+	/**
+	 * Adds a component to tear down. Its connections will be disconnected before any component is released.
+	 */
+	public void addComponent(ScaComponent component) {
+		components.add(new Teardown(component, component.getName(), true));
+	}
+
+	/**
+	 * Adds a component host to tear down. Component hosts are released after the components they may contain.
+	 */
+	public void addComponentHost(ScaAbstractComponent< ? > componentHost, String name) {
+		componentHosts.add(new Teardown(componentHost, name, false));
+	}
+
+	/**
+	 * Disconnects, then releases all the components, then the component hosts. Any which aren't released by the
+	 * deadline have their launch terminated.
+	 */
+	public void release() throws InterruptedException {
+		releasing = true;
+		long componentDeadline = deadline;
+		if (!componentHosts.isEmpty()) {
+			componentDeadline -= timeoutNanos * HOST_TIMEOUT_PERCENT / 100;
+		}
+
+		out(Messages.ApplicationImpl_Disconnecting);
+		await(componentDeadline, fanOut(components, t -> {
+			long start = System.nanoTime();
+			app.disconnect((ScaComponent) t.resource, this::err);
+			t.disconnectNanos = System.nanoTime() - start;
+		}));
+		out(Messages.ApplicationImpl_Disconnected);
+
+		out(Messages.ApplicationImpl_ReleasingComponents);
+		await(componentDeadline, fanOut(components, this::releaseOne));
+		await(deadline, fanOut(componentHosts, this::releaseOne));
+
+		// Escalate to terminating the process of anything that didn't release
+		List<Teardown> stragglers = new ArrayList<>();
+		for (Teardown t : components) {
+			if (!t.released) {
+				stragglers.add(t);
+			}
+		}
+		for (Teardown t : componentHosts) {
+			if (!t.released) {
+				stragglers.add(t);
+			}
+		}
+		for (Teardown t : stragglers) {
+			err(Messages.bind(Messages.ParallelTeardown_Escalating, t.name));
+		}
+		await(Math.max(deadline, System.nanoTime()) + ESCALATION_NANOS, fanOut(stragglers, this::terminateOne));
+
+		printTimings();
+		out(Messages.ApplicationImpl_ReleasedComponents);
+		finish();
+	}
+
+	/**
+	 * Terminates the launch of all the components and component hosts.
+	 */
+	public void terminate() throws InterruptedException {
+		List<Teardown> all = new ArrayList<>(components);
+		all.addAll(componentHosts);
+		await(deadline, fanOut(all, this::terminateOne));
+		printTimings();
+		finish();
+	}
+
+	private void releaseOne(Teardown t) {
+		out(Messages.bind(Messages.ApplicationImpl_ReleasingComponent, t.name));
+		long start = System.nanoTime();
+		try {
+			t.resource.releaseObject();
+			t.released = true;
+		} catch (ReleaseError e) {
+			String resourceDesc = Messages.bind(Messages.ApplicationImpl_Component, t.name);
+			err(Messages.bind(Messages.ApplicationImpl_ProblemReleasingComponent, t.name), CFErrorFormatter.format(e, resourceDesc));
+		} catch (SystemException e) {
+			err(Messages.bind(Messages.ApplicationImpl_ProblemReleasingComponent, t.name), e.getMessage());
+		} finally {
+			t.releaseNanos = System.nanoTime() - start;
+		}
+	}
+
+	private void terminateOne(Teardown t) {
+		if (!(t.resource instanceof LocalLaunch)) {
+			return;
+		}
+		ILaunch launch = ((LocalLaunch) t.resource).getLaunch();
+		if (launch == null || launch.isTerminated()) {
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			launch.terminate();
+		} catch (DebugException e) {
+			err(Messages.bind(Messages.ApplicationImpl_FailedToTerminateComponent, t.name));
+		} finally {
+			t.terminateNanos = System.nanoTime() - start;
+		}
+	}
+
+	private interface Step {
+		void run(Teardown t);
+	}
+
+	private List<CompletableFuture<Void>> fanOut(List<Teardown> teardowns, Step step) {
+		List<CompletableFuture<Void>> futures = new ArrayList<>(teardowns.size());
+		for (Teardown t : teardowns) {
+			futures.add(CompletableFuture.runAsync(() -> step.run(t), EXECUTOR));
+		}
+		return futures;
+	}
+
+	/**
+	 * Waits for the futures to complete, or for a deadline to pass.
+	 * @param until The deadline, relative to {@link System#nanoTime()}
+	 */
+	private void await(long until, List<CompletableFuture<Void>> futures) throws InterruptedException {
+		if (futures.isEmpty()) {
+			return;
+		}
+		CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture< ? >[futures.size()]));
+		try {
+			all.get(Math.max(0, until - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// PASS - whatever hasn't finished is reported and escalated by the caller
+		} catch (ExecutionException | CompletionException e) {
+			err(e.getCause().toString());
+		}
+	}
+
+	private void printTimings() {
+		List<Teardown> all = new ArrayList<>(components);
+		all.addAll(componentHosts);
+		for (Teardown t : all) {
+			StringBuilder sb = new StringBuilder("\t");
+			sb.append(t.name);
+			sb.append(':');
+			if (releasing) {
+				if (t.disconnect) {
+					sb.append(' ').append(Messages.bind(Messages.ParallelTeardown_DisconnectTime, format(t.disconnectNanos)));
+				}
+				sb.append(' ').append(Messages.bind(Messages.ParallelTeardown_ReleaseTime, format(t.releaseNanos)));
+			}
+			if (!releasing || t.terminateNanos >= 0) {
+				sb.append(' ').append(Messages.bind(Messages.ParallelTeardown_TerminateTime, format(t.terminateNanos)));
+			}
+			out(sb.toString());
+		}
+	}
+
+	/**
+	 * Writes lines to the console, unless the teardown is over. Calls which were abandoned at the deadline may still
+	 * finish later, and their output would otherwise follow the summary.
+	 */
+	private synchronized void out(String... lines) {
+		if (!finished) {
+			for (String line : lines) {
+				streams.getOutStream().println(line);
+			}
+		}
+	}
+
+	/**
+	 * Writes lines to the console's error stream, unless the teardown is over.
+	 */
+	private synchronized void err(String... lines) {
+		if (!finished) {
+			for (String line : lines) {
+				streams.getErrStream().println(line);
+			}
+		}
+	}
+
+	private synchronized void finish() {
+		finished = true;
+	}
+
+	private String format(long nanos) {
+		if (nanos < 0) {
+			return Messages.ParallelTeardown_DidNotFinish;
+		}
+		return Messages.bind(Messages.ParallelTeardown_Millis, TimeUnit.NANOSECONDS.toMillis(nanos));
+	}
+}
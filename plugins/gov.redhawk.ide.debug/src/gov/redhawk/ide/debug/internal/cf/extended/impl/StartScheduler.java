@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.debug.internal.cf.extended.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import CF.ErrorNumberType;
+import CF.ResourcePackage.StartError;
+import gov.redhawk.model.sca.ScaComponent;
+import mil.jpeojtrs.sca.util.CFErrorFormatter;
+import mil.jpeojtrs.sca.util.NamedThreadFactory;
+
+/**
+ * Starts the components of a sandbox waveform one start-order rank at a time. All the components of a rank are started
+ * concurrently, and the rank must finish starting before the next one begins. The time each component's
+ * <code>start()</code> call took is recorded.
+ */
+public class StartScheduler {
+
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new NamedThreadFactory(StartScheduler.class.getName()));
+
+	private final ApplicationStreams streams;
+
+	/**
+	 * Instantiation identifier -> start() latency in nanoseconds, in the order components finished starting.
+	 */
+	private final Map<String, Long> latencies = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	StartScheduler(ApplicationStreams streams) {
+		this.streams = streams;
+	}
+
+	/**
+	 * Groups consecutive components which have the same rank.
+	 * @param sorted Components, sorted in start order
+	 * @param rank Determines a component's rank
+	 * @return The ranks, in start order
+	 */
+	public static List<List<ScaComponent>> groupByRank(List<ScaComponent> sorted, Function<ScaComponent, Object> rank) {
+		List<List<ScaComponent>> ranks = new ArrayList<>();
+		List<ScaComponent> current = null;
+		Object currentRank = null;
+		for (ScaComponent component : sorted) {
+			Object componentRank = rank.apply(component);
+			if (current == null || !Objects.equals(currentRank, componentRank)) {
+				current = new ArrayList<>();
+				ranks.add(current);
+				currentRank = componentRank;
+			}
+			current.add(component);
+		}
+		return ranks;
+	}
+
+	/**
+	 * Starts each rank of components in turn. If any component in a rank fails to start, later ranks aren't started.
+	 * @param ranks The components to start, grouped by rank
+	 * @throws StartError The first start error of the rank that failed
+	 */
+	public void start(List<List<ScaComponent>> ranks) throws StartError {
+		for (List<ScaComponent> rank : ranks) {
+			startRank(rank);
+		}
+	}
+
+	/**
+	 * @return Instantiation identifier -> start() latency in nanoseconds, for each component that started
+	 */
+	public Map<String, Long> getLatencies() {
+		synchronized (latencies) {
+			return new LinkedHashMap<>(latencies);
+		}
+	}
+
+	private void startRank(List<ScaComponent> rank) throws StartError {
+		// No need for another thread if there's only one component
+		if (rank.size() == 1) {
+			startOne(rank.get(0));
+			return;
+		}
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(rank.size());
+		for (ScaComponent component : rank) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				try {
+					startOne(component);
+				} catch (StartError e) {
+					throw new StartErrorException(e);
+				}
+			}, EXECUTOR));
+		}
+
+		// Wait for the whole rank, then report the first failure
+		StartError startError = null;
+		RuntimeException runtimeException = null;
+		for (CompletableFuture<Void> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new StartError(ErrorNumberType.CF_EINTR, Messages.StartScheduler_Interrupted);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof StartErrorException) {
+					if (startError == null) {
+						startError = (StartError) e.getCause().getCause();
+					}
+				} else if (e.getCause() instanceof RuntimeException && runtimeException == null) {
+					runtimeException = (RuntimeException) e.getCause();
+				}
+			}
+		}
+		if (startError != null) {
+			throw startError;
+		}
+		if (runtimeException != null) {
+			throw runtimeException;
+		}
+	}
+
+	private void startOne(ScaComponent component) throws StartError {
+		String instId = component.getInstantiationIdentifier();
+		long startTime = System.nanoTime();
+		try {
+			component.start();
+		} catch (StartError e) {
+			String resourceDesc = Messages.bind(Messages.ApplicationImpl_Component, component.getName());
+			this.streams.getErrStream().println(CFErrorFormatter.format(e, resourceDesc));
+			throw e;
+		}
+		long latency = System.nanoTime() - startTime;
+		latencies.put(instId, latency);
+		this.streams.getOutStream().println(Messages.bind(Messages.StartScheduler_ComponentStarted, instId, TimeUnit.NANOSECONDS.toMillis(latency)));
+	}
+
+	/**
+	 * Carries a {@link StartError} out of a worker thread.
+	 */
+	private static class StartErrorException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		StartErrorException(StartError startError) {
+			super(startError);
+		}
+	}
+}
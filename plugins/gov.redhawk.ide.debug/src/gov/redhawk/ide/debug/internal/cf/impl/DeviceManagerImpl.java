@@ -16,6 +16,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -78,6 +79,7 @@ import gov.redhawk.ide.debug.LocalScaDeviceManager;
 import gov.redhawk.ide.debug.ScaDebugPlugin;
 import gov.redhawk.ide.debug.SpdLauncherUtil;
 import gov.redhawk.ide.debug.internal.LaunchLogger;
+import gov.redhawk.ide.debug.internal.RegistrationWaiters;
 import gov.redhawk.ide.debug.internal.jobs.TerminateJob;
 import gov.redhawk.ide.debug.variables.LaunchVariables;
 import gov.redhawk.model.sca.RefreshDepth;
@@ -125,6 +127,13 @@ public class DeviceManagerImpl extends EObjectImpl implements DeviceManagerOpera
 	 */
 	private Map<ILaunch, String> launchToDeviceIor = new HashMap<>();
 
+	/**
+	 * The labels of the devices in the {@link #devices} member, by IOR.
+	 * <p/>
+	 * All access should be synchronized on {@link #devices}.
+	 */
+	private Map<String, String> deviceLabels = new HashMap<>();
+
 	/**
 	 * A map containing the services that have registered with the device manager. Service name is mapped to the
 	 * {@link ServiceType}.
@@ -140,6 +149,16 @@ public class DeviceManagerImpl extends EObjectImpl implements DeviceManagerOpera
 	 */
 	private Map<ILaunch, String> launchToServiceName = new HashMap<>();
 
+	/**
+	 * Futures waiting for a device to register, by device label.
+	 */
+	private final RegistrationWaiters<String, Device> deviceWaiters = new RegistrationWaiters<>();
+
+	/**
+	 * Futures waiting for a service to register, by service name.
+	 */
+	private final RegistrationWaiters<String, org.omg.CORBA.Object> serviceWaiters = new RegistrationWaiters<>();
+
 	private final Job refreshChildrenJob;
 	private LocalScaDeviceManager devMgrModelObj;
 
@@ -309,8 +328,10 @@ public class DeviceManagerImpl extends EObjectImpl implements DeviceManagerOpera
 		// Register the device and refresh the model so it notices it
 		synchronized (devices) {
 			devices.put(ior, registeringDevice);
+			deviceLabels.put(ior, deviceLabel);
 		}
 		refreshChildrenJob.schedule();
+		deviceWaiters.complete(deviceLabel, registeringDevice);
 	}
 
 	@Override
@@ -326,6 +347,7 @@ public class DeviceManagerImpl extends EObjectImpl implements DeviceManagerOpera
 				String msg = "Device is not registered";
 				throw new InvalidObjectReference(msg, msg);
 			}
+			deviceLabels.remove(ior);
 		}
 
 		refreshChildrenJob.schedule();
@@ -473,6 +495,44 @@ public class DeviceManagerImpl extends EObjectImpl implements DeviceManagerOpera
 
 		// Refresh the model so it notices it
 		refreshChildrenJob.schedule();
+		serviceWaiters.complete(name, registeringService);
+	}
+
+	/**
+	 * Returns a future which completes as soon as a device with the specified label registers with this device
+	 * manager (or immediately, if one already has). Cancel the future to stop waiting.
+	 * @param label The device's label
+	 * @return The registering device
+	 */
+	public CompletableFuture<Device> waitForDevice(final String label) {
+		// Add the waiter before checking existing devices so a registration in between can't be missed
+		final CompletableFuture<Device> future = deviceWaiters.add(label);
+		synchronized (devices) {
+			for (Map.Entry<String, String> entry : deviceLabels.entrySet()) {
+				if (label.equals(entry.getValue())) {
+					future.complete(devices.get(entry.getKey()));
+					break;
+				}
+			}
+		}
+		return future;
+	}
+
+	/**
+	 * Returns a future which completes as soon as a service with the specified name registers with this device
+	 * manager (or immediately, if one already has). Cancel the future to stop waiting.
+	 * @param name The service's name
+	 * @return The registering service
+	 */
+	public CompletableFuture<org.omg.CORBA.Object> waitForService(final String name) {
+		final CompletableFuture<org.omg.CORBA.Object> future = serviceWaiters.add(name);
+		synchronized (services) {
+			ServiceType service = services.get(name);
+			if (service != null) {
+				future.complete(service.serviceObject);
+			}
+		}
+		return future;
 	}
 
 	@Override
@@ -756,6 +816,7 @@ public class DeviceManagerImpl extends EObjectImpl implements DeviceManagerOpera
 					key = launchToDeviceIor.remove(launch);
 					if (key != null) {
 						Device device = devices.remove(key);
+						deviceLabels.remove(key);
 						refresh |= (device != null);
 						continue;
 					}
@@ -162,7 +162,7 @@ public class DeployableScaExportWizard extends Wizard implements IExportWizard {
 					try {
 						DeployableScaExportWizard.this.exporter.finished();
 						if (DeployableScaExportWizard.this.exporter.getExportLocation().equals(IdeSdrPreferences.getTargetSdrPath())) {
-							TargetSdrRoot.getSdrRoot().reload(subMonitor.newChild(1));
+							TargetSdrRoot.getSdrRoot().refresh(subMonitor.newChild(1));
 						}
 
 					} catch (final IOException e) {
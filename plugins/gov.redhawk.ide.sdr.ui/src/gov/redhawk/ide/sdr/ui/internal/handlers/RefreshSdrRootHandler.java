@@ -24,7 +24,7 @@ public class RefreshSdrRootHandler extends AbstractHandler implements IHandler {
 
 	@Override
 	public Object execute(final ExecutionEvent event) throws ExecutionException {
-		TargetSdrRoot.scheduleRefresh();
+		TargetSdrRoot.scheduleReload();
 		return null;
 	}
 
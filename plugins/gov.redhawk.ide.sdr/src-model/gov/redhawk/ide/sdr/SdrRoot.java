@@ -298,6 +298,18 @@ public interface SdrRoot extends EObject {
 	 */
 	void reload(IProgressMonitor monitor);
 
+	/**
+	 * <!-- begin-user-doc -->
+	 * Brings a loaded SDR root up to date with its file systems, reloading only the profiles which have changed (or
+	 * refer to files which have). The IDL library isn't reloaded. If the SDR root isn't loaded, or its file systems have
+	 * moved, this is a full unload and load.
+	 * @since 11.1
+	 * <!-- end-user-doc -->
+	 * @model monitorDataType="gov.redhawk.eclipsecorba.library.IProgressMonitor"
+	 * @generated
+	 */
+	void refresh(IProgressMonitor monitor);
+
 	/**
 	 * <!-- begin-user-doc -->
 	 * @since 8.0
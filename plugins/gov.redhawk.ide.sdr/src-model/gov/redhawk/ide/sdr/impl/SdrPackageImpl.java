@@ -688,6 +688,9 @@ public class SdrPackageImpl extends EPackageImpl implements SdrPackage {
 		op = addEOperation(sdrRootEClass, null, "reload", 0, 1, IS_UNIQUE, IS_ORDERED);
 		addEParameter(op, theLibraryPackage.getIProgressMonitor(), "monitor", 0, 1, IS_UNIQUE, IS_ORDERED);
 
+		op = addEOperation(sdrRootEClass, null, "refresh", 0, 1, IS_UNIQUE, IS_ORDERED);
+		addEParameter(op, theLibraryPackage.getIProgressMonitor(), "monitor", 0, 1, IS_UNIQUE, IS_ORDERED);
+
 		op = addEOperation(sdrRootEClass, null, "setSdrRoot", 0, 1, IS_UNIQUE, IS_ORDERED);
 		addEParameter(op, theLibraryPackage.getURI(), "sdrRoot", 0, 1, IS_UNIQUE, IS_ORDERED);
 		addEParameter(op, ecorePackage.getEString(), "domPath", 0, 1, IS_UNIQUE, IS_ORDERED);
@@ -11,12 +11,19 @@
 // BEGIN GENERATED CODE
 package gov.redhawk.ide.sdr.impl;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -26,6 +33,8 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.NotificationChain;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EClass;
@@ -35,6 +44,7 @@ import org.eclipse.emf.ecore.impl.ENotificationImpl;
 import org.eclipse.emf.ecore.impl.EObjectImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emf.edit.command.SetCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
@@ -51,13 +61,13 @@ import gov.redhawk.ide.sdr.SdrPackage;
 import gov.redhawk.ide.sdr.SdrRoot;
 import gov.redhawk.ide.sdr.ServicesContainer;
 import gov.redhawk.ide.sdr.SharedLibrariesContainer;
+import gov.redhawk.ide.sdr.SoftPkgRegistry;
 import gov.redhawk.ide.sdr.WaveformsContainer;
 import gov.redhawk.model.sca.commands.ScaModelCommand;
 import gov.redhawk.sca.util.Debug;
 import gov.redhawk.sca.util.PluginUtil;
 import mil.jpeojtrs.sca.dcd.DcdPackage;
 import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
-import mil.jpeojtrs.sca.dmd.DmdPackage;
 import mil.jpeojtrs.sca.dmd.DomainManagerConfiguration;
 import mil.jpeojtrs.sca.sad.SadPackage;
 import mil.jpeojtrs.sca.sad.SoftwareAssembly;
@@ -70,7 +80,6 @@ import mil.jpeojtrs.sca.spd.SpdPackage;
 import mil.jpeojtrs.sca.util.QueryParser;
 import mil.jpeojtrs.sca.util.ScaEcoreUtils;
 import mil.jpeojtrs.sca.util.ScaFileSystemConstants;
-import mil.jpeojtrs.sca.util.ScaUriHelpers;
 
 /**
  * <!-- begin-user-doc -->
@@ -104,7 +113,36 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 
 	private static final String PATH_SEPARATOR = "/"; //$NON-NLS-1$
 
-	private static final String HIDDEN_DIR_PREFIX = "."; //$NON-NLS-1$
+	/**
+	 * Tracks file changes for {@link #refresh(IProgressMonitor)}. Null until the SDR root is loaded.
+	 */
+	private SdrChangeTracker changeTracker;
+
+	/**
+	 * The status of finding the file systems during the last load
+	 */
+	private IStatus rootsStatus = Status.OK_STATUS;
+
+	/**
+	 * File or directory URI -> the problem with it, as of the last load or refresh
+	 */
+	private final Map<String, IStatus> fileStatuses = new LinkedHashMap<>();
+
+	/**
+	 * Profile URI -> its stamp from when it was parsed, for the {@link SdrProfileIndex}
+	 */
+	private final Map<String, SdrProfileIndex.Stamp> profileStamps = new HashMap<>();
+
+	/**
+	 * The index read at the start of the last load, or written since
+	 */
+	private SdrProfileIndex profileIndex;
+
+	/**
+	 * Profile URI -> the stand-in from the {@link SdrProfileIndex} left in the model for an SPD which hadn't changed,
+	 * and so wasn't parsed
+	 */
+	private final Map<String, EObject> standIns = new HashMap<>();
 
 	// BEGIN GENERATED CODE
 
@@ -778,6 +816,17 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 	@Override
 	public synchronized void load(IProgressMonitor monitor) {
 		// END GENERATED CODE
+		load(monitor, false);
+		// BEGIN GENERATED CODE
+	}
+
+	// END GENERATED CODE
+
+	/**
+	 * Loads the SDR root. Profiles are found and parsed in parallel; the IDL library is loaded (or reloaded) while that
+	 * happens.
+	 */
+	private void load(IProgressMonitor monitor, boolean reloadIdlLibrary) {
 		if (getState() == LoadState.LOADED) {
 			return;
 		}
@@ -793,15 +842,70 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 
 		// Start with status OK, but set an error message just in case there is an error later
 		final CustomMultiStatus overallLoadStatus = new CustomMultiStatus(IdeSdrActivator.PLUGIN_ID, IStatus.OK, Messages.SdrRootImpl_ProblemsLoading, null);
-		final SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.SdrRootImpl_ProgressLoading, 3);
+		final SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.SdrRootImpl_ProgressLoading, 6);
+		final SdrProfileLoader loader = new SdrProfileLoader(eResource().getResourceSet());
+		final SdrChangeTracker tracker = new SdrChangeTracker(getDomFileSystemRoot(), getDevFileSystemRoot());
+		loader.setDirectoryListener(tracker::watch);
+		fileStatuses.clear();
+		profileStamps.clear();
+		standIns.clear();
+		profileIndex = SdrProfileIndex.read(SdrProfileIndex.getDefaultFile(), getDomFileSystemRoot(), getDevFileSystemRoot());
 
 		try {
-			overallLoadStatus.merge(loadDomFileSystem(eResource().getResourceSet(), subMonitor.newChild(1)));
-			overallLoadStatus.merge(loadDevFileSystem(eResource().getResourceSet(), subMonitor.newChild(1)));
-			overallLoadStatus.merge(loadIdlLibrary(subMonitor.newChild(1)));
+			// Show the profiles from the index while the real ones are parsed. SPDs which haven't changed aren't parsed;
+			// their stand-ins stay in the model, and EMF loads the real profile if a stand-in is resolved.
+			final Map<String, EObject> indexedProfiles = addIndexedProfiles();
+			loader.setSkipped(entry -> {
+				String uri = entry.getURI().toString();
+				EObject standIn = indexedProfiles.get(uri);
+				if (standIn == null || getIndexedKind(entry) == null) {
+					return false;
+				}
+				standIns.put(uri, standIn);
+				return true;
+			});
+
+			// Start parsing the profiles in the background, and load the IDL library in the meantime
+			CustomMultiStatus findStatus = new CustomMultiStatus(IdeSdrActivator.PLUGIN_ID, IStatus.OK, Messages.SdrRootImpl_ProblemsLoading, null);
+			findStatus.merge(findDomFileSystem(loader, subMonitor.newChild(1)));
+			findStatus.merge(findDevFileSystem(loader, subMonitor.newChild(1)));
+			rootsStatus = findStatus;
+			overallLoadStatus.merge(findStatus);
+			loader.start(subMonitor.newChild(1));
+			overallLoadStatus.merge(loadIdlLibrary(subMonitor.newChild(1), reloadIdlLibrary));
+			loader.join(subMonitor.newChild(1));
+			loader.merge();
+			tracker.record(loader.getRoots());
+			changeTracker = tracker;
+
+			// Add the profiles to the model in the order they were found, all in one command
+			SubMonitor addProgress = subMonitor.newChild(1).setWorkRemaining(loader.getRoots().size());
+			final SdrModelBatch batch = new SdrModelBatch(this);
+			for (Map.Entry<String, EObject> entry : indexedProfiles.entrySet()) {
+				if (standIns.containsKey(entry.getKey())) {
+					continue;
+				}
+				EObject profile = entry.getValue();
+				if (!batch.remove(profile)) {
+					// The stand-in has already been resolved to the real profile
+					EObject resolved = eResource().getResourceSet().getEObject(((InternalEObject) profile).eProxyURI(), false);
+					if (resolved != null) {
+						batch.remove(resolved);
+					}
+				}
+			}
+			for (SdrProfileLoader.Entry root : loader.getRoots()) {
+				overallLoadStatus.merge(addProfiles(root, batch, addProgress.newChild(1)));
+			}
+			ScaModelCommand.execute(this, batch::apply);
 			overallLoadStatus.merge(checkForDuplicates());
+			writeIndex();
 
 		} finally {
+			loader.dispose();
+			if (changeTracker != tracker) {
+				tracker.dispose();
+			}
 			if (!overallLoadStatus.isOK()) {
 				editingDomain.getCommandStack().execute(SetCommand.create(editingDomain, this, SdrPackage.Literals.SDR_ROOT__LOAD_STATUS, overallLoadStatus));
 			} else {
@@ -813,31 +917,29 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 				monitor.done();
 			}
 		}
-		// BEGIN GENERATED CODE
 	}
 
-	// END GENERATED CODE
-
 	/**
 	 * Check through all objects in the Target SDR and ensure that no duplicate ID's are found
 	 */
 	private IStatus checkForDuplicates() {
 		final CustomMultiStatus duplicateStatus = new CustomMultiStatus(IdeSdrActivator.PLUGIN_ID, IStatus.OK, null, null);
 		Map<String, EObject> duplicatesMap = new HashMap<String, EObject>();
+		// Stand-ins for unchanged SPDs have the ID from the index, so there's no need to resolve them
 		// Components
-		for (SoftPkg spd : getComponentsContainer().getComponents()) {
+		for (SoftPkg spd : basicList(getComponentsContainer().getComponents())) {
 			updateDuplicateMap(duplicateStatus, duplicatesMap, spd, spd.getId());
 		}
 		// Shared Libraries
-		for (SoftPkg spd : getSharedLibrariesContainer().getComponents()) {
+		for (SoftPkg spd : basicList(getSharedLibrariesContainer().getComponents())) {
 			updateDuplicateMap(duplicateStatus, duplicatesMap, spd, spd.getId());
 		}
 		// Devices
-		for (SoftPkg spd : getDevicesContainer().getComponents()) {
+		for (SoftPkg spd : basicList(getDevicesContainer().getComponents())) {
 			updateDuplicateMap(duplicateStatus, duplicatesMap, spd, spd.getId());
 		}
 		// Services
-		for (SoftPkg spd : getServicesContainer().getComponents()) {
+		for (SoftPkg spd : basicList(getServicesContainer().getComponents())) {
 			updateDuplicateMap(duplicateStatus, duplicatesMap, spd, spd.getId());
 		}
 		// Waveforms
@@ -858,34 +960,44 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 	private void updateDuplicateMap(CustomMultiStatus duplicateStatus, Map<String, EObject> duplicatesMap, EObject newObj, String key) {
 		EObject exitingObj = duplicatesMap.put(key, newObj);
 		if (exitingObj != null) {
-			String msg = Messages.bind(Messages.SdrRootImpl_DuplicateID, convertToFilePath(newObj.eResource().getURI()),
-				convertToFilePath(exitingObj.eResource().getURI()));
+			String msg = Messages.bind(Messages.SdrRootImpl_DuplicateID, convertToFilePath(getFileURI(newObj)), convertToFilePath(getFileURI(exitingObj)));
 			duplicateStatus.merge(new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, msg));
 		}
 	}
 
-	private IStatus loadIdlLibrary(IProgressMonitor monitor) {
-		try {
-			if ((getIdlLibrary() != null) && (getIdlLibrary().getLoadStatus() == null)) {
+	private IStatus loadIdlLibrary(IProgressMonitor monitor, boolean reload) {
+		if (getIdlLibrary() == null) {
+			return Status.OK_STATUS;
+		}
+		if (getIdlLibrary().getLoadStatus() == null) {
+			try {
 				getIdlLibrary().load(monitor);
+			} catch (final CoreException e) {
+				return new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_FailedToLoadIDLLibrary, e);
+			}
+		} else if (reload) {
+			try {
+				getIdlLibrary().reload(monitor);
+			} catch (CoreException e) {
+				IdeSdrActivator.getDefault().getLog().log(new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_FailedToReloadSdr, e));
 			}
-			return Status.OK_STATUS;
-		} catch (final CoreException e) {
-			return new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_FailedToLoadIDLLibrary, e);
 		}
+		return Status.OK_STATUS;
 	}
 
-	private IStatus loadDevFileSystem(ResourceSet resourceSet, IProgressMonitor monitor) {
-		SubMonitor progress = SubMonitor.convert(monitor, 20);
+	private IStatus findDevFileSystem(SdrProfileLoader loader, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, 1);
 
 		if (getDevFileSystemRoot() == null) {
 			return new Status(IStatus.ERROR, IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_SdrRootDevIsNull, null);
 		}
 
 		IFileStore devRoot;
+		IFileInfo devRootInfo;
 		try {
 			devRoot = EFS.getStore(java.net.URI.create(getDevFileSystemRoot().toString()));
-			if (!devRoot.fetchInfo(EFS.NONE, progress.newChild(1)).exists()) {
+			devRootInfo = devRoot.fetchInfo(EFS.NONE, progress.newChild(1));
+			if (!devRootInfo.exists()) {
 				// This isn't necessarily an error, since the SDR doesn't have to contain a dev file system
 				return new Status(IStatus.WARNING, IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_SdrRootDevDoesNotExist, null);
 			}
@@ -894,20 +1006,23 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			return new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, msg, e);
 		}
 
-		return processStore(resourceSet, devRoot, progress.newChild(19));
+		loader.addRoot(devRoot, devRootInfo);
+		return Status.OK_STATUS;
 	}
 
-	private IStatus loadDomFileSystem(ResourceSet resourceSet, IProgressMonitor monitor) {
-		SubMonitor progress = SubMonitor.convert(monitor, 20);
+	private IStatus findDomFileSystem(SdrProfileLoader loader, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, 1);
 
 		if (getDomFileSystemRoot() == null) {
 			return new Status(IStatus.ERROR, IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_SdrRootDomIsNull, null);
 		}
 
 		IFileStore domRoot;
+		IFileInfo domRootInfo;
 		try {
 			domRoot = EFS.getStore(java.net.URI.create(getDomFileSystemRoot().toString()));
-			if (!domRoot.fetchInfo(EFS.NONE, progress.newChild(1)).exists()) {
+			domRootInfo = domRoot.fetchInfo(EFS.NONE, progress.newChild(1));
+			if (!domRootInfo.exists()) {
 				// This isn't necessarily an error, since the SDR doesn't have to contain a dom file system
 				return new Status(IStatus.ERROR, IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_SdrRootDomDoesNotExist, null);
 			}
@@ -916,7 +1031,8 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			return new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, msg, e);
 		}
 
-		return processStore(resourceSet, domRoot, monitor);
+		loader.addRoot(domRoot, domRootInfo);
+		return Status.OK_STATUS;
 	}
 
 	// BEGIN GENERATED CODE
@@ -931,6 +1047,15 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 	public synchronized void unload(IProgressMonitor monitor) {
 		// END GENERATED CODE
 		SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.SdrRootImpl_ProgressUnloading, 2);
+		if (changeTracker != null) {
+			changeTracker.dispose();
+			changeTracker = null;
+		}
+		fileStatuses.clear();
+		profileStamps.clear();
+		standIns.clear();
+		profileIndex = null;
+		rootsStatus = Status.OK_STATUS;
 
 		// Unload each XML file and remove the resource
 		final Resource[] resources = eResource().getResourceSet().getResources().toArray(new Resource[eResource().getResourceSet().getResources().size()]);
@@ -982,18 +1107,289 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			throw new IllegalStateException(Messages.SdrRootImpl_NoEditingDomain);
 		}
 		unload(subMonitor.newChild(1));
-		load(subMonitor.newChild(1));
-		if (getIdlLibrary() != null) {
+		load(subMonitor.newChild(2), true);
+		subMonitor.done();
+		// BEGIN GENERATED CODE
+	}
+
+	/**
+	 * <!-- begin-user-doc -->
+	 * @since 11.1
+	 * <!-- end-user-doc -->
+	 * @generated NOT
+	 */
+	@Override
+	public synchronized void refresh(IProgressMonitor monitor) {
+		// END GENERATED CODE
+		SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.SdrRootImpl_ProgressRefreshing, 5);
+		final TransactionalEditingDomain editingDomain = TransactionUtil.getEditingDomain(this);
+		if (editingDomain == null) {
+			throw new IllegalStateException(Messages.SdrRootImpl_NoEditingDomain);
+		}
+
+		SdrChangeTracker.Delta delta = null;
+		if (getState() == LoadState.LOADED && changeTracker != null && changeTracker.isTracking(getDomFileSystemRoot(), getDevFileSystemRoot())) {
+			delta = changeTracker.poll(subMonitor.newChild(1));
+		}
+		if (delta == null) {
+			// Not loaded, or the file systems have moved; start over (but leave the IDL library alone)
+			unload(subMonitor.newChild(1));
+			load(subMonitor.newChild(3), false);
+			subMonitor.done();
+			return;
+		}
+		if (delta.isEmpty()) {
+			subMonitor.done();
+			return;
+		}
+		applyChanges(delta, editingDomain, subMonitor.newChild(4));
+		subMonitor.done();
+		// BEGIN GENERATED CODE
+	}
+
+	// END GENERATED CODE
+
+	/**
+	 * Unloads the files which have changed or been removed, and loads the profiles which are new or have changed, all
+	 * in one command.
+	 */
+	private void applyChanges(SdrChangeTracker.Delta delta, TransactionalEditingDomain editingDomain, IProgressMonitor monitor) {
+		final SubMonitor subMonitor = SubMonitor.convert(monitor, 3);
+		final ResourceSet resourceSet = eResource().getResourceSet();
+		final SdrModelBatch batch = new SdrModelBatch(this);
+
+		// Remove what's changed from the model
+		final List<Resource> oldResources = new ArrayList<>();
+		for (String uri : delta.getUnload()) {
+			Resource resource = resourceSet.getResource(URI.createURI(uri), false);
+			if (resource != null) {
+				oldResources.add(resource);
+				EObject profile = getProfile(resource);
+				if (profile != null) {
+					batch.remove(profile);
+				}
+			}
+			EObject standIn = standIns.remove(uri);
+			if (standIn != null) {
+				// Not resolved yet, so there's no resource for it
+				batch.remove(standIn);
+			}
+			fileStatuses.remove(uri);
+			profileStamps.remove(uri);
+		}
+		fileStatuses.keySet().removeAll(delta.getDirectories());
+
+		final SdrProfileLoader loader = new SdrProfileLoader(resourceSet);
+		try {
+			for (IFileStore store : delta.getLoad().values()) {
+				loader.addProfile(store);
+			}
+			loader.start(subMonitor.newChild(1));
+			loader.join(subMonitor.newChild(1));
+
+			SubMonitor addProgress = subMonitor.newChild(1).setWorkRemaining(loader.getRoots().size());
+			for (SdrProfileLoader.Entry entry : loader.getRoots()) {
+				addProfiles(entry, batch, addProgress.newChild(1));
+			}
+			ScaModelCommand.execute(this, () -> {
+				batch.apply();
+				for (Resource resource : oldResources) {
+					resource.unload();
+					resourceSet.getResources().remove(resource);
+				}
+				loader.merge();
+			});
+		} finally {
+			loader.dispose();
+		}
+		writeIndex();
+
+		// The load status is rebuilt from the status of each file, rather than by walking the file systems
+		CustomMultiStatus loadStatus = new CustomMultiStatus(IdeSdrActivator.PLUGIN_ID, IStatus.OK, Messages.SdrRootImpl_ProblemsLoading, null);
+		loadStatus.merge(rootsStatus);
+		for (IStatus status : fileStatuses.values()) {
+			loadStatus.merge(status);
+		}
+		loadStatus.merge(checkForDuplicates());
+		IStatus newStatus = (loadStatus.isOK()) ? Status.OK_STATUS : loadStatus;
+		editingDomain.getCommandStack().execute(SetCommand.create(editingDomain, this, SdrPackage.Literals.SDR_ROOT__LOAD_STATUS, newStatus));
+	}
+
+	/**
+	 * Adds stand-ins for the profiles in the {@link SdrProfileIndex} (if there is one for the current file systems) to
+	 * the model, so that they can be shown before they're parsed.
+	 * @return Profile URI -> its stand-in
+	 */
+	private Map<String, EObject> addIndexedProfiles() {
+		if (profileIndex == null || profileIndex.getSummaries().isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final SdrModelBatch batch = new SdrModelBatch(this);
+		Map<String, EObject> profiles = new HashMap<>();
+		for (Map.Entry<String, SdrProfileIndex.Summary> entry : profileIndex.getSummaries().entrySet()) {
+			if (entry.getValue().getName() == null) {
+				continue;
+			}
+			EObject profile = entry.getValue().createProfile(URI.createURI(entry.getKey()));
+			batch.add(profile, entry.getValue().getKind());
+			profiles.put(entry.getKey(), profile);
+		}
+		ScaModelCommand.execute(this, batch::apply);
+		return profiles;
+	}
+
+	/**
+	 * Writes the {@link SdrProfileIndex} for the profiles now in the model.
+	 */
+	private void writeIndex() {
+		File file = SdrProfileIndex.getDefaultFile();
+		if (file == null) {
+			return;
+		}
+		SdrProfileIndex index = new SdrProfileIndex(getDomFileSystemRoot(), getDevFileSystemRoot());
+		// Stand-ins which haven't been resolved are indexed from the summary they were created from
+		addToIndex(index, getUnresolvedComponents(getComponentsContainer()), SdrProfileIndex.Kind.COMPONENT);
+		addToIndex(index, getUnresolvedComponents(getSharedLibrariesContainer()), SdrProfileIndex.Kind.SHARED_LIBRARY);
+		addToIndex(index, getUnresolvedComponents(getDevicesContainer()), SdrProfileIndex.Kind.DEVICE);
+		addToIndex(index, getUnresolvedComponents(getServicesContainer()), SdrProfileIndex.Kind.SERVICE);
+		List<SoftwareAssembly> waveforms = new ArrayList<>(getWaveformsContainer().getWaveforms());
+		for (TreeIterator<EObject> iter = getWaveformsContainer().eAllContents(); iter.hasNext();) {
+			EObject container = iter.next();
+			if (container instanceof WaveformsContainer) {
+				waveforms.addAll(((WaveformsContainer) container).getWaveforms());
+			}
+		}
+		addToIndex(index, waveforms, SdrProfileIndex.Kind.WAVEFORM);
+		List<DeviceConfiguration> nodes = new ArrayList<>(getNodesContainer().getNodes());
+		for (TreeIterator<EObject> iter = getNodesContainer().eAllContents(); iter.hasNext();) {
+			EObject container = iter.next();
+			if (container instanceof NodesContainer) {
+				nodes.addAll(((NodesContainer) container).getNodes());
+			}
+		}
+		addToIndex(index, nodes, SdrProfileIndex.Kind.NODE);
+
+		profileIndex = index;
+		try {
+			index.write(file);
+		} catch (IOException e) {
+			IdeSdrActivator.getDefault().getLog().log(new Status(IStatus.WARNING, IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_FailedToWriteIndex, e));
+		}
+	}
+
+	/**
+	 * @return The container an SPD belongs in according to the {@link SdrProfileIndex}, or null if it isn't in the
+	 * index or has changed since
+	 */
+	private SdrProfileIndex.Kind getIndexedKind(SdrProfileLoader.Entry entry) {
+		SdrProfileIndex index = profileIndex;
+		if (index == null || !entry.getStore().getName().endsWith(SpdPackage.FILE_EXTENSION)) {
+			return null;
+		}
+		SdrProfileIndex.Summary summary = index.get(entry.getURI().toString());
+		if (summary == null || entry.getParent() == null || !summary.isCurrent(getStamp(entry))) {
+			return null;
+		}
+		switch (summary.getKind()) {
+		case COMPONENT:
+		case SHARED_LIBRARY:
+		case DEVICE:
+		case SERVICE:
+			return summary.getKind();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return The stamp of a profile and the other files in its directory, or null if the directory can't be listed
+	 */
+	private SdrProfileIndex.Stamp getStamp(SdrProfileLoader.Entry entry) {
+		List<IFileInfo> siblings = new ArrayList<>();
+		if (entry.getParent() != null) {
+			for (SdrProfileLoader.Entry sibling : entry.getParent().getChildren()) {
+				if (sibling.getInfo() != null) {
+					siblings.add(sibling.getInfo());
+				}
+			}
+		} else {
+			// Loaded on its own by a refresh
 			try {
-				getIdlLibrary().reload(subMonitor.newChild(1));
+				siblings = Arrays.asList(entry.getStore().getParent().childInfos(EFS.NONE, null));
 			} catch (CoreException e) {
-				IdeSdrActivator.getDefault().getLog().log(new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, Messages.SdrRootImpl_FailedToReloadSdr, e));
+				return null;
+			}
+		}
+		return new SdrProfileIndex.Stamp(entry.getInfo(), siblings);
+	}
+
+	private void addToIndex(SdrProfileIndex index, Collection< ? extends EObject> profiles, SdrProfileIndex.Kind kind) {
+		for (EObject profile : profiles) {
+			URI fileUri = getFileURI(profile);
+			if (fileUri == null) {
+				continue;
+			}
+			String uri = fileUri.toString();
+			SdrProfileIndex.Stamp stamp = profileStamps.get(uri);
+			if (stamp != null) {
+				index.put(uri, SdrProfileIndex.Summary.of(profile, kind, stamp));
 			}
 		}
-		subMonitor.done();
-		// BEGIN GENERATED CODE
 	}
 
+	/**
+	 * @return The SPDs in a registry and its child registries, leaving any stand-ins from the {@link SdrProfileIndex}
+	 * unresolved
+	 */
+	private static List<SoftPkg> getUnresolvedComponents(SoftPkgRegistry registry) {
+		List<SoftPkg> components = new ArrayList<>(basicList(registry.getComponents()));
+		for (TreeIterator<EObject> iter = registry.eAllContents(); iter.hasNext();) {
+			EObject child = iter.next();
+			if (child instanceof SoftPkgRegistry) {
+				components.addAll(basicList(((SoftPkgRegistry) child).getComponents()));
+			}
+		}
+		return components;
+	}
+
+	/**
+	 * @return The elements of a list, without resolving any proxies
+	 */
+	private static < T > List<T> basicList(EList<T> list) {
+		return ((InternalEList<T>) list).basicList();
+	}
+
+	/**
+	 * @return The URI of a profile's file (which for a stand-in is the file it stands in for), or null if it isn't in
+	 * a resource
+	 */
+	private static URI getFileURI(EObject profile) {
+		if (profile.eIsProxy()) {
+			return ((InternalEObject) profile).eProxyURI().trimFragment();
+		}
+		return (profile.eResource() == null) ? null : profile.eResource().getURI();
+	}
+
+	/**
+	 * @return The SPD, SAD, DCD or DMD in a resource, if any
+	 */
+	private EObject getProfile(Resource resource) {
+		String name = resource.getURI().lastSegment();
+		if (name == null || !SdrProfileLoader.isProfile(name) || resource.getContents().isEmpty()) {
+			return null;
+		}
+		if (name.endsWith(SpdPackage.FILE_EXTENSION)) {
+			return SoftPkg.Util.getSoftPkg(resource);
+		} else if (name.endsWith(SadPackage.FILE_EXTENSION)) {
+			return SoftwareAssembly.Util.getSoftwareAssembly(resource);
+		} else if (name.endsWith(DcdPackage.FILE_EXTENSION)) {
+			return DeviceConfiguration.Util.getDeviceConfiguration(resource);
+		}
+		return DomainManagerConfiguration.Util.getDomainManagerConfiguration(resource);
+	}
+
+	// BEGIN GENERATED CODE
+
 	/**
 	 * <!-- begin-user-doc -->
 	 * @since 8.0
@@ -1307,84 +1703,84 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 	// END GENERATED CODE
 
 	/**
-	 * @param resourceSet
-	 * @param parent
+	 * Adds the profiles found in a directory (or a single profile) to a batch of changes to the model.
+	 * @param entry A directory or profile found and parsed by the {@link SdrProfileLoader}
+	 * @param batch
 	 * @param monitor
-	 * @throws CoreException
 	 */
-	private IStatus processDirectory(ResourceSet resourceSet, final IFileStore parent, final IProgressMonitor monitor) {
-		final SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressProcessingDirectory, parent.getName()), 100);
-		IFileStore[] childStores;
-		try {
-			childStores = parent.childStores(EFS.NONE, subMonitor.newChild(10)); // SUPPRESS CHECKSTYLE MAGIC NUMBER
-		} catch (CoreException e) {
-			String msg = Messages.bind(Messages.SdrRootImpl_UnableToGetChildrenOfDir, parent);
-			return new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, msg, e);
-		}
+	private IStatus addProfiles(final SdrProfileLoader.Entry entry, final SdrModelBatch batch, final IProgressMonitor monitor) {
+		if (entry.isDirectory()) {
+			if (entry.getError() != null) {
+				CoreException e = (CoreException) entry.getError();
+				String msg = Messages.bind(Messages.SdrRootImpl_UnableToGetChildrenOfDir, entry.getStore());
+				IStatus status = new Status(e.getStatus().getSeverity(), IdeSdrActivator.PLUGIN_ID, msg, e);
+				fileStatuses.put(entry.getURI().toString(), status);
+				return status;
+			}
 
-		final SubMonitor loopProgress = subMonitor.newChild(90).setWorkRemaining(childStores.length); // SUPPRESS CHECKSTYLE MAGIC NUMBER
-		CustomMultiStatus multiStatus = new CustomMultiStatus(IdeSdrActivator.PLUGIN_ID, Status.OK,
-			Messages.bind(Messages.SdrRootImpl_FailedToProcessChildren, parent), null);
-		for (final IFileStore child : childStores) {
-			multiStatus.merge(processStore(resourceSet, child, loopProgress.newChild(1)));
+			final SubMonitor loopProgress = SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressProcessingDirectory, entry.getStore().getName()),
+				entry.getChildren().size());
+			CustomMultiStatus multiStatus = new CustomMultiStatus(IdeSdrActivator.PLUGIN_ID, Status.OK,
+				Messages.bind(Messages.SdrRootImpl_FailedToProcessChildren, entry.getStore()), null);
+			for (final SdrProfileLoader.Entry child : entry.getChildren()) {
+				multiStatus.merge(addProfiles(child, batch, loopProgress.newChild(1)));
+			}
+			return multiStatus;
 		}
-		return multiStatus;
-	}
 
-	/**
-	 * @param resourceSet
-	 * @param child
-	 * @param monitor
-	 * @throws CoreException
-	 */
-	private IStatus processStore(ResourceSet resourceSet, final IFileStore child, final IProgressMonitor monitor) {
-		if (child.getName().startsWith(HIDDEN_DIR_PREFIX)) {
+		if (!entry.isProfile()) {
+			// Only listed so that changes to it are tracked
 			return Status.OK_STATUS;
 		}
-		if (child.fetchInfo().isDirectory()) {
-			return processDirectory(resourceSet, child, monitor);
-		} else {
-			if (child.getName().endsWith(SpdPackage.FILE_EXTENSION)) {
-				return loadSpd(resourceSet, child, monitor);
-			} else if (child.getName().endsWith(SadPackage.FILE_EXTENSION)) {
-				return loadSad(resourceSet, child, monitor);
-			} else if (child.getName().endsWith(DcdPackage.FILE_EXTENSION)) {
-				return loadDcd(resourceSet, child, monitor);
-			} else if (child.getName().endsWith(DmdPackage.FILE_EXTENSION)) {
-				return loadDmd(resourceSet, child, monitor);
-			} else {
-				return Status.OK_STATUS;
-			}
+		SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressLoadingFile, entry.getStore().getName()), 1);
+		SdrProfileIndex.Stamp stamp = getStamp(entry);
+		if (stamp != null) {
+			profileStamps.put(entry.getURI().toString(), stamp);
 		}
+		IStatus status = addProfile(entry, batch);
+		if (!status.isOK()) {
+			fileStatuses.put(entry.getURI().toString(), status);
+		}
+		return status;
 	}
 
 	/**
-	 * @param resourceSet
-	 * @param spdFile
-	 * @param monitor
+	 * Adds a profile parsed by the {@link SdrProfileLoader} to a batch of changes to the model.
 	 */
-	private IStatus loadSpd(ResourceSet resourceSet, final IFileStore spdFile, final IProgressMonitor monitor) {
-		SubMonitor submonitor = SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressLoadingFile, spdFile.getName()), 2);
-
-		URI spdFileUri = URI.createURI(spdFile.toURI().toString());
-		SoftPkg softPkg;
-		try {
-			Resource resource = ScaUriHelpers.loadResource(resourceSet, spdFileUri);
-			softPkg = SoftPkg.Util.getSoftPkg(resource);
-		} catch (WrappedException e) {
-			return statusForWrappedException(e, spdFileUri);
-		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Exception is returned in status
-			String msg = Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(spdFileUri));
-			return new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, msg, e);
+	private IStatus addProfile(final SdrProfileLoader.Entry entry, final SdrModelBatch batch) {
+		URI fileUri = entry.getURI();
+		if (entry.isSkipped()) {
+			// Unchanged since it was indexed; its stand-in is already in the model
+			return Status.OK_STATUS;
+		} else if (entry.getError() instanceof WrappedException) {
+			return statusForWrappedException((WrappedException) entry.getError(), fileUri);
+		} else if (entry.getError() != null) {
+			String msg = Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(fileUri));
+			return new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, msg, entry.getError());
 		}
-		if (softPkg == null) {
-			String msg = Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(spdFileUri));
+
+		EObject root = entry.getRoot();
+		if (root instanceof SoftPkg) {
+			return addSpd((SoftPkg) root, batch);
+		} else if (root instanceof SoftwareAssembly) {
+			return addSad((SoftwareAssembly) root, fileUri, batch);
+		} else if (root instanceof DeviceConfiguration) {
+			return addDcd((DeviceConfiguration) root, fileUri, batch);
+		} else if (root instanceof DomainManagerConfiguration) {
+			return addDmd((DomainManagerConfiguration) root, fileUri, batch);
+		} else {
+			String msg = Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(fileUri));
 			Exception e = new Exception(msg);
 			e.fillInStackTrace();
 			return new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, msg, e);
 		}
-		submonitor.worked(1);
+	}
 
+	/**
+	 * @param softPkg
+	 * @param batch
+	 */
+	private IStatus addSpd(final SoftPkg softPkg, final SdrModelBatch batch) {
 		// Determine type of spd to be added
 		final SoftwareComponent component = ScaEcoreUtils.getFeature(softPkg, SpdPackage.Literals.SOFT_PKG__DESCRIPTOR,
 			SpdPackage.Literals.DESCRIPTOR__COMPONENT);
@@ -1392,7 +1788,7 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			ComponentType type = SoftwareComponent.Util.getWellKnownComponentType(component);
 			switch (type) {
 			case DEVICE:
-				addDevice(softPkg);
+				batch.addDevice(softPkg);
 				break;
 			case OTHER:
 			case FILE_MANAGER:
@@ -1401,11 +1797,11 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			case NAMING_SERVICE:
 			case RESOURCE_FACTORY:
 			case RESOURCE:
-				addResource(softPkg, component);
+				addResource(softPkg, component, batch);
 				break;
 			case EVENT_SERVICE:
 			case SERVICE:
-				addService(softPkg);
+				batch.addService(softPkg);
 				break;
 			case DEVICE_MANAGER:
 			case DOMAIN_MANAGER:
@@ -1418,9 +1814,8 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 		} else {
 			// Treat it as a resource because all other types *must* have an
 			// scd file
-			addResource(softPkg, null);
+			addResource(softPkg, null, batch);
 		}
-		submonitor.worked(1);
 		return Status.OK_STATUS;
 	}
 
@@ -1436,8 +1831,9 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 	/**
 	 * @param softPkg
 	 * @param component
+	 * @param batch
 	 */
-	private void addResource(final SoftPkg softPkg, final SoftwareComponent component) {
+	private void addResource(final SoftPkg softPkg, final SoftwareComponent component, final SdrModelBatch batch) {
 		if (component != null) {
 			for (final SupportsInterface iface : component.getComponentFeatures().getSupportsInterface()) {
 				if (iface.getRepId().startsWith("IDL:CF/Device") || iface.getRepId().startsWith("IDL:CF/LoadableDevice") //$NON-NLS-1$ //$NON-NLS-2$
@@ -1445,7 +1841,7 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 					if (DEBUG.enabled) {
 						DEBUG.message(Messages.SdrRootImpl_ResourceIsDeviceBasedOnInterfaces, softPkg.getName());
 					}
-					addDevice(softPkg);
+					batch.addDevice(softPkg);
 					return;
 				}
 			}
@@ -1453,121 +1849,15 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 
 		for (Implementation impl : softPkg.getImplementation()) {
 			if (impl.isExecutable()) {
-				ScaModelCommand.execute(getComponentsContainer(), () -> {
-					// Root container
-					ComponentsContainer container = getComponentsContainer();
-
-					// For each namespace segment in the SPD's name
-					String[] segments = softPkg.getName().split("\\.");
-					segments = Arrays.copyOf(segments, segments.length - 1);
-					nextSegment: for (String segment : segments) {
-						// Find the child container for the namespace
-						for (ComponentsContainer childContainer : container.getChildContainers()) {
-							if (segment.equals(childContainer.getName())) {
-								container = childContainer;
-								continue nextSegment;
-							}
-						}
-
-						// Create a new container for the namespace
-						ComponentsContainer childContainer = SdrFactory.eINSTANCE.createComponentsContainer(segment);
-						container.getChildContainers().add(childContainer);
-						container = childContainer;
-					}
-
-					container.getComponents().add(softPkg);
-				});
+				batch.addComponent(softPkg);
 				return;
 			} else if (impl.isSharedLibrary()) {
-				ScaModelCommand.execute(getComponentsContainer(), () -> {
-					// Root container
-					SharedLibrariesContainer container = getSharedLibrariesContainer();
-
-					// For each namespace segment in the SPD's name
-					String[] segments = softPkg.getName().split("\\.");
-					segments = Arrays.copyOf(segments, segments.length - 1);
-					nextSegment: for (String segment : segments) {
-						// Find the child container for the namespace
-						for (SharedLibrariesContainer childContainer : container.getChildContainers()) {
-							if (segment.equals(childContainer.getName())) {
-								container = childContainer;
-								continue nextSegment;
-							}
-						}
-
-						// Create a new container for the namespace
-						SharedLibrariesContainer childContainer = SdrFactory.eINSTANCE.createSharedLibrariesContainer(segment);
-						container.getChildContainers().add(childContainer);
-						container = childContainer;
-					}
-
-					container.getComponents().add(softPkg);
-				});
+				batch.addSharedLibrary(softPkg);
 				return;
 			}
 		}
 	}
 
-	/**
-	 * @param softPkg
-	 */
-	private void addDevice(final SoftPkg softPkg) {
-		ScaModelCommand.execute(getComponentsContainer(), () -> {
-			// Root container
-			DevicesContainer container = getDevicesContainer();
-
-			// For each namespace segment in the SPD's name
-			String[] segments = softPkg.getName().split("\\.");
-			segments = Arrays.copyOf(segments, segments.length - 1);
-			nextSegment: for (String segment : segments) {
-				// Find the child container for the namespace
-				for (DevicesContainer childContainer : container.getChildContainers()) {
-					if (segment.equals(childContainer.getName())) {
-						container = childContainer;
-						continue nextSegment;
-					}
-				}
-
-				// Create a new container for the namespace
-				DevicesContainer childContainer = SdrFactory.eINSTANCE.createDevicesContainer(segment);
-				container.getChildContainers().add(childContainer);
-				container = childContainer;
-			}
-
-			container.getComponents().add(softPkg);
-		});
-	}
-
-	/**
-	 * @param softPkg
-	 */
-	private void addService(final SoftPkg softPkg) {
-		ScaModelCommand.execute(getComponentsContainer(), () -> {
-			// Root container
-			ServicesContainer container = getServicesContainer();
-
-			// For each namespace segment in the SPD's name
-			String[] segments = softPkg.getName().split("\\.");
-			segments = Arrays.copyOf(segments, segments.length - 1);
-			nextSegment: for (String segment : segments) {
-				// Find the child container for the namespace
-				for (ServicesContainer childContainer : container.getChildContainers()) {
-					if (segment.equals(childContainer.getName())) {
-						container = childContainer;
-						continue nextSegment;
-					}
-				}
-
-				// Create a new container for the namespace
-				ServicesContainer childContainer = SdrFactory.eINSTANCE.createServicesContainer(segment);
-				container.getChildContainers().add(childContainer);
-				container = childContainer;
-			}
-
-			container.getComponents().add(softPkg);
-		});
-	}
-
 	/**
 	 * Converts the URI to a file path for display, if possible. Falls back on <code>toString()</code> if the URI can't
 	 * be converted.
@@ -1606,27 +1896,13 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 	}
 
 	/**
-	 * @param resourceSet
-	 * @param sadFile
-	 * @param monitor
+	 * @param sad
+	 * @param sadFileUri
+	 * @param batch
 	 */
-	private IStatus loadSad(ResourceSet resourceSet, final IFileStore sadFile, final IProgressMonitor monitor) {
-		SubMonitor submonitor = SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressLoadingFile, sadFile.getName()), 2);
-
-		URI sadFileUri = URI.createURI(sadFile.toURI().toString());
-		SoftwareAssembly sad;
-		try {
-			Resource resource = ScaUriHelpers.loadResource(resourceSet, sadFileUri);
-			sad = SoftwareAssembly.Util.getSoftwareAssembly(resource);
-		} catch (WrappedException e) {
-			return statusForWrappedException(e, sadFileUri);
-		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Exception is returned in status
-			return new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(sadFileUri)), e);
-		}
-		submonitor.worked(1);
-
+	private IStatus addSad(final SoftwareAssembly sad, URI sadFileUri, final SdrModelBatch batch) {
 		IStatus retVal = Status.OK_STATUS;
-		for (SoftwareAssembly currentSad : getWaveformsContainer().getWaveforms()) {
+		for (SoftwareAssembly currentSad : batch.getRootWaveforms()) {
 			if (PluginUtil.equals(currentSad.getId(), sad.getId())) {
 				String msg = Messages.bind(Messages.SdrRootImpl_DuplicateID, convertToFilePath(sadFileUri), convertToFilePath(currentSad.eResource().getURI()));
 				retVal = new Status(Status.WARNING, IdeSdrActivator.PLUGIN_ID, msg);
@@ -1634,57 +1910,18 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			}
 		}
 
-		ScaModelCommand.execute(getComponentsContainer(), () -> {
-			// Root container
-			WaveformsContainer container = getWaveformsContainer();
-
-			// For each namespace segment in the SPD's name
-			String[] segments = sad.getName().split("\\.");
-			segments = Arrays.copyOf(segments, segments.length - 1);
-			nextSegment: for (String segment : segments) {
-				// Find the child container for the namespace
-				for (WaveformsContainer childContainer : container.getChildContainers()) {
-					if (segment.equals(childContainer.getName())) {
-						container = childContainer;
-						continue nextSegment;
-					}
-				}
-
-				// Create a new container for the namespace
-				WaveformsContainer childContainer = SdrFactory.eINSTANCE.createWaveformsContainer(segment);
-				container.getChildContainers().add(childContainer);
-				container = childContainer;
-			}
-
-			container.getWaveforms().add(sad);
-		});
-		submonitor.worked(1);
-
+		batch.addWaveform(sad);
 		return retVal;
 	}
 
 	/**
-	 * @param resourceSet
-	 * @param dcdFile
-	 * @param monitor
+	 * @param dcd
+	 * @param dcdFileUri
+	 * @param batch
 	 */
-	private IStatus loadDcd(ResourceSet resourceSet, final IFileStore dcdFile, final IProgressMonitor monitor) {
-		SubMonitor submonitor = SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressLoadingFile, dcdFile.getName()), 2);
-
-		URI dcdFileUri = URI.createURI(dcdFile.toURI().toString());
-		DeviceConfiguration dcd;
-		try {
-			Resource resource = ScaUriHelpers.loadResource(resourceSet, dcdFileUri);
-			dcd = DeviceConfiguration.Util.getDeviceConfiguration(resource);
-		} catch (WrappedException e) {
-			return statusForWrappedException(e, dcdFileUri);
-		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Exception is returned in status
-			return new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(dcdFileUri)), e);
-		}
-		submonitor.worked(1);
-
+	private IStatus addDcd(final DeviceConfiguration dcd, URI dcdFileUri, final SdrModelBatch batch) {
 		IStatus retVal = Status.OK_STATUS;
-		for (DeviceConfiguration current : getNodesContainer().getNodes()) {
+		for (DeviceConfiguration current : batch.getRootNodes()) {
 			if (PluginUtil.equals(current.getId(), dcd.getId())) {
 				String msg = Messages.bind(Messages.SdrRootImpl_DuplicateID, convertToFilePath(dcdFileUri), convertToFilePath(current.eResource().getURI()));
 				retVal = new Status(Status.WARNING, IdeSdrActivator.PLUGIN_ID, msg);
@@ -1692,64 +1929,23 @@ public class SdrRootImpl extends EObjectImpl implements SdrRoot {
 			}
 		}
 
-		ScaModelCommand.execute(getComponentsContainer(), () -> {
-			// Root container
-			NodesContainer container = getNodesContainer();
-
-			// For each namespace segment in the SPD's name
-			String[] segments = dcd.getName().split("\\.");
-			segments = Arrays.copyOf(segments, segments.length - 1);
-			nextSegment: for (String segment : segments) {
-				// Find the child container for the namespace
-				for (NodesContainer childContainer : container.getChildContainers()) {
-					if (segment.equals(childContainer.getName())) {
-						container = childContainer;
-						continue nextSegment;
-					}
-				}
-
-				// Create a new container for the namespace
-				NodesContainer childContainer = SdrFactory.eINSTANCE.createNodesContainer(segment);
-				container.getChildContainers().add(childContainer);
-				container = childContainer;
-			}
-
-			container.getNodes().add(dcd);
-		});
-		submonitor.worked(1);
+		batch.addNode(dcd);
 		return retVal;
 	}
 
 	/**
-	 * @param resourceSet
-	 * @param dmdFile
-	 * @param monitor
+	 * @param dmd
+	 * @param dmdUri
+	 * @param batch
 	 */
-	private IStatus loadDmd(ResourceSet resourceSet, final IFileStore dmdFile, final IProgressMonitor monitor) {
-		SubMonitor submonitor = SubMonitor.convert(monitor, Messages.bind(Messages.SdrRootImpl_ProgressLoadingFile, dmdFile.getName()), 1);
-
-		URI dmdUri = URI.createURI(dmdFile.toURI().toString());
-		DomainManagerConfiguration dmd;
-		try {
-			Resource resource = ScaUriHelpers.loadResource(resourceSet, dmdUri);
-			dmd = DomainManagerConfiguration.Util.getDomainManagerConfiguration(resource);
-		} catch (WrappedException e) {
-			return statusForWrappedException(e, dmdUri);
-		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Exception is returned in status
-			return new Status(Status.ERROR, IdeSdrActivator.PLUGIN_ID, Messages.bind(Messages.SdrRootImpl_FailedToLoadFile, convertToFilePath(dmdUri)), e);
-		}
-		submonitor.worked(1);
-
+	private IStatus addDmd(final DomainManagerConfiguration dmd, URI dmdUri, final SdrModelBatch batch) {
 		IStatus retVal = Status.OK_STATUS;
-		if (getDomainConfiguration() != null) {
+		if (batch.getDomainConfiguration() != null) {
 			String msg = Messages.bind(Messages.SdrRootImpl_ExtraDMDFile, convertToFilePath(dmdUri));
 			return new Status(Status.WARNING, IdeSdrActivator.PLUGIN_ID, msg);
 		}
 
-		ScaModelCommand.execute(this, () -> {
-			setDomainConfiguration(dmd);
-		});
-		submonitor.worked(1);
+		batch.setDomainConfiguration(dmd);
 		return retVal;
 	}
 
@@ -110,10 +110,22 @@ public class TargetSdrRoot {
 		return sdrRoot;
 	}
 
+	/**
+	 * Schedules a refresh of the SDR root, which reloads only the files which have changed.
+	 */
 	public static void scheduleRefresh() {
 		reloadSdrJob.schedule();
 	}
 
+	/**
+	 * Schedules a full reload of the SDR root, including the IDL library.
+	 * @since 11.1
+	 */
+	public static void scheduleReload() {
+		reloadSdrJob.setReload(true);
+		reloadSdrJob.schedule();
+	}
+
 	private static void loadIdlPath() {
 		final IdlLibrary library = LibraryFactory.eINSTANCE.createIdlLibrary();
 		editingDomain.getCommandStack().execute(SetCommand.create(editingDomain, sdrRoot, SdrPackage.Literals.SDR_ROOT__IDL_LIBRARY, library));
@@ -23,11 +23,13 @@ import org.eclipse.osgi.util.NLS;
 	public static String SdrRootImpl_FailedToLoadIDLLibrary;
 	public static String SdrRootImpl_FailedToProcessChildren;
 	public static String SdrRootImpl_FailedToReloadSdr;
+	public static String SdrRootImpl_FailedToWriteIndex;
 	public static String SdrRootImpl_NoEditingDomain;
 	public static String SdrRootImpl_ProblemsLoading;
 	public static String SdrRootImpl_ProgressLoading;
 	public static String SdrRootImpl_ProgressLoadingFile;
 	public static String SdrRootImpl_ProgressProcessingDirectory; 
+	public static String SdrRootImpl_ProgressRefreshing;
 	public static String SdrRootImpl_ProgressReloading;
 	public static String SdrRootImpl_ProgressUnloading;
 	public static String SdrRootImpl_ResourceIgnoredUnknownType;
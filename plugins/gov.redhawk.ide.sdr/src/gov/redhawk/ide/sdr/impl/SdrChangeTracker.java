@@ -0,0 +1,397 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.sdr.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Tracks the directories and XML files under the SDR root's file systems so that a refresh only needs to reload the
+ * profiles that changed.
+ * <p/>
+ * Where the file systems are local, each directory is registered with a {@link WatchService} just before it's listed,
+ * and only directories with events are listed again. Otherwise (or if events were lost) every directory is listed
+ * again. Either way, files are compared against the timestamp and size recorded when they were last listed.
+ */
+/* package */ class SdrChangeTracker {
+
+	/**
+	 * The files to unload and load to bring the model up to date
+	 */
+	static final class Delta {
+		private final Map<String, IFileStore> load = new LinkedHashMap<>();
+		private final Set<String> unload = new LinkedHashSet<>();
+		private final Set<String> directories = new LinkedHashSet<>();
+
+		/**
+		 * @return URI -> file, for each profile which is new or has changed (or refers to a file which has)
+		 */
+		Map<String, IFileStore> getLoad() {
+			return load;
+		}
+
+		/**
+		 * @return The URIs of the files which have changed or been removed. Their resources should be unloaded.
+		 */
+		Set<String> getUnload() {
+			return unload;
+		}
+
+		/**
+		 * @return The URIs of the directories which were listed again
+		 */
+		Set<String> getDirectories() {
+			return directories;
+		}
+
+		boolean isEmpty() {
+			return load.isEmpty() && unload.isEmpty();
+		}
+	}
+
+	/**
+	 * What's recorded about a file to tell whether it has changed
+	 */
+	private static final class Stamp {
+		private final long lastModified;
+		private final long length;
+
+		Stamp(IFileInfo info) {
+			this.lastModified = info.getLastModified();
+			this.length = info.getLength();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Stamp)) {
+				return false;
+			}
+			Stamp other = (Stamp) obj;
+			return lastModified == other.lastModified && length == other.length;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(lastModified, length);
+		}
+	}
+
+	/**
+	 * The XML files and sub-directories of a directory when it was last listed
+	 */
+	private static final class DirectoryState {
+		private final Map<String, Stamp> files = new HashMap<>();
+		private final Set<String> directories = new HashSet<>();
+	}
+
+	private static final String HIDDEN_PREFIX = "."; //$NON-NLS-1$
+
+	private final URI domFileSystemRoot;
+	private final URI devFileSystemRoot;
+	private final Set<String> rootUris = new HashSet<>();
+	private final List<IFileStore> rootDirectories = new ArrayList<>();
+
+	/**
+	 * Directory URI -> its state
+	 */
+	private final Map<String, DirectoryState> directories = new HashMap<>();
+
+	private final WatchService watchService;
+	private final Map<WatchKey, IFileStore> watchKeys = new ConcurrentHashMap<>();
+	private volatile boolean watchFailed;
+
+	/**
+	 * @param domFileSystemRoot The dom file system the SDR root was loaded from
+	 * @param devFileSystemRoot The dev file system the SDR root was loaded from
+	 */
+	SdrChangeTracker(URI domFileSystemRoot, URI devFileSystemRoot) {
+		this.domFileSystemRoot = domFileSystemRoot;
+		this.devFileSystemRoot = devFileSystemRoot;
+
+		WatchService service = null;
+		try {
+			service = FileSystems.getDefault().newWatchService();
+		} catch (IOException | UnsupportedOperationException e) {
+			// Every directory will be listed on each poll instead
+		}
+		this.watchService = service;
+	}
+
+	/**
+	 * @return True if the tracker is for the given file systems
+	 */
+	boolean isTracking(URI domFileSystemRoot, URI devFileSystemRoot) {
+		return Objects.equals(this.domFileSystemRoot, domFileSystemRoot) && Objects.equals(this.devFileSystemRoot, devFileSystemRoot);
+	}
+
+	/**
+	 * Watches a directory for changes, if possible. Must be called before the directory is listed.
+	 */
+	void watch(IFileStore directory) {
+		if (watchService == null || watchFailed) {
+			return;
+		}
+		try {
+			File file = directory.toLocalFile(EFS.NONE, null);
+			if (file == null) {
+				// Not a local file system
+				watchFailed = true;
+				return;
+			}
+			WatchKey key = file.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+			watchKeys.put(key, directory);
+		} catch (CoreException | IOException e) {
+			// Fall back to listing every directory
+			watchFailed = true;
+		}
+	}
+
+	/**
+	 * Records the state of the file systems found by a {@link SdrProfileLoader}.
+	 * @param roots The roots of the loader, once it has listed them
+	 */
+	void record(List<SdrProfileLoader.Entry> roots) {
+		for (SdrProfileLoader.Entry root : roots) {
+			rootUris.add(uriOf(root.getStore()));
+			if (root.isDirectory()) {
+				rootDirectories.add(root.getStore());
+				recordDirectory(root);
+			}
+		}
+	}
+
+	/**
+	 * Finds the changes since the state was recorded or last polled.
+	 * @return The changes, or null if a full reload is needed (e.g. one of the file systems has been created or deleted)
+	 */
+	Delta poll(IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		for (URI root : new URI[] { domFileSystemRoot, devFileSystemRoot }) {
+			if (root == null) {
+				continue;
+			}
+			try {
+				IFileStore store = EFS.getStore(java.net.URI.create(root.toString()));
+				if (store.fetchInfo(EFS.NONE, null).exists() != rootUris.contains(uriOf(store))) {
+					return null;
+				}
+			} catch (CoreException e) {
+				return null;
+			}
+		}
+		progress.worked(1);
+
+		// Find the directories with events
+		boolean listAll = watchService == null || watchFailed;
+		Map<String, IFileStore> changed = new LinkedHashMap<>();
+		if (!listAll) {
+			for (WatchKey key = watchService.poll(); key != null; key = watchService.poll()) {
+				for (WatchEvent< ? > event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						listAll = true;
+					}
+				}
+				IFileStore directory = watchKeys.get(key);
+				if (directory != null) {
+					changed.put(uriOf(directory), directory);
+				}
+				if (!key.reset()) {
+					watchKeys.remove(key);
+				}
+			}
+		}
+
+		Delta delta = new Delta();
+		if (listAll) {
+			for (IFileStore root : rootDirectories) {
+				list(root, true, delta);
+			}
+		} else {
+			for (Map.Entry<String, IFileStore> entry : changed.entrySet()) {
+				// A directory which has been deleted is handled when its parent is listed
+				if (directories.containsKey(entry.getKey()) && entry.getValue().fetchInfo().exists()) {
+					list(entry.getValue(), false, delta);
+				}
+			}
+		}
+		progress.worked(1);
+		return delta;
+	}
+
+	/**
+	 * Stops watching for changes.
+	 */
+	void dispose() {
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				// PASS
+			}
+		}
+		watchKeys.clear();
+	}
+
+	private void recordDirectory(SdrProfileLoader.Entry directory) {
+		DirectoryState state = new DirectoryState();
+		for (SdrProfileLoader.Entry child : directory.getChildren()) {
+			String name = child.getStore().getName();
+			if (child.isDirectory()) {
+				state.directories.add(name);
+				recordDirectory(child);
+			} else if (child.getInfo() != null) {
+				state.files.put(name, new Stamp(child.getInfo()));
+			}
+		}
+		directories.put(uriOf(directory.getStore()), state);
+	}
+
+	/**
+	 * Lists a directory again and compares it against its recorded state. New sub-directories are always listed; others
+	 * only if <code>recursive</code>.
+	 */
+	private void list(IFileStore directory, boolean recursive, Delta delta) {
+		String uri = uriOf(directory);
+		DirectoryState oldState = directories.get(uri);
+		if (oldState == null) {
+			watch(directory);
+		}
+		IFileInfo[] infos;
+		try {
+			infos = directory.childInfos(EFS.NONE, null);
+		} catch (CoreException e) {
+			// Leave the state as it was and try again next time
+			return;
+		}
+		delta.directories.add(uri);
+
+		DirectoryState state = new DirectoryState();
+		for (IFileInfo info : infos) {
+			String name = info.getName();
+			if (info.isDirectory()) {
+				if (!name.startsWith(HIDDEN_PREFIX)) {
+					state.directories.add(name);
+				}
+			} else if (SdrProfileLoader.isTracked(name)) {
+				state.files.put(name, new Stamp(info));
+			}
+		}
+		directories.put(uri, state);
+
+		// Profiles which are new or have changed are (re)loaded. If any other file (e.g. an SCD or PRF) has changed,
+		// every profile in the directory is reloaded since any of them might refer to it.
+		Map<String, Stamp> oldFiles = (oldState == null) ? Collections.<String, Stamp> emptyMap() : oldState.files;
+		boolean reloadProfiles = false;
+		for (Map.Entry<String, Stamp> file : state.files.entrySet()) {
+			Stamp oldStamp = oldFiles.get(file.getKey());
+			if (file.getValue().equals(oldStamp)) {
+				continue;
+			}
+			IFileStore child = directory.getChild(file.getKey());
+			if (oldStamp != null) {
+				delta.unload.add(uriOf(child));
+			}
+			if (SdrProfileLoader.isProfile(file.getKey())) {
+				delta.load.put(uriOf(child), child);
+			} else {
+				reloadProfiles = true;
+			}
+		}
+		for (String name : oldFiles.keySet()) {
+			if (!state.files.containsKey(name)) {
+				delta.unload.add(uriOf(directory.getChild(name)));
+				reloadProfiles |= !SdrProfileLoader.isProfile(name);
+			}
+		}
+		if (reloadProfiles) {
+			for (String name : state.files.keySet()) {
+				if (SdrProfileLoader.isProfile(name)) {
+					IFileStore child = directory.getChild(name);
+					if (oldFiles.containsKey(name)) {
+						delta.unload.add(uriOf(child));
+					}
+					delta.load.put(uriOf(child), child);
+				}
+			}
+		}
+
+		// Sub-directories
+		if (oldState != null) {
+			for (String name : oldState.directories) {
+				if (!state.directories.contains(name)) {
+					forget(directory.getChild(name), delta);
+				}
+			}
+		}
+		for (String name : state.directories) {
+			IFileStore child = directory.getChild(name);
+			if (recursive || !directories.containsKey(uriOf(child))) {
+				list(child, recursive, delta);
+			}
+		}
+	}
+
+	/**
+	 * Forgets a directory which no longer exists, unloading everything that was in it.
+	 */
+	private void forget(IFileStore directory, Delta delta) {
+		String uri = uriOf(directory);
+		DirectoryState state = directories.remove(uri);
+		if (state == null) {
+			return;
+		}
+		watchKeys.entrySet().removeIf(entry -> {
+			if (uri.equals(uriOf(entry.getValue()))) {
+				entry.getKey().cancel();
+				return true;
+			}
+			return false;
+		});
+		for (String name : state.files.keySet()) {
+			delta.unload.add(uriOf(directory.getChild(name)));
+		}
+		for (String name : state.directories) {
+			forget(directory.getChild(name), delta);
+		}
+	}
+
+	/**
+	 * @return The URI of a file as a string, as used for its resource (see {@link SdrProfileLoader.Entry#getURI()})
+	 */
+	private static String uriOf(IFileStore store) {
+		return store.toURI().toString();
+	}
+}
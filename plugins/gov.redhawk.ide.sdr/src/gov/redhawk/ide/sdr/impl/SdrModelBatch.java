@@ -0,0 +1,347 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.sdr.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+import gov.redhawk.ide.sdr.ComponentsContainer;
+import gov.redhawk.ide.sdr.DevicesContainer;
+import gov.redhawk.ide.sdr.NodesContainer;
+import gov.redhawk.ide.sdr.SdrFactory;
+import gov.redhawk.ide.sdr.SdrRoot;
+import gov.redhawk.ide.sdr.ServicesContainer;
+import gov.redhawk.ide.sdr.SharedLibrariesContainer;
+import gov.redhawk.ide.sdr.WaveformsContainer;
+import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
+import mil.jpeojtrs.sca.dmd.DomainManagerConfiguration;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
+import mil.jpeojtrs.sca.spd.SoftPkg;
+
+/**
+ * Collects profiles to be added to (or removed from) an {@link SdrRoot}'s containers, then makes all the changes at once
+ * with {@link #apply()}, which should be run in a single model command.
+ * <p/>
+ * The namespace container for each profile's dotted name is found (or created) through a hash index instead of by
+ * searching the child containers at each level. Each container's lists are changed with a single <code>addAll</code>
+ * and new namespace containers are filled in before they are attached, so listeners see one notification per changed
+ * list rather than one per profile. Namespace containers left empty by removals are removed too.
+ */
+/* package */ class SdrModelBatch {
+
+	/**
+	 * The index and pending additions for one tree of namespace containers
+	 * @param <C> The container type
+	 * @param <T> The profile type
+	 */
+	private static final class Namespaces<C extends EObject, T extends EObject> {
+		private final C root;
+		private final Function<C, EList<C>> childContainers;
+		private final Function<C, EList<T>> members;
+		private final Function<C, String> containerName;
+		private final Function<String, C> factory;
+
+		/**
+		 * Dotted namespace -> container. Built on first use.
+		 */
+		private Map<String, C> index;
+		private final Set<C> created = new HashSet<>();
+		private final Map<C, List<C>> newChildren = new LinkedHashMap<>();
+		private final Map<C, List<T>> newMembers = new LinkedHashMap<>();
+		private final Map<C, List<T>> removedMembers = new LinkedHashMap<>();
+
+		Namespaces(C root, Function<C, EList<C>> childContainers, Function<C, EList<T>> members, Function<C, String> containerName,
+			Function<String, C> factory) {
+			this.root = root;
+			this.childContainers = childContainers;
+			this.members = members;
+			this.containerName = containerName;
+			this.factory = factory;
+		}
+
+		void add(String name, T member) {
+			// All but the last segment of the name
+			String[] segments = name.split("\\.");
+			String namespace = String.join(".", Arrays.copyOf(segments, segments.length - 1));
+			newMembers.computeIfAbsent(getContainer(namespace), key -> new ArrayList<>()).add(member);
+		}
+
+		/**
+		 * @return True if the member was found in one of the containers
+		 */
+		boolean remove(String name, T member) {
+			// Look in the container for its namespace first, then everywhere
+			String[] segments = name.split("\\.");
+			String namespace = String.join(".", Arrays.copyOf(segments, segments.length - 1));
+			C container = getIndex().get(namespace);
+			if (container == null || !basicMembers(container).contains(member)) {
+				container = null;
+				for (C candidate : getIndex().values()) {
+					if (basicMembers(candidate).contains(member)) {
+						container = candidate;
+						break;
+					}
+				}
+			}
+			if (container == null) {
+				return false;
+			}
+			removedMembers.computeIfAbsent(container, key -> new ArrayList<>()).add(member);
+			return true;
+		}
+
+		/**
+		 * @return The members of the root container, including changes not yet applied
+		 */
+		List<T> getRootMembers() {
+			List<T> rootMembers = new ArrayList<>(basicMembers(root));
+			rootMembers.removeAll(removedMembers.getOrDefault(root, Collections.<T> emptyList()));
+			rootMembers.addAll(newMembers.getOrDefault(root, Collections.<T> emptyList()));
+			return rootMembers;
+		}
+
+		@SuppressWarnings("unchecked")
+		void apply() {
+			for (Map.Entry<C, List<T>> entry : removedMembers.entrySet()) {
+				members.apply(entry.getKey()).removeAll(entry.getValue());
+			}
+			for (Map.Entry<C, List<T>> entry : newMembers.entrySet()) {
+				members.apply(entry.getKey()).addAll(entry.getValue());
+			}
+
+			// Complete the new sub-trees before attaching them to the existing tree
+			for (Map.Entry<C, List<C>> entry : newChildren.entrySet()) {
+				if (created.contains(entry.getKey())) {
+					childContainers.apply(entry.getKey()).addAll(entry.getValue());
+				}
+			}
+			for (Map.Entry<C, List<C>> entry : newChildren.entrySet()) {
+				if (!created.contains(entry.getKey())) {
+					childContainers.apply(entry.getKey()).addAll(entry.getValue());
+				}
+			}
+
+			// Remove namespace containers that are now empty
+			for (C container : removedMembers.keySet()) {
+				while (container != root && members.apply(container).isEmpty() && childContainers.apply(container).isEmpty()
+					&& container.eContainer() != null) {
+					C parent = (C) container.eContainer();
+					childContainers.apply(parent).remove(container);
+					container = parent;
+				}
+			}
+
+			index = null;
+			created.clear();
+			newChildren.clear();
+			newMembers.clear();
+			removedMembers.clear();
+		}
+
+		/**
+		 * @return The members of a container, without resolving any proxies (e.g. stand-ins from the
+		 * {@link SdrProfileIndex})
+		 */
+		private List<T> basicMembers(C container) {
+			return ((InternalEList<T>) members.apply(container)).basicList();
+		}
+
+		private Map<String, C> getIndex() {
+			if (index == null) {
+				index = new HashMap<>();
+				indexContainer(root, "");
+			}
+			return index;
+		}
+
+		private C getContainer(String namespace) {
+			C container = getIndex().get(namespace);
+			if (container == null) {
+				int lastDot = namespace.lastIndexOf('.');
+				C parent = getContainer((lastDot < 0) ? "" : namespace.substring(0, lastDot));
+				container = factory.apply(namespace.substring(lastDot + 1));
+				index.put(namespace, container);
+				created.add(container);
+				newChildren.computeIfAbsent(parent, key -> new ArrayList<>()).add(container);
+			}
+			return container;
+		}
+
+		private void indexContainer(C container, String namespace) {
+			index.put(namespace, container);
+			for (C child : childContainers.apply(container)) {
+				String childNamespace = (container == root) ? containerName.apply(child) : namespace + "." + containerName.apply(child);
+				// If a namespace somehow appears twice, use the first (as a search of the children would)
+				if (!index.containsKey(childNamespace)) {
+					indexContainer(child, childNamespace);
+				}
+			}
+		}
+	}
+
+	private final SdrRoot sdrRoot;
+	private final Namespaces<ComponentsContainer, SoftPkg> components;
+	private final Namespaces<SharedLibrariesContainer, SoftPkg> sharedLibraries;
+	private final Namespaces<DevicesContainer, SoftPkg> devices;
+	private final Namespaces<ServicesContainer, SoftPkg> services;
+	private final Namespaces<WaveformsContainer, SoftwareAssembly> waveforms;
+	private final Namespaces<NodesContainer, DeviceConfiguration> nodes;
+	private DomainManagerConfiguration domainConfiguration;
+	private boolean removeDomainConfiguration;
+
+	SdrModelBatch(SdrRoot sdrRoot) {
+		this.sdrRoot = sdrRoot;
+		components = new Namespaces<>(sdrRoot.getComponentsContainer(), ComponentsContainer::getChildContainers, ComponentsContainer::getComponents,
+			ComponentsContainer::getName, SdrFactory.eINSTANCE::createComponentsContainer);
+		sharedLibraries = new Namespaces<>(sdrRoot.getSharedLibrariesContainer(), SharedLibrariesContainer::getChildContainers,
+			SharedLibrariesContainer::getComponents, SharedLibrariesContainer::getName, SdrFactory.eINSTANCE::createSharedLibrariesContainer);
+		devices = new Namespaces<>(sdrRoot.getDevicesContainer(), DevicesContainer::getChildContainers, DevicesContainer::getComponents,
+			DevicesContainer::getName, SdrFactory.eINSTANCE::createDevicesContainer);
+		services = new Namespaces<>(sdrRoot.getServicesContainer(), ServicesContainer::getChildContainers, ServicesContainer::getComponents,
+			ServicesContainer::getName, SdrFactory.eINSTANCE::createServicesContainer);
+		waveforms = new Namespaces<>(sdrRoot.getWaveformsContainer(), WaveformsContainer::getChildContainers, WaveformsContainer::getWaveforms,
+			WaveformsContainer::getName, SdrFactory.eINSTANCE::createWaveformsContainer);
+		nodes = new Namespaces<>(sdrRoot.getNodesContainer(), NodesContainer::getChildContainers, NodesContainer::getNodes, NodesContainer::getName,
+			SdrFactory.eINSTANCE::createNodesContainer);
+	}
+
+	void addComponent(SoftPkg softPkg) {
+		components.add(softPkg.getName(), softPkg);
+	}
+
+	void addSharedLibrary(SoftPkg softPkg) {
+		sharedLibraries.add(softPkg.getName(), softPkg);
+	}
+
+	void addDevice(SoftPkg softPkg) {
+		devices.add(softPkg.getName(), softPkg);
+	}
+
+	void addService(SoftPkg softPkg) {
+		services.add(softPkg.getName(), softPkg);
+	}
+
+	void addWaveform(SoftwareAssembly sad) {
+		waveforms.add(sad.getName(), sad);
+	}
+
+	void addNode(DeviceConfiguration dcd) {
+		nodes.add(dcd.getName(), dcd);
+	}
+
+	/**
+	 * Adds a profile to a container of the given kind.
+	 */
+	void add(EObject profile, SdrProfileIndex.Kind kind) {
+		switch (kind) {
+		case COMPONENT:
+			addComponent((SoftPkg) profile);
+			break;
+		case SHARED_LIBRARY:
+			addSharedLibrary((SoftPkg) profile);
+			break;
+		case DEVICE:
+			addDevice((SoftPkg) profile);
+			break;
+		case SERVICE:
+			addService((SoftPkg) profile);
+			break;
+		case WAVEFORM:
+			addWaveform((SoftwareAssembly) profile);
+			break;
+		case NODE:
+			addNode((DeviceConfiguration) profile);
+			break;
+		default:
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Removes a profile (an SPD, SAD, DCD or DMD) from whichever container it's in.
+	 * @return True if the profile was found
+	 */
+	boolean remove(EObject profile) {
+		if (profile instanceof SoftPkg) {
+			SoftPkg softPkg = (SoftPkg) profile;
+			String name = softPkg.getName();
+			return components.remove(name, softPkg) || sharedLibraries.remove(name, softPkg) || devices.remove(name, softPkg)
+				|| services.remove(name, softPkg);
+		} else if (profile instanceof SoftwareAssembly) {
+			return waveforms.remove(((SoftwareAssembly) profile).getName(), (SoftwareAssembly) profile);
+		} else if (profile instanceof DeviceConfiguration) {
+			return nodes.remove(((DeviceConfiguration) profile).getName(), (DeviceConfiguration) profile);
+		} else if (profile instanceof DomainManagerConfiguration && profile == sdrRoot.getDomainConfiguration()) {
+			removeDomainConfiguration = true;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return The waveforms of the root waveforms container, including changes not yet applied
+	 */
+	List<SoftwareAssembly> getRootWaveforms() {
+		return waveforms.getRootMembers();
+	}
+
+	/**
+	 * @return The nodes of the root nodes container, including changes not yet applied
+	 */
+	List<DeviceConfiguration> getRootNodes() {
+		return nodes.getRootMembers();
+	}
+
+	/**
+	 * @return The domain configuration once the batch is applied
+	 */
+	DomainManagerConfiguration getDomainConfiguration() {
+		if (domainConfiguration != null || removeDomainConfiguration) {
+			return domainConfiguration;
+		}
+		return sdrRoot.getDomainConfiguration();
+	}
+
+	void setDomainConfiguration(DomainManagerConfiguration domainConfiguration) {
+		this.domainConfiguration = domainConfiguration;
+	}
+
+	/**
+	 * Makes the collected changes to the model. Must be run in a model command.
+	 */
+	void apply() {
+		components.apply();
+		sharedLibraries.apply();
+		devices.apply();
+		services.apply();
+		waveforms.apply();
+		nodes.apply();
+		if (domainConfiguration != null) {
+			sdrRoot.setDomainConfiguration(domainConfiguration);
+			domainConfiguration = null;
+		} else if (removeDomainConfiguration) {
+			sdrRoot.setDomainConfiguration(null);
+		}
+		removeDomainConfiguration = false;
+	}
+}
@@ -0,0 +1,386 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.sdr.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
+
+import gov.redhawk.ide.sdr.IdeSdrActivator;
+import mil.jpeojtrs.sca.dcd.DcdFactory;
+import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
+import mil.jpeojtrs.sca.sad.SadFactory;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
+import mil.jpeojtrs.sca.spd.Implementation;
+import mil.jpeojtrs.sca.spd.SoftPkg;
+import mil.jpeojtrs.sca.spd.SpdFactory;
+
+/**
+ * A persistent index of the profiles in the SDR root, kept in the workspace metadata. For each profile it records a
+ * {@link Stamp} of the file along with the summary the SDR navigator and the diagram palettes need: which container
+ * it belongs in, and its ID, name (which includes the namespace), description and implementations.
+ * <p/>
+ * When the SDR root is loaded, summaries from the index are shown straight away while the profiles are parsed. An SPD
+ * whose stamp still matches isn't parsed at all: its stand-in stays in the same container as before until something
+ * resolves it.
+ */
+/* package */ class SdrProfileIndex {
+
+	/**
+	 * The container a profile belongs in
+	 */
+	enum Kind {
+		COMPONENT,
+		SHARED_LIBRARY,
+		DEVICE,
+		SERVICE,
+		WAVEFORM,
+		NODE
+	}
+
+	/**
+	 * Identifies the version of a profile and of the other files (SCDs, PRFs, etc.) in its directory
+	 */
+	static final class Stamp {
+		private final long lastModified;
+		private final long length;
+		private final long dependencies;
+
+		/**
+		 * @param info The profile's file info
+		 * @param siblings The file info of everything in the profile's directory
+		 */
+		Stamp(IFileInfo info, List<IFileInfo> siblings) {
+			this(info.getLastModified(), info.getLength(), getDependencies(siblings));
+		}
+
+		private Stamp(long lastModified, long length, long dependencies) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.dependencies = dependencies;
+		}
+
+		/**
+		 * Combines the name, timestamp and size of each non-profile XML file
+		 */
+		private static long getDependencies(List<IFileInfo> siblings) {
+			List<IFileInfo> files = new ArrayList<>();
+			for (IFileInfo sibling : siblings) {
+				if (!sibling.isDirectory() && SdrProfileLoader.isTracked(sibling.getName()) && !SdrProfileLoader.isProfile(sibling.getName())) {
+					files.add(sibling);
+				}
+			}
+			files.sort(Comparator.comparing(IFileInfo::getName));
+			long hash = 1;
+			for (IFileInfo file : files) {
+				hash = 31 * hash + file.getName().hashCode();
+				hash = 31 * hash + file.getLastModified();
+				hash = 31 * hash + file.getLength();
+			}
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Stamp)) {
+				return false;
+			}
+			Stamp other = (Stamp) obj;
+			return lastModified == other.lastModified && length == other.length && dependencies == other.dependencies;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(lastModified, length, dependencies);
+		}
+	}
+
+	/**
+	 * What's recorded about one profile
+	 */
+	static final class Summary {
+		private final Kind kind;
+		private final Stamp stamp;
+		private final String id;
+		private final String name;
+		private final String description;
+		private final List<String> implementations;
+
+		Summary(Kind kind, Stamp stamp, String id, String name, String description, List<String> implementations) {
+			this.kind = kind;
+			this.stamp = stamp;
+			this.id = id;
+			this.name = name;
+			this.description = description;
+			this.implementations = implementations;
+		}
+
+		/**
+		 * Summarizes a profile.
+		 * @param profile An SPD, SAD or DCD
+		 * @param kind The container the profile is in
+		 * @param stamp The file's stamp from when it was parsed
+		 */
+		static Summary of(EObject profile, Kind kind, Stamp stamp) {
+			if (profile instanceof SoftPkg) {
+				SoftPkg softPkg = (SoftPkg) profile;
+				List<String> implementations = new ArrayList<>();
+				for (Implementation impl : softPkg.getImplementation()) {
+					implementations.add(impl.getId());
+				}
+				return new Summary(kind, stamp, softPkg.getId(), softPkg.getName(), softPkg.getDescription(), implementations);
+			} else if (profile instanceof SoftwareAssembly) {
+				SoftwareAssembly sad = (SoftwareAssembly) profile;
+				return new Summary(kind, stamp, sad.getId(), sad.getName(), null, Collections.<String> emptyList());
+			} else if (profile instanceof DeviceConfiguration) {
+				DeviceConfiguration dcd = (DeviceConfiguration) profile;
+				return new Summary(kind, stamp, dcd.getId(), dcd.getName(), null, Collections.<String> emptyList());
+			}
+			throw new IllegalArgumentException();
+		}
+
+		Kind getKind() {
+			return kind;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		/**
+		 * @return True if neither the profile nor the other files in its directory have changed since it was summarized
+		 */
+		boolean isCurrent(Stamp current) {
+			return stamp.equals(current);
+		}
+
+		/**
+		 * Creates a stand-in for the profile with only the summarized information. The stand-in is a proxy for the
+		 * profile, so anything that resolves it from the SDR root's containers gets the real profile, loaded into the SDR
+		 * root's resource set.
+		 */
+		EObject createProfile(URI uri) {
+			InternalEObject profile;
+			switch (kind) {
+			case WAVEFORM:
+				SoftwareAssembly sad = SadFactory.eINSTANCE.createSoftwareAssembly();
+				sad.setId(id);
+				sad.setName(name);
+				profile = (InternalEObject) sad;
+				profile.eSetProxyURI(uri.appendFragment(SoftwareAssembly.EOBJECT_PATH));
+				break;
+			case NODE:
+				DeviceConfiguration dcd = DcdFactory.eINSTANCE.createDeviceConfiguration();
+				dcd.setId(id);
+				dcd.setName(name);
+				profile = (InternalEObject) dcd;
+				profile.eSetProxyURI(uri.appendFragment(DeviceConfiguration.EOBJECT_PATH));
+				break;
+			default:
+				SoftPkg softPkg = SpdFactory.eINSTANCE.createSoftPkg();
+				softPkg.setId(id);
+				softPkg.setName(name);
+				softPkg.setDescription(description);
+				for (String implId : implementations) {
+					Implementation impl = SpdFactory.eINSTANCE.createImplementation();
+					impl.setId(implId);
+					softPkg.getImplementation().add(impl);
+				}
+				profile = (InternalEObject) softPkg;
+				profile.eSetProxyURI(uri.appendFragment(SoftPkg.EOBJECT_PATH));
+				break;
+			}
+			return profile;
+		}
+	}
+
+	/**
+	 * Identifies an index file
+	 */
+	private static final int MAGIC = 0x53445249;
+
+	/**
+	 * Must be incremented whenever the file format changes. Index files with a different version are ignored.
+	 */
+	static final int VERSION = 2;
+
+	private static final String FILE_NAME = "sdrProfileIndex.dat"; //$NON-NLS-1$
+
+	/**
+	 * Longest string (in bytes) that will be read; anything longer means the file is corrupt
+	 */
+	private static final int MAX_STRING_LENGTH = 1 << 20;
+
+	private final URI domFileSystemRoot;
+	private final URI devFileSystemRoot;
+
+	/**
+	 * Profile URI -> summary
+	 */
+	private final Map<String, Summary> summaries = new LinkedHashMap<>();
+
+	SdrProfileIndex(URI domFileSystemRoot, URI devFileSystemRoot) {
+		this.domFileSystemRoot = domFileSystemRoot;
+		this.devFileSystemRoot = devFileSystemRoot;
+	}
+
+	/**
+	 * @return The index file in the workspace metadata, or null if there's no workspace
+	 */
+	static File getDefaultFile() {
+		IdeSdrActivator activator = IdeSdrActivator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		try {
+			return activator.getStateLocation().append(FILE_NAME).toFile();
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads an index file.
+	 * @return The index, or null if the file doesn't exist, can't be read, is from a different version, or is for
+	 * different file systems
+	 */
+	static SdrProfileIndex read(File file, URI domFileSystemRoot, URI devFileSystemRoot) {
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return null;
+			}
+			if (!Objects.equals(toString(domFileSystemRoot), readString(in)) || !Objects.equals(toString(devFileSystemRoot), readString(in))) {
+				return null;
+			}
+			SdrProfileIndex index = new SdrProfileIndex(domFileSystemRoot, devFileSystemRoot);
+			Kind[] kinds = Kind.values();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String uri = readString(in);
+				int kind = in.readByte();
+				if (kind < 0 || kind >= kinds.length) {
+					return null;
+				}
+				Stamp stamp = new Stamp(in.readLong(), in.readLong(), in.readLong());
+				String id = readString(in);
+				String name = readString(in);
+				String description = readString(in);
+				int implCount = in.readInt();
+				if (implCount < 0 || implCount > MAX_STRING_LENGTH) {
+					return null;
+				}
+				List<String> implementations = new ArrayList<>(implCount);
+				for (int j = 0; j < implCount; j++) {
+					implementations.add(readString(in));
+				}
+				index.summaries.put(uri, new Summary(kinds[kind], stamp, id, name, description, implementations));
+			}
+			return index;
+		} catch (IOException | RuntimeException e) { // SUPPRESS CHECKSTYLE A corrupt index is ignored
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the index. The file is replaced in one step, so a reader never sees a partly written index.
+	 */
+	void write(File file) throws IOException {
+		File tmpFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			writeString(out, toString(domFileSystemRoot));
+			writeString(out, toString(devFileSystemRoot));
+			out.writeInt(summaries.size());
+			for (Map.Entry<String, Summary> entry : summaries.entrySet()) {
+				Summary summary = entry.getValue();
+				writeString(out, entry.getKey());
+				out.writeByte(summary.kind.ordinal());
+				out.writeLong(summary.stamp.lastModified);
+				out.writeLong(summary.stamp.length);
+				out.writeLong(summary.stamp.dependencies);
+				writeString(out, summary.id);
+				writeString(out, summary.name);
+				writeString(out, summary.description);
+				out.writeInt(summary.implementations.size());
+				for (String implId : summary.implementations) {
+					writeString(out, implId);
+				}
+			}
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	void put(String uri, Summary summary) {
+		summaries.put(uri, summary);
+	}
+
+	/**
+	 * @return The summary of a profile, or null if it isn't in the index
+	 */
+	Summary get(String uri) {
+		return summaries.get(uri);
+	}
+
+	/**
+	 * @return Profile URI -> summary, in the order the profiles were added to the model
+	 */
+	Map<String, Summary> getSummaries() {
+		return Collections.unmodifiableMap(summaries);
+	}
+
+	private static String toString(URI uri) {
+		return (uri == null) ? null : uri.toString();
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		} else if (length > MAX_STRING_LENGTH) {
+			throw new IOException("Corrupt index"); //$NON-NLS-1$
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
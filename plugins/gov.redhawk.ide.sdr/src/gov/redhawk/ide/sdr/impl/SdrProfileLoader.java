@@ -0,0 +1,536 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.sdr.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import mil.jpeojtrs.sca.dcd.DcdPackage;
+import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
+import mil.jpeojtrs.sca.dmd.DmdPackage;
+import mil.jpeojtrs.sca.dmd.DomainManagerConfiguration;
+import mil.jpeojtrs.sca.sad.SadPackage;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
+import mil.jpeojtrs.sca.spd.SoftPkg;
+import mil.jpeojtrs.sca.spd.SpdPackage;
+import mil.jpeojtrs.sca.util.NamedThreadFactory;
+import mil.jpeojtrs.sca.util.ScaEcoreUtils;
+import mil.jpeojtrs.sca.util.ScaUriHelpers;
+
+/**
+ * Finds and parses the profiles (SPD, SAD, DCD and DMD files) in the SDR root's file systems using a pool of threads.
+ * <p/>
+ * Directories are listed in parallel, then each profile is parsed on a pool thread into a resource set belonging to
+ * that thread so that parsing isn't serialized on the SDR root's resource set. Other XML files (e.g. SCDs and PRFs) are
+ * listed too, so that changes to them can be tracked, but aren't parsed on their own. An SPD's SCD is loaded with it
+ * (it decides which container the SPD belongs in); other files it refers to (such as PRFs) are left for EMF to load
+ * when they're first used. Profiles the caller already has a stand-in for (see {@link #setSkipped(Predicate)}) aren't
+ * parsed at all.
+ * <p/>
+ * The caller is free to do other work (such as loading the IDL library) between {@link #start(IProgressMonitor)} and
+ * {@link #join(IProgressMonitor)}. Once all profiles are parsed, {@link #merge()} moves the loaded resources into the
+ * SDR root's resource set, keeping one copy of any file that was loaded more than once.
+ */
+/* package */ class SdrProfileLoader {
+
+	private static final String HIDDEN_DIR_PREFIX = "."; //$NON-NLS-1$
+
+	private static final String XML_EXTENSION = ".xml"; //$NON-NLS-1$
+
+	private static final String[] PROFILE_EXTENSIONS = { SpdPackage.FILE_EXTENSION, SadPackage.FILE_EXTENSION, DcdPackage.FILE_EXTENSION,
+		DmdPackage.FILE_EXTENSION };
+
+	/**
+	 * A directory, profile or other XML file found in one of the file systems
+	 */
+	static final class Entry {
+		private final IFileStore store;
+		private final IFileInfo info;
+		private final List<Entry> children;
+		private final boolean profile;
+		private boolean skipped;
+		private Entry parent;
+		private Exception error;
+		private EObject root;
+
+		private Entry(IFileStore store, IFileInfo info, boolean directory, boolean profile) {
+			this.store = store;
+			this.info = info;
+			this.children = (directory) ? new ArrayList<Entry>() : null;
+			this.profile = profile;
+		}
+
+		public IFileStore getStore() {
+			return store;
+		}
+
+		/**
+		 * @return The file info from when the entry was found
+		 */
+		public IFileInfo getInfo() {
+			return info;
+		}
+
+		public URI getURI() {
+			return URI.createURI(store.toURI().toString());
+		}
+
+		public boolean isDirectory() {
+			return children != null;
+		}
+
+		/**
+		 * @return True for an SPD, SAD, DCD or DMD file
+		 */
+		public boolean isProfile() {
+			return profile;
+		}
+
+		/**
+		 * @return True for a profile which wasn't parsed because the caller chose to skip it
+		 */
+		public boolean isSkipped() {
+			return skipped;
+		}
+
+		/**
+		 * @return The directory the entry was listed in, or null for a root
+		 */
+		public Entry getParent() {
+			return parent;
+		}
+
+		/**
+		 * @return The sub-directories and XML files of a directory, in the order they were listed
+		 */
+		public List<Entry> getChildren() {
+			return children;
+		}
+
+		/**
+		 * @return The error listing a directory ({@link CoreException}) or parsing a profile ({@link RuntimeException}),
+		 * if any
+		 */
+		public Exception getError() {
+			return error;
+		}
+
+		/**
+		 * @return The root object of a profile, or null if it couldn't be parsed or was skipped
+		 */
+		public EObject getRoot() {
+			return root;
+		}
+	}
+
+	private final ResourceSet resourceSet;
+	private final Map<Object, Object> loadOptions;
+	private final Resource.Factory.Registry resourceFactoryRegistry;
+	private final EPackage.Registry packageRegistry;
+	private final URIConverter uriConverter;
+	private final ExecutorService executor;
+	private final List<ResourceSet> threadResourceSets = Collections.synchronizedList(new ArrayList<ResourceSet>());
+	private final ThreadLocal<ResourceSet> threadResourceSet = ThreadLocal.withInitial(this::createResourceSet);
+	private final List<Entry> roots = new ArrayList<>();
+	private final List<Future< ? >> parsing = new ArrayList<>();
+	private Consumer<IFileStore> directoryListener;
+	private Predicate<Entry> skipped;
+
+	/**
+	 * @param resourceSet The resource set the profiles should end up in
+	 */
+	SdrProfileLoader(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+
+		// Copy the configuration now, since the resource set may be in use by the time the pool threads need it
+		this.loadOptions = new HashMap<>(resourceSet.getLoadOptions());
+		this.resourceFactoryRegistry = resourceSet.getResourceFactoryRegistry();
+		this.packageRegistry = resourceSet.getPackageRegistry();
+		this.uriConverter = resourceSet.getURIConverter();
+
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		this.executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory(SdrProfileLoader.class.getName()));
+	}
+
+	/**
+	 * Adds a directory (or profile) whose profiles should be loaded.
+	 * @return The entry for the root, or null if it is hidden or isn't an XML file
+	 */
+	Entry addRoot(IFileStore store, IFileInfo info) {
+		Entry entry = createEntry(store, info);
+		if (entry != null) {
+			roots.add(entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Adds a single profile to be loaded.
+	 */
+	Entry addProfile(IFileStore store) {
+		Entry entry = new Entry(store, store.fetchInfo(), false, true);
+		roots.add(entry);
+		return entry;
+	}
+
+	/**
+	 * @param listener Called (on a pool thread) just before each directory is listed
+	 */
+	void setDirectoryListener(Consumer<IFileStore> listener) {
+		this.directoryListener = listener;
+	}
+
+	/**
+	 * @param skipped Called for each profile once the directories are listed. Returns true if the profile needn't be
+	 * parsed (e.g. because the model already has a stand-in for it), in which case it's left without a root.
+	 */
+	void setSkipped(Predicate<Entry> skipped) {
+		this.skipped = skipped;
+	}
+
+	/**
+	 * Lists the directories under each root, then starts parsing the profiles found. Returns without waiting for
+	 * parsing to complete.
+	 */
+	void start(IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		discover(progress.newChild(1));
+
+		// Queue the profiles in the order they'll be added to the model
+		List<Entry> profiles = new ArrayList<>();
+		for (Entry root : roots) {
+			collectProfiles(root, profiles);
+		}
+		for (Entry profile : profiles) {
+			if (skipped != null && skipped.test(profile)) {
+				profile.skipped = true;
+			} else {
+				parsing.add(executor.submit(() -> parse(profile)));
+			}
+		}
+		progress.worked(1);
+	}
+
+	/**
+	 * Lists the directories under each root, without parsing anything.
+	 */
+	void discover(IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, 1);
+
+		// List each level of the trees in parallel
+		List<Entry> level = new ArrayList<>();
+		for (Entry root : roots) {
+			if (root.isDirectory()) {
+				level.add(root);
+			}
+		}
+		while (!level.isEmpty()) {
+			List<Future< ? >> listings = new ArrayList<>();
+			for (Entry directory : level) {
+				listings.add(executor.submit(() -> list(directory)));
+			}
+			List<Entry> nextLevel = new ArrayList<>();
+			for (int i = 0; i < level.size(); i++) {
+				waitFor(listings.get(i));
+				for (Entry child : level.get(i).children) {
+					if (child.isDirectory()) {
+						nextLevel.add(child);
+					}
+				}
+			}
+			level = nextLevel;
+		}
+		progress.worked(1);
+	}
+
+	/**
+	 * Waits for all profiles to be parsed.
+	 */
+	void join(IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, parsing.size());
+		for (Future< ? > future : parsing) {
+			waitFor(future);
+			progress.worked(1);
+		}
+	}
+
+	/**
+	 * Moves the resources loaded by each thread into the SDR root's resource set. Must be called after
+	 * {@link #join(IProgressMonitor)}.
+	 * <p/>
+	 * A file referenced by profiles parsed on different threads (e.g. a shared SCD), or which is already in the SDR
+	 * root's resource set, is loaded more than once. Only one copy is kept: references to the other copies are
+	 * re-pointed to it, and the other copies are unloaded.
+	 */
+	void merge() {
+		Object lockOption = resourceSet.getLoadOptions().get(ScaUriHelpers.RESOURCE_SET_LOCK);
+		Lock lock = (lockOption instanceof ReadWriteLock) ? ((ReadWriteLock) lockOption).writeLock() : null;
+		if (lock != null) {
+			lock.lock();
+		}
+		try {
+			// Decide which copy of each file is kept, and fix up references to the others before anything is moved into
+			// the SDR root's resource set
+			Map<URI, Resource> kept = new HashMap<>();
+			List<Resource> moved = new ArrayList<>();
+			Map<Resource, Resource> duplicates = new HashMap<>();
+			for (ResourceSet threadSet : threadResourceSets) {
+				for (Resource resource : threadSet.getResources()) {
+					Resource existing = resourceSet.getResource(resource.getURI(), false);
+					if (existing == null) {
+						existing = kept.get(resource.getURI());
+					}
+					if (existing == null) {
+						kept.put(resource.getURI(), resource);
+						moved.add(resource);
+					} else {
+						duplicates.put(resource, existing);
+					}
+				}
+			}
+			if (!duplicates.isEmpty()) {
+				redirectReferences(moved, duplicates);
+				for (Entry root : roots) {
+					redirectRoots(root, duplicates);
+				}
+				for (Resource duplicate : duplicates.keySet()) {
+					// Anything still referring to the duplicate is left with a proxy, which resolves to the copy kept
+					ResourceSet threadSet = duplicate.getResourceSet();
+					duplicate.unload();
+					threadSet.getResources().remove(duplicate);
+				}
+			}
+			resourceSet.getResources().addAll(moved);
+		} finally {
+			if (lock != null) {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Re-points references from the moved resources to objects in duplicate resources at the matching objects in the
+	 * copies being kept.
+	 * @param duplicates Duplicate resource -> the copy being kept
+	 */
+	private static void redirectReferences(Collection<Resource> resources, Map<Resource, Resource> duplicates) {
+		Map<EObject, Collection<EStructuralFeature.Setting>> references = new EcoreUtil.ExternalCrossReferencer(resources) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean resolve() {
+				// Leave proxies alone; they'll resolve in the SDR root's resource set
+				return false;
+			}
+
+			Map<EObject, Collection<EStructuralFeature.Setting>> find() {
+				return findExternalCrossReferences();
+			}
+		}.find();
+
+		for (Map.Entry<EObject, Collection<EStructuralFeature.Setting>> entry : references.entrySet()) {
+			EObject target = entry.getKey();
+			Resource duplicate = target.eResource();
+			Resource kept = (duplicate == null) ? null : duplicates.get(duplicate);
+			if (kept == null) {
+				continue;
+			}
+			EObject replacement = kept.getEObject(duplicate.getURIFragment(target));
+			if (replacement == null) {
+				continue;
+			}
+			for (EStructuralFeature.Setting setting : entry.getValue()) {
+				EStructuralFeature feature = setting.getEStructuralFeature();
+				if (feature.isChangeable() && !feature.isDerived()) {
+					EcoreUtil.replace(setting, target, replacement);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Re-points the root object of each profile under an entry which was parsed into a duplicate resource at the
+	 * matching object in the copy being kept.
+	 * @param duplicates Duplicate resource -> the copy being kept
+	 */
+	private static void redirectRoots(Entry entry, Map<Resource, Resource> duplicates) {
+		if (entry.root != null) {
+			Resource duplicate = entry.root.eResource();
+			Resource kept = (duplicate == null) ? null : duplicates.get(duplicate);
+			EObject replacement = (kept == null) ? null : kept.getEObject(duplicate.getURIFragment(entry.root));
+			if (replacement != null) {
+				entry.root = replacement;
+			}
+		}
+		if (entry.isDirectory()) {
+			for (Entry child : entry.children) {
+				redirectRoots(child, duplicates);
+			}
+		}
+	}
+
+	/**
+	 * @return The roots, in the order they were added
+	 */
+	List<Entry> getRoots() {
+		return roots;
+	}
+
+	/**
+	 * Stops the pool threads.
+	 */
+	void dispose() {
+		executor.shutdownNow();
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet set = new ResourceSetImpl();
+		set.setResourceFactoryRegistry(resourceFactoryRegistry);
+		set.setPackageRegistry(packageRegistry);
+		set.setURIConverter(uriConverter);
+		set.getLoadOptions().putAll(loadOptions);
+		if (loadOptions.containsKey(ScaUriHelpers.RESOURCE_SET_LOCK)) {
+			// No other thread loads into this resource set
+			set.getLoadOptions().put(ScaUriHelpers.RESOURCE_SET_LOCK, new ReentrantReadWriteLock());
+		}
+		threadResourceSets.add(set);
+		return set;
+	}
+
+	private static Entry createEntry(IFileStore store, IFileInfo info) {
+		String name = store.getName();
+		if (name.startsWith(HIDDEN_DIR_PREFIX)) {
+			return null;
+		}
+		if (info.isDirectory()) {
+			return new Entry(store, info, true, false);
+		}
+		if (isProfile(name)) {
+			return new Entry(store, info, false, true);
+		}
+		if (name.endsWith(XML_EXTENSION)) {
+			return new Entry(store, info, false, false);
+		}
+		return null;
+	}
+
+	/**
+	 * @return True if the file name is that of an SPD, SAD, DCD or DMD file
+	 */
+	static boolean isProfile(String name) {
+		for (String extension : PROFILE_EXTENSIONS) {
+			if (name.endsWith(extension)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if the file is one whose changes should be tracked (an XML file that isn't hidden)
+	 */
+	static boolean isTracked(String name) {
+		return !name.startsWith(HIDDEN_DIR_PREFIX) && name.endsWith(XML_EXTENSION);
+	}
+
+	private static void collectProfiles(Entry entry, List<Entry> profiles) {
+		if (!entry.isDirectory()) {
+			if (entry.isProfile()) {
+				profiles.add(entry);
+			}
+			return;
+		}
+		for (Entry child : entry.children) {
+			collectProfiles(child, profiles);
+		}
+	}
+
+	private void list(Entry directory) {
+		if (directoryListener != null) {
+			directoryListener.accept(directory.store);
+		}
+		try {
+			for (IFileInfo info : directory.store.childInfos(EFS.NONE, null)) {
+				Entry child = createEntry(directory.store.getChild(info.getName()), info);
+				if (child != null) {
+					child.parent = directory;
+					directory.children.add(child);
+				}
+			}
+		} catch (CoreException e) {
+			directory.error = e;
+		}
+	}
+
+	private void parse(Entry profile) {
+		try {
+			Resource resource = ScaUriHelpers.loadResource(threadResourceSet.get(), profile.getURI());
+			String name = profile.store.getName();
+			if (name.endsWith(SpdPackage.FILE_EXTENSION)) {
+				SoftPkg softPkg = SoftPkg.Util.getSoftPkg(resource);
+				if (softPkg != null) {
+					// The SCD is needed to decide what kind of SPD this is, so load it here too
+					ScaEcoreUtils.getFeature(softPkg, SpdPackage.Literals.SOFT_PKG__DESCRIPTOR, SpdPackage.Literals.DESCRIPTOR__COMPONENT);
+				}
+				profile.root = softPkg;
+			} else if (name.endsWith(SadPackage.FILE_EXTENSION)) {
+				profile.root = SoftwareAssembly.Util.getSoftwareAssembly(resource);
+			} else if (name.endsWith(DcdPackage.FILE_EXTENSION)) {
+				profile.root = DeviceConfiguration.Util.getDeviceConfiguration(resource);
+			} else if (name.endsWith(DmdPackage.FILE_EXTENSION)) {
+				profile.root = DomainManagerConfiguration.Util.getDomainManagerConfiguration(resource);
+			}
+		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Exception is reported when the profile is added
+			profile.error = e;
+		}
+	}
+
+	private static void waitFor(Future< ? > future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
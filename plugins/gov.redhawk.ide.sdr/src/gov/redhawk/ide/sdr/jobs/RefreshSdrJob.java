@@ -22,6 +22,7 @@ import gov.redhawk.ide.sdr.TargetSdrRoot;
 public class RefreshSdrJob extends Job {
 
 	private SdrRoot sdrRoot;
+	private volatile boolean reload;
 
 	public RefreshSdrJob(SdrRoot sdrRoot) {
 		super("Refreshing SDR Root");
@@ -30,10 +31,23 @@ public class RefreshSdrJob extends Job {
 		this.sdrRoot = sdrRoot;
 	}
 
+	/**
+	 * @param reload True if the next run should fully reload the SDR root (including the IDL library), rather than
+	 * only refreshing the files which have changed
+	 */
+	public void setReload(boolean reload) {
+		this.reload = reload;
+	}
+
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		SubMonitor progress = SubMonitor.convert(monitor);
-		this.sdrRoot.reload(progress);
+		if (reload) {
+			reload = false;
+			this.sdrRoot.reload(progress);
+		} else {
+			this.sdrRoot.refresh(progress);
+		}
 		progress.done();
 		return Status.OK_STATUS;
 	}
@@ -24,6 +24,14 @@ public class BulkIOSnapshotSettings {
 	public static final String PROP_CONNECTION_ID = "connectionID";
 	/** @since 1.1 */
 	public static final String PROP_SAMPLES = "samples";
+	/** @since 3.1 */
+	public static final String PROP_SEGMENTED = "segmented";
+	/** @since 3.1 */
+	public static final String PROP_MAX_SEGMENT_SIZE = "maxSegmentSize";
+	/** @since 3.1 */
+	public static final String PROP_MAX_SEGMENT_DURATION = "maxSegmentDuration";
+	/** @since 3.1 */
+	public static final String PROP_MAX_SEGMENTS = "maxSegments";
 
 	/** number of samples to take/capture. */
 	private double samples = 1024;
@@ -31,6 +39,14 @@ public class BulkIOSnapshotSettings {
 	private CaptureMethod captureMethod = CaptureMethod.NUM_SAMPLES;
 	/** custom connection ID to use (when not null). */
 	private String connectionID;
+	/** whether to split the capture into multiple files. */
+	private boolean segmented = false;
+	/** size (MB) at which to start a new file, or 0 for no limit. */
+	private double maxSegmentSize = 100;
+	/** duration (s) after which to start a new file, or 0 for no limit. */
+	private double maxSegmentDuration = 0;
+	/** number of most recent files to keep, or 0 to keep all. */
+	private int maxSegments = 0;
 
 	private PropertyChangeSupport pcs = new PropertyChangeSupport(this);
 
@@ -76,6 +92,70 @@ public class BulkIOSnapshotSettings {
 		}
 	}
 
+	/**
+	 * @since 3.1
+	 */
+	public boolean isSegmented() {
+		return segmented;
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public void setSegmented(boolean segmented) {
+		boolean oldValue = this.segmented;
+		this.segmented = segmented;
+		pcs.firePropertyChange(BulkIOSnapshotSettings.PROP_SEGMENTED, oldValue, segmented);
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public double getMaxSegmentSize() {
+		return maxSegmentSize;
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public void setMaxSegmentSize(double maxSegmentSize) {
+		double oldValue = this.maxSegmentSize;
+		this.maxSegmentSize = maxSegmentSize;
+		pcs.firePropertyChange(BulkIOSnapshotSettings.PROP_MAX_SEGMENT_SIZE, oldValue, maxSegmentSize);
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public double getMaxSegmentDuration() {
+		return maxSegmentDuration;
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public void setMaxSegmentDuration(double maxSegmentDuration) {
+		double oldValue = this.maxSegmentDuration;
+		this.maxSegmentDuration = maxSegmentDuration;
+		pcs.firePropertyChange(BulkIOSnapshotSettings.PROP_MAX_SEGMENT_DURATION, oldValue, maxSegmentDuration);
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public int getMaxSegments() {
+		return maxSegments;
+	}
+
+	/**
+	 * @since 3.1
+	 */
+	public void setMaxSegments(int maxSegments) {
+		int oldValue = this.maxSegments;
+		this.maxSegments = maxSegments;
+		pcs.firePropertyChange(BulkIOSnapshotSettings.PROP_MAX_SEGMENTS, oldValue, maxSegments);
+	}
+
 	/**
 	 * @param listener
 	 * @see java.beans.PropertyChangeSupport#addPropertyChangeListener(java.beans.PropertyChangeListener)
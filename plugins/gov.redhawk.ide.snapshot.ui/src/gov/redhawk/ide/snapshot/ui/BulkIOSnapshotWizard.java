@@ -14,6 +14,7 @@ import java.util.Map;
 
 import gov.redhawk.ide.snapshot.capture.DataReceiverFactory;
 import gov.redhawk.ide.snapshot.capture.IScaPortReceiver;
+import gov.redhawk.ide.snapshot.writer.SegmentedDataWriter;
 import gov.redhawk.model.sca.ScaUsesPort;
 
 public class BulkIOSnapshotWizard extends SnapshotWizard {
@@ -69,7 +70,15 @@ public class BulkIOSnapshotWizard extends SnapshotWizard {
 			default:
 				throw new IllegalStateException("Unknown capture type: " + method);
 			}
-			corbaReceiver.setDataWriter(getDataWriter());
+			if (bulkIOSettings.isSegmented()) {
+				long maxSegmentBytes = (long) (bulkIOSettings.getMaxSegmentSize() * 1024 * 1024);
+				SegmentedDataWriter segmentedWriter = new SegmentedDataWriter(getSnapshotPage().getSettings().getDataWriter(), maxSegmentBytes,
+					bulkIOSettings.getMaxSegmentDuration(), bulkIOSettings.getMaxSegments());
+				segmentedWriter.setSettings(getDataWriter().getSettings());
+				corbaReceiver.setDataWriter(segmentedWriter);
+			} else {
+				corbaReceiver.setDataWriter(getDataWriter());
+			}
 			corbaReceiver.setConnectionID(bulkIOSettings.getConnectionID());
 		}
 		return retVal;
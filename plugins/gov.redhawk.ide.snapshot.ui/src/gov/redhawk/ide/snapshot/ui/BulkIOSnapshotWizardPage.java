@@ -40,7 +40,12 @@ import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 
@@ -56,6 +61,11 @@ public class BulkIOSnapshotWizardPage extends SnapshotWizardPage {
 
 	private Text connectionIDField;
 
+	/**
+	 * The check box for splitting into multiple files, followed by the fields it enables.
+	 */
+	private Control[] segmentedControls;
+
 	public BulkIOSnapshotWizardPage(String pageName, ImageDescriptor titleImage) {
 		this(pageName, titleImage, new HashMap<String, Boolean>());
 	}
@@ -179,6 +189,9 @@ public class BulkIOSnapshotWizardPage extends SnapshotWizardPage {
 		// === create output control widgets ==
 		createOutputControls(parent);
 
+		// === split into multiple files ===
+		createSegmentControls(parent);
+
 		bulkIOsettings.addPropertyChangeListener(new PropertyChangeListener() {
 			@Override
 			public void propertyChange(PropertyChangeEvent evt) {
@@ -195,6 +208,74 @@ public class BulkIOSnapshotWizardPage extends SnapshotWizardPage {
 		restoreWidgetValues(bulkIOsettings);
 	}
 
+	private void createSegmentControls(Composite parent) {
+		DataBindingContext dataBindingCtx = getContext();
+		Group group = new Group(parent, SWT.SHADOW_ETCHED_IN);
+		group.setText("Multiple Files");
+		group.setLayoutData(GridDataFactory.fillDefaults().grab(true, false).span(3, 1).create());
+		group.setLayout(GridLayoutFactory.swtDefaults().numColumns(3).create());
+
+		final Button segmentedCheck = new Button(group, SWT.CHECK);
+		segmentedCheck.setText("Split into multiple files");
+		segmentedCheck.setToolTipText("Start a new file (with its own metadata) when the current one reaches a size or duration limit");
+		segmentedCheck.setLayoutData(GridDataFactory.fillDefaults().span(3, 1).create());
+		@SuppressWarnings("unchecked")
+		IObservableValue< ? > segmentedObservable = BeanProperties.value(bulkIOsettings.getClass(), BulkIOSnapshotSettings.PROP_SEGMENTED).observe(bulkIOsettings);
+		dataBindingCtx.bindValue(WidgetProperties.selection().observe(segmentedCheck), segmentedObservable);
+
+		final Text sizeTxt = createSegmentField(group, "Maximum file size:", "MB (0 = no limit)", BulkIOSnapshotSettings.PROP_MAX_SEGMENT_SIZE);
+		final Text durationTxt = createSegmentField(group, "Maximum file duration:", "s (0 = no limit)", BulkIOSnapshotSettings.PROP_MAX_SEGMENT_DURATION);
+		final Text countTxt = createSegmentField(group, "Keep most recent:", "files (0 = all)", BulkIOSnapshotSettings.PROP_MAX_SEGMENTS);
+
+		segmentedCheck.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				boolean enabled = segmentedCheck.getSelection();
+				sizeTxt.setEnabled(enabled);
+				durationTxt.setEnabled(enabled);
+				countTxt.setEnabled(enabled);
+			}
+		});
+		segmentedControls = new Control[] { segmentedCheck, sizeTxt, durationTxt, countTxt };
+	}
+
+	private Text createSegmentField(Composite parent, final String labelText, String unitsText, String property) {
+		Label label = new Label(parent, SWT.None);
+		label.setText(labelText);
+		Text text = new Text(parent, SWT.BORDER);
+		text.setLayoutData(GridDataFactory.fillDefaults().grab(true, false).create());
+		text.setEnabled(false);
+		label = new Label(parent, SWT.None);
+		label.setText(unitsText);
+
+		UpdateValueStrategy validator = new UpdateValueStrategy();
+		validator.setBeforeSetValidator(new IValidator() {
+			@Override
+			public IStatus validate(Object value) {
+				if (value instanceof Number && ((Number) value).doubleValue() >= 0) {
+					return ValidationStatus.ok();
+				}
+				return ValidationStatus.error(labelText.replace(":", "") + " must be 0 or a positive number");
+			}
+		});
+		@SuppressWarnings("unchecked")
+		IObservableValue< ? > observable = BeanProperties.value(bulkIOsettings.getClass(), property).observe(bulkIOsettings);
+		getContext().bindValue(WidgetProperties.text(SWT.Modify).observeDelayed(UPDATE_DELAY_MS, text), observable, validator, null);
+		return text;
+	}
+
+	/**
+	 * Enables the segment fields to match the check box after its value has been restored.
+	 */
+	private void updateSegmentControls() {
+		if (segmentedControls != null) {
+			boolean enabled = bulkIOsettings.isSegmented();
+			for (int i = 1; i < segmentedControls.length; i++) {
+				segmentedControls[i].setEnabled(enabled);
+			}
+		}
+	}
+
 	protected void updateControls(CaptureMethod method) {
 		switch (method) {
 		case INDEFINITELY:
@@ -262,6 +343,10 @@ public class BulkIOSnapshotWizardPage extends SnapshotWizardPage {
 		pageSettings.put(BulkIOSnapshotSettings.PROP_SAMPLES, bss.getSamples());
 		pageSettings.put(BulkIOSnapshotSettings.PROP_CAPTURE_METHOD, bss.getCaptureMethod().name());
 		pageSettings.put(BulkIOSnapshotSettings.PROP_CONNECTION_ID, bss.getConnectionID());
+		pageSettings.put(BulkIOSnapshotSettings.PROP_SEGMENTED, bss.isSegmented());
+		pageSettings.put(BulkIOSnapshotSettings.PROP_MAX_SEGMENT_SIZE, bss.getMaxSegmentSize());
+		pageSettings.put(BulkIOSnapshotSettings.PROP_MAX_SEGMENT_DURATION, bss.getMaxSegmentDuration());
+		pageSettings.put(BulkIOSnapshotSettings.PROP_MAX_SEGMENTS, bss.getMaxSegments());
 	}
 
 	private void restoreWidgetValues(BulkIOSnapshotSettings bss) {
@@ -290,6 +375,25 @@ public class BulkIOSnapshotWizardPage extends SnapshotWizardPage {
 			if (tmp != null && connectionIDField != null) {
 				bss.setConnectionID(tmp);
 			}
+
+			bss.setSegmented(pageSettings.getBoolean(BulkIOSnapshotSettings.PROP_SEGMENTED));
+			try {
+				tmp = pageSettings.get(BulkIOSnapshotSettings.PROP_MAX_SEGMENT_SIZE);
+				if (tmp != null) {
+					bss.setMaxSegmentSize(Double.valueOf(tmp));
+				}
+				tmp = pageSettings.get(BulkIOSnapshotSettings.PROP_MAX_SEGMENT_DURATION);
+				if (tmp != null) {
+					bss.setMaxSegmentDuration(Double.valueOf(tmp));
+				}
+				tmp = pageSettings.get(BulkIOSnapshotSettings.PROP_MAX_SEGMENTS);
+				if (tmp != null) {
+					bss.setMaxSegments(Integer.valueOf(tmp));
+				}
+			} catch (NumberFormatException nfe) {
+				// PASS - ignore
+			}
+			updateSegmentControls();
 		}
 	}
 }
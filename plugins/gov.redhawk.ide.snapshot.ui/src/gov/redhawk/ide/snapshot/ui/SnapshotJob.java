@@ -84,7 +84,8 @@ public class SnapshotJob extends WorkspaceJob {
 		}
 		IStatus retVal = receiver.run(subMonitor.newChild(95));
 		if (this.writerSettings.getDestination() instanceof IFile) {
-			((IFile) this.writerSettings.getDestination()).refreshLocal(IResource.DEPTH_ONE, subMonitor.newChild(5));
+			// Refresh the folder so that every file the writer created (e.g. each segment) shows up
+			((IFile) this.writerSettings.getDestination()).getParent().refreshLocal(IResource.DEPTH_ONE, subMonitor.newChild(5));
 		}
 		subMonitor.setTaskName("Finished");
 		subMonitor.done();
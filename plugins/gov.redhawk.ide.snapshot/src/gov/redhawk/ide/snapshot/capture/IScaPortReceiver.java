@@ -10,6 +10,8 @@
  */
 package gov.redhawk.ide.snapshot.capture;
 
+import gov.redhawk.ide.snapshot.writer.QueueFullPolicy;
+import gov.redhawk.ide.snapshot.writer.WriteBehindDataWriter;
 import gov.redhawk.model.sca.ScaUsesPort;
 
 public interface IScaPortReceiver extends IDataReceiver {
@@ -22,4 +24,20 @@ public interface IScaPortReceiver extends IDataReceiver {
 
 	void setConnectionID(String connectionID);
 
+	/**
+	 * Configures the queue between the port and the data writer. Received data is copied into the queue and written
+	 * by a separate thread so that a slow writer doesn't hold up the port's caller.
+	 * @param capacity The maximum number of pushes which may be queued
+	 * @param policy What to do when a push arrives and the queue is full
+	 * @since 1.1
+	 */
+	void setWriteQueue(int capacity, QueueFullPolicy policy);
+
+	/**
+	 * @return The queue used by the current (or most recent) run, which can be used to query its counters, or null if
+	 * the receiver hasn't been run
+	 * @since 1.1
+	 */
+	WriteBehindDataWriter getWriteQueue();
+
 }
@@ -0,0 +1,410 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.capture;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import gov.redhawk.ide.snapshot.SnapshotActivator;
+import gov.redhawk.ide.snapshot.internal.capture.StreamChannel;
+import gov.redhawk.ide.snapshot.internal.capture.StreamDemuxReceiver;
+import gov.redhawk.ide.snapshot.writer.IDataWriter;
+import gov.redhawk.ide.snapshot.writer.IDataWriterDesc;
+import gov.redhawk.ide.snapshot.writer.IDataWriterSettings;
+import gov.redhawk.model.sca.ScaUsesPort;
+import gov.redhawk.sca.util.SubMonitor;
+import nxm.sys.lib.Table;
+
+/**
+ * Captures several ports at once, writing each stream on each port to its own file(s). Data is demultiplexed by
+ * stream ID, so interleaved streams on one port don't end up in the same file. All streams share one pool of writer
+ * threads.
+ * <p/>
+ * When the capture finishes a manifest is written alongside the data files. It lists each stream's files and the
+ * time stamp of its first packet, along with that packet's offset (in seconds and in samples) from the earliest first
+ * packet of all the streams, so the captures can be lined up with each other.
+ * <p/>
+ * Files are named after the destination with the port name and stream ID appended (e.g. <code>capture.bin</code>
+ * becomes <code>capture_dataFloat_out_stream1.bin</code>). The manifest is <code>capture.manifest</code>.
+ * @since 1.1
+ */
+public class MultiPortCaptureJob extends Job {
+
+	public static final String MANIFEST_FILE_EXTENSION = "manifest";
+
+	private static final int POLL_INTERVAL_MS = 250;
+
+	/** the string representation of the format to print the start and end times of the capture */
+	private static final String TIME_FORMAT = "yyyy-MM-dd HH:mm:ss:SSS z";
+
+	private final IDataWriterDesc desc;
+	private final File destination;
+	private final List<StreamDemuxReceiver> receivers = new ArrayList<StreamDemuxReceiver>();
+	private final Set<String> portNames = new HashSet<String>();
+	private final List<StreamChannel> channels = new CopyOnWriteArrayList<StreamChannel>();
+	private final Set<String> fileNames = new HashSet<String>();
+	private double duration;
+	private int writerThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Guards {@link #executor} and {@link #stopping} against channels being created by CORBA threads while the capture
+	 * starts or stops.
+	 */
+	private final Object channelLock = new Object();
+	private ExecutorService executor;
+	private boolean stopping;
+
+	/**
+	 * @param desc The type of writer to use for each stream
+	 * @param destination The file name which the names of each stream's files are based on
+	 */
+	public MultiPortCaptureJob(IDataWriterDesc desc, File destination) {
+		super("Multi-port snapshot");
+		this.desc = desc;
+		this.destination = destination;
+		setUser(true);
+	}
+
+	/**
+	 * Adds a port to capture.
+	 * @param connectionID The connection ID to use, or null to generate one
+	 */
+	public void addPort(ScaUsesPort port, String connectionID) {
+		String name = sanitize(port.getName());
+		String uniqueName = name;
+		for (int i = 2; !portNames.add(uniqueName); i++) {
+			uniqueName = name + "_" + i;
+		}
+		receivers.add(new StreamDemuxReceiver(port, uniqueName, connectionID, new StreamDemuxReceiver.ChannelFactory() {
+			@Override
+			public StreamChannel createChannel(StreamDemuxReceiver receiver, String streamID) throws IOException {
+				return MultiPortCaptureJob.this.createChannel(receiver, streamID);
+			}
+		}));
+	}
+
+	/**
+	 * @param seconds How long to capture for (wall-clock time), or 0 to capture until canceled
+	 */
+	public void setDuration(double seconds) {
+		this.duration = seconds;
+	}
+
+	public double getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @param writerThreads The number of threads shared by all streams for writing data
+	 */
+	public void setWriterThreads(int writerThreads) {
+		if (writerThreads <= 0) {
+			throw new IllegalArgumentException("Writer threads must be positive");
+		}
+		this.writerThreads = writerThreads;
+	}
+
+	public int getWriterThreads() {
+		return writerThreads;
+	}
+
+	public File getManifestFile() {
+		return new File(destination.getParentFile(), getBaseName() + "." + MANIFEST_FILE_EXTENSION);
+	}
+
+	/**
+	 * @return The files written for each stream received so far, followed by the manifest
+	 */
+	public List<File> getOutputFileList() {
+		List<File> files = new ArrayList<File>();
+		for (StreamChannel channel : channels) {
+			files.addAll(channel.getOutputFileList());
+		}
+		files.add(getManifestFile());
+		return files;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, "Taking Snapshot...", 100);
+		MultiStatus status = new MultiStatus(SnapshotActivator.PLUGIN_ID, 0, "Errors occurred during the snapshot", null);
+		Date startDate = new Date();
+		final ExecutorService pool = Executors.newFixedThreadPool(writerThreads, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "Snapshot writer " + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		synchronized (channelLock) {
+			executor = pool;
+			stopping = false;
+		}
+
+		try {
+			SubMonitor child = progress.newChild(5).setWorkRemaining(receivers.size());
+			child.setTaskName("Connecting to ports...");
+			for (StreamDemuxReceiver receiver : receivers) {
+				receiver.setProcessing(true);
+				try {
+					receiver.connect();
+				} catch (CoreException e) {
+					status.add(e.getStatus());
+				}
+				child.worked(1);
+			}
+			if (status.getChildren().length < receivers.size()) {
+				capture(progress.newChild(85));
+			}
+		} finally {
+			SubMonitor child = progress.newChild(5);
+			child.setTaskName("Disconnecting ports...");
+			for (StreamDemuxReceiver receiver : receivers) {
+				receiver.setProcessing(false);
+				receiver.disconnect();
+				if (receiver.getException() != null) {
+					status.add(new Status(IStatus.ERROR, SnapshotActivator.PLUGIN_ID, "Error writing data from port " + receiver.getName(),
+						receiver.getException()));
+				}
+			}
+
+			// A stream which starts now is ignored, so every channel is closed before the writer threads stop
+			synchronized (channelLock) {
+				stopping = true;
+				executor = null;
+			}
+			child.setTaskName("Closing output files...");
+			for (StreamChannel channel : channels) {
+				try {
+					channel.close();
+				} catch (IOException e) {
+					status.add(new Status(IStatus.ERROR, SnapshotActivator.PLUGIN_ID, "Error writing stream " + channel.getStreamID()
+						+ " from port " + channel.getPortName(), e));
+				}
+			}
+			pool.shutdown();
+		}
+
+		try {
+			writeManifest(startDate);
+		} catch (IOException e) {
+			status.add(new Status(IStatus.ERROR, SnapshotActivator.PLUGIN_ID, "Error writing the manifest", e));
+		}
+		progress.done();
+
+		if (!status.isOK()) {
+			return status;
+		}
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		return Status.OK_STATUS;
+	}
+
+	private void capture(SubMonitor progress) {
+		long durationMs = (long) (duration * 1000);
+		long endTime = System.currentTimeMillis() + durationMs;
+		progress.beginTask("Capturing Samples...", (durationMs > 0) ? (int) (durationMs / POLL_INTERVAL_MS) : IProgressMonitor.UNKNOWN);
+		while (!progress.isCanceled() && !hasError()) {
+			if (durationMs > 0 && System.currentTimeMillis() >= endTime) {
+				break;
+			}
+			try {
+				Thread.sleep(POLL_INTERVAL_MS);
+			} catch (InterruptedException e) {
+				break;
+			}
+			progress.worked(1);
+		}
+		progress.done();
+	}
+
+	private boolean hasError() {
+		for (StreamDemuxReceiver receiver : receivers) {
+			if (receiver.getException() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Called by CORBA threads when a new stream arrives.
+	 * @return The new stream's channel, or null if the capture isn't running
+	 */
+	private StreamChannel createChannel(StreamDemuxReceiver receiver, String streamID) throws IOException {
+		synchronized (channelLock) {
+			if (stopping || executor == null) {
+				return null;
+			}
+			try {
+				IDataWriterSettings settings = desc.createWriterSettings();
+				settings.setType(receiver.getBulkIOType());
+				settings.setDestination(getStreamDestination(receiver.getName(), streamID));
+				IDataWriter writer = desc.createWriter();
+				writer.setSettings(settings);
+				StreamChannel channel = new StreamChannel(receiver.getName(), streamID, writer, executor);
+				channels.add(channel);
+				return channel;
+			} catch (CoreException e) {
+				throw new IOException("Unable to create a writer for stream " + streamID, e);
+			}
+		}
+	}
+
+	private synchronized File getStreamDestination(String portName, String streamID) {
+		String name = destination.getName();
+		String extension = "";
+		int iLastDot = name.lastIndexOf('.');
+		if (iLastDot > 0) {
+			extension = name.substring(iLastDot);
+		}
+		String prefix = getBaseName() + "_" + portName + "_" + sanitize(streamID);
+		String fileName = prefix + extension;
+		for (int i = 2; !fileNames.add(fileName); i++) {
+			fileName = prefix + "_" + i + extension;
+		}
+		return new File(destination.getParentFile(), fileName);
+	}
+
+	private String getBaseName() {
+		String name = destination.getName();
+		int iLastDot = name.lastIndexOf('.');
+		return (iLastDot > 0) ? name.substring(0, iLastDot) : name;
+	}
+
+	private static String sanitize(String name) {
+		if (name == null || name.isEmpty()) {
+			return "unnamed";
+		}
+		StringBuilder sb = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			sb.append((Character.isLetterOrDigit(c) || c == '-' || c == '.') ? c : '_');
+		}
+		return sb.toString();
+	}
+
+	private void writeManifest(Date startDate) throws IOException {
+		// Streams are aligned to the earliest first packet. Packet time stamps are used when every stream has a valid
+		// one; otherwise the time each first packet was received is used.
+		boolean useTimeStamps = true;
+		StreamChannel reference = null;
+		for (StreamChannel channel : channels) {
+			if (channel.getFirstPacketTime() == null) {
+				continue;
+			}
+			useTimeStamps &= channel.hasValidFirstPacketTime();
+		}
+		for (StreamChannel channel : channels) {
+			if (channel.getFirstPacketTime() != null && (reference == null || getOffset(channel, reference, useTimeStamps) < 0)) {
+				reference = channel;
+			}
+		}
+
+		SimpleDateFormat format = new SimpleDateFormat(TIME_FORMAT);
+		Table rootTable = new Table();
+		Table generalTable = (Table) rootTable.addTable("General Information");
+		generalTable.put("Start Time", format.format(startDate));
+		generalTable.put("End Time", format.format(new Date()));
+		generalTable.put("Ports", receivers.size());
+		generalTable.put("Streams", channels.size());
+		generalTable.put("Alignment", useTimeStamps ? "Packet Time" : "Receive Time");
+		if (reference != null) {
+			generalTable.put("Reference Port", reference.getPortName());
+			generalTable.put("Reference Stream ID", reference.getStreamID());
+		}
+
+		int index = 0;
+		for (StreamChannel channel : channels) {
+			Table streamTable = (Table) rootTable.addTable("Stream " + index++);
+			streamTable.put("Port", channel.getPortName());
+			streamTable.put("Stream ID", channel.getStreamID());
+			streamTable.put("BulkIOType", channel.getDataWriter().getSettings().getType().name());
+			StringBuilder files = new StringBuilder();
+			for (File file : channel.getOutputFileList()) {
+				if (files.length() > 0) {
+					files.append(',');
+				}
+				files.append(file.getName());
+			}
+			streamTable.put("Files", files.toString());
+			streamTable.put("Packets", channel.getPackets());
+			streamTable.put("Bytes", channel.getBytes());
+
+			PrecisionUTCTime firstTime = channel.getFirstPacketTime();
+			if (firstTime != null) {
+				Table timeTable = (Table) streamTable.addTable("First Packet Time");
+				timeTable.put("tcmode", firstTime.tcmode);
+				timeTable.put("tfsec", firstTime.tfsec);
+				timeTable.put("twsec", firstTime.twsec);
+				timeTable.put("tcstatus", firstTime.tcstatus);
+				timeTable.put("toff", firstTime.toff);
+
+				double offset = getOffset(channel, reference, useTimeStamps);
+				streamTable.put("Time Offset", offset);
+				StreamSRI sri = channel.getSRI();
+				if (sri != null && sri.xdelta > 0) {
+					streamTable.put("Sample Offset", Math.round(offset / sri.xdelta));
+				}
+			}
+		}
+
+		List<String> list = rootTable.toConfigFile();
+		PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(getManifestFile())));
+		try {
+			for (String s : list) {
+				out.println(s);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @return The time in seconds from the first packet of the reference stream to the first packet of the stream
+	 */
+	private static double getOffset(StreamChannel channel, StreamChannel reference, boolean useTimeStamps) {
+		if (useTimeStamps) {
+			PrecisionUTCTime time = channel.getFirstPacketTime();
+			PrecisionUTCTime refTime = reference.getFirstPacketTime();
+			return (time.twsec - refTime.twsec) + (time.tfsec - refTime.tfsec);
+		}
+		return (channel.getFirstPacketNanos() - reference.getFirstPacketNanos()) / 1e9;
+	}
+
+}
@@ -16,6 +16,8 @@ import gov.redhawk.bulkio.util.BulkIOUtilActivator;
 import gov.redhawk.ide.snapshot.SnapshotActivator;
 import gov.redhawk.ide.snapshot.capture.IScaPortReceiver;
 import gov.redhawk.ide.snapshot.writer.IDataWriter;
+import gov.redhawk.ide.snapshot.writer.QueueFullPolicy;
+import gov.redhawk.ide.snapshot.writer.WriteBehindDataWriter;
 import gov.redhawk.model.sca.ScaUsesPort;
 import gov.redhawk.sca.util.SubMonitor;
 
@@ -34,6 +36,14 @@ import BULKIO.StreamSRI;
 public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPortReceiver {
 
 	private IDataWriter writer;
+
+	/**
+	 * Where received data is pushed: the write queue while running, otherwise the writer itself.
+	 */
+	private IDataWriter output;
+	private int queueCapacity = WriteBehindDataWriter.DEFAULT_CAPACITY;
+	private QueueFullPolicy queueFullPolicy = QueueFullPolicy.BLOCK;
+	private WriteBehindDataWriter writeQueue;
 	private IOException exception;
 	private ScaUsesPort port;
 	private String connectionID;
@@ -51,6 +61,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 	@Override
 	public void setDataWriter(IDataWriter writer) {
 		this.writer = writer;
+		this.output = writer;
 	}
 
 	@Override
@@ -72,10 +83,21 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		this.connectionID = connectionID;
 	}
 
+	@Override
+	public void setWriteQueue(int capacity, QueueFullPolicy policy) {
+		this.queueCapacity = capacity;
+		this.queueFullPolicy = policy;
+	}
+
+	@Override
+	public WriteBehindDataWriter getWriteQueue() {
+		return writeQueue;
+	}
+
 	@Override
 	protected void handleStreamSRIChanged(String streamID, StreamSRI oldSri, StreamSRI newSri) {
 		try {
-			writer.pushSRI(newSri);
+			output.pushSRI(newSri);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -84,6 +106,8 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, "Taking Snapshot...", 100);
+		writeQueue = new WriteBehindDataWriter(writer, queueCapacity, queueFullPolicy);
+		output = writeQueue;
 		SubMonitor child = subMonitor.newChild(5);
 		try {
 			connect(child);
@@ -109,9 +133,17 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 			subMonitor.done();
 		}
 		
+		if (exception != null) {
+			return new Status(Status.ERROR, SnapshotActivator.PLUGIN_ID, "Error writing data", exception);
+		}
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
+		if (writeQueue.getDroppedPackets() > 0) {
+			String msg = String.format("%d packets (%d bytes) were dropped because the write queue was full", writeQueue.getDroppedPackets(),
+				writeQueue.getDroppedBytes());
+			return new Status(Status.WARNING, SnapshotActivator.PLUGIN_ID, msg);
+		}
 		return Status.OK_STATUS;
 	}
 
@@ -131,8 +163,8 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 	protected void close(SubMonitor child) throws IOException {
 		child.beginTask("Closing output file...", 1);
 		try {
-			if (writer.isOpen()) {
-				writer.close();
+			if (output.isOpen()) {
+				output.close();
 			}
 		} finally {
 			child.done();
@@ -142,7 +174,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 	protected void open(SubMonitor child) throws IOException {
 		child.beginTask("Opening output file...", 1);
 		try {
-			writer.open();
+			output.open();
 		} finally {
 			child.done();
 		}
@@ -208,7 +240,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 	@Override
 	protected boolean pushPacket(int length, PrecisionUTCTime time, boolean endOfStream, String streamID) {
 		boolean retVal = super.pushPacket(length, time, endOfStream, streamID);
-		if (!retVal || super.getStreamSRI() == null || exception != null || !writer.isOpen() || !processing) {
+		if (!retVal || super.getStreamSRI() == null || exception != null || !output.isOpen() || !processing) {
 			return false;
 		}
 		return true;
@@ -221,7 +253,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		BitSequence dataToProcess = getSamplesToProcess(data, BitSequence.class, data.bits, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -235,7 +267,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		short[] dataToProcess = getSamplesToProcess(data, short[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -249,7 +281,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		char[] dataToProcess = getSamplesToProcess(data, char[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -263,7 +295,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		double[] dataToProcess = getSamplesToProcess(data, double[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -277,7 +309,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		float[] dataToProcess = getSamplesToProcess(data, float[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -291,7 +323,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		long[] dataToProcess = getSamplesToProcess(data, long[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -305,7 +337,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		int[] dataToProcess = getSamplesToProcess(data, int[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
@@ -319,7 +351,7 @@ public class CorbaDataReceiver extends AbstractUberBulkIOPort implements IScaPor
 		}
 		byte[] dataToProcess = getSamplesToProcess(data, byte[].class, data.length, time);
 		try {
-			writer.pushPacket(dataToProcess, time, eos, streamID);
+			output.pushPacket(dataToProcess, time, eos, streamID);
 		} catch (IOException e) {
 			setException(e);
 		}
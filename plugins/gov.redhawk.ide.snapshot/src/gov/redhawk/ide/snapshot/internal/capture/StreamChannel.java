@@ -0,0 +1,209 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.internal.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import BULKIO.BitSequence;
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import BULKIO.TCS_VALID;
+import gov.redhawk.ide.snapshot.writer.IDataWriter;
+import gov.redhawk.ide.snapshot.writer.QueueFullPolicy;
+import gov.redhawk.ide.snapshot.writer.WriteBehindDataWriter;
+
+/**
+ * Writes one stream of a multi-port capture. Pushes are queued in a {@link WriteBehindDataWriter} whose writes run on
+ * an executor which is shared by all streams, so the number of writer threads doesn't grow with the number of streams.
+ * <p/>
+ * At most {@link #CAPACITY} pushes may be queued; beyond that, the pushing thread waits for the writer to catch up.
+ * Pushes made after {@link #close()} are ignored.
+ */
+public class StreamChannel {
+
+	public static final int CAPACITY = WriteBehindDataWriter.DEFAULT_CAPACITY;
+
+	private final String portName;
+	private final String streamID;
+	private final IDataWriter writer;
+	private final WriteBehindDataWriter queue;
+
+	/**
+	 * Held while pushing to the queue, so that a push can't reach the writer after it has been closed.
+	 */
+	private final Object pushLock = new Object();
+
+	// Guarded by pushLock
+	private boolean closed;
+
+	// Guarded by this
+	private StreamSRI sri;
+	private PrecisionUTCTime firstTime;
+	private long firstTimeNanos;
+	private long packets;
+	private long bytes;
+
+	/**
+	 * @param writer The writer for this stream. Its settings must already be set.
+	 * @param executor Runs the writes
+	 */
+	public StreamChannel(String portName, String streamID, IDataWriter writer, Executor executor) {
+		this.portName = portName;
+		this.streamID = streamID;
+		this.writer = writer;
+		this.queue = new WriteBehindDataWriter(writer, CAPACITY, QueueFullPolicy.BLOCK, executor);
+	}
+
+	public String getPortName() {
+		return portName;
+	}
+
+	public String getStreamID() {
+		return streamID;
+	}
+
+	public IDataWriter getDataWriter() {
+		return writer;
+	}
+
+	/**
+	 * @return The most recent SRI for the stream
+	 */
+	public synchronized StreamSRI getSRI() {
+		return sri;
+	}
+
+	/**
+	 * @return The time stamp of the first packet, or null if no packets have been received
+	 */
+	public synchronized PrecisionUTCTime getFirstPacketTime() {
+		return firstTime;
+	}
+
+	/**
+	 * @return The value of {@link System#nanoTime()} when the first packet was received
+	 */
+	public synchronized long getFirstPacketNanos() {
+		return firstTimeNanos;
+	}
+
+	/**
+	 * @return True if the first packet's time stamp is valid, and so can be used to align this stream with others
+	 */
+	public synchronized boolean hasValidFirstPacketTime() {
+		return firstTime != null && firstTime.tcstatus == TCS_VALID.value;
+	}
+
+	public synchronized long getPackets() {
+		return packets;
+	}
+
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	public synchronized List<File> getOutputFileList() {
+		return (sri != null) ? writer.getOutputFileList() : Collections.<File> emptyList();
+	}
+
+	/**
+	 * Writes the first SRI for the stream and opens the writer.
+	 */
+	public void open(StreamSRI newSri) throws IOException {
+		synchronized (pushLock) {
+			if (closed) {
+				return;
+			}
+			synchronized (this) {
+				this.sri = newSri;
+			}
+			queue.pushSRI(newSri);
+			queue.open();
+		}
+	}
+
+	public void pushSRI(StreamSRI newSri) throws IOException {
+		synchronized (pushLock) {
+			if (closed) {
+				return;
+			}
+			synchronized (this) {
+				this.sri = newSri;
+			}
+			queue.pushSRI(newSri);
+		}
+	}
+
+	/**
+	 * Queues a packet. The data is copied, so the caller may re-use its array once this method returns.
+	 * @param data An array of primitives, or a {@link BitSequence}
+	 * @param byteLength The number of bytes of data
+	 */
+	public void pushPacket(Object data, PrecisionUTCTime time, boolean eos, int byteLength) throws IOException {
+		synchronized (pushLock) {
+			if (closed) {
+				return;
+			}
+			synchronized (this) {
+				if (firstTime == null) {
+					firstTime = time;
+					firstTimeNanos = System.nanoTime();
+				}
+				packets++;
+				bytes += byteLength;
+			}
+			push(data, time, eos);
+		}
+	}
+
+	private void push(Object data, PrecisionUTCTime time, boolean eos) throws IOException {
+		if (data instanceof BitSequence) {
+			queue.pushPacket((BitSequence) data, time, eos, streamID);
+		} else if (data instanceof short[]) {
+			queue.pushPacket((short[]) data, time, eos, streamID);
+		} else if (data instanceof float[]) {
+			queue.pushPacket((float[]) data, time, eos, streamID);
+		} else if (data instanceof double[]) {
+			queue.pushPacket((double[]) data, time, eos, streamID);
+		} else if (data instanceof int[]) {
+			queue.pushPacket((int[]) data, time, eos, streamID);
+		} else if (data instanceof long[]) {
+			queue.pushPacket((long[]) data, time, eos, streamID);
+		} else if (data instanceof byte[]) {
+			queue.pushPacket((byte[]) data, time, eos, streamID);
+		} else if (data instanceof char[]) {
+			queue.pushPacket((char[]) data, time, eos, streamID);
+		} else {
+			throw new IllegalArgumentException("Unsupported data type " + data.getClass());
+		}
+	}
+
+	/**
+	 * Waits for all queued pushes to be written and closes the writer.
+	 * @throws IOException An error occurred while writing the stream
+	 */
+	public void close() throws IOException {
+		synchronized (pushLock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		if (queue.isOpen()) {
+			queue.close();
+		}
+	}
+
+}
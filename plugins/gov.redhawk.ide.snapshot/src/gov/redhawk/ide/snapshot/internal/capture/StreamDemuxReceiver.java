@@ -0,0 +1,224 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.internal.capture;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import BULKIO.BitSequence;
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import gov.redhawk.bulkio.util.AbstractUberBulkIOPort;
+import gov.redhawk.bulkio.util.BulkIOType;
+import gov.redhawk.bulkio.util.BulkIOUtilActivator;
+import gov.redhawk.ide.snapshot.SnapshotActivator;
+import gov.redhawk.model.sca.ScaUsesPort;
+
+/**
+ * Receives data from one port and demultiplexes it by stream ID, so that each stream is written by its own
+ * {@link StreamChannel}. A stream's channel is created when its first SRI arrives; packets for a stream without SRI
+ * are ignored.
+ */
+public class StreamDemuxReceiver extends AbstractUberBulkIOPort {
+
+	/**
+	 * Creates the channel for a new stream, or returns null if the stream should be ignored.
+	 */
+	public interface ChannelFactory {
+		StreamChannel createChannel(StreamDemuxReceiver receiver, String streamID) throws IOException;
+	}
+
+	private final ScaUsesPort port;
+	private final String name;
+	private final String connectionID;
+	private final ChannelFactory factory;
+	private final Map<String, StreamChannel> channels = new ConcurrentHashMap<String, StreamChannel>();
+	private volatile boolean processing;
+	private volatile IOException exception;
+	private boolean connected;
+
+	/**
+	 * @param name A name for the port which is unique within the capture
+	 * @param connectionID The connection ID to use, or null to generate one
+	 */
+	public StreamDemuxReceiver(ScaUsesPort port, String name, String connectionID, ChannelFactory factory) {
+		setBulkIOType(BulkIOType.getType(port.getRepid()));
+		this.port = port;
+		this.name = name;
+		this.connectionID = connectionID;
+		this.factory = factory;
+	}
+
+	public ScaUsesPort getPort() {
+		return port;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The channels for each stream received so far
+	 */
+	public List<StreamChannel> getChannels() {
+		return new ArrayList<StreamChannel>(channels.values());
+	}
+
+	/**
+	 * @return The first error creating or writing to a channel, or null
+	 */
+	public IOException getException() {
+		return exception;
+	}
+
+	/**
+	 * @param processing Whether received SRI and packets should be written. This should be set before connecting, since
+	 * the current SRI is usually pushed as part of connecting.
+	 */
+	public void setProcessing(boolean processing) {
+		this.processing = processing;
+	}
+
+	public void connect() throws CoreException {
+		String ior = port.getIor();
+		if (ior == null) {
+			throw new CoreException(new Status(IStatus.ERROR, SnapshotActivator.PLUGIN_ID, "Port " + name + " has no object reference"));
+		}
+		BulkIOUtilActivator.getBulkIOPortConnectionManager().connect(ior, getBulkIOType(), this, connectionID);
+		connected = true;
+	}
+
+	public void disconnect() {
+		if (connected) {
+			connected = false;
+			BulkIOUtilActivator.getBulkIOPortConnectionManager().disconnect(port.getIor(), getBulkIOType(), this, connectionID);
+		}
+	}
+
+	@Override
+	protected synchronized void handleStreamSRIChanged(String streamID, StreamSRI oldSri, StreamSRI newSri) {
+		if (!processing || exception != null) {
+			return;
+		}
+		try {
+			StreamChannel channel = channels.get(streamID);
+			if (channel == null) {
+				channel = factory.createChannel(this, streamID);
+				if (channel == null) {
+					return;
+				}
+				channels.put(streamID, channel);
+				channel.open(newSri);
+			} else {
+				channel.pushSRI(newSri);
+			}
+		} catch (IOException e) {
+			setException(e);
+		}
+	}
+
+	private void setException(IOException e) {
+		if (exception == null) {
+			exception = e;
+		}
+	}
+
+	/**
+	 * @return The channel to write a packet to, or null if the packet should be dropped
+	 */
+	private StreamChannel getChannel(int length, PrecisionUTCTime time, boolean eos, String streamID) {
+		super.pushPacket(length, time, eos, streamID);
+		if (!processing || exception != null) {
+			return null;
+		}
+		return channels.get(streamID);
+	}
+
+	private void push(StreamChannel channel, Object data, PrecisionUTCTime time, boolean eos, int byteLength) {
+		try {
+			channel.pushPacket(data, time, eos, byteLength);
+		} catch (IOException e) {
+			setException(e);
+		}
+	}
+
+	@Override
+	public void pushPacket(BitSequence data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.bits, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, (data.bits + 7) / 8);
+		}
+	}
+
+	@Override
+	public void pushPacket(char[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length * Character.BYTES);
+		}
+	}
+
+	@Override
+	public void pushPacket(double[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length * Double.BYTES);
+		}
+	}
+
+	@Override
+	public void pushPacket(float[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length * Float.BYTES);
+		}
+	}
+
+	@Override
+	public void pushPacket(long[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length * Long.BYTES);
+		}
+	}
+
+	@Override
+	public void pushPacket(int[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length * Integer.BYTES);
+		}
+	}
+
+	@Override
+	public void pushPacket(byte[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length);
+		}
+	}
+
+	@Override
+	public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) {
+		StreamChannel channel = getChannel(data.length, time, eos, streamID);
+		if (channel != null) {
+			push(channel, data, time, eos, data.length * Short.BYTES);
+		}
+	}
+
+}
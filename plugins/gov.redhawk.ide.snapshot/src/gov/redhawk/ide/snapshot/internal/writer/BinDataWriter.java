@@ -15,8 +15,6 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.DoubleBuffer;
-import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
@@ -25,6 +23,7 @@ import java.nio.channels.FileChannel;
 import BULKIO.BitSequence;
 import BULKIO.PrecisionUTCTime;
 import gov.redhawk.bulkio.util.BulkIOType;
+import gov.redhawk.ide.snapshot.internal.writer.BinDataWriterSettings.WriteMode;
 import gov.redhawk.ide.snapshot.writer.BaseDataWriter;
 import gov.redhawk.ide.snapshot.writer.IDataWriterSettings;
 import mil.jpeojtrs.sca.util.UnsignedUtils;
@@ -33,6 +32,8 @@ import mil.jpeojtrs.sca.util.UnsignedUtils;
  * NOTE1: the BulkIO data type MUST NOT be changing during a Port snapshot.
  * NOTE2: this class is NOT meant to have pushPacket(..) calls from different threads simultaneously,
  * that should never happen in normal operation.
+ * NOTE3: in {@link WriteMode#BLOCK} mode (the default) data is only written to the file once a block is full, or when
+ * the writer is closed.
  */
 public abstract class BinDataWriter extends BaseDataWriter {
 
@@ -40,6 +41,11 @@ public abstract class BinDataWriter extends BaseDataWriter {
 	private FileChannel fileChannel;
 	private ByteBuffer byteBuffer;
 	private ByteOrder byteOrder;
+
+	/**
+	 * Pushes are coalesced here in {@link WriteMode#BLOCK} mode; null in {@link WriteMode#DIRECT} mode.
+	 */
+	private ByteBuffer blockBuffer;
 	private long numSamples;
 	private BitStream bitStream;
 
@@ -61,11 +67,24 @@ public abstract class BinDataWriter extends BaseDataWriter {
 		} else {
 			bitStream = null;
 		}
+		WriteMode writeMode;
+		int blockSize;
 		if (settings instanceof BinDataWriterSettings) {
 			BinDataWriterSettings binSettings = (BinDataWriterSettings) settings;
 			byteOrder = binSettings.getByteOrder();
+			writeMode = binSettings.getWriteMode();
+			blockSize = binSettings.getBlockSize();
 		} else {
 			byteOrder = BinDataWriterSettings.DEFAULT_BYTE_ORDER;
+			writeMode = BinDataWriterSettings.DEFAULT_WRITE_MODE;
+			blockSize = BinDataWriterSettings.DEFAULT_BLOCK_SIZE;
+		}
+		if (writeMode == WriteMode.BLOCK) {
+			// Round up to a whole number of atoms of any size
+			blockBuffer = ByteBuffer.allocateDirect((blockSize + 7) & ~7);
+			blockBuffer.order(byteOrder);
+		} else {
+			blockBuffer = null;
 		}
 		
 		setOpen(true);
@@ -83,109 +102,204 @@ public abstract class BinDataWriter extends BaseDataWriter {
 		return buffer;
 	}
 
+	/**
+	 * Gets a buffer to put atoms into, positioned where the atoms should go. In {@link WriteMode#DIRECT} mode the
+	 * buffer has room for all of the atoms; in {@link WriteMode#BLOCK} mode it is the block buffer, which has room for
+	 * at least one atom. Call {@link #release(ByteBuffer, int)} after putting the atoms in the buffer.
+	 * @param atoms The number of atoms remaining to be written
+	 * @param bytesPerAtom
+	 */
+	private ByteBuffer reserve(int atoms, int bytesPerAtom) throws IOException {
+		if (blockBuffer == null) {
+			return allocateByteBuffer(atoms * bytesPerAtom);
+		}
+		if (blockBuffer.remaining() < bytesPerAtom) {
+			flushBlock();
+		}
+		return blockBuffer;
+	}
+
+	/**
+	 * @return The number of atoms which can be put in a buffer from {@link #reserve(int, int)}
+	 */
+	private int fit(ByteBuffer buffer, int atoms, int bytesPerAtom) {
+		return Math.min(atoms, buffer.remaining() / bytesPerAtom);
+	}
+
+	/**
+	 * Advances the buffer past the atoms put into it via a view buffer, and writes it if not coalescing pushes.
+	 */
+	private void release(ByteBuffer buffer, int bytes) throws IOException {
+		buffer.position(buffer.position() + bytes);
+		if (buffer != blockBuffer) {
+			buffer.flip();
+			writeFully(buffer);
+		}
+	}
+
+	private void flushBlock() throws IOException {
+		blockBuffer.flip();
+		writeFully(blockBuffer);
+		blockBuffer.clear();
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			fileChannel.write(buffer);
+		}
+	}
+
+	private void writeBytes(byte[] data, int length) throws IOException {
+		if (blockBuffer == null) {
+			writeFully(ByteBuffer.wrap(data, 0, length));
+			return;
+		}
+		for (int offset = 0; offset < length;) {
+			ByteBuffer buffer = reserve(length - offset, 1);
+			int count = fit(buffer, length - offset, 1);
+			buffer.put(data, offset, count);
+			offset += count;
+		}
+	}
+
 	@Override
 	public void pushPacket(BitSequence data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
 		BitSequence newBuffer = bitStream.handleBitBuffer(data);
-		fileChannel.write(ByteBuffer.wrap(newBuffer.data, 0, newBuffer.bits / 8));
+		writeBytes(newBuffer.data, newBuffer.bits / 8);
 		numSamples += newBuffer.bits;
 	}
 
 	@Override
 	public void pushPacket(char[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer = allocateByteBuffer(data.length * getSettings().getType().getBytePerAtom());
-		for (int i = 0; i < data.length; i++) {
-			buffer.putChar(data[i]);
+		int bytesPerAtom = getSettings().getType().getBytePerAtom();
+		for (int offset = 0; offset < data.length;) {
+			ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+			int count = fit(buffer, data.length - offset, bytesPerAtom);
+			buffer.asCharBuffer().put(data, offset, count);
+			release(buffer, count * bytesPerAtom);
+			offset += count;
 		}
-		fileChannel.write(buffer);
 		numSamples += data.length;
 	}
 
 	@Override
 	public void pushPacket(double[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer = allocateByteBuffer(data.length * getSettings().getType().getBytePerAtom());
-		DoubleBuffer tBuff = buffer.asDoubleBuffer();
-		tBuff.put(data, 0, data.length);
-		fileChannel.write(buffer);
+		int bytesPerAtom = getSettings().getType().getBytePerAtom();
+		for (int offset = 0; offset < data.length;) {
+			ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+			int count = fit(buffer, data.length - offset, bytesPerAtom);
+			buffer.asDoubleBuffer().put(data, offset, count);
+			release(buffer, count * bytesPerAtom);
+			offset += count;
+		}
 		numSamples += data.length;
 	}
 
 	@Override
 	public void pushPacket(float[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer = allocateByteBuffer(data.length * getSettings().getType().getBytePerAtom());
-		FloatBuffer tBuff = buffer.asFloatBuffer();
-		tBuff.put(data, 0, data.length);
-		fileChannel.write(buffer);
+		int bytesPerAtom = getSettings().getType().getBytePerAtom();
+		for (int offset = 0; offset < data.length;) {
+			ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+			int count = fit(buffer, data.length - offset, bytesPerAtom);
+			buffer.asFloatBuffer().put(data, offset, count);
+			release(buffer, count * bytesPerAtom);
+			offset += count;
+		}
 		numSamples += data.length;
 	}
 
 	@Override
 	public void pushPacket(long[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer;
 		boolean upcastUnsignedType = getSettings().isUpcastUnsigned() && getSettings().getType().isUnsigned();
 		if (upcastUnsignedType) {
 			throw new IOException("Can not store ulong long as upcasted value.");
 			// TODO -should we still have to signed 64-bit integer and cap upper value like in corbareceiver?
-		} else {
-			buffer = allocateByteBuffer(data.length * getSettings().getType().getBytePerAtom());
-			LongBuffer tBuff = buffer.asLongBuffer();
-			tBuff.put(data, 0, data.length);
 		}
-		fileChannel.write(buffer);
+		int bytesPerAtom = getSettings().getType().getBytePerAtom();
+		for (int offset = 0; offset < data.length;) {
+			ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+			int count = fit(buffer, data.length - offset, bytesPerAtom);
+			buffer.asLongBuffer().put(data, offset, count);
+			release(buffer, count * bytesPerAtom);
+			offset += count;
+		}
 		numSamples += data.length;
 	}
 
 	@Override
 	public void pushPacket(int[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer;
 		boolean upcastUnsignedType = getSettings().isUpcastUnsigned() && getSettings().getType().isUnsigned();
 		if (upcastUnsignedType) {
-			buffer = allocateByteBuffer(data.length * BulkIOType.LONG_LONG.getBytePerAtom());
-			LongBuffer tBuff = buffer.asLongBuffer();
-			for (int i = 0; i < data.length; i++) {
-				tBuff.put(UnsignedUtils.toSigned(data[i]));
+			int bytesPerAtom = BulkIOType.LONG_LONG.getBytePerAtom();
+			for (int offset = 0; offset < data.length;) {
+				ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+				int count = fit(buffer, data.length - offset, bytesPerAtom);
+				LongBuffer tBuff = buffer.asLongBuffer();
+				for (int i = offset; i < offset + count; i++) {
+					tBuff.put(UnsignedUtils.toSigned(data[i]));
+				}
+				release(buffer, count * bytesPerAtom);
+				offset += count;
 			}
 		} else {
-			buffer = allocateByteBuffer(data.length * getSettings().getType().getBytePerAtom());
-			IntBuffer tBuff = buffer.asIntBuffer();
-			tBuff.put(data, 0, data.length);
+			int bytesPerAtom = getSettings().getType().getBytePerAtom();
+			for (int offset = 0; offset < data.length;) {
+				ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+				int count = fit(buffer, data.length - offset, bytesPerAtom);
+				buffer.asIntBuffer().put(data, offset, count);
+				release(buffer, count * bytesPerAtom);
+				offset += count;
+			}
 		}
-		fileChannel.write(buffer);
 		numSamples += data.length;
 	}
 
 	@Override
 	public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer;
 		boolean upcastUnsignedType = getSettings().isUpcastUnsigned() && getSettings().getType().isUnsigned();
 		if (upcastUnsignedType) {
-			buffer = allocateByteBuffer(data.length * BulkIOType.LONG.getBytePerAtom());
-			IntBuffer tBuff = buffer.asIntBuffer();
-			for (int i = 0; i < data.length; i++) {
-				tBuff.put(UnsignedUtils.toSigned(data[i]));
+			int bytesPerAtom = BulkIOType.LONG.getBytePerAtom();
+			for (int offset = 0; offset < data.length;) {
+				ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+				int count = fit(buffer, data.length - offset, bytesPerAtom);
+				IntBuffer tBuff = buffer.asIntBuffer();
+				for (int i = offset; i < offset + count; i++) {
+					tBuff.put(UnsignedUtils.toSigned(data[i]));
+				}
+				release(buffer, count * bytesPerAtom);
+				offset += count;
 			}
 		} else {
-			buffer = allocateByteBuffer(data.length * getSettings().getType().getBytePerAtom());
-			ShortBuffer tBuf = buffer.asShortBuffer();
-			tBuf.put(data, 0, data.length);
+			int bytesPerAtom = getSettings().getType().getBytePerAtom();
+			for (int offset = 0; offset < data.length;) {
+				ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+				int count = fit(buffer, data.length - offset, bytesPerAtom);
+				buffer.asShortBuffer().put(data, offset, count);
+				release(buffer, count * bytesPerAtom);
+				offset += count;
+			}
 		}
-		fileChannel.write(buffer);
 		numSamples += data.length;
 	}
 
 	@Override
 	public void pushPacket(byte[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		ByteBuffer buffer;
 		boolean upcastUnsignedType = getSettings().isUpcastUnsigned() && getSettings().getType().isUnsigned();
 		if (upcastUnsignedType) {
-			buffer = allocateByteBuffer(data.length * BulkIOType.SHORT.getBytePerAtom());
-			ShortBuffer tBuff = buffer.asShortBuffer();
-			for (int i = 0; i < data.length; i++) {
-				tBuff.put(UnsignedUtils.toSigned(data[i]));
+			int bytesPerAtom = BulkIOType.SHORT.getBytePerAtom();
+			for (int offset = 0; offset < data.length;) {
+				ByteBuffer buffer = reserve(data.length - offset, bytesPerAtom);
+				int count = fit(buffer, data.length - offset, bytesPerAtom);
+				ShortBuffer tBuff = buffer.asShortBuffer();
+				for (int i = offset; i < offset + count; i++) {
+					tBuff.put(UnsignedUtils.toSigned(data[i]));
+				}
+				release(buffer, count * bytesPerAtom);
+				offset += count;
 			}
 		} else {
-			buffer = ByteBuffer.wrap(data, 0, data.length);
+			writeBytes(data, data.length);
 		}
-		fileChannel.write(buffer);
 		numSamples += data.length;
 	}
 
@@ -197,11 +311,15 @@ public abstract class BinDataWriter extends BaseDataWriter {
 			if (bitStream != null) {
 				BitSequence finalBits = bitStream.getFinalBits();
 				if (finalBits.bits > 0) {
-					fileChannel.write(ByteBuffer.wrap(finalBits.data, 0, 1));
+					writeBytes(finalBits.data, 1);
 					numSamples += finalBits.bits;
 				}
 				bitStream = null;
 			}
+			if (blockBuffer != null) {
+				flushBlock();
+				blockBuffer = null;
+			}
 
 			saveMetaData();
 
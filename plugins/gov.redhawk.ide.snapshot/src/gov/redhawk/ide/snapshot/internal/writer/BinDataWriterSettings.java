@@ -16,9 +16,29 @@ import java.nio.ByteOrder;
 
 public class BinDataWriterSettings extends DefaultDataWriterSettings {
 
+	/**
+	 * How pushed data is written to the file.
+	 */
+	public enum WriteMode {
+		/**
+		 * Each push is written to the file as it arrives.
+		 */
+		DIRECT,
+
+		/**
+		 * Pushes are coalesced in memory, and written to the file one full block at a time. Blocks start at multiples of
+		 * the block size in the file.
+		 */
+		BLOCK
+	}
+
 	static final ByteOrder DEFAULT_BYTE_ORDER = ByteOrder.nativeOrder(); // default to machine's native byte-order for best performance
+	static final WriteMode DEFAULT_WRITE_MODE = WriteMode.BLOCK;
+	static final int DEFAULT_BLOCK_SIZE = 1 << 20; // 1 MiB; a multiple of the page size and of every atom size
 
 	private ByteOrder byteOrder = DEFAULT_BYTE_ORDER; 
+	private WriteMode writeMode = DEFAULT_WRITE_MODE;
+	private int blockSize = DEFAULT_BLOCK_SIZE;
 
 	public ByteOrder getByteOrder() {
 		return byteOrder;
@@ -27,4 +47,27 @@ public class BinDataWriterSettings extends DefaultDataWriterSettings {
 	public void setByteOrder(ByteOrder byteOrder) {
 		this.byteOrder = byteOrder;
 	}
+
+	public WriteMode getWriteMode() {
+		return writeMode;
+	}
+
+	public void setWriteMode(WriteMode writeMode) {
+		this.writeMode = writeMode;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * @param blockSize The size of the blocks written in {@link WriteMode#BLOCK} mode. This is rounded up to a multiple
+	 * of 8 bytes so that a block always holds a whole number of atoms.
+	 */
+	public void setBlockSize(int blockSize) {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("The block size must be positive");
+		}
+		this.blockSize = blockSize;
+	}
 }
@@ -14,6 +14,9 @@ import BULKIO.BitSequence;
 
 /**
  * Handles packing a series of bit buffers so that they form a contiguous stream of bits.
+ * <p/>
+ * When bits are left over from a previous buffer, the new buffer is realigned 64 bits at a time into a buffer which is
+ * re-used between calls, so a stream of odd-sized buffers doesn't allocate memory for each buffer.
  */
 public class BitStream {
 
@@ -28,59 +31,106 @@ public class BitStream {
 	 */
 	private int leftoverBitLen = 0;
 
+	/**
+	 * Holds realigned bits. Only grows.
+	 */
+	private byte[] realigned = new byte[0];
+
+	/**
+	 * Returned by {@link #handleBitBuffer(BitSequence)}.
+	 */
+	private final BitSequence result = new BitSequence(new byte[0], 0);
+
 	/**
 	 * Appends the passed-in bits to the end of the buffer, and then returns bits starting at the beginning of the
 	 * buffer. The method returns as many bits as possible, but always returns a multiple of 8 so that the bytes
 	 * holding those bits are fully packed.
 	 * <p/>
-	 * When there is no more data to append to the stream, call {@link #getFinalBitBufferByte()} to see if there are
-	 * any bits left in the stream.
+	 * The returned {@link BitSequence} (and its data) is re-used, and is only valid until the next call. When there is
+	 * no more data to append to the stream, call {@link #getFinalBits()} to see if there are any bits left in the
+	 * stream.
 	 * @param data The data to append to the stream
 	 * @return A bit buffer of the stream beginning whose length is a multiple of 8
-	 * @see #getFinalBitBufferByte()
+	 * @see #getFinalBits()
 	 */
 	public BitSequence handleBitBuffer(BitSequence data) {
-		// If there were leftover bits from the last push, place them at the beginning of the data we just received
-		final byte[] newBuffer;
-		final int newBufferBitLen;
+		final int totalBits = leftoverBitLen + data.bits;
+		final byte[] buffer;
 		if (leftoverBitLen == 0) {
-			newBufferBitLen = data.bits;
-			newBuffer = data.data;
+			// Already aligned
+			buffer = data.data;
 		} else {
-			// Create a new buffer which can hold the left over bits plus the new ones
-			newBufferBitLen = data.bits + leftoverBitLen;
-			newBuffer = new byte[newBufferBitLen / 8 + 1];
-			newBuffer[0] = leftoverBits;
-
-			// upperBitsMask is used to take bits from the upper portion (MSB -> x) of a byte in data. These get shifted
-			// right (down) and put in newBuffer.
-			int upperBitsMask = (1 << (8 - leftoverBitLen)) - 1;
-
-			// lowerBitsShift is used to take bits from the lower portion (x -> LSB) of a byte in data, shift them left
-			// (up) and put them in newBuffer.
-			int lowerBitsShift = 8 - leftoverBitLen;
-
-			// Shift bits
-			for (int i = 0; i < newBuffer.length - 1; i++) {
-				newBuffer[i] |= data.data[i] >> leftoverBitLen & upperBitsMask;
-				newBuffer[i + 1] = (byte) (data.data[i] << lowerBitsShift & 0xFF);
-			}
-			if (newBufferBitLen % 8 != 0) {
-				newBuffer[newBuffer.length - 1] |= data.data[data.data.length - 1] >> leftoverBitLen & upperBitsMask;
-			}
+			buffer = realign(data);
 		}
 
 		// If the number of bits wasn't divisible by 8, there are some leftover bits we'll need to hold on to
-		leftoverBitLen = newBufferBitLen % 8;
+		leftoverBitLen = totalBits % 8;
 		if (leftoverBitLen == 0) {
 			leftoverBits = 0;
 		} else {
 			int mask = ~((0x100 >> leftoverBitLen) - 1);
-			leftoverBits = (byte) (newBuffer[newBufferBitLen / 8] & mask);
+			leftoverBits = (byte) (buffer[totalBits / 8] & mask);
 		}
 
 		// Return what should actually be written
-		return new BitSequence(newBuffer, newBufferBitLen - (newBufferBitLen % 8));
+		result.data = buffer;
+		result.bits = totalBits - leftoverBitLen;
+		return result;
+	}
+
+	/**
+	 * Places the leftover bits followed by the new bits in {@link #realigned}.
+	 * @return The realigned buffer, holding at least <code>ceil((leftoverBitLen + data.bits) / 8)</code> bytes
+	 */
+	private byte[] realign(BitSequence data) {
+		final byte[] in = data.data;
+		final int inLen = Math.min(in.length, (data.bits + 7) / 8);
+		final int outLen = (leftoverBitLen + data.bits + 7) / 8;
+		if (realigned.length < outLen) {
+			realigned = new byte[Math.max(outLen, realigned.length * 2)];
+		}
+		final byte[] out = realigned;
+
+		// Each output word is the low bits of the previous input word, followed by the high bits of the next
+		final int shift = leftoverBitLen;
+		long carry = (leftoverBits & 0xFFL) << 56;
+		final int words = Math.min(inLen, outLen) / 8;
+		for (int word = 0, i = 0; word < words; word++, i += 8) {
+			long value = getLong(in, i);
+			putLong(out, i, carry | (value >>> shift));
+			carry = value << (64 - shift);
+		}
+
+		// Finish a byte at a time. Any bytes past the end of the input only hold carried bits.
+		int carryByte = (int) (carry >>> 56);
+		for (int i = words * 8; i < outLen; i++) {
+			int value = (i < inLen) ? in[i] & 0xFF : 0;
+			out[i] = (byte) (carryByte | (value >>> shift));
+			carryByte = (value << (8 - shift)) & 0xFF;
+		}
+		return out;
+	}
+
+	/**
+	 * Reads 8 bytes as a big-endian (MSB first) long.
+	 */
+	private static long getLong(byte[] b, int i) {
+		return ((long) b[i] << 56) | ((b[i + 1] & 0xFFL) << 48) | ((b[i + 2] & 0xFFL) << 40) | ((b[i + 3] & 0xFFL) << 32) | ((b[i + 4] & 0xFFL) << 24)
+			| ((b[i + 5] & 0xFFL) << 16) | ((b[i + 6] & 0xFFL) << 8) | (b[i + 7] & 0xFFL);
+	}
+
+	/**
+	 * Writes a long as 8 big-endian (MSB first) bytes.
+	 */
+	private static void putLong(byte[] b, int i, long value) {
+		b[i] = (byte) (value >>> 56);
+		b[i + 1] = (byte) (value >>> 48);
+		b[i + 2] = (byte) (value >>> 40);
+		b[i + 3] = (byte) (value >>> 32);
+		b[i + 4] = (byte) (value >>> 24);
+		b[i + 5] = (byte) (value >>> 16);
+		b[i + 6] = (byte) (value >>> 8);
+		b[i + 7] = (byte) value;
 	}
 
 	/**
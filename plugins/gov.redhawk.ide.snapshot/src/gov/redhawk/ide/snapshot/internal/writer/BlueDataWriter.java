@@ -38,6 +38,14 @@ public class BlueDataWriter extends BaseDataWriter {
 
 	private BitStream bitStream;
 
+	/**
+	 * Re-usable buffers for converting packets. These only grow, so a steady stream of packets doesn't create garbage.
+	 */
+	private byte[] byteScratch = new byte[0];
+	private short[] shortScratch = new short[0];
+	private int[] intScratch = new int[0];
+	private long[] longScratch = new long[0];
+
 	/**
 	 * This method maps a BulkIO type from SRI to an X-Midas digraph format (e.g. "SI", "CF", etc)
 	 * @param sri The BULKIO SRI (used to determine scalar / complex)
@@ -106,29 +114,17 @@ public class BlueDataWriter extends BaseDataWriter {
 
 	@Override
 	public void pushPacket(char[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		final byte type = Data.INT;
-		final int bufferSize = data.length * Data.getBPS(type);
-		byte[] byteBuffer = new byte[bufferSize];
-		Convert.ja2bb(data, 0, type, byteBuffer, 0, type, data.length);
-		df.write(byteBuffer, 0, bufferSize);
+		write(data, Data.INT, data.length);
 	}
 
 	@Override
 	public void pushPacket(double[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		final byte type = Data.DOUBLE;
-		final int bufferSize = data.length * Data.getBPS(type);
-		byte[] byteBuffer = new byte[bufferSize];
-		Convert.ja2bb(data, 0, type, byteBuffer, 0, type, data.length);
-		df.write(byteBuffer, 0, bufferSize);
+		write(data, Data.DOUBLE, data.length);
 	}
 
 	@Override
 	public void pushPacket(float[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
-		final byte type = Data.FLOAT;
-		final int bufferSize = data.length * Data.getBPS(type);
-		byte[] byteBuffer = new byte[bufferSize];
-		Convert.ja2bb(data, 0, type, byteBuffer, 0, type, data.length);
-		df.write(byteBuffer, 0, bufferSize);
+		write(data, Data.FLOAT, data.length);
 	}
 
 	@Override
@@ -137,61 +133,88 @@ public class BlueDataWriter extends BaseDataWriter {
 			throw new IOException("Can not upcast unsigned long");
 			// should we clip to Long.MAX_VALUE like corbareceiver?
 		} else {
-			final byte type = Data.XLONG;
-			final int bufferSize = data.length * Data.getBPS(type);
-			byte[] byteBuffer = new byte[bufferSize];
-			Convert.ja2bb(data, 0, type, byteBuffer, 0, type, data.length);
-			df.write(byteBuffer, 0, bufferSize);
+			write(data, Data.XLONG, data.length);
 		}
 	}
 
 	@Override
 	public void pushPacket(int[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
 		if (isUnsignedData()) {
-			final byte type = Data.XLONG; // upcast to next larger signed type
-			final int bufferSize = data.length * Data.getBPS(type);
-			byte[] byteBuffer = new byte[bufferSize];
-			Convert.ja2bb(UnsignedUtils.toSigned(data), 0, type, byteBuffer, 0, type, data.length);
-			df.write(byteBuffer, 0, bufferSize);
+			// upcast to next larger signed type
+			long[] upcast = getLongScratch(data.length);
+			for (int i = 0; i < data.length; i++) {
+				upcast[i] = UnsignedUtils.toSigned(data[i]);
+			}
+			write(upcast, Data.XLONG, data.length);
 		} else {
-			final byte type = Data.LONG;
-			final int bufferSize = data.length * Data.getBPS(type);
-			byte[] byteBuffer = new byte[bufferSize];
-			Convert.ja2bb(data, 0, type, byteBuffer, 0, type, data.length);
-			df.write(byteBuffer, 0, bufferSize);
+			write(data, Data.LONG, data.length);
 		}
 	}
 
 	@Override
 	public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
 		if (isUnsignedData()) {
-			final byte type = Data.LONG; // upcast to next larger signed type
-			final int bufferSize = data.length * Data.getBPS(type);
-			byte[] byteBuffer = new byte[bufferSize];
-			Convert.ja2bb(UnsignedUtils.toSigned(data), 0, type, byteBuffer, 0, type, data.length);
-			df.write(byteBuffer, 0, bufferSize);
+			// upcast to next larger signed type
+			int[] upcast = getIntScratch(data.length);
+			for (int i = 0; i < data.length; i++) {
+				upcast[i] = UnsignedUtils.toSigned(data[i]);
+			}
+			write(upcast, Data.LONG, data.length);
 		} else {
-			final byte type = Data.INT;
-			final int bufferSize = data.length * Data.getBPS(type);
-			byte[] byteBuffer = new byte[bufferSize];
-			Convert.ja2bb(data, 0, type, byteBuffer, 0, type, data.length);
-			df.write(byteBuffer, 0, bufferSize);
+			write(data, Data.INT, data.length);
 		}
 	}
 
 	@Override
 	public void pushPacket(byte[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
 		if (isUnsignedData()) {
-			final byte type = Data.INT; // upcast to next larger signed type
-			final int bufferSize = data.length * Data.getBPS(type);
-			byte[] byteBuffer = new byte[bufferSize];
-			Convert.ja2bb(UnsignedUtils.toSigned(data), 0, type, byteBuffer, 0, type, data.length);
-			df.write(byteBuffer, 0, bufferSize);
+			// upcast to next larger signed type
+			short[] upcast = getShortScratch(data.length);
+			for (int i = 0; i < data.length; i++) {
+				upcast[i] = UnsignedUtils.toSigned(data[i]);
+			}
+			write(upcast, Data.INT, data.length);
 		} else {
 			df.write(data, 0, data.length);
 		}
 	}
 
+	/**
+	 * Converts atoms to bytes in the scratch buffer and writes them to the file.
+	 * @param data A Java primitive array
+	 * @param type The Midas type of the atoms in the array
+	 * @param length The number of atoms to write (may be less than the array length when using a scratch array)
+	 */
+	private void write(Object data, byte type, int length) throws IOException {
+		final int bufferSize = length * Data.getBPS(type);
+		if (byteScratch.length < bufferSize) {
+			byteScratch = new byte[bufferSize];
+		}
+		Convert.ja2bb(data, 0, type, byteScratch, 0, type, length);
+		df.write(byteScratch, 0, bufferSize);
+	}
+
+	private short[] getShortScratch(int length) {
+		if (shortScratch.length < length) {
+			shortScratch = new short[length];
+		}
+		return shortScratch;
+	}
+
+	private int[] getIntScratch(int length) {
+		if (intScratch.length < length) {
+			intScratch = new int[length];
+		}
+		return intScratch;
+	}
+
+	private long[] getLongScratch(int length) {
+		if (longScratch.length < length) {
+			longScratch = new long[length];
+		}
+		return longScratch;
+	}
+
 	@Override
 	public void close() throws IOException {
 		if (bitStream != null) {
@@ -209,6 +232,11 @@ public class BlueDataWriter extends BaseDataWriter {
 			df.close();
 			df = null;
 		}
+
+		byteScratch = new byte[0];
+		shortScratch = new short[0];
+		intScratch = new int[0];
+		longScratch = new long[0];
 	}
 
 }
@@ -0,0 +1,34 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.writer;
+
+/**
+ * What a {@link WriteBehindDataWriter} does with a push when its queue is full.
+ * @since 1.1
+ */
+public enum QueueFullPolicy {
+
+	/**
+	 * Wait for the writer thread to make room. This back-pressures the caller, but no data is lost.
+	 */
+	BLOCK,
+
+	/**
+	 * Discard the oldest queued packet to make room for the new one.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Fail the push with an {@link java.io.IOException}.
+	 */
+	FAIL;
+
+}
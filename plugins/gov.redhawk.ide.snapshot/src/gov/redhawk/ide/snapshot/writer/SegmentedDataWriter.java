@@ -0,0 +1,267 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+
+import BULKIO.BitSequence;
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+
+/**
+ * Splits a capture into a series of segments, each written by its own writer (and so with its own metadata file).
+ * A new segment is started when the current one reaches a size or duration limit. Optionally, only the most recent
+ * segments are kept, with older segments deleted as new ones are started, so a capture can run indefinitely in a
+ * bounded amount of disk space.
+ * <p/>
+ * Segments are named after the destination in the settings with a sequence number appended (e.g.
+ * <code>capture.bin</code> becomes <code>capture_0000.bin</code>, <code>capture_0001.bin</code>, etc). Segments
+ * only change between packets, so a segment may exceed the size limit by up to one packet.
+ * @since 1.1
+ */
+public class SegmentedDataWriter implements IDataWriter {
+
+	private final IDataWriterDesc desc;
+	private final long maxSegmentBytes;
+	private final long maxSegmentMillis;
+	private final int maxSegments;
+
+	private IDataWriterSettings settings;
+
+	/**
+	 * The destination from the settings. The settings are changed to the destination of each segment while it's
+	 * written, and restored when this writer is closed.
+	 */
+	private Object baseDestination;
+
+	private StreamSRI sri;
+	private IDataWriter segment;
+	private int segmentIndex;
+	private long segmentBytes;
+	private long segmentStartMillis;
+
+	/**
+	 * The output files for each segment which hasn't been deleted, oldest first.
+	 */
+	private final Deque<List<File>> segmentFiles = new ArrayDeque<List<File>>();
+
+	/**
+	 * @param desc Used to create a writer for each segment
+	 * @param maxSegmentBytes Start a new segment once this many bytes of data have been written to the current one
+	 * (0 for no limit)
+	 * @param maxSegmentSeconds Start a new segment once the current one has been open this long (0 for no limit)
+	 * @param maxSegments Delete the oldest segments so that no more than this many are kept (0 to keep all)
+	 */
+	public SegmentedDataWriter(IDataWriterDesc desc, long maxSegmentBytes, double maxSegmentSeconds, int maxSegments) {
+		this.desc = desc;
+		this.maxSegmentBytes = maxSegmentBytes;
+		this.maxSegmentMillis = (long) (maxSegmentSeconds * 1000);
+		this.maxSegments = maxSegments;
+	}
+
+	@Override
+	public void setSettings(IDataWriterSettings settings) {
+		this.settings = settings;
+	}
+
+	@Override
+	public IDataWriterSettings getSettings() {
+		return settings;
+	}
+
+	@Override
+	public void open() throws IOException {
+		if (isOpen()) {
+			return;
+		}
+		baseDestination = settings.getDestination();
+		segmentIndex = 0;
+		segmentFiles.clear();
+		openSegment();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return segment != null && segment.isOpen();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (segment != null) {
+				segment.close();
+				segment = null;
+			}
+		} finally {
+			if (baseDestination != null) {
+				settings.setDestination(baseDestination);
+			}
+		}
+	}
+
+	@Override
+	public void pushSRI(StreamSRI sri) throws IOException {
+		this.sri = sri;
+		if (segment != null) {
+			segment.pushSRI(sri);
+		}
+	}
+
+	/**
+	 * @return The output files of the segments which have been written and not deleted
+	 */
+	@Override
+	public List<File> getOutputFileList() {
+		List<File> files = new ArrayList<File>();
+		for (List<File> segmentList : segmentFiles) {
+			files.addAll(segmentList);
+		}
+		return files;
+	}
+
+	/**
+	 * @return The number of segments which have been started
+	 */
+	public int getSegmentCount() {
+		return segmentIndex;
+	}
+
+	@Override
+	public void pushPacket(BitSequence data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += (data.bits + 7) / 8;
+	}
+
+	@Override
+	public void pushPacket(char[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length * Character.BYTES;
+	}
+
+	@Override
+	public void pushPacket(double[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length * Double.BYTES;
+	}
+
+	@Override
+	public void pushPacket(float[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length * Float.BYTES;
+	}
+
+	@Override
+	public void pushPacket(long[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length * Long.BYTES;
+	}
+
+	@Override
+	public void pushPacket(int[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length * Integer.BYTES;
+	}
+
+	@Override
+	public void pushPacket(byte[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length;
+	}
+
+	@Override
+	public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		beforePush();
+		segment.pushPacket(data, time, eos, streamID);
+		segmentBytes += data.length * Short.BYTES;
+	}
+
+	/**
+	 * Starts a new segment if the current one has data and has reached a limit.
+	 */
+	private void beforePush() throws IOException {
+		if (segment == null) {
+			throw new IOException("The writer is not open");
+		}
+		if (segmentBytes == 0) {
+			return;
+		}
+		boolean full = maxSegmentBytes > 0 && segmentBytes >= maxSegmentBytes;
+		boolean expired = maxSegmentMillis > 0 && System.currentTimeMillis() - segmentStartMillis >= maxSegmentMillis;
+		if (full || expired) {
+			segment.close();
+			segment = null;
+			openSegment();
+		}
+	}
+
+	private void openSegment() throws IOException {
+		settings.setDestination(getSegmentDestination(segmentIndex));
+		try {
+			segment = desc.createWriter();
+		} catch (CoreException e) {
+			throw new IOException("Unable to create a writer for segment " + segmentIndex, e);
+		}
+		segment.setSettings(settings);
+		if (sri != null) {
+			segment.pushSRI(sri);
+		}
+		segment.open();
+		segmentIndex++;
+		segmentBytes = 0;
+		segmentStartMillis = System.currentTimeMillis();
+
+		segmentFiles.addLast(new ArrayList<File>(segment.getOutputFileList()));
+		while (maxSegments > 0 && segmentFiles.size() > maxSegments) {
+			for (File file : segmentFiles.removeFirst()) {
+				if (file.exists() && !file.delete()) {
+					throw new IOException("Unable to delete old segment file " + file);
+				}
+			}
+		}
+	}
+
+	private Object getSegmentDestination(int index) {
+		if (baseDestination instanceof IFile) {
+			IFile file = (IFile) baseDestination;
+			return file.getParent().getFile(new Path(getSegmentName(file.getName(), index)));
+		} else if (baseDestination instanceof File) {
+			File file = (File) baseDestination;
+			return new File(file.getParentFile(), getSegmentName(file.getName(), index));
+		}
+		throw new IllegalStateException("Can not create segments for a destination of type " + baseDestination.getClass());
+	}
+
+	private static String getSegmentName(String name, int index) {
+		String suffix = String.format("_%04d", index);
+		int iLastDot = name.lastIndexOf('.');
+		if (iLastDot > 0) {
+			return name.substring(0, iLastDot) + suffix + name.substring(iLastDot);
+		}
+		return name + suffix;
+	}
+
+}
@@ -0,0 +1,678 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import BULKIO.BitSequence;
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+
+/**
+ * Decorates an {@link IDataWriter} so that pushes made after {@link #open()} are copied into a bounded ring of pooled
+ * buffers and written to the underlying writer by a dedicated thread, or by tasks run on an {@link Executor} which can
+ * be shared with other writers. The caller (e.g. a CORBA dispatch thread) only pays for the copy, so a slow disk does
+ * not back-pressure the component being observed unless the {@link QueueFullPolicy} says it should.
+ * <p/>
+ * Pushes made before {@link #open()} (e.g. the initial SRI) are passed straight through to the underlying writer.
+ * Buffers are re-used once written, so the underlying writer must not retain the arrays passed to it. An error from the
+ * underlying writer is reported by the next push, and by {@link #close()}.
+ * @since 1.1
+ */
+public class WriteBehindDataWriter implements IDataWriter {
+
+	/**
+	 * The default number of pushes (packets or SRIs) which may be queued.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * The number of entries a task run on a shared executor writes before giving its thread to other writers.
+	 */
+	private static final int BATCH = 16;
+
+	/**
+	 * A slot in the ring. The data buffer is kept when the slot is released so it can be re-used by a later push of
+	 * the same length.
+	 */
+	private static final class Entry {
+		private StreamSRI sri;
+		private Object data;
+		private int bytes;
+		private PrecisionUTCTime time;
+		private boolean eos;
+		private String streamID;
+
+		private void release() {
+			sri = null;
+			bytes = 0;
+			time = null;
+			streamID = null;
+		}
+	}
+
+	private final IDataWriter writer;
+	private final QueueFullPolicy policy;
+	private final Entry[] ring;
+	private final Executor executor;
+
+	/**
+	 * Index of the next entry the writer thread will take.
+	 */
+	private int head;
+
+	/**
+	 * Number of entries waiting to be written, not including the one the writer thread is working on.
+	 */
+	private int queued;
+
+	/**
+	 * True while the writer thread is working on the entry before {@link #head}.
+	 */
+	private boolean writing;
+
+	private boolean open;
+	private boolean closing;
+
+	/**
+	 * True from {@link #open()} to {@link #close()}, while pushes are queued rather than passed through.
+	 */
+	private boolean running;
+
+	/**
+	 * The dedicated writer thread, if there's no executor.
+	 */
+	private Thread writerThread;
+
+	/**
+	 * True while a task to write the queue has been submitted to the executor and hasn't finished.
+	 */
+	private boolean scheduled;
+	private IOException writerException;
+
+	/**
+	 * The most recent SRI discarded by {@link QueueFullPolicy#DROP_OLDEST}. It is still written (before the next
+	 * entry) so the output has the correct metadata for the data that follows.
+	 */
+	private StreamSRI droppedSRI;
+
+	private long queuedBytes;
+	private long peakQueuedBytes;
+	private long droppedPackets;
+	private long droppedBytes;
+	private long writtenPackets;
+	private long writtenBytes;
+	private long totalWriteNanos;
+	private long maxWriteNanos;
+
+	public WriteBehindDataWriter(IDataWriter writer) {
+		this(writer, DEFAULT_CAPACITY, QueueFullPolicy.BLOCK);
+	}
+
+	/**
+	 * @param writer The writer to write to
+	 * @param capacity The maximum number of pushes (packets or SRIs) which may be queued
+	 * @param policy What to do with a push when the queue is full
+	 */
+	public WriteBehindDataWriter(IDataWriter writer, int capacity, QueueFullPolicy policy) {
+		this(writer, capacity, policy, null);
+	}
+
+	/**
+	 * @param writer The writer to write to
+	 * @param capacity The maximum number of pushes (packets or SRIs) which may be queued
+	 * @param policy What to do with a push when the queue is full
+	 * @param executor Runs the writes, or null to use a dedicated thread. It must not be shut down until this writer
+	 * has been closed.
+	 */
+	public WriteBehindDataWriter(IDataWriter writer, int capacity, QueueFullPolicy policy, Executor executor) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The queue capacity must be at least 1");
+		}
+		this.writer = writer;
+		this.policy = policy;
+		this.executor = executor;
+		this.ring = new Entry[capacity];
+		for (int i = 0; i < capacity; i++) {
+			ring[i] = new Entry();
+		}
+	}
+
+	/**
+	 * @return The writer being written to
+	 */
+	public IDataWriter getDataWriter() {
+		return writer;
+	}
+
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	public QueueFullPolicy getPolicy() {
+		return policy;
+	}
+
+	@Override
+	public void setSettings(IDataWriterSettings settings) {
+		writer.setSettings(settings);
+	}
+
+	@Override
+	public IDataWriterSettings getSettings() {
+		return writer.getSettings();
+	}
+
+	@Override
+	public List<File> getOutputFileList() {
+		return writer.getOutputFileList();
+	}
+
+	@Override
+	public void open() throws IOException {
+		writer.open();
+		synchronized (this) {
+			open = true;
+			closing = false;
+			running = true;
+			writerException = null;
+			if (executor == null) {
+				writerThread = new Thread(this::drain, "Snapshot writer");
+				writerThread.setDaemon(true);
+				writerThread.start();
+			}
+		}
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		if (!running) {
+			return writer.isOpen();
+		}
+		return open;
+	}
+
+	/**
+	 * Waits for all queued pushes to be written, stops the writer thread, and closes the underlying writer.
+	 */
+	@Override
+	public void close() throws IOException {
+		Thread thread;
+		boolean interrupted = false;
+		synchronized (this) {
+			closing = true;
+			thread = writerThread;
+			notifyAll();
+			// Don't close the underlying writer while a task may still be using it
+			while (scheduled) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (thread != null) {
+			// Don't close the underlying writer while the writer thread may still be using it
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		IOException error;
+		synchronized (this) {
+			open = false;
+			running = false;
+			writerThread = null;
+			error = writerException;
+		}
+		writer.close();
+		if (error != null) {
+			throw new IOException("Error writing data", error);
+		}
+	}
+
+	@Override
+	public void pushSRI(StreamSRI sri) throws IOException {
+		synchronized (this) {
+			if (running) {
+				Entry entry = acquire();
+				entry.sri = sri;
+				publish(entry, 0);
+				return;
+			}
+		}
+		writer.pushSRI(sri);
+	}
+
+	@Override
+	public void pushPacket(BitSequence data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.data.length, data.data.length, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(char[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length * Character.BYTES, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(double[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length * Double.BYTES, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(float[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length * Float.BYTES, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(long[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length * Long.BYTES, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(int[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length * Integer.BYTES, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(byte[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	@Override
+	public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!enqueue(data, data.length, data.length * Short.BYTES, time, eos, streamID)) {
+			writer.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	/**
+	 * Copies a packet into the queue.
+	 * @return false if the writer thread isn't running, in which case the packet should be written directly
+	 */
+	private synchronized boolean enqueue(Object data, int length, int bytes, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+		if (!running) {
+			return false;
+		}
+		Entry entry = acquire();
+		entry.data = copy(data, length, entry.data);
+		entry.time = time;
+		entry.eos = eos;
+		entry.streamID = streamID;
+		publish(entry, bytes);
+		return true;
+	}
+
+	/**
+	 * Copies data into the pooled buffer if it's the right type and length, otherwise into a new buffer.
+	 * @return The buffer the data was copied to
+	 */
+	private static Object copy(Object data, int length, Object pooled) {
+		if (data instanceof BitSequence) {
+			BitSequence bits = (BitSequence) data;
+			BitSequence dest;
+			if (pooled instanceof BitSequence && ((BitSequence) pooled).data.length == length) {
+				dest = (BitSequence) pooled;
+			} else {
+				dest = new BitSequence(new byte[length], 0);
+			}
+			System.arraycopy(bits.data, 0, dest.data, 0, length);
+			dest.bits = bits.bits;
+			return dest;
+		}
+		Object dest = pooled;
+		if (dest == null || dest.getClass() != data.getClass() || Array.getLength(dest) != length) {
+			dest = Array.newInstance(data.getClass().getComponentType(), length);
+		}
+		System.arraycopy(data, 0, dest, 0, length);
+		return dest;
+	}
+
+	/**
+	 * Waits for (or makes) room in the ring per the policy. Must be called while holding the lock.
+	 * @return The free entry at the tail of the ring
+	 */
+	private Entry acquire() throws IOException {
+		while (true) {
+			if (writerException != null) {
+				throw new IOException("Error writing data", writerException);
+			}
+			if (closing) {
+				throw new IOException("The writer has been closed");
+			}
+			if (queued + (writing ? 1 : 0) < ring.length) {
+				return ring[(head + queued) % ring.length];
+			}
+			switch (policy) {
+			case DROP_OLDEST:
+				if (queued > 0) {
+					dropOldest();
+					break;
+				}
+				// The only entry is being written; wait for it
+				waitForWriter();
+				break;
+			case FAIL:
+				throw new IOException("The write queue is full (" + ring.length + " pushes, " + queuedBytes + " bytes)");
+			case BLOCK:
+			default:
+				waitForWriter();
+				break;
+			}
+		}
+	}
+
+	private void waitForWriter() throws InterruptedIOException {
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for space in the write queue");
+		}
+	}
+
+	private void dropOldest() {
+		Entry entry = ring[head];
+		if (entry.sri != null) {
+			droppedSRI = entry.sri;
+		} else {
+			droppedPackets++;
+			droppedBytes += entry.bytes;
+		}
+		queuedBytes -= entry.bytes;
+		entry.release();
+		head = (head + 1) % ring.length;
+		queued--;
+	}
+
+	/**
+	 * Must be called while holding the lock.
+	 */
+	private void publish(Entry entry, int bytes) throws IOException {
+		entry.bytes = bytes;
+		queued++;
+		queuedBytes += bytes;
+		if (queuedBytes > peakQueuedBytes) {
+			peakQueuedBytes = queuedBytes;
+		}
+		notifyAll();
+		if (executor != null && !scheduled) {
+			schedule();
+			if (writerException != null) {
+				throw new IOException("Error writing data", writerException);
+			}
+		}
+	}
+
+	/**
+	 * Submits a task to write the queue. Must be called while holding the lock.
+	 */
+	private void schedule() {
+		scheduled = true;
+		try {
+			executor.execute(this::drainBatch);
+		} catch (RejectedExecutionException e) {
+			scheduled = false;
+			fail(new IOException("The executor is no longer accepting writes", e));
+		}
+	}
+
+	/**
+	 * The writer thread's loop. Runs until the queue has been drained after {@link #close()}, or the underlying writer
+	 * fails.
+	 */
+	private void drain() {
+		while (true) {
+			Entry entry;
+			StreamSRI sri;
+			synchronized (this) {
+				while (queued == 0 && !closing) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						fail(new InterruptedIOException("The writer thread was interrupted"));
+						return;
+					}
+				}
+				if (queued == 0) {
+					return;
+				}
+				entry = take();
+				sri = droppedSRI;
+				droppedSRI = null;
+			}
+			if (!writeEntry(entry, sri)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * A task run on the executor. Writes up to {@link #BATCH} entries, then re-submits itself if there are more so
+	 * other writers sharing the executor get a turn.
+	 */
+	private void drainBatch() {
+		for (int i = 0; i < BATCH; i++) {
+			Entry entry;
+			StreamSRI sri;
+			synchronized (this) {
+				if (queued == 0) {
+					scheduled = false;
+					notifyAll();
+					return;
+				}
+				entry = take();
+				sri = droppedSRI;
+				droppedSRI = null;
+			}
+			if (!writeEntry(entry, sri)) {
+				synchronized (this) {
+					scheduled = false;
+					notifyAll();
+				}
+				return;
+			}
+		}
+		synchronized (this) {
+			if (queued == 0) {
+				scheduled = false;
+				notifyAll();
+			} else {
+				schedule();
+			}
+		}
+	}
+
+	/**
+	 * Takes the entry at the head of the ring for writing. Must be called while holding the lock.
+	 */
+	private Entry take() {
+		Entry entry = ring[head];
+		head = (head + 1) % ring.length;
+		queued--;
+		writing = true;
+		return entry;
+	}
+
+	/**
+	 * Writes an entry taken from the ring and releases it.
+	 * @param sri An SRI discarded from the queue which should be written first, or null
+	 * @return false if the underlying writer failed
+	 */
+	private boolean writeEntry(Entry entry, StreamSRI sri) {
+		IOException error = null;
+		long start = System.nanoTime();
+		try {
+			if (sri != null) {
+				writer.pushSRI(sri);
+			}
+			write(entry);
+		} catch (IOException e) {
+			error = e;
+		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE Writers may throw unchecked exceptions
+			error = new IOException(e);
+		}
+		long elapsed = System.nanoTime() - start;
+
+		synchronized (this) {
+			writing = false;
+			queuedBytes -= entry.bytes;
+			if (entry.sri == null) {
+				writtenPackets++;
+				writtenBytes += entry.bytes;
+				totalWriteNanos += elapsed;
+				if (elapsed > maxWriteNanos) {
+					maxWriteNanos = elapsed;
+				}
+			}
+			entry.release();
+			if (error != null) {
+				fail(error);
+				return false;
+			}
+			notifyAll();
+			return true;
+		}
+	}
+
+	/**
+	 * Records an error from the writer thread, discards the queue, and wakes anyone waiting for space. Must be called
+	 * while holding the lock.
+	 */
+	private void fail(IOException error) {
+		writerException = error;
+		while (queued > 0) {
+			Entry entry = ring[head];
+			entry.release();
+			head = (head + 1) % ring.length;
+			queued--;
+		}
+		queuedBytes = 0;
+		notifyAll();
+	}
+
+	private void write(Entry entry) throws IOException {
+		if (entry.sri != null) {
+			writer.pushSRI(entry.sri);
+			return;
+		}
+		Object data = entry.data;
+		if (data instanceof BitSequence) {
+			writer.pushPacket((BitSequence) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof char[]) {
+			writer.pushPacket((char[]) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof double[]) {
+			writer.pushPacket((double[]) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof float[]) {
+			writer.pushPacket((float[]) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof long[]) {
+			writer.pushPacket((long[]) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof int[]) {
+			writer.pushPacket((int[]) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof byte[]) {
+			writer.pushPacket((byte[]) data, entry.time, entry.eos, entry.streamID);
+		} else if (data instanceof short[]) {
+			writer.pushPacket((short[]) data, entry.time, entry.eos, entry.streamID);
+		}
+	}
+
+	/**
+	 * @return The number of pushes (packets or SRIs) currently waiting to be written
+	 */
+	public synchronized int getQueuedPushes() {
+		return queued + (writing ? 1 : 0);
+	}
+
+	/**
+	 * @return The number of bytes of packet data currently waiting to be written
+	 */
+	public synchronized long getQueuedBytes() {
+		return queuedBytes;
+	}
+
+	/**
+	 * @return The largest number of bytes of packet data that have been waiting to be written at once
+	 */
+	public synchronized long getPeakQueuedBytes() {
+		return peakQueuedBytes;
+	}
+
+	/**
+	 * @return The number of packets discarded by {@link QueueFullPolicy#DROP_OLDEST}
+	 */
+	public synchronized long getDroppedPackets() {
+		return droppedPackets;
+	}
+
+	/**
+	 * @return The number of bytes of packet data discarded by {@link QueueFullPolicy#DROP_OLDEST}
+	 */
+	public synchronized long getDroppedBytes() {
+		return droppedBytes;
+	}
+
+	/**
+	 * @return The number of packets written by the writer thread
+	 */
+	public synchronized long getWrittenPackets() {
+		return writtenPackets;
+	}
+
+	/**
+	 * @return The number of bytes of packet data written by the writer thread
+	 */
+	public synchronized long getWrittenBytes() {
+		return writtenBytes;
+	}
+
+	/**
+	 * @return The mean time, in nanoseconds, the underlying writer took to write a packet
+	 */
+	public synchronized long getAverageWriteLatency() {
+		return (writtenPackets == 0) ? 0 : totalWriteNanos / writtenPackets;
+	}
+
+	/**
+	 * @return The longest time, in nanoseconds, the underlying writer took to write a packet
+	 */
+	public synchronized long getMaxWriteLatency() {
+		return maxWriteNanos;
+	}
+
+}
@@ -11,8 +11,18 @@
 package gov.redhawk.ide.builders;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -23,22 +33,35 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 
+import gov.redhawk.ide.RedhawkIdeActivator;
 import gov.redhawk.ide.natures.ScaProjectNature;
 import mil.jpeojtrs.sca.dcd.DcdPackage;
+import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
+import mil.jpeojtrs.sca.partitioning.ComponentFile;
+import mil.jpeojtrs.sca.partitioning.ComponentFiles;
 import mil.jpeojtrs.sca.prf.PrfPackage;
 import mil.jpeojtrs.sca.sad.SadPackage;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
 import mil.jpeojtrs.sca.scd.ScdPackage;
+import mil.jpeojtrs.sca.spd.Implementation;
+import mil.jpeojtrs.sca.spd.SoftPkg;
 import mil.jpeojtrs.sca.spd.SpdPackage;
 
 public class SCABuilder extends IncrementalProjectBuilder {
@@ -46,18 +69,22 @@ public class SCABuilder extends IncrementalProjectBuilder {
 	/** The ID of this project builder. */
 	public static final String ID = "gov.redhawk.ide.builders.scaproject";
 
+	private static final ThreadFactory THREAD_FACTORY = runnable -> {
+		Thread thread = new Thread(runnable, SCABuilder.class.getName());
+		thread.setDaemon(true);
+		return thread;
+	};
+
 	/**
-	 * Determines if the delta contains SCA XML files.
+	 * Collects the SCA XML files in the delta which have been added or changed, and those which have been removed.
 	 */
 	private class DeltaVisitor implements IResourceDeltaVisitor {
 
-		private boolean shouldVisit = false;
+		private Set<IFile> changed = new LinkedHashSet<>();
+		private Set<IFile> removed = new LinkedHashSet<>();
 
 		@Override
 		public boolean visit(final IResourceDelta delta) throws CoreException {
-			if (this.shouldVisit) {
-				return false;
-			}
 			final IResource resource = delta.getResource();
 			if (resource instanceof IProject) {
 				return isInterestingProject((IProject) resource);
@@ -70,8 +97,13 @@ public class SCABuilder extends IncrementalProjectBuilder {
 			if (resource instanceof IFile) {
 				// see if this is it
 				final IFile candidate = (IFile) resource;
-				if (isScaResource(candidate)) {
-					this.shouldVisit = true;
+				if (!isScaResource(candidate)) {
+					return false;
+				}
+				if (delta.getKind() == IResourceDelta.REMOVED) {
+					removed.add(candidate);
+				} else if (delta.getKind() == IResourceDelta.ADDED || (delta.getFlags() & ~IResourceDelta.MARKERS) != 0) {
+					changed.add(candidate);
 				}
 			}
 			return false;
@@ -106,6 +138,23 @@ public class SCABuilder extends IncrementalProjectBuilder {
 		}
 	}
 
+	/**
+	 * The outcome of loading and validating one file
+	 */
+	private static class Validation {
+		private final IFile file;
+		private Resource resource;
+		private Diagnostic diagnostic;
+		private Throwable loadError;
+		private Set<IFile> dependencies = Collections.emptySet();
+
+		Validation(IFile file) {
+			this.file = file;
+		}
+	}
+
+	private final SCADependencyIndex dependencyIndex = new SCADependencyIndex();
+
 	public SCABuilder() {
 	}
 
@@ -129,9 +178,25 @@ public class SCABuilder extends IncrementalProjectBuilder {
 	private void incrementalBuild(final IResourceDelta delta, final IProgressMonitor monitor) throws CoreException {
 		final DeltaVisitor visitor = new DeltaVisitor();
 		delta.accept(visitor);
-		if (visitor.shouldVisit) {
+		if (visitor.changed.isEmpty() && visitor.removed.isEmpty()) {
+			return;
+		}
+		if (!dependencyIndex.isComplete()) {
+			// Which files refer to which isn't known until every file has been validated once (e.g. since startup)
 			fullBuild(monitor);
+			return;
 		}
+
+		// Revalidate the changed files, and every file which refers to a changed or removed file
+		Set<IFile> files = new LinkedHashSet<>(visitor.changed);
+		Set<IFile> changedOrRemoved = new HashSet<>(visitor.changed);
+		changedOrRemoved.addAll(visitor.removed);
+		files.addAll(dependencyIndex.getDependents(changedOrRemoved));
+		for (IFile file : visitor.removed) {
+			dependencyIndex.remove(file);
+		}
+		files.removeIf(file -> !file.exists() || !getProject().equals(file.getProject()));
+		validate(files, monitor);
 	}
 
 	private void fullBuild(final IProgressMonitor monitor) throws CoreException {
@@ -139,27 +204,133 @@ public class SCABuilder extends IncrementalProjectBuilder {
 		SCAVisitor visitor = new SCAVisitor();
 		getProject().accept(visitor);
 
-		// For each XML file
-		SubMonitor progress = SubMonitor.convert(monitor, visitor.xmlFiles.size() * 2);
-		for (IFile file : visitor.xmlFiles) {
-			// Load EMF resource
-			final URI uri = URI.createPlatformResourceURI(file.getFullPath().toString(), false);
-			ResourceSet set = new ResourceSetImpl();
-			Resource eResource;
-			try {
-				eResource = set.getResource(uri, true);
+		dependencyIndex.clear();
+		validate(visitor.xmlFiles, monitor);
+		dependencyIndex.setComplete(true);
+	}
+
+	/**
+	 * Loads and validates files in parallel, then records markers for them. Each thread loads into its own resource set,
+	 * which it keeps for the rest of the build so that a file referred to by several others (e.g. a PRF) is loaded once.
+	 */
+	private void validate(final Collection<IFile> files, final IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, files.size());
+		if (files.isEmpty()) {
+			return;
+		}
+
+		int threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), THREAD_FACTORY);
+		ThreadLocal<ResourceSet> resourceSets = ThreadLocal.withInitial(ResourceSetImpl::new);
+		try {
+			List<Future<Validation>> validations = new ArrayList<>();
+			for (IFile file : files) {
+				validations.add(executor.submit(() -> validate(file, resourceSets.get())));
+			}
+
+			// Markers are created on the build thread, which holds the workspace lock
+			for (Future<Validation> future : validations) {
+				if (progress.isCanceled()) {
+					// Some files haven't been validated; the next build will be a full one
+					forgetLastBuiltState();
+					throw new OperationCanceledException();
+				}
+				Validation validation = waitFor(future);
+				if (validation.loadError != null) {
+					SCAMarkerUtil.INSTANCE.createMarker(validation.file, validation.loadError);
+				} else {
+					SCAMarkerUtil.INSTANCE.createMarkers(validation.resource, validation.diagnostic);
+				}
+				dependencyIndex.setDependencies(validation.file, validation.dependencies);
 				progress.worked(1);
-			} catch (WrappedException e) {
-				SCAMarkerUtil.INSTANCE.createMarker(file, e.getCause());
-				continue;
 			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 
-			// Perform diagnostics
-			Diagnostic diagnostic = SCAMarkerUtil.INSTANCE.getDiagnostician().validate(eResource.getEObject("/"));
-			progress.worked(1);
+	private Validation validate(final IFile file, final ResourceSet set) {
+		Validation validation = new Validation(file);
 
-			// Record markers
-			SCAMarkerUtil.INSTANCE.createMarkers(eResource, diagnostic);
+		// Load EMF resource
+		final URI uri = URI.createPlatformResourceURI(file.getFullPath().toString(), false);
+		try {
+			validation.resource = set.getResource(uri, true);
+		} catch (WrappedException e) {
+			validation.loadError = e.getCause();
+			return validation;
+		}
+
+		// Perform diagnostics
+		EObject root = validation.resource.getEObject("/");
+		validation.diagnostic = SCAMarkerUtil.INSTANCE.getDiagnostician().validate(root);
+		validation.dependencies = getDependencies(file, root);
+		return validation;
+	}
+
+	/**
+	 * @return The files in the workspace which an SPD (its PRFs and SCD), SAD or DCD (their SPDs) refers to
+	 */
+	private Set<IFile> getDependencies(final IFile file, final EObject root) {
+		Set<IFile> dependencies = new HashSet<>();
+		if (root instanceof SoftPkg) {
+			SoftPkg spd = (SoftPkg) root;
+			if (spd.getPropertyFile() != null && spd.getPropertyFile().getLocalFile() != null) {
+				addLocalFile(file, spd.getPropertyFile().getLocalFile().getName(), dependencies);
+			}
+			if (spd.getDescriptor() != null && spd.getDescriptor().getLocalfile() != null) {
+				addLocalFile(file, spd.getDescriptor().getLocalfile().getName(), dependencies);
+			}
+			for (Implementation impl : spd.getImplementation()) {
+				if (impl.getPropertyFile() != null && impl.getPropertyFile().getLocalFile() != null) {
+					addLocalFile(file, impl.getPropertyFile().getLocalFile().getName(), dependencies);
+				}
+			}
+			return dependencies;
+		}
+
+		ComponentFiles componentFiles = null;
+		if (root instanceof SoftwareAssembly) {
+			componentFiles = ((SoftwareAssembly) root).getComponentFiles();
+		} else if (root instanceof DeviceConfiguration) {
+			componentFiles = ((DeviceConfiguration) root).getComponentFiles();
+		}
+		if (componentFiles != null) {
+			for (ComponentFile componentFile : componentFiles.getComponentFile()) {
+				// Usually in the SDR root, in which case it isn't a workspace file
+				SoftPkg spd = componentFile.getSoftPkg();
+				String platformString = (spd == null || spd.eResource() == null) ? null : spd.eResource().getURI().toPlatformString(true);
+				if (platformString != null) {
+					dependencies.add(ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(platformString)));
+				}
+			}
+		}
+		return dependencies;
+	}
+
+	private void addLocalFile(final IFile file, final String name, final Set<IFile> dependencies) {
+		if (name == null || name.isEmpty()) {
+			return;
+		}
+		IPath path = new Path(name);
+		if (path.isAbsolute()) {
+			// Relative to the SDR root
+			return;
+		}
+		IPath fullPath = file.getParent().getFullPath().append(path);
+		if (fullPath.segmentCount() >= 2) {
+			dependencies.add(ResourcesPlugin.getWorkspace().getRoot().getFile(fullPath));
+		}
+	}
+
+	private static Validation waitFor(final Future<Validation> future) throws CoreException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			throw new CoreException(new Status(IStatus.ERROR, RedhawkIdeActivator.PLUGIN_ID, e.getCause().getLocalizedMessage(), e.getCause()));
 		}
 	}
 
@@ -173,6 +344,7 @@ public class SCABuilder extends IncrementalProjectBuilder {
 	@Override
 	protected void clean(final IProgressMonitor monitor) throws CoreException {
 		final SubMonitor localmonitor = SubMonitor.convert(monitor, "Clean sca project " + getProject().getName(), 1);
+		dependencyIndex.clear();
 		try {
 			// clean existing markers on schema files
 			cleanScaIn(getProject(), localmonitor);
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.builders;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Records which SCA XML files in a project refer to which others (an SPD to its PRFs and SCD, a SAD or DCD to its
+ * SPDs) so that {@link SCABuilder} can revalidate the files affected by a change.
+ */
+/* package */ class SCADependencyIndex {
+
+	/**
+	 * File -> the files it refers to
+	 */
+	private final Map<IFile, Set<IFile>> dependencies = new HashMap<>();
+
+	/**
+	 * File -> the files which refer to it
+	 */
+	private final Map<IFile, Set<IFile>> dependents = new HashMap<>();
+
+	private boolean complete = false;
+
+	/**
+	 * @return True if every file in the project has been recorded since the index was last cleared
+	 */
+	boolean isComplete() {
+		return complete;
+	}
+
+	void setComplete(boolean complete) {
+		this.complete = complete;
+	}
+
+	void clear() {
+		dependencies.clear();
+		dependents.clear();
+		complete = false;
+	}
+
+	/**
+	 * Records the files a file refers to, replacing what was recorded before. The files needn't exist.
+	 */
+	void setDependencies(IFile file, Set<IFile> fileDependencies) {
+		Set<IFile> oldDependencies = dependencies.remove(file);
+		if (oldDependencies != null) {
+			for (IFile dependency : oldDependencies) {
+				Set<IFile> fileDependents = dependents.get(dependency);
+				if (fileDependents != null) {
+					fileDependents.remove(file);
+					if (fileDependents.isEmpty()) {
+						dependents.remove(dependency);
+					}
+				}
+			}
+		}
+		if (fileDependencies.isEmpty()) {
+			return;
+		}
+		dependencies.put(file, new HashSet<>(fileDependencies));
+		for (IFile dependency : fileDependencies) {
+			dependents.computeIfAbsent(dependency, key -> new HashSet<>()).add(file);
+		}
+	}
+
+	/**
+	 * Forgets the files a file which has been removed referred to. Files which referred to it are still recorded.
+	 */
+	void remove(IFile file) {
+		setDependencies(file, Collections.emptySet());
+	}
+
+	/**
+	 * @return The files which refer to any of the given files, directly or indirectly
+	 */
+	Set<IFile> getDependents(Collection<IFile> files) {
+		Set<IFile> result = new LinkedHashSet<>();
+		Deque<IFile> queue = new ArrayDeque<>(files);
+		while (!queue.isEmpty()) {
+			Set<IFile> fileDependents = dependents.get(queue.remove());
+			if (fileDependents == null) {
+				continue;
+			}
+			for (IFile dependent : fileDependents) {
+				if (result.add(dependent)) {
+					queue.add(dependent);
+				}
+			}
+		}
+		return result;
+	}
+}
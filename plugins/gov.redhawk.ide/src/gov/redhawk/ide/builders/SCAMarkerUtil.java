@@ -49,9 +49,12 @@ public enum SCAMarkerUtil {
 		@Override
 		public String getObjectLabel(final EObject eObject) {
 			if (!eObject.eIsProxy()) {
-				final IItemLabelProvider itemLabelProvider = (IItemLabelProvider) getAdapterFactory().adapt(eObject, IItemLabelProvider.class);
-				if (itemLabelProvider != null) {
-					return itemLabelProvider.getText(eObject);
+				// The adapter factory isn't thread-safe, and the builder validates files in parallel
+				synchronized (getAdapterFactory()) {
+					final IItemLabelProvider itemLabelProvider = (IItemLabelProvider) getAdapterFactory().adapt(eObject, IItemLabelProvider.class);
+					if (itemLabelProvider != null) {
+						return itemLabelProvider.getText(eObject);
+					}
 				}
 			}
 
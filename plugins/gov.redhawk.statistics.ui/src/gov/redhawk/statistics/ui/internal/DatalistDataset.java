@@ -12,23 +12,25 @@ package gov.redhawk.statistics.ui.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.jfree.data.general.DatasetChangeEvent;
-import org.jfree.data.statistics.HistogramBin;
 import org.jfree.data.statistics.HistogramType;
 import org.jfree.data.xy.AbstractIntervalXYDataset;
 import org.jfree.data.xy.IntervalXYDataset;
 import org.jfree.util.ObjectUtilities;
 import org.jfree.util.PublicCloneable;
 
+/**
+ * A histogram dataset whose series are backed by {@link HistogramBins}. Bin boundaries are computed once per series,
+ * and the values returned to the renderer are cached so repeated painting doesn't allocate.
+ */
 public class DatalistDataset extends AbstractIntervalXYDataset implements IntervalXYDataset, Cloneable, PublicCloneable, Serializable {
 	private static final long serialVersionUID = 2344821917159844514L;
 
-	/** A list of maps. */
-	private List<Map< ? , ? >> list;
+	/** The series. */
+	private List<Series> list;
 
 	/** The histogram type. */
 	private HistogramType type;
@@ -38,7 +40,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 * {@link HistogramType}.FREQUENCY.
 	 */
 	public DatalistDataset() {
-		this.list = new ArrayList<Map< ? , ? >>();
+		this.list = new ArrayList<Series>();
 		this.type = HistogramType.FREQUENCY;
 	}
 
@@ -62,6 +64,9 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 			throw new IllegalArgumentException("Null 'type' argument");
 		}
 		this.type = type;
+		for (Series series : this.list) {
+			series.invalidateY();
+		}
 		notifyListeners(new DatasetChangeEvent(this, this));
 	}
 
@@ -73,9 +78,18 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 * @param bins  the number of bins (must be at least 1).
 	 */
 	public void addSeries(Comparable< ? > key, double[] values, int bins) {
-		// defer argument checking...
-		double minimum = getMinimum(values);
-		double maximum = getMaximum(values);
+		if (values == null || values.length < 1) {
+			throw new IllegalArgumentException("Null or zero length 'values' argument.");
+		}
+		double minimum = values[0];
+		double maximum = values[0];
+		for (int i = 1; i < values.length; i++) {
+			if (values[i] < minimum) {
+				minimum = values[i];
+			} else if (values[i] > maximum) {
+				maximum = values[i];
+			}
+		}
 		addSeries(key, values, bins, minimum, maximum);
 	}
 
@@ -92,108 +106,49 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 * @param maximum  the upper bound of the bin range.
 	 */
 	public void addSeries(Comparable< ? > key, double[] values, int bins, double minimum, double maximum) {
-
-		if (key == null) {
-			throw new IllegalArgumentException("Null 'key' argument.");
-		}
 		if (values == null) {
 			throw new IllegalArgumentException("Null 'values' argument.");
-		} else if (bins < 1) {
-			throw new IllegalArgumentException("The 'bins' value must be at least 1.");
 		}
-		double binWidth = (maximum - minimum) / bins;
-
-		double lower = minimum;
-		double upper;
-		List<HistogramBin> binList = new ArrayList<HistogramBin>(bins);
-		for (int i = 0; i < bins; i++) {
-			HistogramBin bin;
-			// make sure bins[bins.length]'s upper boundary ends at maximum
-			// to avoid the rounding issue. the bins[0] lower boundary is
-			// guaranteed start from min
-			if (i == bins - 1) {
-				bin = new HistogramBin(lower, maximum);
-			} else {
-				upper = minimum + (i + 1) * binWidth;
-				bin = new HistogramBin(lower, upper);
-				lower = upper;
-			}
-			binList.add(bin);
-		}
-		// fill the bins
-		for (int i = 0; i < values.length; i++) {
-			int binIndex = bins - 1;
-			if (values[i] < maximum) {
-				double fraction = (values[i] - minimum) / (maximum - minimum);
-				if (fraction < 0.0) {
-					fraction = 0.0;
-				}
-				binIndex = (int) (fraction * bins);
-				// rounding could result in binIndex being equal to bins
-				// which will cause an IndexOutOfBoundsException - see bug
-				// report 1553088
-				if (binIndex >= bins) {
-					binIndex = bins - 1;
-				}
-			}
-			HistogramBin bin = binList.get(binIndex);
-			bin.incrementCount();
+		HistogramBins histogramBins = new HistogramBins(bins, minimum, maximum);
+		for (double value : values) {
+			histogramBins.add(value);
 		}
-		// generic map for each series
-		Map<String, Object> map = new HashMap<String, Object>();
-		map.put("key", key);
-		map.put("bins", binList);
-		map.put("values.length", new Integer(values.length));
-		map.put("bin width", new Double(binWidth));
-		this.list.add(map);
-
-		notifyListeners(new DatasetChangeEvent(this, this));
-	}
-
-	public void removeAllSeries() {
-		this.list.clear();
+		addSeries(key, histogramBins);
 	}
 
 	/**
-	 * Returns the minimum value in an array of values.
-	 *
-	 * @param values  the values (<code>null</code> not permitted and
-	 *                zero-length array not permitted).
+	 * Adds a series to the dataset using counts which have already been binned (e.g. by {@link StatisticsEngine}).
 	 *
-	 * @return The minimum value.
+	 * @param key  the series key (<code>null</code> not permitted).
+	 * @param bins  the bin counts (<code>null</code> not permitted).
 	 */
-	private double getMinimum(double[] values) {
-		if (values == null || values.length < 1) {
-			throw new IllegalArgumentException("Null or zero length 'values' argument.");
+	public void addSeries(Comparable< ? > key, HistogramBins bins) {
+		if (key == null) {
+			throw new IllegalArgumentException("Null 'key' argument.");
 		}
-		double min = Double.MAX_VALUE;
-		for (int i = 0; i < values.length; i++) {
-			if (values[i] < min) {
-				min = values[i];
-			}
+		if (bins == null) {
+			throw new IllegalArgumentException("Null 'bins' argument.");
 		}
-		return min;
+		this.list.add(new Series(key, bins));
+		notifyListeners(new DatasetChangeEvent(this, this));
 	}
 
 	/**
-	 * Returns the maximum value in an array of values.
-	 *
-	 * @param values  the values (<code>null</code> not permitted and
-	 *                zero-length array not permitted).
+	 * Adds the counts for more observations to an existing series. The bins must have the same range as the series.
 	 *
-	 * @return The maximum value.
+	 * @param series  the series index (in the range <code>0</code> to
+	 *     <code>getSeriesCount() - 1</code>).
+	 * @param bins  the counts to add.
 	 */
-	private double getMaximum(double[] values) {
-		if (values == null || values.length < 1) {
-			throw new IllegalArgumentException("Null or zero length 'values' argument.");
-		}
-		double max = -Double.MAX_VALUE;
-		for (int i = 0; i < values.length; i++) {
-			if (values[i] > max) {
-				max = values[i];
-			}
-		}
-		return max;
+	public void mergeIntoSeries(int series, HistogramBins bins) {
+		Series s = this.list.get(series);
+		s.bins.merge(bins);
+		s.invalidateY();
+		notifyListeners(new DatasetChangeEvent(this, this));
+	}
+
+	public void removeAllSeries() {
+		this.list.clear();
 	}
 
 	/**
@@ -202,38 +157,13 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 * @param series  the series index (in the range <code>0</code> to
 	 *     <code>getSeriesCount() - 1</code>).
 	 *
-	 * @return A list of bins.
+	 * @return The bins.
 	 *
 	 * @throws IndexOutOfBoundsException if <code>series</code> is outside the
 	 *     specified range.
 	 */
-	List< ? > getBins(int series) {
-		Map< ? , ? > map = this.list.get(series);
-		return (List< ? >) map.get("bins");
-	}
-
-	/**
-	 * Returns the total number of observations for a series.
-	 *
-	 * @param series  the series index.
-	 *
-	 * @return The total.
-	 */
-	private int getTotal(int series) {
-		Map< ? , ? > map = this.list.get(series);
-		return ((Integer) map.get("values.length")).intValue();
-	}
-
-	/**
-	 * Returns the bin width for a series.
-	 *
-	 * @param series  the series index (zero based).
-	 *
-	 * @return The bin width.
-	 */
-	private double getBinWidth(int series) {
-		Map< ? , ? > map = this.list.get(series);
-		return ((Double) map.get("bin width")).doubleValue();
+	public HistogramBins getBins(int series) {
+		return this.list.get(series).bins;
 	}
 
 	/**
@@ -259,8 +189,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 */
 	@Override
 	public Comparable< ? > getSeriesKey(int series) {
-		Map< ? , ? > map = this.list.get(series);
-		return (Comparable< ? >) map.get("key");
+		return this.list.get(series).key;
 	}
 
 	/**
@@ -276,7 +205,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 */
 	@Override
 	public int getItemCount(int series) {
-		return getBins(series).size();
+		return getBins(series).getBinCount();
 	}
 
 	/**
@@ -296,10 +225,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 */
 	@Override
 	public Number getX(int series, int item) {
-		List< ? > bins = getBins(series);
-		HistogramBin bin = (HistogramBin) bins.get(item);
-		double x = (bin.getStartBoundary() + bin.getEndBoundary()) / 2.;
-		return new Double(x);
+		return this.list.get(series).x[item];
 	}
 
 	/**
@@ -317,20 +243,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 */
 	@Override
 	public Number getY(int series, int item) {
-		List< ? > bins = getBins(series);
-		HistogramBin bin = (HistogramBin) bins.get(item);
-		double total = getTotal(series);
-		double binWidth = getBinWidth(series);
-
-		if (this.type == HistogramType.FREQUENCY) {
-			return new Double(bin.getCount());
-		} else if (this.type == HistogramType.RELATIVE_FREQUENCY) {
-			return new Double(bin.getCount() / total);
-		} else if (this.type == HistogramType.SCALE_AREA_TO_1) {
-			return new Double(bin.getCount() / (binWidth * total));
-		} else { // pretty sure this shouldn't ever happen
-			throw new IllegalStateException();
-		}
+		return this.list.get(series).getY(this.type)[item];
 	}
 
 	/**
@@ -347,9 +260,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 */
 	@Override
 	public Number getStartX(int series, int item) {
-		List< ? > bins = getBins(series);
-		HistogramBin bin = (HistogramBin) bins.get(item);
-		return new Double(bin.getStartBoundary());
+		return this.list.get(series).startX[item];
 	}
 
 	/**
@@ -366,9 +277,7 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	 */
 	@Override
 	public Number getEndX(int series, int item) {
-		List< ? > bins = getBins(series);
-		HistogramBin bin = (HistogramBin) bins.get(item);
-		return new Double(bin.getEndBoundary());
+		return this.list.get(series).endX[item];
 	}
 
 	/**
@@ -441,11 +350,101 @@ public class DatalistDataset extends AbstractIntervalXYDataset implements Interv
 	public Object clone() throws CloneNotSupportedException {
 		DatalistDataset clone = (DatalistDataset) super.clone();
 		int seriesCount = getSeriesCount();
-		clone.list = new ArrayList<Map< ? , ? >>(seriesCount);
+		clone.list = new ArrayList<Series>(seriesCount);
 		for (int i = 0; i < seriesCount; i++) {
-			clone.list.add(new HashMap<Object, Object>(this.list.get(i)));
+			Series series = this.list.get(i);
+			HistogramBins bins = new HistogramBins(series.bins.getBinCount(), series.bins.getMinimum(), series.bins.getMaximum());
+			clone.list.add(new Series(series.key, bins.merge(series.bins)));
 		}
 		return clone;
 	}
 
+	/**
+	 * A series key, its bins, and the values derived from them.
+	 */
+	private static class Series implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final Comparable< ? > key;
+		private final HistogramBins bins;
+
+		/** Bin centers and boundaries; these never change for a series. */
+		private final Double[] x;
+		private final Double[] startX;
+		private final Double[] endX;
+
+		/** Y values for the histogram type they were computed for; recomputed when the counts change. */
+		private Double[] y;
+		private HistogramType yType;
+
+		Series(Comparable< ? > key, HistogramBins bins) {
+			this.key = key;
+			this.bins = bins;
+			int count = bins.getBinCount();
+			this.x = new Double[count];
+			this.startX = new Double[count];
+			this.endX = new Double[count];
+			for (int i = 0; i < count; i++) {
+				double start = bins.getStartBoundary(i);
+				double end = bins.getEndBoundary(i);
+				startX[i] = start;
+				endX[i] = end;
+				x[i] = (start + end) / 2.;
+			}
+		}
+
+		void invalidateY() {
+			this.y = null;
+		}
+
+		Double[] getY(HistogramType type) {
+			Double[] values = this.y;
+			if (values != null && type == this.yType) {
+				return values;
+			}
+			double total = bins.getTotal();
+			double binWidth = bins.getBinWidth();
+			values = new Double[bins.getBinCount()];
+			for (int i = 0; i < values.length; i++) {
+				long count = bins.getCount(i);
+				if (type == HistogramType.FREQUENCY) {
+					values[i] = (double) count;
+				} else if (type == HistogramType.RELATIVE_FREQUENCY) {
+					values[i] = count / total;
+				} else if (type == HistogramType.SCALE_AREA_TO_1) {
+					values[i] = count / (binWidth * total);
+				} else { // pretty sure this shouldn't ever happen
+					throw new IllegalStateException();
+				}
+			}
+			this.yType = type;
+			this.y = values;
+			return values;
+		}
+
+		/**
+		 * Series are equal if they have the same key and bins. The cached Y values aren't compared, since they're
+		 * derived from the bins.
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof Series)) {
+				return false;
+			}
+			Series that = (Series) obj;
+			return ObjectUtilities.equal(key, that.key) && bins.equals(that.bins) && Arrays.equals(x, that.x) && Arrays.equals(startX, that.startX)
+				&& Arrays.equals(endX, that.endX);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = (key == null) ? 0 : key.hashCode();
+			result = 31 * result + bins.hashCode();
+			return result;
+		}
+	}
+
 }
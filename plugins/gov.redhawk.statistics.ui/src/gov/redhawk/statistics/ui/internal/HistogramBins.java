@@ -0,0 +1,141 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Counts of values in equal-width bins over a fixed range. Any value less than the minimum is assigned to the first
+ * bin, and any value greater than the maximum is assigned to the last bin. Values falling on the boundary of adjacent
+ * bins are assigned to the higher indexed bin. NaN values are ignored.
+ * <p/>
+ * Because the range is fixed, counts for more values (e.g. from another thread, or data which arrived later) can be
+ * added with {@link #merge(HistogramBins)}.
+ */
+public class HistogramBins implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final double minimum;
+	private final double maximum;
+	private final long[] counts;
+	private long total;
+
+	/**
+	 * @param bins the number of bins (must be at least 1)
+	 * @param minimum the lower bound of the bin range
+	 * @param maximum the upper bound of the bin range
+	 */
+	public HistogramBins(int bins, double minimum, double maximum) {
+		if (bins < 1) {
+			throw new IllegalArgumentException("The 'bins' value must be at least 1.");
+		}
+		this.minimum = minimum;
+		this.maximum = maximum;
+		this.counts = new long[bins];
+	}
+
+	public void add(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		int binIndex = counts.length - 1;
+		if (value < maximum) {
+			double fraction = (value - minimum) / (maximum - minimum);
+			if (fraction < 0.0) {
+				fraction = 0.0;
+			}
+			binIndex = (int) (fraction * counts.length);
+			// rounding could result in binIndex being equal to bins
+			if (binIndex >= counts.length) {
+				binIndex = counts.length - 1;
+			}
+		}
+		counts[binIndex]++;
+		total++;
+	}
+
+	/**
+	 * Adds the counts from another set of bins with the same range and number of bins.
+	 * @param other
+	 * @return this
+	 */
+	public HistogramBins merge(HistogramBins other) {
+		if (other.counts.length != counts.length || Double.compare(other.minimum, minimum) != 0 || Double.compare(other.maximum, maximum) != 0) {
+			throw new IllegalArgumentException("Bins must have the same range");
+		}
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		total += other.total;
+		return this;
+	}
+
+	public int getBinCount() {
+		return counts.length;
+	}
+
+	public long getCount(int bin) {
+		return counts[bin];
+	}
+
+	/**
+	 * @return The total number of values counted
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	public double getMinimum() {
+		return minimum;
+	}
+
+	public double getMaximum() {
+		return maximum;
+	}
+
+	public double getBinWidth() {
+		return (maximum - minimum) / counts.length;
+	}
+
+	public double getStartBoundary(int bin) {
+		return minimum + bin * getBinWidth();
+	}
+
+	public double getEndBoundary(int bin) {
+		// make sure the last bin's upper boundary ends at maximum to avoid rounding issues
+		if (bin == counts.length - 1) {
+			return maximum;
+		}
+		return minimum + (bin + 1) * getBinWidth();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof HistogramBins)) {
+			return false;
+		}
+		HistogramBins that = (HistogramBins) obj;
+		return Double.compare(minimum, that.minimum) == 0 && Double.compare(maximum, that.maximum) == 0 && total == that.total
+			&& Arrays.equals(counts, that.counts);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Double.hashCode(minimum);
+		result = 31 * result + Double.hashCode(maximum);
+		result = 31 * result + Arrays.hashCode(counts);
+		return result;
+	}
+}
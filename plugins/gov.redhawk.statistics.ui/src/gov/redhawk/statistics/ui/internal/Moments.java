@@ -0,0 +1,110 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.internal;
+
+/**
+ * Running count, min, max, mean and variance of a series of values. Values are accumulated with Welford's algorithm,
+ * and partial results (e.g. from different threads) can be combined with {@link #merge(Moments)}. NaN values are
+ * ignored.
+ */
+public class Moments {
+
+	private long count;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+	private double mean;
+
+	/**
+	 * Sum of squared differences from the mean.
+	 */
+	private double m2;
+
+	public void add(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		if (count == 0) {
+			min = value;
+			max = value;
+		} else if (value < min) {
+			min = value;
+		} else if (value > max) {
+			max = value;
+		}
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	/**
+	 * Combines another set of moments into this one (Chan et al.'s parallel algorithm).
+	 * @param other
+	 * @return this
+	 */
+	public Moments merge(Moments other) {
+		if (other.count == 0) {
+			return this;
+		}
+		if (count == 0) {
+			count = other.count;
+			min = other.min;
+			max = other.max;
+			mean = other.mean;
+			m2 = other.m2;
+			return this;
+		}
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+		count = total;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		return this;
+	}
+
+	public void clear() {
+		count = 0;
+		min = Double.NaN;
+		max = Double.NaN;
+		mean = 0;
+		m2 = 0;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return (count == 0) ? Double.NaN : mean;
+	}
+
+	/**
+	 * @return The sample (bias-corrected) standard deviation
+	 */
+	public double getStandardDeviation() {
+		if (count == 0) {
+			return Double.NaN;
+		} else if (count == 1) {
+			return 0;
+		}
+		return Math.sqrt(m2 / (count - 1));
+	}
+}
@@ -0,0 +1,44 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.internal;
+
+import gov.redhawk.statistics.ui.views.IStatisticsSource;
+
+/**
+ * Adapts data already formatted as <code>Number[dimension][sample]</code> to an {@link IStatisticsSource}.
+ */
+public class NumberArraySource implements IStatisticsSource {
+
+	private final Number[][] data;
+
+	public NumberArraySource(Number[][] data) {
+		this.data = data;
+	}
+
+	@Override
+	public int getDimension() {
+		return data.length;
+	}
+
+	@Override
+	public long getAtomCount() {
+		return (data.length == 0) ? 0 : (long) data.length * data[0].length;
+	}
+
+	@Override
+	public void getDoubles(long atomIndex, double[] dest, int destPos, int length) {
+		for (int i = 0; i < length; i++) {
+			long atom = atomIndex + i;
+			dest[destPos + i] = data[(int) (atom % data.length)][(int) (atom / data.length)].doubleValue();
+		}
+	}
+
+}
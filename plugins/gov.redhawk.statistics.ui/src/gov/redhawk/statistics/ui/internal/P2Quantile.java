@@ -0,0 +1,144 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.internal;
+
+import java.util.Arrays;
+
+/**
+ * Streaming estimate of a quantile using the P-squared algorithm (Jain and Chlamtac, 1985). Uses constant memory
+ * (five markers) and constant time per value. The estimate is exact for fewer than five values. NaN values are
+ * ignored.
+ */
+public class P2Quantile {
+
+	private static final int MARKERS = 5;
+
+	private final double quantile;
+
+	/**
+	 * Marker heights.
+	 */
+	private final double[] heights = new double[MARKERS];
+
+	/**
+	 * Actual marker positions.
+	 */
+	private final long[] positions = new long[MARKERS];
+
+	/**
+	 * Desired marker positions, and their increment per value.
+	 */
+	private final double[] desired = new double[MARKERS];
+	private final double[] increments;
+
+	private long count;
+
+	/**
+	 * @param quantile The quantile to estimate (between 0 and 1)
+	 */
+	public P2Quantile(double quantile) {
+		this.quantile = quantile;
+		this.increments = new double[] { 0, quantile / 2, quantile, (1 + quantile) / 2, 1 };
+	}
+
+	public void add(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		if (count < MARKERS) {
+			heights[(int) count++] = value;
+			if (count == MARKERS) {
+				Arrays.sort(heights);
+				for (int i = 0; i < MARKERS; i++) {
+					positions[i] = i;
+				}
+				desired[0] = 0;
+				desired[1] = 2 * quantile;
+				desired[2] = 4 * quantile;
+				desired[3] = 2 + 2 * quantile;
+				desired[4] = 4;
+			}
+			return;
+		}
+
+		// Find the cell containing the value, extending the extremes if necessary
+		int cell;
+		if (value < heights[0]) {
+			heights[0] = value;
+			cell = 0;
+		} else if (value >= heights[MARKERS - 1]) {
+			heights[MARKERS - 1] = value;
+			cell = MARKERS - 2;
+		} else {
+			cell = 0;
+			while (value >= heights[cell + 1]) {
+				cell++;
+			}
+		}
+		for (int i = cell + 1; i < MARKERS; i++) {
+			positions[i]++;
+		}
+		for (int i = 0; i < MARKERS; i++) {
+			desired[i] += increments[i];
+		}
+		count++;
+
+		// Adjust the heights of the middle markers if they've drifted from their desired positions
+		for (int i = 1; i < MARKERS - 1; i++) {
+			double drift = desired[i] - positions[i];
+			if ((drift >= 1 && positions[i + 1] - positions[i] > 1) || (drift <= -1 && positions[i - 1] - positions[i] < -1)) {
+				int step = (drift > 0) ? 1 : -1;
+				double candidate = parabolic(i, step);
+				if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+					heights[i] = candidate;
+				} else {
+					heights[i] = linear(i, step);
+				}
+				positions[i] += step;
+			}
+		}
+	}
+
+	private double parabolic(int i, int step) {
+		double n = positions[i];
+		double nPrev = positions[i - 1];
+		double nNext = positions[i + 1];
+		return heights[i] + step / (nNext - nPrev)
+			* ((n - nPrev + step) * (heights[i + 1] - heights[i]) / (nNext - n) + (nNext - n - step) * (heights[i] - heights[i - 1]) / (n - nPrev));
+	}
+
+	private double linear(int i, int step) {
+		return heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+	}
+
+	/**
+	 * @return The estimated quantile, or NaN if no values have been added
+	 */
+	public double getValue() {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		if (count < MARKERS) {
+			// Exact answer, interpolating between the closest ranks
+			double[] sorted = Arrays.copyOf(heights, (int) count);
+			Arrays.sort(sorted);
+			double position = quantile * (count - 1);
+			int lower = (int) Math.floor(position);
+			int upper = (int) Math.ceil(position);
+			return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+		}
+		return heights[2];
+	}
+
+	public void clear() {
+		count = 0;
+	}
+}
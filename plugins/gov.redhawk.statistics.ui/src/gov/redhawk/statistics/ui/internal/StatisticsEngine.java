@@ -0,0 +1,488 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.internal;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import gov.redhawk.statistics.ui.views.IStatisticsSource;
+
+/**
+ * Computes statistics directly from an {@link IStatisticsSource} without boxing or copying the data. Each pass over
+ * the data is split into blocks of samples which are processed in parallel on a fork-join pool.
+ * <p/>
+ * Series are identified by index: 0 to <code>dimension - 1</code> for each dimension, and {@link #MAGNITUDE} for the
+ * magnitude of each sample.
+ */
+public class StatisticsEngine {
+
+	/**
+	 * Series index for the magnitude of each sample.
+	 */
+	public static final int MAGNITUDE = -1;
+
+	/**
+	 * Number of samples read and processed by each leaf task.
+	 */
+	private static final int BLOCK_SAMPLES = 1 << 16;
+
+	/**
+	 * Number of bins used to narrow the range of values containing the median on each pass.
+	 */
+	private static final int SELECTION_BINS = 1 << 12;
+
+	/**
+	 * Once the range of values containing the median has at most this many values, they're copied out and selected
+	 * in memory.
+	 */
+	private static final int SELECTION_THRESHOLD = 1 << 16;
+
+	private final IStatisticsSource source;
+	private final ForkJoinPool pool;
+	private final int dimension;
+	private final long samples;
+
+	public StatisticsEngine(IStatisticsSource source) {
+		this(source, ForkJoinPool.commonPool());
+	}
+
+	public StatisticsEngine(IStatisticsSource source, ForkJoinPool pool) {
+		this.source = source;
+		this.pool = pool;
+		this.dimension = source.getDimension();
+		// Data may still be arriving; only consider what's available now
+		this.samples = source.getAtomCount() / dimension;
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return The number of samples the engine considers
+	 */
+	public long getSampleCount() {
+		return samples;
+	}
+
+	/**
+	 * Computes the statistics for each dimension, and optionally the magnitude.
+	 * @param includeMagnitude True to also compute the statistics of the magnitude of each sample
+	 * @return The statistics for each dimension, followed by the magnitude (if requested)
+	 */
+	public Stats[] compute(boolean includeMagnitude) {
+		Moments[] moments = computeMoments();
+		Stats[] stats = new Stats[includeMagnitude ? dimension + 1 : dimension];
+		for (int series = 0; series < dimension; series++) {
+			stats[series] = new Stats(moments[series], median(series, moments[series]));
+		}
+		if (includeMagnitude) {
+			stats[dimension] = new Stats(moments[dimension], median(MAGNITUDE, moments[dimension]));
+		}
+		return stats;
+	}
+
+	/**
+	 * Computes the moments for each dimension, and the magnitude, in a single pass.
+	 * @return An array of length <code>dimension + 1</code>; the last entry is for the magnitude
+	 */
+	public Moments[] computeMoments() {
+		return process(new BlockFunction<Moments[]>() {
+			@Override
+			public Moments[] apply(double[] atoms, long firstSample, int blockSamples) {
+				Moments[] result = new Moments[dimension + 1];
+				for (int i = 0; i < result.length; i++) {
+					result[i] = new Moments();
+				}
+				for (int sample = 0; sample < blockSamples; sample++) {
+					double sumOfSquares = 0;
+					for (int series = 0; series < dimension; series++) {
+						double value = atoms[sample * dimension + series];
+						result[series].add(value);
+						sumOfSquares += value * value;
+					}
+					result[dimension].add(Math.sqrt(sumOfSquares));
+				}
+				return result;
+			}
+
+			@Override
+			public Moments[] merge(Moments[] left, Moments[] right) {
+				for (int i = 0; i < left.length; i++) {
+					left[i].merge(right[i]);
+				}
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * Bins the values of a series in a single parallel pass.
+	 * @param series A dimension, or {@link #MAGNITUDE}
+	 * @param bins The number of bins
+	 * @param min The lower bound of the bin range
+	 * @param max The upper bound of the bin range
+	 * @return
+	 */
+	public HistogramBins histogram(int series, int bins, double min, double max) {
+		return histogram(series, bins, min, max, 0);
+	}
+
+	/**
+	 * Bins the values of a series, starting part way through the data, in a single parallel pass. The result can be
+	 * merged with bins for the earlier data (if they have the same range).
+	 * @param series A dimension, or {@link #MAGNITUDE}
+	 * @param bins The number of bins
+	 * @param min The lower bound of the bin range
+	 * @param max The upper bound of the bin range
+	 * @param fromSample The first sample to include
+	 * @return
+	 */
+	public HistogramBins histogram(final int series, final int bins, final double min, final double max, long fromSample) {
+		return process(new BlockFunction<HistogramBins>() {
+			@Override
+			public HistogramBins apply(double[] atoms, long firstSample, int blockSamples) {
+				HistogramBins result = new HistogramBins(bins, min, max);
+				for (int sample = 0; sample < blockSamples; sample++) {
+					result.add(value(atoms, sample, series));
+				}
+				return result;
+			}
+
+			@Override
+			public HistogramBins merge(HistogramBins left, HistogramBins right) {
+				return left.merge(right);
+			}
+		}, Math.min(fromSample, samples), samples);
+	}
+
+	/**
+	 * Computes the median of a series without sorting it. Follows the convention of averaging the two middle values
+	 * when there are an even number of values.
+	 * @param series A dimension, or {@link #MAGNITUDE}
+	 * @param moments The moments of the series (used for the count and range of values)
+	 * @return
+	 */
+	public double median(int series, Moments moments) {
+		long count = moments.getCount();
+		if (count == 0) {
+			return Double.NaN;
+		}
+		double lower = select(series, (count - 1) / 2, moments.getMin(), moments.getMax());
+		if (count % 2 == 1) {
+			return lower;
+		}
+		double upper = select(series, count / 2, moments.getMin(), moments.getMax());
+		return (lower + upper) / 2;
+	}
+
+	/**
+	 * Finds the k-th smallest value of a series. Each pass bins the values within [min, max] and narrows the range to
+	 * the bin holding the k-th value, until few enough values remain to select from in memory.
+	 * <p/>
+	 * Infinite values can't be binned, so they're counted separately as the lowest and highest ranks.
+	 * @param series A dimension, or {@link #MAGNITUDE}
+	 * @param k The zero-based rank within [min, max]
+	 * @param min The smallest value in the series
+	 * @param max The largest value in the series
+	 * @return
+	 */
+	private double select(final int series, long k, double min, double max) {
+		long rank = k;
+		double lo = min;
+		double hi = max;
+		if (Double.isInfinite(lo) || Double.isInfinite(hi)) {
+			FiniteRange range = finiteRange(series);
+			if (rank < range.negativeInfinities) {
+				return Double.NEGATIVE_INFINITY;
+			}
+			rank -= range.negativeInfinities;
+			if (rank >= range.count) {
+				return Double.POSITIVE_INFINITY;
+			}
+			lo = range.min;
+			hi = range.max;
+		}
+		while (lo < hi) {
+			final double rangeLo = lo;
+			final double rangeHi = hi;
+			// Values are halved so that the width of the range can't overflow
+			final double scale = SELECTION_BINS / (hi / 2 - lo / 2);
+			Histogram histogram = process(new BlockFunction<Histogram>() {
+				@Override
+				public Histogram apply(double[] atoms, long firstSample, int blockSamples) {
+					Histogram result = new Histogram();
+					for (int sample = 0; sample < blockSamples; sample++) {
+						double value = value(atoms, sample, series);
+						if (value >= rangeLo && value <= rangeHi) {
+							int bin = (int) ((value / 2 - rangeLo / 2) * scale);
+							result.add(Math.min(bin, SELECTION_BINS - 1), value);
+						}
+					}
+					return result;
+				}
+
+				@Override
+				public Histogram merge(Histogram left, Histogram right) {
+					return left.merge(right);
+				}
+			});
+
+			int bin = 0;
+			while (rank >= histogram.counts[bin]) {
+				rank -= histogram.counts[bin];
+				bin++;
+			}
+
+			// Binning is monotonic, so the values within [binMin, binMax] are exactly those in the bin
+			boolean narrowed = histogram.mins[bin] > lo || histogram.maxs[bin] < hi;
+			lo = histogram.mins[bin];
+			hi = histogram.maxs[bin];
+			if (histogram.counts[bin] <= SELECTION_THRESHOLD || !narrowed) {
+				// If the range couldn't be split (its values are only a few ulps apart), select from what's left
+				return selectInMemory(series, rank, lo, hi, (int) histogram.counts[bin]);
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Counts the infinite values of a series, and finds the range of its finite values, in a single pass.
+	 */
+	private FiniteRange finiteRange(final int series) {
+		return process(new BlockFunction<FiniteRange>() {
+			@Override
+			public FiniteRange apply(double[] atoms, long firstSample, int blockSamples) {
+				FiniteRange result = new FiniteRange();
+				for (int sample = 0; sample < blockSamples; sample++) {
+					result.add(value(atoms, sample, series));
+				}
+				return result;
+			}
+
+			@Override
+			public FiniteRange merge(FiniteRange left, FiniteRange right) {
+				return left.merge(right);
+			}
+		});
+	}
+
+	private double selectInMemory(final int series, long rank, final double lo, final double hi, int count) {
+		double[] values = process(new BlockFunction<double[]>() {
+			@Override
+			public double[] apply(double[] atoms, long firstSample, int blockSamples) {
+				double[] result = new double[16];
+				int size = 0;
+				for (int sample = 0; sample < blockSamples; sample++) {
+					double value = value(atoms, sample, series);
+					if (value >= lo && value <= hi) {
+						if (size == result.length - 1) {
+							result = Arrays.copyOf(result, result.length * 2);
+						}
+						result[++size] = value;
+					}
+				}
+				// The first element holds the number of values collected
+				result[0] = size;
+				return result;
+			}
+
+			@Override
+			public double[] merge(double[] left, double[] right) {
+				int leftSize = (int) left[0];
+				int rightSize = (int) right[0];
+				double[] result = Arrays.copyOf(left, leftSize + rightSize + 1);
+				System.arraycopy(right, 1, result, leftSize + 1, rightSize);
+				result[0] = leftSize + rightSize;
+				return result;
+			}
+		});
+		return quickSelect(values, 1, count, (int) rank + 1);
+	}
+
+	/**
+	 * Iterative quickselect (Hoare partitioning, median-of-three pivot) over <code>values[from..to]</code>.
+	 * @return The value that would be at index <code>k</code> if the range were sorted
+	 */
+	private static double quickSelect(double[] values, int from, int to, int k) {
+		int left = from;
+		int right = to;
+		while (left < right) {
+			int mid = (left + right) >>> 1;
+			double pivot = medianOfThree(values[left], values[mid], values[right]);
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					double tmp = values[i];
+					values[i] = values[j];
+					values[j] = tmp;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return values[k];
+			}
+		}
+		return values[k];
+	}
+
+	private static double medianOfThree(double a, double b, double c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+	}
+
+	private double value(double[] atoms, int sample, int series) {
+		if (series != MAGNITUDE) {
+			return atoms[sample * dimension + series];
+		}
+		double sumOfSquares = 0;
+		for (int i = sample * dimension; i < (sample + 1) * dimension; i++) {
+			sumOfSquares += atoms[i] * atoms[i];
+		}
+		return Math.sqrt(sumOfSquares);
+	}
+
+	/**
+	 * The number of infinite values at each end of a series, and the count and range of its finite values.
+	 */
+	private static class FiniteRange {
+		private long negativeInfinities;
+		private long count;
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+
+		void add(double value) {
+			if (value == Double.NEGATIVE_INFINITY) {
+				negativeInfinities++;
+			} else if (!Double.isInfinite(value) && !Double.isNaN(value)) {
+				count++;
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+
+		FiniteRange merge(FiniteRange other) {
+			negativeInfinities += other.negativeInfinities;
+			count += other.count;
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+			return this;
+		}
+	}
+
+	/**
+	 * Bin counts, with the smallest and largest value seen in each bin.
+	 */
+	private static class Histogram {
+		private final long[] counts = new long[SELECTION_BINS];
+		private final double[] mins = new double[SELECTION_BINS];
+		private final double[] maxs = new double[SELECTION_BINS];
+
+		void add(int bin, double value) {
+			if (counts[bin]++ == 0) {
+				mins[bin] = value;
+				maxs[bin] = value;
+			} else if (value < mins[bin]) {
+				mins[bin] = value;
+			} else if (value > maxs[bin]) {
+				maxs[bin] = value;
+			}
+		}
+
+		Histogram merge(Histogram other) {
+			for (int bin = 0; bin < SELECTION_BINS; bin++) {
+				if (other.counts[bin] == 0) {
+					continue;
+				}
+				if (counts[bin] == 0) {
+					mins[bin] = other.mins[bin];
+					maxs[bin] = other.maxs[bin];
+				} else {
+					mins[bin] = Math.min(mins[bin], other.mins[bin]);
+					maxs[bin] = Math.max(maxs[bin], other.maxs[bin]);
+				}
+				counts[bin] += other.counts[bin];
+			}
+			return this;
+		}
+	}
+
+	private <R> R process(BlockFunction<R> function) {
+		return process(function, 0, samples);
+	}
+
+	private <R> R process(BlockFunction<R> function, long fromSample, long toSample) {
+		return pool.invoke(new BlockTask<R>(function, fromSample, toSample));
+	}
+
+	/**
+	 * Processing for one pass over the data.
+	 */
+	private interface BlockFunction<R> {
+
+		/**
+		 * Processes a block of samples.
+		 * @param atoms The atoms of the block
+		 * @param firstSample The index of the first sample in the block
+		 * @param blockSamples The number of samples in the block
+		 * @return
+		 */
+		R apply(double[] atoms, long firstSample, int blockSamples);
+
+		R merge(R left, R right);
+	}
+
+	/**
+	 * Splits a range of samples until each piece is at most {@link #BLOCK_SAMPLES} long, reads each piece from the
+	 * source and processes it, then merges the results.
+	 */
+	private class BlockTask<R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient BlockFunction<R> function;
+		private final long from;
+		private final long to;
+
+		BlockTask(BlockFunction<R> function, long from, long to) {
+			this.function = function;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected R compute() {
+			if (to - from <= BLOCK_SAMPLES) {
+				int blockSamples = (int) (to - from);
+				double[] atoms = new double[blockSamples * dimension];
+				source.getDoubles(from * dimension, atoms, 0, atoms.length);
+				return function.apply(atoms, from, blockSamples);
+			}
+			long mid = (from + to) >>> 1;
+			BlockTask<R> left = new BlockTask<R>(function, from, mid);
+			BlockTask<R> right = new BlockTask<R>(function, mid, to);
+			left.fork();
+			R rightResult = right.compute();
+			return function.merge(left.join(), rightResult);
+		}
+	}
+}
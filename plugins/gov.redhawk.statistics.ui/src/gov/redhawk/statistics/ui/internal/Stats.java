@@ -1,44 +1,54 @@
 /******************************************************************************
- * This file is protected by Copyright. 
+ * This file is protected by Copyright.
  * Please refer to the COPYRIGHT file distributed with this source distribution.
  *
  * This file is part of REDHAWK IDE.
  *
- * All rights reserved.  This program and the accompanying materials are made available under 
- * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at 
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
  * http://www.eclipse.org/legal/epl-v10.html
  *******************************************************************************/
 package gov.redhawk.statistics.ui.internal;
 
-import org.apache.commons.math.stat.descriptive.DescriptiveStatistics;
-import org.apache.commons.math.stat.descriptive.UnivariateStatistic;
-import org.apache.commons.math.stat.descriptive.rank.Median;
+/**
+ * The statistics for one series (a dimension, or the magnitude) of the data.
+ * @see StatisticsEngine
+ */
+public class Stats {
 
-public class Stats extends DescriptiveStatistics {
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = 9047657894722901933L;
 	public static final String MINIMUM = "Min", MAXIMUM = "Max", MEDIAN = "Median", MEAN = "Mean", STD_DEV = "Std Dev", NUM = "Samples";
 
-	private UnivariateStatistic medianImpl = new Median();
+	private final Moments moments;
 
-	private final int length;
+	private final double median;
 
-	public Stats(Number [] initialDoubleArray) {
-		for (Number d : initialDoubleArray) {
-			addValue(d.doubleValue());
-		}
-		length = initialDoubleArray.length;
+	public Stats(Moments moments, double median) {
+		this.moments = moments;
+		this.median = median;
 	}
 
-	public double getMedian() {
-		return apply(medianImpl);
+	public double getMin() {
+		return moments.getMin();
+	}
+
+	public double getMax() {
+		return moments.getMax();
+	}
 
+	public double getMean() {
+		return moments.getMean();
+	}
+
+	public double getStandardDeviation() {
+		return moments.getStandardDeviation();
+	}
+
+	public double getMedian() {
+		return median;
 	}
 
-	public int getLength() {
-		return length;
+	public long getLength() {
+		return moments.getCount();
 	}
 
 	public Number getStat(String key) {
@@ -0,0 +1,42 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.views;
+
+/**
+ * A source of sample data for the {@link StatisticsView}. Data is exposed as a flat sequence of 'atoms'; with
+ * multi-dimensional data (e.g. complex) the atoms of each sample are interleaved.
+ * <p/>
+ * Implementations must allow {@link #getDoubles(long, double[], int, int)} to be called concurrently from multiple
+ * threads.
+ * @since 2.1
+ */
+public interface IStatisticsSource {
+
+	/**
+	 * @return The number of atoms that make up a sample
+	 */
+	int getDimension();
+
+	/**
+	 * @return The total number of atoms available
+	 */
+	long getAtomCount();
+
+	/**
+	 * Copies a range of atoms into a <code>double[]</code>.
+	 * @param atomIndex The first atom to copy
+	 * @param dest The destination array
+	 * @param destPos The starting position in the destination array
+	 * @param length The number of atoms to copy
+	 */
+	void getDoubles(long atomIndex, double[] dest, int destPos, int length);
+
+}
@@ -0,0 +1,120 @@
+/******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.statistics.ui.views;
+
+import gov.redhawk.statistics.ui.internal.Moments;
+import gov.redhawk.statistics.ui.internal.P2Quantile;
+import gov.redhawk.statistics.ui.internal.Stats;
+
+/**
+ * Statistics which are updated incrementally as data arrives, for display while a capture is still running. Each
+ * call to {@link #update(IStatisticsSource)} only processes the samples added since the previous call, so the cost is
+ * constant per sample and memory use is constant regardless of the capture length. The median is an estimate.
+ * @since 2.1
+ */
+public class LiveStatistics {
+
+	/**
+	 * Number of samples converted to doubles at a time.
+	 */
+	private static final int BLOCK_SAMPLES = 4096;
+
+	private final int dimension;
+
+	/**
+	 * One entry per dimension, plus one for the magnitude.
+	 */
+	private final Moments[] moments;
+	private final P2Quantile[] medians;
+
+	private double[] scratch;
+
+	/**
+	 * The number of atoms from the source which have been processed.
+	 */
+	private long processedAtoms;
+
+	private volatile boolean complete;
+
+	public LiveStatistics(int dimension) {
+		this.dimension = dimension;
+		this.moments = new Moments[dimension + 1];
+		this.medians = new P2Quantile[dimension + 1];
+		for (int i = 0; i <= dimension; i++) {
+			moments[i] = new Moments();
+			medians[i] = new P2Quantile(0.5);
+		}
+		this.scratch = new double[BLOCK_SAMPLES * dimension];
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Processes any complete samples in the source which haven't been seen yet.
+	 * @param source
+	 */
+	public synchronized void update(IStatisticsSource source) {
+		long availableAtoms = source.getAtomCount() / dimension * dimension;
+		while (processedAtoms < availableAtoms) {
+			int atoms = (int) Math.min(scratch.length, availableAtoms - processedAtoms);
+			source.getDoubles(processedAtoms, scratch, 0, atoms);
+			for (int atom = 0; atom < atoms; atom += dimension) {
+				double sumOfSquares = 0;
+				for (int series = 0; series < dimension; series++) {
+					double value = scratch[atom + series];
+					moments[series].add(value);
+					medians[series].add(value);
+					sumOfSquares += value * value;
+				}
+				double magnitude = Math.sqrt(sumOfSquares);
+				moments[dimension].add(magnitude);
+				medians[dimension].add(magnitude);
+			}
+			processedAtoms += atoms;
+		}
+	}
+
+	/**
+	 * Discards all statistics (e.g. because the source has been cleared).
+	 */
+	public synchronized void clear() {
+		processedAtoms = 0;
+		complete = false;
+		for (int i = 0; i <= dimension; i++) {
+			moments[i].clear();
+			medians[i].clear();
+		}
+	}
+
+	/**
+	 * Indicates no more data will be added to the source.
+	 */
+	public void setComplete() {
+		complete = true;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * @return A copy of the current statistics for each dimension, followed by the magnitude
+	 */
+	synchronized Stats[] getStats() {
+		Stats[] stats = new Stats[dimension + 1];
+		for (int i = 0; i <= dimension; i++) {
+			stats[i] = new Stats(new Moments().merge(moments[i]), medians[i].getValue());
+		}
+		return stats;
+	}
+}
@@ -12,7 +12,10 @@ package gov.redhawk.statistics.ui.views;
 
 import gov.redhawk.statistics.ui.internal.CustomAction;
 import gov.redhawk.statistics.ui.internal.DatalistDataset;
+import gov.redhawk.statistics.ui.internal.HistogramBins;
+import gov.redhawk.statistics.ui.internal.NumberArraySource;
 import gov.redhawk.statistics.ui.internal.SettingsDialog;
+import gov.redhawk.statistics.ui.internal.StatisticsEngine;
 import gov.redhawk.statistics.ui.internal.Stats;
 
 import java.awt.Color;
@@ -20,6 +23,7 @@ import java.awt.Frame;
 import java.awt.GridLayout;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -57,11 +61,28 @@ public class StatisticsView extends ViewPart {
 
 	public static final String ID = "gov.redhawk.statistics.ui.views.StatisticsView";
 
+	/**
+	 * How often (in milliseconds) the statistics are refreshed while a capture is still running.
+	 */
+	private static final long LIVE_REFRESH_DELAY = 500;
+
 	private static final String[] STAT_PROPS = { Stats.MINIMUM, Stats.MAXIMUM, Stats.MEDIAN, Stats.MEAN, Stats.STD_DEV, Stats.NUM };
 
 	private Label[] labels = new Label[STAT_PROPS.length];
 
-	private Number[][] datalist;
+	private IStatisticsSource source;
+
+	private int dimensions;
+
+	private StatisticsEngine engine;
+
+	private volatile LiveStatistics liveStatistics;
+
+	/**
+	 * The number of samples included in the histogram while showing live statistics, or 0 if the histogram needs to
+	 * be rebuilt. Only changed on the UI thread.
+	 */
+	private volatile long liveHistogramSamples;
 
 	private JFreeChart chart;
 
@@ -75,9 +96,9 @@ public class StatisticsView extends ViewPart {
 
 	private DatalistDataset dataSet = new DatalistDataset();
 
-	private int curIndex = -1;
+	private volatile int curIndex = -1;
 
-	private int numBars = 4;
+	private volatile int numBars = 4;
 
 	private final List<DisposeListener> listeners = Collections.synchronizedList(new ArrayList<DisposeListener>());
 
@@ -89,11 +110,103 @@ public class StatisticsView extends ViewPart {
 
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
-			refresh();
+			if (liveStatistics != null) {
+				liveRefreshJob.schedule();
+			} else {
+				refresh();
+			}
 			return Status.OK_STATUS;
 		}
 	};
 
+	/**
+	 * Periodically updates the labels from the {@link LiveStatistics} while a capture is running, then performs a
+	 * full refresh once it completes. The histogram is binned in the background; only the results are applied on the
+	 * UI thread.
+	 */
+	private Job liveRefreshJob = new Job("Refreshing Live Statistics") {
+		{
+			setSystem(true);
+			setUser(false);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final LiveStatistics live = liveStatistics;
+			if (live == null) {
+				return Status.OK_STATUS;
+			}
+
+			final boolean complete = live.isComplete();
+			final Stats[] allStats = live.getStats();
+			final LiveHistogramUpdate histogramUpdate = computeLiveHistogram(allStats);
+			PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					if (liveStatistics != live || section == null || section.isDisposed()) {
+						return;
+					}
+					stats = Arrays.copyOf(allStats, dimensions);
+					magnitudeStats = allStats[dimensions];
+					updateStatsLabels(curIndex);
+					if (histogramUpdate != null) {
+						histogramUpdate.apply();
+					}
+
+					if (complete) {
+						liveStatistics = null;
+						refreshJob.schedule();
+					} else {
+						section.setDescription(section.getDescription() + " (capture in progress, median is estimated)");
+						liveRefreshJob.schedule(LIVE_REFRESH_DELAY);
+					}
+				}
+			});
+			return Status.OK_STATUS;
+		}
+	};
+
+	/**
+	 * Histogram bins for the samples which have arrived since the last live refresh, computed in the background.
+	 */
+	private class LiveHistogramUpdate {
+		private final long fromSamples;
+		private final long toSamples;
+		private final int bars;
+		private final int[] shownSeries;
+		private final HistogramBins[] bins;
+
+		LiveHistogramUpdate(long fromSamples, long toSamples, int bars, int[] shownSeries, HistogramBins[] bins) {
+			this.fromSamples = fromSamples;
+			this.toSamples = toSamples;
+			this.bars = bars;
+			this.shownSeries = shownSeries;
+			this.bins = bins;
+		}
+
+		/**
+		 * Merges the bins into the histogram. Must be called on the UI thread. If the histogram or the settings have
+		 * changed since the bins were computed, they're discarded and the next live refresh computes them again.
+		 */
+		void apply() {
+			if (liveHistogramSamples != fromSamples || numBars != bars || !Arrays.equals(shownSeries, getShownSeries())) {
+				return;
+			}
+			if (fromSamples == 0) {
+				dataSet.removeAllSeries();
+				for (int i = 0; i < shownSeries.length; i++) {
+					dataSet.addSeries(getCategoryName(shownSeries[i]), bins[i]);
+				}
+			} else {
+				for (int i = 0; i < shownSeries.length; i++) {
+					dataSet.mergeIntoSeries(i, bins[i]);
+				}
+			}
+			liveHistogramSamples = toSamples;
+		}
+	}
+
 	/**
 	 * the constructor
 	 */
@@ -114,11 +227,12 @@ public class StatisticsView extends ViewPart {
 
 			@Override
 			public void run() {
-				SettingsDialog dialog = new SettingsDialog(parent.getShell(), datalist.length, curIndex, numBars);
+				SettingsDialog dialog = new SettingsDialog(parent.getShell(), dimensions, curIndex, numBars);
 				dialog.create();
 				if (dialog.open() == Window.OK) {
 					numBars = dialog.getNumBars();
 					curIndex = dialog.getSelectedIndex();
+					liveHistogramSamples = 0;
 					refreshJob.schedule();
 				}
 			}
@@ -234,16 +348,15 @@ public class StatisticsView extends ViewPart {
 		}
 
 	private void createStatsArray() {
-		stats = new Stats[datalist.length];
-		for (int i = 0; i < stats.length; i++) {
-			stats[i] = new Stats(datalist[i]);
-		}
-		magnitudeStats = new Stats(magArray());
+		engine = new StatisticsEngine(source);
+		Stats[] allStats = engine.compute(dimensions > 1);
+		stats = Arrays.copyOf(allStats, dimensions);
+		magnitudeStats = (allStats.length > dimensions) ? allStats[dimensions] : null;
 	}
 
 	private void updateStatsLabels(int i) {
 		int showIndex = i;
-		if (datalist.length == 1) {
+		if (dimensions == 1) {
 			showIndex = 0;
 		}
 		Stats s;
@@ -272,25 +385,69 @@ public class StatisticsView extends ViewPart {
 
 	private void setAllCategories() {
 		dataSet.removeAllSeries();
-		if (curIndex >= 0) {
-			dataSet.addSeries(getCategoryName(curIndex), doubleArray(curIndex), numBars);
-		} else {
-			for (int i = 0; i < datalist.length; i++) {
-				dataSet.addSeries(getCategoryName(i), doubleArray(i), numBars);
+		if (engine.getSampleCount() == 0) {
+			return;
+		}
+		for (int series : getShownSeries()) {
+			dataSet.addSeries(getCategoryName(series), engine.histogram(series, numBars, stats[series].getMin(), stats[series].getMax()));
+		}
+	}
+
+	/**
+	 * Bins the samples which have arrived since the last live refresh. The bin ranges are fixed when the histogram is
+	 * first built; later values outside them are counted in the first or last bin.
+	 * @return The bins to merge into the histogram on the UI thread, or null if there's nothing to update
+	 */
+	private LiveHistogramUpdate computeLiveHistogram(Stats[] allStats) {
+		StatisticsEngine liveEngine = new StatisticsEngine(source);
+		long samples = liveEngine.getSampleCount();
+		long fromSamples = liveHistogramSamples;
+		if (samples == fromSamples || allStats[0].getLength() == 0) {
+			return null;
+		}
+
+		int bars = numBars;
+		int[] shownSeries = getShownSeries();
+		HistogramBins[] bins = new HistogramBins[shownSeries.length];
+		for (int i = 0; i < shownSeries.length; i++) {
+			if (fromSamples == 0) {
+				Stats s = allStats[shownSeries[i]];
+				bins[i] = liveEngine.histogram(shownSeries[i], bars, s.getMin(), s.getMax());
+			} else if (i < dataSet.getSeriesCount()) {
+				HistogramBins current = dataSet.getBins(i);
+				bins[i] = liveEngine.histogram(shownSeries[i], bars, current.getMinimum(), current.getMaximum(), fromSamples);
+			} else {
+				// The histogram was rebuilt meanwhile
+				return null;
 			}
 		}
+		return new LiveHistogramUpdate(fromSamples, samples, bars, shownSeries, bins);
+	}
+
+	/**
+	 * @return The dimensions to chart
+	 */
+	private int[] getShownSeries() {
+		if (curIndex >= 0) {
+			return new int[] { curIndex };
+		}
+		int[] series = new int[dimensions];
+		for (int i = 0; i < dimensions; i++) {
+			series[i] = i;
+		}
+		return series;
 	}
 
 	private String getCategoryName(int i) {
 		if (i < 0) {
 			return "Complex (statistics calculated using magnitude)";
-		} else if (datalist.length == 2) {
+		} else if (dimensions == 2) {
 			if (i == 0) {
 				return "Real";
 			} else {
 				return "Imaginary";
 			}
-		} else if (datalist.length == 1) {
+		} else if (dimensions == 1) {
 			return "";
 		}
 		return "Dimension " + i;
@@ -301,43 +458,43 @@ public class StatisticsView extends ViewPart {
 	 * @since 2.0
 	 */
 	public void setInput(Number[][] datalist) {
-		this.datalist = datalist;
-		refreshJob.schedule();
+		setInput(new NumberArraySource(datalist));
 	}
 
-	private double[] doubleArray(int index) {
-		Number[] series = datalist[index];
-
-		double[] array = new double[series.length];
-		for (int i = 0; i < array.length; i++) {
-			array[i] = series[i].doubleValue();
-		}
-		return array;
-	}
-
-	private Number[] magArray() {
-		Number[] array = new Number[datalist.length];
-		for (int i = 0; i < datalist.length; i++) {
-			array[i] = findMagnitude(datalist[i]);
-		}
-		return array;
+	/**
+	 * Sets the data to calculate statistics for. The data is read directly from the source each time the view
+	 * refreshes.
+	 * @since 2.1
+	 */
+	public void setInput(IStatisticsSource source) {
+		setInput(source, null);
 	}
 
-	private Number findMagnitude(Number[] nums) {
-		double n = 0;
-		for (int i = 0; i < nums.length; i++) {
-			n += Math.pow(nums[i].doubleValue(), 2);
-		}
-		return Math.sqrt(n);
+	/**
+	 * Sets the data to calculate statistics for while it is still being captured. Until the live statistics are
+	 * marked complete, the view periodically displays them rather than recalculating from the source. Afterwards, the
+	 * statistics and chart are calculated from the source.
+	 * @param source The data
+	 * @param liveStatistics Statistics kept up-to-date as the data arrives, or null if the data is complete
+	 * @since 2.1
+	 */
+	public void setInput(IStatisticsSource source, LiveStatistics liveStatistics) {
+		this.source = source;
+		this.dimensions = source.getDimension();
+		this.liveStatistics = liveStatistics;
+		this.liveHistogramSamples = 0;
+		refreshJob.schedule();
 	}
 
 	public void setIndex(int i) {
 		this.curIndex = i;
+		this.liveHistogramSamples = 0;
 		refreshJob.schedule();
 	}
 
 	public void setNumBars(int i) {
 		this.numBars = i;
+		this.liveHistogramSamples = 0;
 	}
 
 	/**
@@ -349,6 +506,8 @@ public class StatisticsView extends ViewPart {
 
 	@Override
 	public void dispose() {
+		liveStatistics = null;
+		liveRefreshJob.cancel();
 		super.dispose();
 		for (DisposeListener listener : listeners) {
 			listener.widgetDisposed(null);
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package gov.redhawk.ide.codegen.tests;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.redhawk.ide.codegen.CodegenFactory;
+import gov.redhawk.ide.codegen.FileToCRCMap;
+import gov.redhawk.ide.codegen.ImplementationSettings;
+import gov.redhawk.ide.codegen.util.GeneratedFileStatusIndex;
+
+public class GeneratedFileStatusIndexTest {
+
+	private static final String CONTENTS = "int main() {\n\treturn 0;\n}\n";
+
+	private IProject project;
+
+	@Before
+	public void before() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(GeneratedFileStatusIndexTest.class.getSimpleName());
+		project.create(null);
+		project.open(null);
+	}
+
+	@After
+	public void after() throws CoreException {
+		project.delete(true, null);
+	}
+
+	/**
+	 * Stored CRCs are keyed by file name, with the first one recorded for a name taking precedence
+	 */
+	@Test
+	public void getGeneratedFileCRCs() {
+		ImplementationSettings settings = CodegenFactory.eINSTANCE.createImplementationSettings();
+		settings.getGeneratedFileCRCs().add(createMap("main.cpp", 1L));
+		settings.getGeneratedFileCRCs().add(createMap("Makefile.am", 2L));
+		settings.getGeneratedFileCRCs().add(createMap("main.cpp", 3L));
+
+		Map<String, Long> crcs = GeneratedFileStatusIndex.getGeneratedFileCRCs(settings);
+		Assert.assertEquals(2, crcs.size());
+		Assert.assertEquals(Long.valueOf(1L), crcs.get("main.cpp"));
+		Assert.assertEquals(Long.valueOf(2L), crcs.get("Makefile.am"));
+	}
+
+	/**
+	 * A file is modified only once its contents no longer match the CRC recorded when it was generated
+	 */
+	@Test
+	public void isModified() throws CoreException {
+		IFile file = project.getFile("main.cpp");
+		file.create(new ByteArrayInputStream(CONTENTS.getBytes(StandardCharsets.UTF_8)), true, null);
+
+		ImplementationSettings settings = CodegenFactory.eINSTANCE.createImplementationSettings();
+		settings.getGeneratedFileCRCs().add(createMap("main.cpp", crc(CONTENTS)));
+		Map<String, Long> crcs = GeneratedFileStatusIndex.getGeneratedFileCRCs(settings);
+
+		Assert.assertEquals(crc(CONTENTS), GeneratedFileStatusIndex.getCRC(file));
+		Assert.assertFalse(GeneratedFileStatusIndex.isModified(file, "main.cpp", crcs));
+		Assert.assertFalse("No CRC was recorded", GeneratedFileStatusIndex.isModified(file, "other.cpp", crcs));
+		Assert.assertFalse("File doesn't exist", GeneratedFileStatusIndex.isModified(project.getFile("missing.cpp"), "main.cpp", crcs));
+
+		// The cached CRC must not be used once the file changes
+		String newContents = CONTENTS + "// Edited\n";
+		file.setContents(new ByteArrayInputStream(newContents.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		Assert.assertEquals(crc(newContents), GeneratedFileStatusIndex.getCRC(file));
+		Assert.assertTrue(GeneratedFileStatusIndex.isModified(file, "main.cpp", crcs));
+	}
+
+	private FileToCRCMap createMap(String fileName, long crc) {
+		FileToCRCMap map = CodegenFactory.eINSTANCE.createFileToCRCMap();
+		map.setFile(fileName);
+		map.setCrc(crc);
+		return map;
+	}
+
+	private long crc(String contents) {
+		CRC32 check = new CRC32();
+		check.update(contents.getBytes(StandardCharsets.UTF_8));
+		return check.getValue();
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug.internal.cf.extended.impl.tests;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.debug.core.ILaunch;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import CF.LifeCyclePackage.ReleaseError;
+import gov.redhawk.ide.debug.LocalScaWaveform;
+import gov.redhawk.ide.debug.ScaDebugFactory;
+import gov.redhawk.ide.debug.impl.LocalScaComponentImpl;
+import gov.redhawk.ide.debug.internal.cf.extended.impl.ApplicationImpl;
+import gov.redhawk.ide.debug.internal.cf.extended.impl.ParallelTeardown;
+
+public class ParallelTeardownTest {
+
+	/**
+	 * A launch which records whether it was terminated.
+	 */
+	private static class TestLaunch implements InvocationHandler {
+		private volatile boolean terminated;
+
+		ILaunch create() {
+			return (ILaunch) Proxy.newProxyInstance(ILaunch.class.getClassLoader(), new Class< ? >[] { ILaunch.class }, this);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			switch (method.getName()) {
+			case "terminate":
+				terminated = true;
+				return null;
+			case "isTerminated":
+				return terminated;
+			case "canTerminate":
+				return !terminated;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return (method.getReturnType() == boolean.class) ? Boolean.FALSE : null;
+			}
+		}
+	}
+
+	/**
+	 * A component which releases straight away, or hangs until told to fail.
+	 */
+	private static class TestComponent extends LocalScaComponentImpl {
+		private final String testName;
+		private final CountDownLatch hang;
+		private final CountDownLatch returned = new CountDownLatch(1);
+
+		TestComponent(String name, CountDownLatch hang, ILaunch launch) {
+			this.testName = name;
+			this.hang = hang;
+			setLaunch(launch);
+		}
+
+		@Override
+		public String getName() {
+			return testName;
+		}
+
+		@Override
+		public void releaseObject() throws ReleaseError {
+			try {
+				if (hang != null) {
+					hang.await();
+					throw new ReleaseError(new String[] { "late failure" });
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				returned.countDown();
+			}
+		}
+	}
+
+	private final CountDownLatch hang = new CountDownLatch(1);
+	private ApplicationImpl app;
+
+	@Before
+	public void before() {
+		LocalScaWaveform waveform = ScaDebugFactory.eINSTANCE.createLocalScaWaveform();
+		app = new ApplicationImpl(waveform, "ParallelTeardownTest", "ParallelTeardownTest");
+	}
+
+	@After
+	public void after() {
+		hang.countDown();
+	}
+
+	/**
+	 * A component which doesn't release by the deadline has its launch terminated, and the teardown doesn't wait for
+	 * it any longer than that.
+	 */
+	@Test
+	public void releaseDeadline() throws InterruptedException {
+		TestLaunch goodLaunch = new TestLaunch();
+		TestLaunch hungLaunch = new TestLaunch();
+		ParallelTeardown teardown = new ParallelTeardown(app, 0.5f);
+		teardown.addComponent(new TestComponent("good_1", null, goodLaunch.create()));
+		teardown.addComponent(new TestComponent("hung_1", hang, hungLaunch.create()));
+
+		long start = System.nanoTime();
+		teardown.release();
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assert.assertTrue("Returned before the deadline: " + elapsed + " ms", elapsed >= 450);
+		Assert.assertTrue("Waited past the deadline: " + elapsed + " ms", elapsed < 2000);
+		Assert.assertFalse(goodLaunch.terminated);
+		Assert.assertTrue(hungLaunch.terminated);
+		String err = app.getStreams().getErrStream().getContents();
+		Assert.assertTrue(err, err.contains("hung_1"));
+		Assert.assertFalse(err, err.contains("good_1"));
+	}
+
+	/**
+	 * A call abandoned at the deadline writes nothing to the console when it finally returns.
+	 */
+	@Test
+	public void lateOutputSuppressed() throws InterruptedException {
+		TestComponent hung = new TestComponent("hung_1", hang, new TestLaunch().create());
+		ParallelTeardown teardown = new ParallelTeardown(app, 0.25f);
+		teardown.addComponent(hung);
+		teardown.release();
+		String out = app.getStreams().getOutStream().getContents();
+		String err = app.getStreams().getErrStream().getContents();
+
+		hang.countDown();
+		Assert.assertTrue(hung.returned.await(5, TimeUnit.SECONDS));
+		Thread.sleep(200);
+		Assert.assertEquals(out, app.getStreams().getOutStream().getContents());
+		Assert.assertEquals(err, app.getStreams().getErrStream().getContents());
+	}
+
+	/**
+	 * Terminating tears down every launch without releasing anything.
+	 */
+	@Test
+	public void terminate() throws InterruptedException {
+		TestLaunch launch1 = new TestLaunch();
+		TestLaunch launch2 = new TestLaunch();
+		TestComponent hung = new TestComponent("hung_1", hang, launch1.create());
+		ParallelTeardown teardown = new ParallelTeardown(app, 1);
+		teardown.addComponent(hung);
+		teardown.addComponentHost(new TestComponent("host_1", null, launch2.create()), "host_1");
+		teardown.terminate();
+
+		Assert.assertTrue(launch1.terminated);
+		Assert.assertTrue(launch2.terminated);
+		Assert.assertEquals(1, hung.returned.getCount());
+	}
+}
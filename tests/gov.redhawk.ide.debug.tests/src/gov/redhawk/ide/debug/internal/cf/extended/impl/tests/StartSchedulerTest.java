@@ -0,0 +1,85 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug.internal.cf.extended.impl.tests;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import gov.redhawk.ide.debug.ScaDebugFactory;
+import gov.redhawk.ide.debug.internal.cf.extended.impl.StartScheduler;
+import gov.redhawk.model.sca.ScaComponent;
+
+public class StartSchedulerTest {
+
+	private final Map<ScaComponent, Object> ranks = new IdentityHashMap<>();
+
+	/**
+	 * Consecutive components with the same start order are grouped, and the groups stay in start order.
+	 */
+	@Test
+	public void groupByRank() {
+		ScaComponent a = create(0);
+		ScaComponent b = create(1);
+		ScaComponent c = create(1);
+		ScaComponent d = create(2);
+		ScaComponent e = create(2);
+		ScaComponent f = create(3);
+
+		List<List<ScaComponent>> groups = StartScheduler.groupByRank(Arrays.asList(a, b, c, d, e, f), ranks::get);
+		Assert.assertEquals(Arrays.asList(Arrays.asList(a), Arrays.asList(b, c), Arrays.asList(d, e), Arrays.asList(f)), groups);
+	}
+
+	/**
+	 * The assembly controller is its own rank wherever it falls, so it isn't started alongside components with the same
+	 * start order.
+	 */
+	@Test
+	public void assemblyController() {
+		ScaComponent ac = create(null);
+		ranks.put(ac, ac);
+		ScaComponent a = create(1);
+		ScaComponent b = create(1);
+		ScaComponent c = create(1);
+
+		List<List<ScaComponent>> groups = StartScheduler.groupByRank(Arrays.asList(ac, a, b, c), ranks::get);
+		Assert.assertEquals(Arrays.asList(Arrays.asList(ac), Arrays.asList(a, b, c)), groups);
+
+		groups = StartScheduler.groupByRank(Arrays.asList(a, ac, b, c), ranks::get);
+		Assert.assertEquals(Arrays.asList(Arrays.asList(a), Arrays.asList(ac), Arrays.asList(b, c)), groups);
+	}
+
+	/**
+	 * Components without a start order (rank null) are grouped like any other rank.
+	 */
+	@Test
+	public void noStartOrder() {
+		ScaComponent a = create(1);
+		ScaComponent b = create(null);
+		ScaComponent c = create(null);
+
+		List<List<ScaComponent>> groups = StartScheduler.groupByRank(Arrays.asList(a, b, c), ranks::get);
+		Assert.assertEquals(Arrays.asList(Arrays.asList(a), Arrays.asList(b, c)), groups);
+		Assert.assertEquals(Collections.emptyList(), StartScheduler.groupByRank(Collections.<ScaComponent> emptyList(), ranks::get));
+	}
+
+	private ScaComponent create(Integer startOrder) {
+		ScaComponent component = ScaDebugFactory.eINSTANCE.createLocalScaComponent();
+		ranks.put(component, (startOrder == null) ? null : BigInteger.valueOf(startOrder));
+		return component;
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug.internal.tests;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.omg.CORBA.LocalObject;
+import org.omg.CORBA.OBJECT_NOT_EXIST;
+
+import gov.redhawk.ide.debug.internal.LivenessCache;
+
+public class LivenessCacheTest {
+
+	/**
+	 * An object which counts pings, and can be made to die or hang.
+	 */
+	private static class PingTarget extends LocalObject {
+		private static final long serialVersionUID = 1L;
+		private final AtomicInteger pings = new AtomicInteger();
+		private volatile boolean dead;
+		private volatile CountDownLatch hang;
+
+		@Override
+		public boolean _non_existent() {
+			pings.incrementAndGet();
+			CountDownLatch latch = hang;
+			if (latch != null) {
+				try {
+					latch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (dead) {
+				throw new OBJECT_NOT_EXIST();
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Ping results are reused until the TTL expires.
+	 */
+	@Test
+	public void timeToLive() throws InterruptedException {
+		LivenessCache cache = new LivenessCache();
+		cache.setTimeToLive(200);
+		PingTarget obj = new PingTarget();
+
+		Assert.assertTrue(cache.isAlive(obj));
+		Assert.assertTrue(cache.isAlive(obj));
+		Assert.assertEquals(1, obj.pings.get());
+
+		obj.dead = true;
+		Assert.assertTrue(cache.isAlive(obj));
+		Assert.assertFalse(cache.isKnownDead(obj));
+		Thread.sleep(300);
+		Assert.assertFalse(cache.isAlive(obj));
+		Assert.assertTrue(cache.isKnownDead(obj));
+		Assert.assertEquals(2, obj.pings.get());
+
+		// A forced ping ignores the cached result
+		obj.dead = false;
+		Assert.assertTrue(cache.ping(obj));
+		Assert.assertEquals(3, obj.pings.get());
+	}
+
+	/**
+	 * Objects are pinged concurrently, and one that doesn't answer in time is assumed alive but isn't cached.
+	 */
+	@Test
+	public void pingTimeout() {
+		LivenessCache cache = new LivenessCache();
+		cache.setPingTimeout(250);
+		PingTarget hung1 = new PingTarget();
+		hung1.hang = new CountDownLatch(1);
+		PingTarget hung2 = new PingTarget();
+		hung2.hang = hung1.hang;
+		PingTarget dead = new PingTarget();
+		dead.dead = true;
+
+		try {
+			long start = System.nanoTime();
+			Map<org.omg.CORBA.Object, Boolean> alive = cache.checkAll(Arrays.asList(hung1, hung2, dead));
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			Assert.assertTrue("Pings weren't concurrent: " + elapsed + " ms", elapsed < 450);
+			Assert.assertTrue(alive.get(hung1));
+			Assert.assertTrue(alive.get(hung2));
+			Assert.assertFalse(alive.get(dead));
+			Assert.assertTrue(cache.isStale(hung1));
+			Assert.assertFalse(cache.isStale(dead));
+		} finally {
+			hung1.hang.countDown();
+		}
+	}
+
+	/**
+	 * A ping which is still running is reused rather than started again, and its result is cached once it returns.
+	 */
+	@Test
+	public void hungPingReused() throws InterruptedException {
+		LivenessCache cache = new LivenessCache();
+		cache.setPingTimeout(100);
+		PingTarget hung = new PingTarget();
+		hung.hang = new CountDownLatch(1);
+
+		try {
+			Assert.assertTrue(cache.isAlive(hung));
+			Assert.assertTrue(cache.isAlive(hung));
+			Assert.assertTrue(cache.ping(hung));
+			Assert.assertTrue(cache.isStale(hung));
+			Assert.assertEquals(1, hung.pings.get());
+		} finally {
+			hung.hang.countDown();
+		}
+
+		long startTime = System.currentTimeMillis();
+		while (cache.isStale(hung) && System.currentTimeMillis() < startTime + 5000) {
+			Thread.sleep(50);
+		}
+		Assert.assertFalse(cache.isStale(hung));
+		Assert.assertTrue(cache.isAlive(hung));
+		Assert.assertEquals(1, hung.pings.get());
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug.tests;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import gov.redhawk.ide.debug.NamingServiceStatistics;
+import gov.redhawk.ide.debug.NamingServiceStatistics.Operation;
+import gov.redhawk.ide.debug.NamingServiceStatistics.OperationStats;
+
+public class NamingServiceStatisticsTest {
+
+	@After
+	public void after() {
+		NamingServiceStatistics.getInstance().reset();
+	}
+
+	@Test
+	public void record() {
+		NamingServiceStatistics stats = NamingServiceStatistics.getInstance();
+		long now = System.nanoTime();
+		for (int i = 0; i < 99; i++) {
+			stats.record(Operation.RESOLVE, now - TimeUnit.MICROSECONDS.toNanos(3));
+		}
+		stats.record(Operation.RESOLVE, now - TimeUnit.MILLISECONDS.toNanos(10));
+
+		OperationStats resolve = stats.getStats(Operation.RESOLVE);
+		Assert.assertEquals(100, resolve.getCount());
+		Assert.assertTrue(resolve.getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+		Assert.assertTrue(resolve.getPercentileNanos(0.5) <= TimeUnit.MICROSECONDS.toNanos(1024));
+		Assert.assertTrue(resolve.getPercentileNanos(1.0) >= TimeUnit.MILLISECONDS.toNanos(10));
+		long total = 0;
+		for (long count : resolve.getHistogram()) {
+			total += count;
+		}
+		Assert.assertEquals(100, total);
+		Assert.assertEquals(0, stats.getStats(Operation.BIND).getCount());
+
+		stats.recordPurge(2, 1);
+		Assert.assertEquals(2, stats.getPurgedObjects());
+		Assert.assertEquals(1, stats.getPurgedContexts());
+
+		stats.reset();
+		Assert.assertEquals(0, stats.getStats(Operation.RESOLVE).getCount());
+		Assert.assertEquals(0, stats.getPurgedObjects());
+	}
+
+	@Test
+	public void writeCsv() throws IOException {
+		NamingServiceStatistics stats = NamingServiceStatistics.getInstance();
+		stats.record(Operation.BIND, System.nanoTime());
+		stats.recordPurge(1, 0);
+
+		StringBuilder sb = new StringBuilder();
+		stats.writeCsv(sb, null);
+		String[] lines = sb.toString().split("\n");
+		Assert.assertTrue(lines[0].startsWith("Operation,Count,"));
+		Assert.assertTrue(lines[1].startsWith("BIND,1,"));
+		Assert.assertTrue(sb.toString().contains("Purged objects,Purged contexts\n1,0\n"));
+	}
+}
@@ -11,20 +11,30 @@
 // BEGIN GENERATED CODE
 package gov.redhawk.ide.debug.tests;
 
+import gov.redhawk.ide.debug.LocalSca;
 import gov.redhawk.ide.debug.NotifyingNamingContext;
 import gov.redhawk.ide.debug.ScaDebugFactory;
+import gov.redhawk.ide.debug.internal.ScaDebugInstance;
 import gov.redhawk.sca.efs.ScaFileSystemPlugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import junit.framework.TestCase;
 import junit.textui.TestRunner;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.common.util.URI;
 import org.jacorb.naming.Name;
 import org.omg.CosNaming.NameComponent;
+import org.omg.CosNaming.NamingContextPackage.AlreadyBound;
+import org.omg.CosNaming.NamingContextPackage.CannotProceed;
 import org.omg.CosNaming.NamingContextPackage.InvalidName;
+import org.omg.CosNaming.NamingContextPackage.NotFound;
 
 /**
  * <!-- begin-user-doc -->
@@ -44,6 +54,7 @@ import org.omg.CosNaming.NamingContextPackage.InvalidName;
  *   <li>{@link gov.redhawk.ide.debug.NotifyingNamingContext#getFullName() <em>Get Full Name</em>}</li>
  *   <li>{@link gov.redhawk.ide.debug.NotifyingNamingContext#getResourceContext(org.eclipse.emf.common.util.URI) <em>Get Resource Context</em>}</li>
  *   <li>{@link gov.redhawk.ide.debug.NotifyingNamingContext#findContext(org.omg.CosNaming.NamingContext) <em>Find Context</em>}</li>
+ *   <li>{@link gov.redhawk.ide.debug.NotifyingNamingContext#waitForBinding(org.omg.CosNaming.NameComponent[]) <em>Wait For Binding</em>}</li>
  *   <li>{@link gov.redhawk.model.sca.IDisposable#dispose() <em>Dispose</em>}</li>
  * </ul>
  * </p>
@@ -215,6 +226,53 @@ public class NotifyingNamingContextTest extends TestCase {
 		// BEGIN GENERATED CODE
 	}
 
+	/**
+	 * Tests the '{@link gov.redhawk.ide.debug.NotifyingNamingContext#waitForBinding(org.omg.CosNaming.NameComponent[]) <em>Wait For Binding</em>}' operation.
+	 * <!-- begin-user-doc -->
+	 * <!-- end-user-doc -->
+	 * @see gov.redhawk.ide.debug.NotifyingNamingContext#waitForBinding(org.omg.CosNaming.NameComponent[])
+	 * @generated NOT
+	 */
+	public void testWaitForBinding__NameComponent() throws CoreException, NotFound, CannotProceed, InvalidName, AlreadyBound,
+		InterruptedException, ExecutionException, TimeoutException {
+		// END GENERATED CODE
+		// Binding the name in a real context completes the wait with the bound object
+		ScaDebugInstance.INSTANCE.init(null);
+		final LocalSca localSca = ScaDebugInstance.INSTANCE.getLocalSca();
+		final NotifyingNamingContext rootContext = localSca.getRootContext();
+		final NameComponent[] name = Name.toName("waitForBinding_" + System.nanoTime());
+		final Future<org.omg.CORBA.Object> bound = rootContext.waitForBinding(name);
+		assertFalse(bound.isDone());
+		final org.omg.CORBA.Object obj = rootContext.getNamingContext();
+		rootContext.bind(name, obj);
+		try {
+			assertSame(obj, bound.get(10, TimeUnit.SECONDS));
+		} finally {
+			rootContext.unbind(name);
+		}
+
+		final Future<org.omg.CORBA.Object> future = getFixture().waitForBinding(Name.toName("comp_1"));
+		assertFalse(future.isDone());
+
+		// Waiters are failed when the context is disposed
+		getFixture().dispose();
+		assertTrue(future.isDone());
+		try {
+			future.get();
+			fail("Expected the wait to fail");
+		} catch (ExecutionException e) {
+			// PASS
+		}
+
+		try {
+			getFixture().waitForBinding(new NameComponent[0]);
+			fail("Expected InvalidName");
+		} catch (InvalidName e) {
+			// PASS
+		}
+		// BEGIN GENERATED CODE
+	}
+
 	/**
 	 * Tests the '{@link gov.redhawk.model.sca.IDisposable#dispose() <em>Dispose</em>}' operation.
 	 * <!-- begin-user-doc -->
@@ -0,0 +1,54 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.debug.tests;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import gov.redhawk.ide.debug.ResourceHistory;
+import gov.redhawk.ide.debug.ResourceHistory.Series;
+
+public class ResourceHistoryTest {
+
+	/**
+	 * Once full, each new sample replaces the oldest one.
+	 */
+	@Test
+	public void ringBuffer() {
+		ResourceHistory history = new ResourceHistory("comp_1", 3);
+		Assert.assertEquals("comp_1", history.getName());
+		Assert.assertEquals(3, history.getCapacity());
+		Assert.assertEquals(0, history.size());
+
+		for (int i = 0; i < 5; i++) {
+			history.add(1000 + i, 0.5f * i, 10 + i, 1, 2 + i, 3 + i);
+		}
+		Assert.assertEquals(3, history.size());
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(1002 + i, history.getTime(i));
+			Assert.assertEquals(0.5 * (2 + i), history.get(Series.CORES, i), 0.0001);
+			Assert.assertEquals(12 + i, history.get(Series.MEMORY, i), 0.0001);
+			Assert.assertEquals(1, history.get(Series.PROCESSES, i), 0);
+			Assert.assertEquals(4 + i, history.get(Series.THREADS, i), 0);
+			Assert.assertEquals(5 + i, history.get(Series.FILES, i), 0);
+		}
+
+		history.clear();
+		Assert.assertEquals(0, history.size());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void outOfBounds() {
+		ResourceHistory history = new ResourceHistory("comp_1", 3);
+		history.add(1000, 0, 0, 0, 0, 0);
+		history.getTime(1);
+	}
+}
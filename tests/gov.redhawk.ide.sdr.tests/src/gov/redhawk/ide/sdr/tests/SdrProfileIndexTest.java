@@ -0,0 +1,177 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.sdr.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.redhawk.ide.sdr.IdeSdrActivator;
+import gov.redhawk.ide.sdr.LoadState;
+import gov.redhawk.ide.sdr.SdrRoot;
+import gov.redhawk.ide.sdr.TargetSdrRoot;
+import mil.jpeojtrs.sca.spd.SoftPkg;
+
+/**
+ * Tests the SDR profile index kept in the workspace metadata, by loading an SDR root more than once.
+ * <p/>
+ * The index records which container each SPD is in. To tell whether the index was used, the SCD of a component is
+ * changed to make it a device, while leaving the SCD's size and modification time alone. If the index is used, the
+ * SPD's stamp still matches and the component stays where the index says; otherwise the SCD is read and it's a device.
+ */
+public class SdrProfileIndexTest {
+
+	private static final String INDEX_FILE_NAME = "sdrProfileIndex.dat";
+	private static final String READER_SCD = "dom/components/Reader/Reader.scd.xml";
+	private static final String RESOURCE_TYPE = "<componenttype>resource</componenttype>";
+
+	/**
+	 * The same length as {@link #RESOURCE_TYPE}
+	 */
+	private static final String DEVICE_TYPE = "<componenttype>device</componenttype>  ";
+
+	private Path tempDir;
+	private Path sdrPath;
+	private final List<SdrRoot> sdrRoots = new ArrayList<>();
+
+	@Before
+	public void before() throws IOException, InterruptedException {
+		// The target SDR root writes the index too; let it finish its initial load
+		SdrRoot targetSdrRoot = TargetSdrRoot.getSdrRoot();
+		long startTime = System.currentTimeMillis();
+		while ((targetSdrRoot.getState() != LoadState.LOADED || Job.getJobManager().find(TargetSdrRoot.FAMILY_REFRESH_SDR).length > 0)
+			&& System.currentTimeMillis() < startTime + 5000) {
+			Thread.sleep(250);
+		}
+
+		tempDir = Files.createTempDirectory(SdrProfileIndexTest.class.getSimpleName());
+		sdrPath = tempDir.resolve("sdr");
+		SdrTestsUtil.copySdrRoot(SdrTestsUtil.DEFAULT_SDR_PATH, sdrPath);
+	}
+
+	@After
+	public void after() throws IOException {
+		for (SdrRoot root : sdrRoots) {
+			root.unload(null);
+		}
+		SdrTestsUtil.deleteTree(tempDir);
+	}
+
+	/**
+	 * Loading with the index gives the same containers as loading without it
+	 */
+	@Test
+	public void roundTrip() throws IOException {
+		List<String> expected = SdrTestsUtil.describe(load(sdrPath));
+		Assert.assertTrue("Index wasn't written", getIndexFile().isFile());
+
+		SdrTestsUtil.replace(sdrPath.resolve(READER_SCD), RESOURCE_TYPE, DEVICE_TYPE, true);
+		List<String> actual = SdrTestsUtil.describe(load(sdrPath));
+		Assert.assertTrue("Index wasn't used", actual.contains("components/Reader"));
+		Assert.assertEquals(expected, actual);
+	}
+
+	/**
+	 * An SPD which hasn't changed since it was indexed isn't parsed; its stand-in stays in the model until it's resolved
+	 */
+	@Test
+	public void unchangedNotParsed() throws IOException {
+		load(sdrPath);
+		SdrRoot root = load(sdrPath);
+
+		EList<SoftPkg> components = root.getComponentsContainer().getComponents();
+		List<SoftPkg> unresolved = ((InternalEList<SoftPkg>) components).basicList();
+		int index = -1;
+		for (int i = 0; i < unresolved.size(); i++) {
+			if ("Reader".equals(unresolved.get(i).getName())) {
+				index = i;
+			}
+		}
+		Assert.assertTrue("Reader wasn't found", index >= 0);
+		Assert.assertTrue("Reader was parsed", unresolved.get(index).eIsProxy());
+
+		SoftPkg reader = components.get(index);
+		Assert.assertFalse(reader.eIsProxy());
+		Assert.assertEquals("Reader", reader.getName());
+		Assert.assertNotNull(reader.getDescriptor().getComponent());
+	}
+
+	/**
+	 * An index written by a different version is ignored
+	 */
+	@Test
+	public void versionMismatch() throws IOException {
+		load(sdrPath);
+		try (RandomAccessFile file = new RandomAccessFile(getIndexFile(), "rw")) {
+			// The version follows the 4-byte magic number
+			file.seek(4);
+			int version = file.readInt();
+			file.seek(4);
+			file.writeInt(version + 1);
+		}
+
+		SdrTestsUtil.replace(sdrPath.resolve(READER_SCD), RESOURCE_TYPE, DEVICE_TYPE, true);
+		assertScdWasRead(load(sdrPath));
+	}
+
+	/**
+	 * An index written for a different SDR root is ignored, even if the files look the same
+	 */
+	@Test
+	public void rootMismatch() throws IOException {
+		load(sdrPath);
+
+		Path otherSdrPath = tempDir.resolve("otherSdr");
+		SdrTestsUtil.copyTree(sdrPath, otherSdrPath);
+		SdrTestsUtil.replace(otherSdrPath.resolve(READER_SCD), RESOURCE_TYPE, DEVICE_TYPE, true);
+		assertScdWasRead(load(otherSdrPath));
+	}
+
+	/**
+	 * An SPD whose SCD has changed since it was indexed is parsed again
+	 */
+	@Test
+	public void staleStamp() throws IOException {
+		load(sdrPath);
+
+		SdrTestsUtil.replace(sdrPath.resolve(READER_SCD), RESOURCE_TYPE, DEVICE_TYPE, false);
+		assertScdWasRead(load(sdrPath));
+	}
+
+	private SdrRoot load(Path path) {
+		SdrRoot root = SdrTestsUtil.getSdrRoot(path);
+		sdrRoots.add(root);
+		Assert.assertEquals(LoadState.LOADED, root.getState());
+		return root;
+	}
+
+	private void assertScdWasRead(SdrRoot root) {
+		List<String> description = SdrTestsUtil.describe(root);
+		Assert.assertTrue(description.contains("devices/Reader"));
+		Assert.assertFalse(description.contains("components/Reader"));
+	}
+
+	private static File getIndexFile() {
+		return IdeSdrActivator.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile();
+	}
+}
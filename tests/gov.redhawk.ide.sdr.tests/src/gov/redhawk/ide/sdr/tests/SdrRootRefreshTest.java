@@ -0,0 +1,283 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.sdr.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.runtime.IStatus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.redhawk.ide.sdr.LoadState;
+import gov.redhawk.ide.sdr.SdrRoot;
+import mil.jpeojtrs.sca.prf.Simple;
+import mil.jpeojtrs.sca.scd.SoftwareComponent;
+import mil.jpeojtrs.sca.spd.SoftPkg;
+
+/**
+ * Tests loading a copy of the test SDR root, and refreshing it as its files change.
+ */
+public class SdrRootRefreshTest {
+
+	/**
+	 * How long to wait for file changes to be noticed
+	 */
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * The containers of the test SDR root. Profiles with a dotted name are in a namespace container for each segment.
+	 */
+	private static final List<String> EXPECTED = Arrays.asList(
+		"components/",
+		"components/CppComponentWithDeps",
+		"components/CppComponentWithDeps2",
+		"components/FrequencyShift",
+		"components/Reader",
+		"components/Writer",
+		"components/rh/",
+		"components/rh/rh.SigGen",
+		"devices/",
+		"devices/BasicTestDevice",
+		"devices/CppDeviceWithDeps",
+		"devices/rh/",
+		"devices/rh/rh.FmRdsSimulator",
+		"nodes/",
+		"nodes/DeviceManager",
+		"nodes/demo/",
+		"nodes/demo/demo.node",
+		"services/",
+		"services/exampleService1",
+		"services/name/",
+		"services/name/space/",
+		"services/name/space/name.space.exampleService2",
+		"sharedLibraries/",
+		"sharedLibraries/CppDepA",
+		"sharedLibraries/CppDepAB",
+		"sharedLibraries/CppDepAC",
+		"sharedLibraries/CppDepD",
+		"sharedLibraries/CppDepDE",
+		"sharedLibraries/rh/",
+		"sharedLibraries/rh/rh.dsp",
+		"waveforms/",
+		"waveforms/demo/",
+		"waveforms/demo/demo.genwave",
+		"waveforms/test");
+
+	private Path tempDir;
+	private Path sdrPath;
+	private SdrRoot sdrRoot;
+	private final List<SdrRoot> sdrRoots = new ArrayList<>();
+
+	@Before
+	public void before() throws IOException {
+		tempDir = Files.createTempDirectory(SdrRootRefreshTest.class.getSimpleName());
+		sdrPath = tempDir.resolve("sdr");
+		SdrTestsUtil.copySdrRoot(SdrTestsUtil.DEFAULT_SDR_PATH, sdrPath);
+		sdrRoot = loadCopy();
+	}
+
+	@After
+	public void after() throws IOException {
+		for (SdrRoot root : sdrRoots) {
+			root.unload(null);
+		}
+		SdrTestsUtil.deleteTree(tempDir);
+	}
+
+	/**
+	 * Profiles loaded in parallel end up in the same containers and namespaces as when they were loaded one at a time
+	 */
+	@Test
+	public void parallelLoad() {
+		Assert.assertEquals(LoadState.LOADED, sdrRoot.getState());
+		Assert.assertEquals(sdrRoot.getLoadStatus().getMessage(), IStatus.OK, sdrRoot.getLoadStatus().getSeverity());
+		List<String> expected = new ArrayList<>(EXPECTED);
+		Collections.sort(expected);
+		Assert.assertEquals(expected, SdrTestsUtil.describe(sdrRoot));
+		Assert.assertNotNull(sdrRoot.getDomainConfiguration());
+	}
+
+	/**
+	 * Adding, changing and deleting an SPD. Namespace containers are created as needed, and removed when they're empty.
+	 */
+	@Test
+	public void refreshSpd() throws IOException, InterruptedException {
+		Path stagedDir = tempDir.resolve("Added");
+		SdrTestsUtil.copyTree(sdrPath.resolve("dom/components/Reader"), stagedDir);
+		SdrTestsUtil.replace(stagedDir.resolve("Reader.spd.xml"), "name=\"Reader\"", "name=\"ns.deep.Added\"", false);
+		SdrTestsUtil.replace(stagedDir.resolve("Reader.spd.xml"), "DCE:859ebb11-4767-4e8e-874a-101e6efb3440", "DCE:70e8d6e1-4b5b-4c3e-9a11-3b3e6a1f6c11",
+			false);
+		Path addedDir = sdrPath.resolve("dom/components/Added");
+		Files.move(stagedDir, addedDir);
+		refreshUntil("Added SPD", () -> SdrTestsUtil.describe(sdrRoot).contains("components/ns/deep/ns.deep.Added"));
+		assertMatchesLoad();
+
+		SdrTestsUtil.replace(addedDir.resolve("Reader.spd.xml"), "name=\"ns.deep.Added\"", "name=\"other.Added\"", false);
+		refreshUntil("Renamed SPD", () -> SdrTestsUtil.describe(sdrRoot).contains("components/other/other.Added"));
+		Assert.assertFalse("Empty namespace container", SdrTestsUtil.describe(sdrRoot).contains("components/ns/"));
+		assertMatchesLoad();
+
+		SdrTestsUtil.deleteTree(addedDir);
+		refreshUntil("Deleted SPD", () -> !SdrTestsUtil.describe(sdrRoot).contains("components/other/other.Added"));
+		Assert.assertFalse("Empty namespace container", SdrTestsUtil.describe(sdrRoot).contains("components/other/"));
+		assertMatchesLoad();
+	}
+
+	/**
+	 * Changing an SCD or PRF reloads the SPDs that refer to it
+	 */
+	@Test
+	public void refreshScdAndPrf() throws IOException, InterruptedException {
+		Path readerDir = sdrPath.resolve("dom/components/Reader");
+		SdrTestsUtil.replace(readerDir.resolve("Reader.prf.xml"), "<value>8192</value>", "<value>4096</value>", false);
+		refreshUntil("Changed PRF", () -> "4096".equals(getSimpleValue(findComponent("Reader"), "packet_size")));
+
+		SdrTestsUtil.replace(readerDir.resolve("Reader.scd.xml"), "<componenttype>resource</componenttype>", "<componenttype>device</componenttype>",
+			false);
+		refreshUntil("Changed SCD", () -> SdrTestsUtil.describe(sdrRoot).contains("devices/Reader"));
+		Assert.assertFalse(SdrTestsUtil.describe(sdrRoot).contains("components/Reader"));
+		assertMatchesLoad();
+	}
+
+	/**
+	 * The load status reports duplicate IDs and extra DMDs when they're added by a refresh, and not once they're gone
+	 */
+	@Test
+	public void refreshStatus() throws IOException, InterruptedException {
+		Path stagedDir = tempDir.resolve("ReaderCopy");
+		SdrTestsUtil.copyTree(sdrPath.resolve("dom/components/Reader"), stagedDir);
+		SdrTestsUtil.replace(stagedDir.resolve("Reader.spd.xml"), "name=\"Reader\"", "name=\"ReaderCopy\"", false);
+		Path copyDir = sdrPath.resolve("dom/components/ReaderCopy");
+		Files.move(stagedDir, copyDir);
+		refreshUntil("Duplicate ID", () -> hasStatus(sdrRoot, IStatus.ERROR, "IDs should be unique."));
+		SdrTestsUtil.deleteTree(copyDir);
+		refreshUntil("Duplicate removed", () -> sdrRoot.getLoadStatus().isOK());
+
+		stagedDir = tempDir.resolve("domain2");
+		Files.createDirectories(stagedDir);
+		Files.copy(sdrPath.resolve("dom/domain/DomainManager.dmd.xml"), stagedDir.resolve("DomainManager.dmd.xml"));
+		Path dmdDir = sdrPath.resolve("dom/domain2");
+		Files.move(stagedDir, dmdDir);
+		refreshUntil("Extra DMD", () -> hasStatus(sdrRoot, IStatus.WARNING, "Multiple DMD files found"));
+		Assert.assertNotNull(sdrRoot.getDomainConfiguration());
+		SdrTestsUtil.deleteTree(dmdDir);
+		refreshUntil("Extra DMD removed", () -> sdrRoot.getLoadStatus().isOK());
+		Assert.assertNotNull(sdrRoot.getDomainConfiguration());
+	}
+
+	/**
+	 * An SCD shared by SPDs which may be parsed on different threads is loaded once, and refreshing one of the SPDs
+	 * doesn't load another copy of it
+	 */
+	@Test
+	public void sharedFiles() throws IOException, InterruptedException {
+		for (int i = 1; i <= 4; i++) {
+			addSharedSpd("Shared" + i, String.format("DCE:5a1d7f3e-0c2b-4d8e-9f61-2b7c4e8a90%02d", i));
+		}
+		sdrRoot = loadCopy();
+		SoftPkg reader = findComponent("Reader");
+		Assert.assertNotNull(reader);
+		SoftwareComponent scd = reader.getDescriptor().getComponent();
+		for (int i = 1; i <= 4; i++) {
+			Assert.assertSame(scd, findComponent("Shared" + i).getDescriptor().getComponent());
+		}
+
+		Path spdFile = sdrPath.resolve("dom/components/Shared1/Shared1.spd.xml");
+		SdrTestsUtil.replace(spdFile, "name=\"Shared1\"", "name=\"Shared1b\"", false);
+		refreshUntil("Changed SPD", () -> findComponent("Shared1b") != null);
+		Assert.assertSame(scd, findComponent("Shared1b").getDescriptor().getComponent());
+	}
+
+	/**
+	 * Adds an SPD whose PRF and SCD are Reader's
+	 */
+	private void addSharedSpd(String name, String id) throws IOException {
+		Path dir = sdrPath.resolve("dom/components/" + name);
+		Files.createDirectories(dir);
+		Path spdFile = dir.resolve(name + ".spd.xml");
+		Files.copy(sdrPath.resolve("dom/components/Reader/Reader.spd.xml"), spdFile);
+		SdrTestsUtil.replace(spdFile, "name=\"Reader\"", "name=\"" + name + "\"", false);
+		SdrTestsUtil.replace(spdFile, "DCE:859ebb11-4767-4e8e-874a-101e6efb3440", id, false);
+		SdrTestsUtil.replace(spdFile, "\"Reader.prf.xml\"", "\"../Reader/Reader.prf.xml\"", false);
+		SdrTestsUtil.replace(spdFile, "\"Reader.scd.xml\"", "\"../Reader/Reader.scd.xml\"", false);
+	}
+
+	private SdrRoot loadCopy() {
+		SdrRoot root = SdrTestsUtil.getSdrRoot(sdrPath);
+		sdrRoots.add(root);
+		return root;
+	}
+
+	/**
+	 * Refreshes the SDR root until a condition holds. File changes may not be noticed straight away.
+	 */
+	private void refreshUntil(String message, BooleanSupplier condition) throws InterruptedException {
+		long endTime = System.currentTimeMillis() + TIMEOUT;
+		while (true) {
+			sdrRoot.refresh(null);
+			if (condition.getAsBoolean()) {
+				return;
+			}
+			Assert.assertTrue("Timed out waiting for refresh: " + message, System.currentTimeMillis() < endTime);
+			Thread.sleep(100);
+		}
+	}
+
+	/**
+	 * The refreshed model should have the same containers as a full load of the files
+	 */
+	private void assertMatchesLoad() {
+		Assert.assertEquals(SdrTestsUtil.describe(loadCopy()), SdrTestsUtil.describe(sdrRoot));
+	}
+
+	private SoftPkg findComponent(String name) {
+		for (SoftPkg spd : sdrRoot.getComponentsContainer().getComponents()) {
+			if (name.equals(spd.getName())) {
+				return spd;
+			}
+		}
+		return null;
+	}
+
+	private static String getSimpleValue(SoftPkg spd, String name) {
+		if (spd == null || spd.getPropertyFile() == null || spd.getPropertyFile().getProperties() == null) {
+			return null;
+		}
+		for (Simple simple : spd.getPropertyFile().getProperties().getSimple()) {
+			if (name.equals(simple.getName())) {
+				return simple.getValue();
+			}
+		}
+		return null;
+	}
+
+	private static boolean hasStatus(SdrRoot root, int severity, String message) {
+		IStatus loadStatus = root.getLoadStatus();
+		if (loadStatus.getSeverity() < severity) {
+			return false;
+		}
+		for (IStatus child : loadStatus.getChildren()) {
+			if (child.getSeverity() == severity && child.getMessage() != null && child.getMessage().contains(message)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
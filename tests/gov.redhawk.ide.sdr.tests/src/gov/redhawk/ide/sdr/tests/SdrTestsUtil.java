@@ -11,13 +11,35 @@
 // BEGIN GENERATED CODE
 package gov.redhawk.ide.sdr.tests;
 
+import gov.redhawk.ide.sdr.ComponentsContainer;
+import gov.redhawk.ide.sdr.DevicesContainer;
+import gov.redhawk.ide.sdr.NodesContainer;
 import gov.redhawk.ide.sdr.SdrRoot;
+import gov.redhawk.ide.sdr.ServicesContainer;
+import gov.redhawk.ide.sdr.SharedLibrariesContainer;
+import gov.redhawk.ide.sdr.WaveformsContainer;
 import gov.redhawk.ide.sdr.util.SdrPluginLoader;
+import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
+import mil.jpeojtrs.sca.spd.SoftPkg;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
 
+import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.emf.common.util.URI;
+import org.osgi.framework.FrameworkUtil;
 
 public class SdrTestsUtil {
 
@@ -33,4 +55,110 @@ public class SdrTestsUtil {
 		return SdrPluginLoader.getSdrRoot(sdrRootPath);
 	}
 
+	/**
+	 * Loads an SDR root from a directory.
+	 */
+	public static SdrRoot getSdrRoot(final Path sdrRootPath) {
+		return SdrPluginLoader.getSdrRoot(URI.createFileURI(sdrRootPath.toString()));
+	}
+
+	/**
+	 * Copies an SDR root from this bundle, so that its files can be changed.
+	 * @param path A path inside the bundle
+	 * @param target A directory which doesn't exist yet
+	 */
+	public static void copySdrRoot(final String path, final Path target) throws IOException {
+		Path source = FileLocator.getBundleFile(FrameworkUtil.getBundle(SdrTestsUtil.class)).toPath().resolve(path);
+		copyTree(source, target);
+	}
+
+	/**
+	 * Copies a directory tree, keeping each file's modification time.
+	 */
+	public static void copyTree(final Path source, final Path target) throws IOException {
+		Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Deletes a directory tree, if it exists.
+	 */
+	public static void deleteTree(final Path path) throws IOException {
+		if (!Files.exists(path)) {
+			return;
+		}
+		Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Replaces text in a file.
+	 * @param keepStamp True to leave the file's size and modification time as they were (the replacement must be the
+	 * same length as the text it replaces); false to move the modification time forward so the change is noticed
+	 */
+	public static void replace(final Path file, final String text, final String replacement, final boolean keepStamp) throws IOException {
+		String contents = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		if (!contents.contains(text)) {
+			throw new IllegalArgumentException(text + " not found in " + file);
+		}
+		long lastModified = file.toFile().lastModified();
+		Files.write(file, contents.replace(text, replacement).getBytes(StandardCharsets.UTF_8));
+		file.toFile().setLastModified((keepStamp) ? lastModified : lastModified + 2000);
+	}
+
+	/**
+	 * Describes the containers of an SDR root: one line for each namespace container (ending in '/') and one for each
+	 * profile in it, sorted.
+	 */
+	public static List<String> describe(final SdrRoot sdrRoot) {
+		List<String> lines = new ArrayList<>();
+		describe(lines, "components", sdrRoot.getComponentsContainer(), ComponentsContainer::getChildContainers, ComponentsContainer::getComponents,
+			ComponentsContainer::getName, SoftPkg::getName);
+		describe(lines, "sharedLibraries", sdrRoot.getSharedLibrariesContainer(), SharedLibrariesContainer::getChildContainers,
+			SharedLibrariesContainer::getComponents, SharedLibrariesContainer::getName, SoftPkg::getName);
+		describe(lines, "devices", sdrRoot.getDevicesContainer(), DevicesContainer::getChildContainers, DevicesContainer::getComponents,
+			DevicesContainer::getName, SoftPkg::getName);
+		describe(lines, "services", sdrRoot.getServicesContainer(), ServicesContainer::getChildContainers, ServicesContainer::getComponents,
+			ServicesContainer::getName, SoftPkg::getName);
+		describe(lines, "waveforms", sdrRoot.getWaveformsContainer(), WaveformsContainer::getChildContainers, WaveformsContainer::getWaveforms,
+			WaveformsContainer::getName, SoftwareAssembly::getName);
+		describe(lines, "nodes", sdrRoot.getNodesContainer(), NodesContainer::getChildContainers, NodesContainer::getNodes, NodesContainer::getName,
+			DeviceConfiguration::getName);
+		Collections.sort(lines);
+		return lines;
+	}
+
+	private static <C, T> void describe(List<String> lines, String path, C container, Function<C, List<C>> childContainers,
+		Function<C, List<T>> members, Function<C, String> containerName, Function<T, String> memberName) {
+		lines.add(path + "/");
+		for (T member : members.apply(container)) {
+			lines.add(path + "/" + memberName.apply(member));
+		}
+		for (C child : childContainers.apply(container)) {
+			describe(lines, path + "/" + containerName.apply(child), child, childContainers, members, containerName, memberName);
+		}
+	}
+
 } // SdrTests
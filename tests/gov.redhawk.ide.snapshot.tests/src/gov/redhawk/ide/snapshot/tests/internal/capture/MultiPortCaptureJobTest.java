@@ -0,0 +1,120 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.tests.internal.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.omg.PortableServer.POAPackage.ServantNotActive;
+import org.omg.PortableServer.POAPackage.WrongPolicy;
+
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import BULKIO.TCM_CPU;
+import BULKIO.TCS_VALID;
+import BULKIO.UNITS_TIME;
+import BULKIO.dataShortHelper;
+import CF.DataType;
+import gov.redhawk.bulkio.util.BulkIOType;
+import gov.redhawk.ide.snapshot.SnapshotActivator;
+import gov.redhawk.ide.snapshot.capture.MultiPortCaptureJob;
+import gov.redhawk.ide.snapshot.writer.IDataWriterDesc;
+import gov.redhawk.model.sca.ScaFactory;
+import gov.redhawk.model.sca.ScaUsesPort;
+import mil.jpeojtrs.sca.scd.ScdFactory;
+import mil.jpeojtrs.sca.scd.Uses;
+
+public class MultiPortCaptureJobTest {
+
+	private SourcePort sourcePort;
+	private File dir;
+
+	@Before
+	public void before() throws ServantNotActive, WrongPolicy, CoreException, IOException {
+		this.sourcePort = new SourcePort();
+		this.sourcePort.init();
+		this.sourcePort.setBulkIOType(BulkIOType.SHORT);
+		dir = Files.createTempDirectory(MultiPortCaptureJobTest.class.getSimpleName()).toFile();
+	}
+
+	@After
+	public void after() {
+		if (sourcePort != null) {
+			sourcePort.destroy();
+			sourcePort = null;
+		}
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Two streams interleaved on one port are written to separate files, and the manifest aligns them.
+	 */
+	@Test
+	public void demuxStreams() throws InterruptedException, CoreException, IOException {
+		Uses profile = ScdFactory.eINSTANCE.createUses();
+		profile.setRepID(dataShortHelper.id());
+		profile.setName("dataShort_out");
+		ScaUsesPort port = ScaFactory.eINSTANCE.createScaUsesPort();
+		port.setCorbaObj(sourcePort.getPortObj());
+		port.setProfileObj(profile);
+
+		IDataWriterDesc desc = SnapshotActivator.getDataReceiverRegistry().getReceiverDesc("gov.redhawk.ide.snapshot.writer.BinSriDataWriter");
+		MultiPortCaptureJob job = new MultiPortCaptureJob(desc, new File(dir, "capture.bin"));
+		job.setUser(false);
+		job.addPort(port, "abc");
+		job.schedule();
+
+		long endTime = System.currentTimeMillis() + 5000;
+		while (!sourcePort.isConnected()) {
+			Thread.sleep(250);
+			if (System.currentTimeMillis() > endTime) {
+				Assert.fail("Source port wasn't connected to the capture");
+			}
+		}
+
+		sourcePort.pushSRI(new StreamSRI(0, 0, 0.1, UNITS_TIME.value, 0, 0, 0, (short) 0, (short) 0, "A", false, new DataType[0]));
+		sourcePort.pushSRI(new StreamSRI(0, 0, 0.1, UNITS_TIME.value, 0, 0, 0, (short) 0, (short) 0, "B", false, new DataType[0]));
+		Thread.sleep(500);
+		for (int i = 0; i < 3; i++) {
+			sourcePort.pushPacket(new short[10], new PrecisionUTCTime(TCM_CPU.value, TCS_VALID.value, 0, 100 + i, 0), false, "A");
+			sourcePort.pushPacket(new short[20], new PrecisionUTCTime(TCM_CPU.value, TCS_VALID.value, 0, 101 + i, 0), false, "B");
+		}
+		Thread.sleep(500);
+
+		job.cancel();
+		job.join();
+
+		File fileA = new File(dir, "capture_dataShort_out_A.bin");
+		File fileB = new File(dir, "capture_dataShort_out_B.bin");
+		Assert.assertEquals(3 * 10 * 2, fileA.length());
+		Assert.assertEquals(3 * 20 * 2, fileB.length());
+		Assert.assertTrue(new File(dir, "capture_dataShort_out_A.sri").exists());
+		Assert.assertTrue(new File(dir, "capture_dataShort_out_B.sri").exists());
+
+		File manifest = job.getManifestFile();
+		Assert.assertTrue(manifest.exists());
+		String text = new String(Files.readAllBytes(manifest.toPath()), StandardCharsets.UTF_8);
+		Assert.assertTrue(text.contains("capture_dataShort_out_A.bin"));
+		Assert.assertTrue(text.contains("capture_dataShort_out_B.bin"));
+		Assert.assertTrue(text.contains("Sample Offset"));
+	}
+
+}
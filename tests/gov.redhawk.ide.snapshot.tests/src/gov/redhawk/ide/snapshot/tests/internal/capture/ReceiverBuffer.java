@@ -34,10 +34,10 @@ public class ReceiverBuffer implements IDataWriter {
 			this.streamID = streamID;
 		}
 
-		Object data;
-		PrecisionUTCTime time;
-		boolean eos;
-		String streamID;
+		public Object data;
+		public PrecisionUTCTime time;
+		public boolean eos;
+		public String streamID;
 	}
 
 	// CHECKSTYLE:ON
@@ -25,6 +25,8 @@ import org.junit.Test;
 
 import gov.redhawk.bulkio.util.BulkIOType;
 import gov.redhawk.ide.snapshot.SnapshotActivator;
+import gov.redhawk.ide.snapshot.internal.writer.BinDataWriterSettings;
+import gov.redhawk.ide.snapshot.internal.writer.BinDataWriterSettings.WriteMode;
 import gov.redhawk.ide.snapshot.tests.internal.writer.helpers.BitTestHelper;
 import gov.redhawk.ide.snapshot.tests.internal.writer.helpers.DoubleTestHelper;
 import gov.redhawk.ide.snapshot.tests.internal.writer.helpers.FloatTestHelper;
@@ -141,9 +143,33 @@ public class BinSriDataWriterTest {
 		commonTest(helper);
 	}
 
+	/**
+	 * Writes with each push written directly to the file, rather than coalesced into blocks.
+	 */
+	@Test
+	public void writeDirect() throws IOException, CoreException {
+		IDataWriter writer = createWriter(BulkIOType.DOUBLE);
+		((BinDataWriterSettings) writer.getSettings()).setWriteMode(WriteMode.DIRECT);
+		commonTest(new DoubleTestHelper(), writer);
+	}
+
+	/**
+	 * Writes with blocks smaller than the pushes, and which don't hold a whole number of atoms.
+	 */
+	@Test
+	public void writeSmallBlocks() throws IOException, CoreException {
+		IDataWriter writer = createWriter(BulkIOType.USHORT);
+		((BinDataWriterSettings) writer.getSettings()).setWriteMode(WriteMode.BLOCK);
+		((BinDataWriterSettings) writer.getSettings()).setBlockSize(3);
+		commonTest(new UShortTestHelper(), writer);
+	}
+
 	private void commonTest(ITestHelper helper) throws CoreException, IOException {
+		commonTest(helper, createWriter(helper.getType()));
+	}
+
+	private void commonTest(ITestHelper helper, IDataWriter writer) throws CoreException, IOException {
 		// Write the data
-		IDataWriter writer = createWriter(helper.getType());
 		helper.write(writer);
 
 		// TODO: Verify metadata
@@ -0,0 +1,66 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.tests.internal.writer;
+
+import java.util.Random;
+
+import BULKIO.BitSequence;
+import gov.redhawk.ide.snapshot.internal.writer.BitStream;
+
+/**
+ * Measures the throughput of {@link BitStream} for packets of random bit lengths, so that almost every packet must be
+ * realigned. This is not run as part of the test suite; run it as a Java application.
+ */
+public class BitStreamBenchmark {
+
+	private static final int PACKETS = 1024;
+	private static final int REPETITIONS = 50;
+
+	private BitStreamBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		Random random = new Random(0);
+		for (int maxBits : new int[] { 64, 1024, 65536 }) {
+			BitSequence[] packets = new BitSequence[PACKETS];
+			long totalBits = 0;
+			for (int i = 0; i < PACKETS; i++) {
+				int bits = 1 + random.nextInt(maxBits);
+				byte[] data = new byte[(bits + 7) / 8];
+				random.nextBytes(data);
+				packets[i] = new BitSequence(data, bits);
+				totalBits += bits;
+			}
+
+			// Warm up, then measure
+			run(packets);
+			long start = System.nanoTime();
+			for (int i = 0; i < REPETITIONS; i++) {
+				run(packets);
+			}
+			long elapsed = System.nanoTime() - start;
+			double mbPerSec = (double) totalBits * REPETITIONS / 8 / (1 << 20) / (elapsed / 1e9);
+			System.out.println(String.format("1 - %5d bits/packet: %8.1f MB/s", maxBits, mbPerSec));
+		}
+	}
+
+	private static int run(BitSequence[] packets) {
+		BitStream stream = new BitStream();
+		int check = 0;
+		for (BitSequence packet : packets) {
+			BitSequence seq = stream.handleBitBuffer(packet);
+			if (seq.bits > 0) {
+				check += seq.data[0];
+			}
+		}
+		return check + stream.getFinalBits().bits;
+	}
+}
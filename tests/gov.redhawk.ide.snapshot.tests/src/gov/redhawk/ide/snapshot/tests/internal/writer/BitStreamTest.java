@@ -10,6 +10,9 @@
  */
 package gov.redhawk.ide.snapshot.tests.internal.writer;
 
+import java.util.BitSet;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -98,6 +101,59 @@ public class BitStreamTest {
 		commonTest(SIXTEEN_BITS, SIXTEEN_BITS_INTERMEDIATE_RESULTS, SIXTEEN_BITS_FINAL_RESULT);
 	}
 
+	/**
+	 * Tests pushing no bits, with and without bits left over
+	 */
+	@Test
+	public void zeroBits() {
+		BitStream stream = new BitStream();
+		Assert.assertEquals(0, stream.handleBitBuffer(new BitSequence(new byte[0], 0)).bits);
+		Assert.assertEquals(0, stream.handleBitBuffer(SINGLE_1_BIT).bits);
+		Assert.assertEquals(0, stream.handleBitBuffer(new BitSequence(new byte[0], 0)).bits);
+		BitSequence seq = stream.getFinalBits();
+		Assert.assertEquals(1, seq.bits);
+		Assert.assertEquals((byte) 0b10000000, seq.data[0]);
+	}
+
+	/**
+	 * Tests pushing random bit lengths (long enough to be realigned a word at a time) against a bit-by-bit copy of the
+	 * stream. Bits past the end of each buffer are garbage and must be ignored.
+	 */
+	@Test
+	public void randomBits() {
+		Random random = new Random(0);
+		BitStream stream = new BitStream();
+		BitSet expected = new BitSet();
+		BitSet actual = new BitSet();
+		int expectedLen = 0;
+		int actualLen = 0;
+		for (int push = 0; push < 500; push++) {
+			int bits = random.nextInt(300);
+			byte[] data = new byte[(bits + 7) / 8 + 1];
+			random.nextBytes(data);
+			for (int i = 0; i < bits; i++) {
+				expected.set(expectedLen++, (data[i / 8] & (0x80 >> (i % 8))) != 0);
+			}
+
+			BitSequence seq = stream.handleBitBuffer(new BitSequence(data, bits));
+			Assert.assertEquals(0, seq.bits % 8);
+			actualLen = append(actual, actualLen, seq);
+		}
+		BitSequence seq = stream.getFinalBits();
+		Assert.assertEquals(0, seq.data[0] & ((0x100 >> seq.bits) - 1));
+		actualLen = append(actual, actualLen, seq);
+
+		Assert.assertEquals(expectedLen, actualLen);
+		Assert.assertEquals(expected, actual);
+	}
+
+	private int append(BitSet bitSet, int bitSetLen, BitSequence seq) {
+		for (int i = 0; i < seq.bits; i++) {
+			bitSet.set(bitSetLen++, (seq.data[i / 8] & (0x80 >> (i % 8))) != 0);
+		}
+		return bitSetLen;
+	}
+
 	/**
 	 * Pushes sample data multiple times, checking the intermedia result of each push, and then the final bits at the
 	 * end
@@ -0,0 +1,141 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.tests.internal.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import BULKIO.BitSequence;
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import BULKIO.TCM_CPU;
+import BULKIO.TCS_VALID;
+import CF.DataType;
+import gov.redhawk.bulkio.util.BulkIOType;
+import gov.redhawk.ide.snapshot.internal.writer.BlueDataWriter;
+import gov.redhawk.ide.snapshot.writer.DefaultDataWriterSettings;
+
+/**
+ * Measures the throughput and allocation rate of {@link BlueDataWriter} for each {@link BulkIOType}. This is not run
+ * as part of the test suite; run it as a Java application, and compare against a run from an earlier revision.
+ */
+public class BlueDataWriterBenchmark {
+
+	private static final int PACKET_ATOMS = 4096;
+	private static final int WARMUP_PACKETS = 20000;
+	private static final int MEASURED_PACKETS = 100000;
+
+	private BlueDataWriterBenchmark() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.out.println(String.format("%-12s %12s %16s", "Type", "MB/s", "Bytes alloc/pkt"));
+		for (BulkIOType type : BulkIOType.values()) {
+			if (type == BulkIOType.ULONG_LONG) {
+				// Not supported by the BLUE writer
+				continue;
+			}
+			Object packet = createPacket(type);
+			run(type, packet, WARMUP_PACKETS);
+
+			long allocatedBefore = getAllocatedBytes();
+			long start = System.nanoTime();
+			run(type, packet, MEASURED_PACKETS);
+			long elapsed = System.nanoTime() - start;
+			long allocated = getAllocatedBytes() - allocatedBefore;
+
+			double bytes = (double) MEASURED_PACKETS * PACKET_ATOMS * ((type == BulkIOType.BIT) ? 1.0 / 8 : type.getBytePerAtom());
+			double mbPerSec = bytes / (1 << 20) / (elapsed / 1e9);
+			String allocPerPacket = (allocated < 0) ? "n/a" : Long.toString(allocated / MEASURED_PACKETS);
+			System.out.println(String.format("%-12s %12.1f %16s", type, mbPerSec, allocPerPacket));
+		}
+	}
+
+	private static void run(BulkIOType type, Object packet, int packets) throws IOException {
+		File file = File.createTempFile(BlueDataWriterBenchmark.class.getSimpleName(), ".tmp");
+		try {
+			DefaultDataWriterSettings settings = new DefaultDataWriterSettings();
+			settings.setType(type);
+			settings.setDestination(file);
+			BlueDataWriter writer = new BlueDataWriter();
+			writer.setSettings(settings);
+			writer.pushSRI(new StreamSRI(1, 0, 0.1, BULKIO.UNITS_TIME.value, 0, 0, 0, BULKIO.UNITS_NONE.value, (short) 0, "benchmark", true,
+				new DataType[0]));
+			writer.open();
+			PrecisionUTCTime time = new PrecisionUTCTime(TCM_CPU.value, TCS_VALID.value, 0, 0, 0);
+			for (int i = 0; i < packets; i++) {
+				push(writer, packet, time);
+			}
+			writer.close();
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static Object createPacket(BulkIOType type) {
+		switch (type) {
+		case BIT:
+			return new BitSequence(new byte[PACKET_ATOMS / 8], PACKET_ATOMS);
+		case CHAR:
+			return new char[PACKET_ATOMS];
+		case OCTET:
+			return new byte[PACKET_ATOMS];
+		case SHORT:
+		case USHORT:
+			return new short[PACKET_ATOMS];
+		case LONG:
+		case ULONG:
+			return new int[PACKET_ATOMS];
+		case LONG_LONG:
+		case ULONG_LONG:
+			return new long[PACKET_ATOMS];
+		case FLOAT:
+			return new float[PACKET_ATOMS];
+		case DOUBLE:
+			return new double[PACKET_ATOMS];
+		default:
+			throw new IllegalArgumentException("Unknown type " + type);
+		}
+	}
+
+	private static void push(BlueDataWriter writer, Object packet, PrecisionUTCTime time) throws IOException {
+		if (packet instanceof BitSequence) {
+			writer.pushPacket((BitSequence) packet, time, false, "benchmark");
+		} else if (packet instanceof char[]) {
+			writer.pushPacket((char[]) packet, time, false, "benchmark");
+		} else if (packet instanceof byte[]) {
+			writer.pushPacket((byte[]) packet, time, false, "benchmark");
+		} else if (packet instanceof short[]) {
+			writer.pushPacket((short[]) packet, time, false, "benchmark");
+		} else if (packet instanceof int[]) {
+			writer.pushPacket((int[]) packet, time, false, "benchmark");
+		} else if (packet instanceof long[]) {
+			writer.pushPacket((long[]) packet, time, false, "benchmark");
+		} else if (packet instanceof float[]) {
+			writer.pushPacket((float[]) packet, time, false, "benchmark");
+		} else if (packet instanceof double[]) {
+			writer.pushPacket((double[]) packet, time, false, "benchmark");
+		}
+	}
+
+	/**
+	 * @return The number of bytes allocated by the current thread, or -1 if the JVM can't measure it
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.tests.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import BULKIO.UNITS_TIME;
+import CF.DataType;
+import gov.redhawk.bulkio.util.BulkIOType;
+import gov.redhawk.ide.snapshot.SnapshotActivator;
+import gov.redhawk.ide.snapshot.writer.IDataWriterDesc;
+import gov.redhawk.ide.snapshot.writer.IDataWriterSettings;
+import gov.redhawk.ide.snapshot.writer.SegmentedDataWriter;
+
+public class SegmentedDataWriterTest {
+
+	private static final String STREAM_ID = "abc";
+	private static final PrecisionUTCTime TIME = new PrecisionUTCTime((short) 0, (short) 0, 0, 0, 0);
+
+	private File dir;
+
+	@Before
+	public void before() throws IOException {
+		dir = Files.createTempDirectory(SegmentedDataWriterTest.class.getSimpleName()).toFile();
+	}
+
+	@After
+	public void after() {
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+
+	private SegmentedDataWriter createWriter(long maxSegmentBytes, int maxSegments) throws CoreException {
+		IDataWriterDesc desc = SnapshotActivator.getDataReceiverRegistry().getReceiverDesc("gov.redhawk.ide.snapshot.writer.BinSriDataWriter");
+		IDataWriterSettings settings = desc.createWriterSettings();
+		settings.setType(BulkIOType.SHORT);
+		settings.setDestination(new File(dir, "capture.bin"));
+
+		SegmentedDataWriter writer = new SegmentedDataWriter(desc, maxSegmentBytes, 0, maxSegments);
+		writer.setSettings(settings);
+		writer.pushSRI(new StreamSRI(0, 0, 0.1, UNITS_TIME.value, 0, 0, 0, (short) 0, (short) 0, STREAM_ID, false, new DataType[0]));
+		return writer;
+	}
+
+	/**
+	 * Each segment gets its own data and metadata file, and the destination is restored on close.
+	 */
+	@Test
+	public void rotateBySize() throws IOException, CoreException {
+		SegmentedDataWriter writer = createWriter(200, 0);
+		File destination = (File) writer.getSettings().getDestination();
+		writer.open();
+		for (int i = 0; i < 10; i++) {
+			// 100 bytes per packet
+			writer.pushPacket(new short[50], TIME, false, STREAM_ID);
+		}
+		writer.close();
+
+		Assert.assertEquals(5, writer.getSegmentCount());
+		Assert.assertEquals(destination, writer.getSettings().getDestination());
+		for (int i = 0; i < 5; i++) {
+			File data = new File(dir, String.format("capture_%04d.bin", i));
+			Assert.assertTrue(data.exists());
+			Assert.assertEquals(200, data.length());
+			Assert.assertTrue(new File(dir, String.format("capture_%04d.sri", i)).exists());
+		}
+		Assert.assertFalse(destination.exists());
+		Assert.assertEquals(10, writer.getOutputFileList().size());
+	}
+
+	/**
+	 * Only the most recent segments are kept.
+	 */
+	@Test
+	public void keepLastSegments() throws IOException, CoreException {
+		SegmentedDataWriter writer = createWriter(100, 2);
+		writer.open();
+		for (int i = 0; i < 10; i++) {
+			writer.pushPacket(new short[50], TIME, false, STREAM_ID);
+		}
+		writer.close();
+
+		Assert.assertEquals(10, writer.getSegmentCount());
+		List<File> files = writer.getOutputFileList();
+		Assert.assertEquals(4, files.size());
+		for (File file : files) {
+			Assert.assertTrue(file.exists());
+		}
+		Assert.assertFalse(new File(dir, "capture_0007.bin").exists());
+		Assert.assertTrue(new File(dir, "capture_0008.bin").exists());
+		Assert.assertTrue(new File(dir, "capture_0009.bin").exists());
+		Assert.assertEquals(4, dir.listFiles().length);
+	}
+
+}
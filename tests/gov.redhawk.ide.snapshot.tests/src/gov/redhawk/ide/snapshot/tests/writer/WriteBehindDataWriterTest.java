@@ -0,0 +1,202 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.snapshot.tests.writer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import BULKIO.PrecisionUTCTime;
+import BULKIO.StreamSRI;
+import BULKIO.UNITS_TIME;
+import CF.DataType;
+import gov.redhawk.ide.snapshot.tests.internal.capture.ReceiverBuffer;
+import gov.redhawk.ide.snapshot.writer.QueueFullPolicy;
+import gov.redhawk.ide.snapshot.writer.WriteBehindDataWriter;
+
+public class WriteBehindDataWriterTest {
+
+	private static final String STREAM_ID = "abc";
+	private static final PrecisionUTCTime TIME = new PrecisionUTCTime((short) 0, (short) 0, 0, 0, 0);
+
+	/**
+	 * A {@link ReceiverBuffer} which doesn't accept packets until it is released, so the queue fills up.
+	 */
+	private static class GatedBuffer extends ReceiverBuffer {
+		private final CountDownLatch gate = new CountDownLatch(1);
+
+		@Override
+		public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+			try {
+				gate.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			super.pushPacket(data, time, eos, streamID);
+		}
+	}
+
+	/**
+	 * A {@link ReceiverBuffer} which copies each packet it receives, since the writer may re-use its arrays once they
+	 * have been written.
+	 */
+	private static class CopyingBuffer extends ReceiverBuffer {
+		@Override
+		public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+			super.pushPacket(data.clone(), time, eos, streamID);
+		}
+	}
+
+	private static StreamSRI createSRI() {
+		return new StreamSRI(0, 0, 0.1, UNITS_TIME.value, 0, 0, 0, (short) 0, (short) 0, STREAM_ID, false, new DataType[0]);
+	}
+
+	/**
+	 * Pushes made before open go directly to the writer. Pushes made after open are copied, so the caller can re-use
+	 * its array, and are all written by close.
+	 */
+	@Test
+	public void block() throws IOException {
+		ReceiverBuffer buffer = new CopyingBuffer();
+		WriteBehindDataWriter queue = new WriteBehindDataWriter(buffer, 2, QueueFullPolicy.BLOCK);
+		StreamSRI sri = createSRI();
+		queue.pushSRI(sri);
+		Assert.assertEquals(1, buffer.getBuffer().size());
+
+		queue.open();
+		Assert.assertTrue(queue.isOpen());
+		short[] data = new short[4];
+		for (short i = 0; i < 100; i++) {
+			Arrays.fill(data, i);
+			queue.pushPacket(data, TIME, false, STREAM_ID);
+		}
+		queue.close();
+		Assert.assertFalse(buffer.isOpen());
+
+		List<Object> written = buffer.getBuffer();
+		Assert.assertEquals(101, written.size());
+		Assert.assertSame(sri, written.get(0));
+		for (int i = 1; i < written.size(); i++) {
+			short[] packet = (short[]) ((ReceiverBuffer.Packet) written.get(i)).data;
+			short[] expected = new short[4];
+			Arrays.fill(expected, (short) (i - 1));
+			Assert.assertArrayEquals("Packet " + i, expected, packet);
+		}
+		Assert.assertEquals(100, queue.getWrittenPackets());
+		Assert.assertEquals(100 * 4 * Short.BYTES, queue.getWrittenBytes());
+		Assert.assertEquals(0, queue.getQueuedBytes());
+		Assert.assertEquals(0, queue.getDroppedPackets());
+	}
+
+	/**
+	 * Writers sharing an executor with fewer threads than writers each write all their packets, in order.
+	 */
+	@Test
+	public void sharedExecutor() throws IOException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ReceiverBuffer[] buffers = { new CopyingBuffer(), new CopyingBuffer() };
+			WriteBehindDataWriter[] queues = new WriteBehindDataWriter[buffers.length];
+			for (int i = 0; i < queues.length; i++) {
+				queues[i] = new WriteBehindDataWriter(buffers[i], 2, QueueFullPolicy.BLOCK, executor);
+				queues[i].open();
+			}
+			short[] data = new short[4];
+			for (short i = 0; i < 100; i++) {
+				for (int j = 0; j < queues.length; j++) {
+					Arrays.fill(data, (short) (i + j * 1000));
+					queues[j].pushPacket(data, TIME, false, STREAM_ID);
+				}
+			}
+			for (int j = 0; j < queues.length; j++) {
+				queues[j].close();
+				Assert.assertFalse(buffers[j].isOpen());
+				List<Object> written = buffers[j].getBuffer();
+				Assert.assertEquals(100, written.size());
+				for (int i = 0; i < written.size(); i++) {
+					short[] expected = new short[4];
+					Arrays.fill(expected, (short) (i + j * 1000));
+					Assert.assertArrayEquals("Packet " + i, expected, (short[]) ((ReceiverBuffer.Packet) written.get(i)).data);
+				}
+				Assert.assertEquals(100, queues[j].getWrittenPackets());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * When the writer is stalled, the oldest packets are discarded and counted.
+	 */
+	@Test
+	public void dropOldest() throws IOException {
+		GatedBuffer buffer = new GatedBuffer();
+		WriteBehindDataWriter queue = new WriteBehindDataWriter(buffer, 4, QueueFullPolicy.DROP_OLDEST);
+		queue.open();
+		for (int i = 0; i < 10; i++) {
+			queue.pushPacket(new short[8], TIME, false, STREAM_ID);
+		}
+		Assert.assertTrue(queue.getDroppedPackets() >= 5);
+		Assert.assertEquals(queue.getDroppedPackets() * 8 * Short.BYTES, queue.getDroppedBytes());
+		Assert.assertTrue(queue.getPeakQueuedBytes() <= 4 * 8 * Short.BYTES);
+		buffer.gate.countDown();
+		queue.close();
+		Assert.assertEquals(10, queue.getWrittenPackets() + queue.getDroppedPackets());
+		Assert.assertEquals(queue.getWrittenPackets(), buffer.getBuffer().size());
+	}
+
+	/**
+	 * When the writer is stalled, pushes fail once the queue is full.
+	 */
+	@Test
+	public void fail() throws IOException {
+		GatedBuffer buffer = new GatedBuffer();
+		WriteBehindDataWriter queue = new WriteBehindDataWriter(buffer, 2, QueueFullPolicy.FAIL);
+		queue.open();
+		try {
+			for (int i = 0; i < 10; i++) {
+				queue.pushPacket(new short[8], TIME, false, STREAM_ID);
+			}
+			Assert.fail("Expected the queue to fill up");
+		} catch (IOException e) {
+			// PASS
+		} finally {
+			buffer.gate.countDown();
+			queue.close();
+		}
+		Assert.assertEquals(0, queue.getDroppedPackets());
+		Assert.assertEquals(queue.getWrittenPackets(), buffer.getBuffer().size());
+	}
+
+	/**
+	 * An error from the writer thread is reported by close.
+	 */
+	@Test(expected = IOException.class)
+	public void writerError() throws IOException {
+		ReceiverBuffer buffer = new ReceiverBuffer() {
+			@Override
+			public void pushPacket(short[] data, PrecisionUTCTime time, boolean eos, String streamID) throws IOException {
+				throw new IOException("Disk full");
+			}
+		};
+		WriteBehindDataWriter queue = new WriteBehindDataWriter(buffer);
+		queue.open();
+		queue.pushPacket(new short[8], TIME, false, STREAM_ID);
+		queue.close();
+	}
+}
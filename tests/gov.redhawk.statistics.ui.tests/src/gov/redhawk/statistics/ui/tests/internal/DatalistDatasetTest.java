@@ -0,0 +1,46 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.statistics.ui.tests.internal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import gov.redhawk.statistics.ui.internal.DatalistDataset;
+
+public class DatalistDatasetTest {
+
+	private static final double[] VALUES = { 0.5, 1.5, 1.7, 2.5, 3.9 };
+
+	/**
+	 * Datasets with the same series and bins are equal, even though they're separate objects
+	 */
+	@Test
+	public void equalTo() throws CloneNotSupportedException {
+		DatalistDataset dataset = new DatalistDataset();
+		dataset.addSeries("Real", VALUES, 4, 0, 4);
+		DatalistDataset other = new DatalistDataset();
+		other.addSeries("Real", VALUES, 4, 0, 4);
+		Assert.assertTrue(dataset.equalTo(other));
+		Assert.assertTrue(dataset.equalTo(dataset.clone()));
+
+		DatalistDataset differentKey = new DatalistDataset();
+		differentKey.addSeries("Imaginary", VALUES, 4, 0, 4);
+		Assert.assertFalse(dataset.equalTo(differentKey));
+
+		DatalistDataset differentRange = new DatalistDataset();
+		differentRange.addSeries("Real", VALUES, 4, 0, 8);
+		Assert.assertFalse(dataset.equalTo(differentRange));
+
+		DatalistDataset differentCounts = new DatalistDataset();
+		differentCounts.addSeries("Real", new double[] { 0.5, 0.5, 0.5, 0.5, 0.5 }, 4, 0, 4);
+		Assert.assertFalse(dataset.equalTo(differentCounts));
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.statistics.ui.tests.internal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import gov.redhawk.statistics.ui.internal.Moments;
+import gov.redhawk.statistics.ui.internal.StatisticsEngine;
+import gov.redhawk.statistics.ui.views.IStatisticsSource;
+
+public class StatisticsEngineTest {
+
+	/**
+	 * More samples than are selected from in memory, so that the median is found by narrowing
+	 */
+	private static final int SAMPLES = 200000;
+
+	private static class DoubleArraySource implements IStatisticsSource {
+		private final double[] data;
+
+		DoubleArraySource(double[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public int getDimension() {
+			return 1;
+		}
+
+		@Override
+		public long getAtomCount() {
+			return data.length;
+		}
+
+		@Override
+		public void getDoubles(long atomIndex, double[] dest, int destPos, int length) {
+			System.arraycopy(data, (int) atomIndex, dest, destPos, length);
+		}
+	}
+
+	@Test
+	public void medianOfFiniteValues() {
+		Random random = new Random(0);
+		double[] data = new double[SAMPLES + 1];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = random.nextGaussian();
+		}
+		assertMedian(data);
+	}
+
+	/**
+	 * Infinite values are ranked at the ends rather than binned
+	 */
+	@Test
+	public void medianWithInfinities() {
+		Random random = new Random(1);
+		double[] data = new double[SAMPLES];
+		for (int i = 0; i < data.length; i++) {
+			switch (i % 10) {
+			case 0:
+				data[i] = Double.POSITIVE_INFINITY;
+				break;
+			case 1:
+				data[i] = Double.NEGATIVE_INFINITY;
+				break;
+			default:
+				data[i] = random.nextDouble();
+			}
+		}
+		assertMedian(data);
+	}
+
+	/**
+	 * The median can itself be infinite
+	 */
+	@Test
+	public void infiniteMedian() {
+		double[] data = new double[SAMPLES + 1];
+		Arrays.fill(data, 0, SAMPLES / 2 + 1, Double.NEGATIVE_INFINITY);
+		Arrays.fill(data, SAMPLES / 2 + 1, data.length, 1.0);
+		assertMedian(data);
+
+		Arrays.fill(data, 0, SAMPLES / 2, -1.0);
+		Arrays.fill(data, SAMPLES / 2, data.length, Double.POSITIVE_INFINITY);
+		assertMedian(data);
+	}
+
+	/**
+	 * The width of the range overflows if it's computed directly
+	 */
+	@Test
+	public void medianNearMaxValue() {
+		Random random = new Random(2);
+		double[] data = new double[SAMPLES];
+		for (int i = 0; i < data.length; i++) {
+			double magnitude = Double.MAX_VALUE * (1 - random.nextDouble() / 1e6);
+			data[i] = (i % 2 == 0) ? magnitude : -magnitude;
+		}
+		assertMedian(data);
+
+		data[0] = Double.NEGATIVE_INFINITY;
+		data[1] = Double.POSITIVE_INFINITY;
+		assertMedian(data);
+	}
+
+	/**
+	 * Values only a few ulps apart, which can't be split into bins
+	 */
+	@Test
+	public void medianOfSubnormalValues() {
+		double[] data = new double[SAMPLES];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = Double.MIN_VALUE * (1 + i % 3);
+		}
+		assertMedian(data);
+	}
+
+	private void assertMedian(double[] data) {
+		StatisticsEngine engine = new StatisticsEngine(new DoubleArraySource(data));
+		Moments moments = engine.computeMoments()[0];
+		double actual = engine.median(0, moments);
+
+		double[] sorted = data.clone();
+		Arrays.sort(sorted);
+		int middle = sorted.length / 2;
+		double expected = (sorted.length % 2 == 1) ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+		Assert.assertEquals(expected, actual, 0);
+	}
+}